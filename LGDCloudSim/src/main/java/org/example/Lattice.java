@@ -67,8 +67,8 @@ public class Lattice {
         
         double start = System.currentTimeMillis();
         Log.setLevel(Level.INFO);
-        lgdcloudSim = new CloudSim();
         factory = new FactorySimple();
+        lgdcloudSim = new CloudSim(InitDatacenter.getFutureEventQueue(factory, DATACENTER_CONFIG_FILE));
         lgdcloudSim.setDbName(DBNAME);
         lgdcloudSim.setSqlRecord(factory.getSqlRecord("detailScheduleTime", DBNAME, dirSuf));
         initUser();
@@ -6,7 +6,7 @@ import org.lgdcloudsim.request.Instance;
 import org.lgdcloudsim.request.UserRequest;
 import org.lgdcloudsim.util.FailedOutdatedResult;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -37,8 +37,8 @@ public class ConflictHandlerResult {
      * Construct a new ConflictHandlerResult.
      */
     public ConflictHandlerResult() {
-        this.successRes = new HashMap<>();
-        this.failedOutdatedResultMap = new HashMap<>();
+        this.successRes = new LinkedHashMap<>();
+        this.failedOutdatedResultMap = new LinkedHashMap<>();
     }
 
     /**
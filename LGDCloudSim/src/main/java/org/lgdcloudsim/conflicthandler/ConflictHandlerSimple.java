@@ -7,6 +7,7 @@ import org.lgdcloudsim.request.Instance;
 import org.lgdcloudsim.request.InstanceGroup;
 import org.lgdcloudsim.request.UserRequest;
 import org.lgdcloudsim.statemanager.HostState;
+import org.lgdcloudsim.statemanager.HostStateMap;
 import org.lgdcloudsim.statemanager.StatesManager;
 import org.lgdcloudsim.util.FailedOutdatedResult;
 
@@ -33,17 +34,22 @@ public class ConflictHandlerSimple implements ConflictHandler {
     @Getter
     Map<Integer, Integer> partitionConflicts = new HashMap<>();
 
+    /**
+     * The array to read the current state of a host into before it is put into a {@link HostStateMap}.
+     **/
+    private final int[] nowHostState = new int[HostState.STATE_NUM];
+
     @Override
     public ConflictHandlerResult filterConflictedInstance(List<IntraSchedulerResult> intraSchedulerResults) {
         ConflictHandlerResult conflictHandlerResult = new ConflictHandlerResult();
-        Map<Integer, HostState> allocateHostStates = new HashMap<>();
+        HostStateMap allocateHostStates = new HostStateMap();
         int conflictSum = 0;
 
         for (IntraSchedulerResult intraSchedulerResult : intraSchedulerResults) {
             List<Instance> successRes = new ArrayList<>();
             List<Instance> failRes = new ArrayList<>();
             Set<UserRequest> outdatedRequests = new HashSet<>();
-            conflictSum += dealConflictInstance(intraSchedulerResult.getScheduledInstances(), successRes, failRes, outdatedRequests, allocateHostStates, allocateHostStates);
+            conflictSum += dealConflictInstance(intraSchedulerResult.getScheduledInstances(), successRes, failRes, outdatedRequests, allocateHostStates);
             conflictHandlerResult.addSuccessRes(intraSchedulerResult.getIntraScheduler(), successRes);
             conflictHandlerResult.addFailRes(intraSchedulerResult.getIntraScheduler(), failRes, outdatedRequests);
         }
@@ -60,11 +66,10 @@ public class ConflictHandlerSimple implements ConflictHandler {
      * @param successInstances      the instances allocated to the host successfully.
      * @param failedInstances       the instances need to be rescheduled or be marked as failed.
      * @param outdatedRequests      the outdated requests.
-     * @param hostStatesIfScheduled the host states if the instances are scheduled.
      * @param allocateHostStates    the host states if the instances are allocated.
      * @return the number of conflicts when resource allocating.
      */
-    private int dealConflictInstance(List<Instance> scheduledInstances, List<Instance> successInstances, List<Instance> failedInstances, Set<UserRequest> outdatedRequests, Map<Integer, HostState> hostStatesIfScheduled, Map<Integer, HostState> allocateHostStates) {
+    private int dealConflictInstance(List<Instance> scheduledInstances, List<Instance> successInstances, List<Instance> failedInstances, Set<UserRequest> outdatedRequests, HostStateMap allocateHostStates) {
         StatesManager statesManager = datacenter.getStatesManager();
         int conflictSum = 0;
         for (Instance instance : scheduledInstances) {
@@ -79,16 +84,14 @@ public class ConflictHandlerSimple implements ConflictHandler {
 
 
             int hostId = instance.getExpectedScheduleHostId();
-            HostState hostState;
-            if (allocateHostStates.containsKey(hostId)) {
-                hostState = allocateHostStates.get(hostId);
-            } else {
-                hostState = statesManager.getNowHostState(hostId);
-                allocateHostStates.put(hostId, hostState);
+            int index = allocateHostStates.indexOf(hostId);
+            if (index == -1) {
+                statesManager.copyNowHostState(hostId, nowHostState);
+                index = allocateHostStates.put(hostId, nowHostState, 0);
             }
 
-            if (hostState.isSuitable(instance)) {
-                hostState.allocate(instance);
+            if (allocateHostStates.isSuitable(index, instance)) {
+                allocateHostStates.add(index, -instance.getCpu(), -instance.getRam(), -instance.getStorage(), -instance.getBw());
                 successInstances.add(instance);
             } else {
                 failedInstances.add(instance);
@@ -112,7 +115,7 @@ public class ConflictHandlerSimple implements ConflictHandler {
         Set<UserRequest> outdatedRequests = new HashSet<>();
         double nowTime = getDatacenter().getSimulation().clock();
 
-        Map<Integer, HostState> hostStatesIfScheduled = new HashMap<>();
+        HostStateMap hostStatesIfScheduled = new HostStateMap();
         for (InstanceGroup instanceGroup : instanceGroups) {
             for (Instance instance : instanceGroup.getInstances()) {
                 if (!this.getDatacenter().isFailureCluster() && instance.getUserRequest().getState() == UserRequest.FAILED) {
@@ -124,16 +127,15 @@ public class ConflictHandlerSimple implements ConflictHandler {
                     continue;
                 }
 
-                HostState hostState;
-                if (hostStatesIfScheduled.containsKey(instance.getExpectedScheduleHostId())) {
-                    hostState = hostStatesIfScheduled.get(instance.getExpectedScheduleHostId());
-                } else {
-                    hostState = getDatacenter().getStatesManager().getNowHostState(instance.getExpectedScheduleHostId());
+                int hostId = instance.getExpectedScheduleHostId();
+                int index = hostStatesIfScheduled.indexOf(hostId);
+                if (index == -1) {
+                    getDatacenter().getStatesManager().copyNowHostState(hostId, nowHostState);
+                    index = hostStatesIfScheduled.put(hostId, nowHostState, 0);
                 }
 
-                if (hostState.isSuitable(instance)) {
-                    hostState.allocate(instance);
-                    hostStatesIfScheduled.put(instance.getExpectedScheduleHostId(), hostState);
+                if (hostStatesIfScheduled.isSuitable(index, instance)) {
+                    hostStatesIfScheduled.add(index, -instance.getCpu(), -instance.getRam(), -instance.getStorage(), -instance.getBw());
                 } else {
                     failedScheduledInstanceGroups.add(instanceGroup);
                     break;
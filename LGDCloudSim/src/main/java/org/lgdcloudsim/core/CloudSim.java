@@ -8,7 +8,10 @@ import org.lgdcloudsim.network.NetworkTopology;
 import org.lgdcloudsim.datacenter.CollaborationManager;
 import org.lgdcloudsim.datacenter.Datacenter;
 import org.lgdcloudsim.datacenter.DatacenterPowerOnRecord;
+import org.lgdcloudsim.record.AllocationRecord;
 import org.lgdcloudsim.record.MemoryRecord;
+import org.lgdcloudsim.util.ScheduleCostModel;
+import org.lgdcloudsim.util.ScheduleCostModelMeasured;
 import org.lgdcloudsim.record.SqlRecord;
 import org.lgdcloudsim.record.SqlRecordNull;
 import org.lgdcloudsim.record.SqlRecordSimple;
@@ -18,8 +21,10 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 import java.util.function.Predicate;
-import java.util.stream.Stream;
+import java.util.stream.IntStream;
 
 /**
  * An abstract class to manage Cloud Computing simulations,
@@ -53,11 +58,21 @@ public class CloudSim implements Simulation {
     /**
      * The queue of events that will be sent in a future simulation time.
      */
-    private final FutureQueue future;
+    final FutureQueue future;
     /**
      * The deferred event queue.
      */
     private final DeferredQueue deferred;
+    /**
+     * The pool used to create the events sent by the entities.
+     * It is disabled by default and can be enabled by {@link CloudSimEventPool#setEnabled(boolean)} or the "eventPool" key of the datacenters config.
+     */
+    private final CloudSimEventPool eventPool;
+    /**
+     * The number of events moved from the future queue to the deferred queue.
+     */
+    @Getter
+    long processedEventNum;
     /**
      * The list of entities in the simulation.
      */
@@ -98,7 +113,7 @@ public class CloudSim implements Simulation {
     /**
      * The termination time of the simulation.
      */
-    private double terminationTime = -1;
+    double terminationTime = -1;
     /**
      * A flag to indicate if the simulation system is simulating only one datacenter.
      */
@@ -111,20 +126,59 @@ public class CloudSim implements Simulation {
     @Getter
     @Setter
     private String dbName;
+    /**
+     * The number of threads used to process the events of the datacenters in parallel.
+     * The events are processed serially when it is 1.
+     */
+    @Getter
+    private int parallelism = 1;
+    /**
+     * The pool of threads used to process the events of the datacenters in parallel.
+     * It is created when it is first needed and shut down when the simulation finishes.
+     */
+    private ForkJoinPool forkJoinPool;
+    /**
+     * The model giving the simulated time spent by the schedulers.
+     */
+    @Getter
+    @Setter
+    @NonNull
+    private ScheduleCostModel scheduleCostModel = new ScheduleCostModelMeasured();
 
     /**
      * Creates a new CloudSim instance.
      */
     public CloudSim() {
+        this(new TreeSetEventQueue());
+    }
+
+    /**
+     * Creates a new CloudSim instance whose future events are kept ordered by the given queue.
+     * The queue can be got by {@link Factory#getFutureEventQueue(String)}.
+     *
+     * @param futureEventQueue the empty queue to keep the future events ordered
+     */
+    public CloudSim(@NonNull final EventQueue futureEventQueue) {
         clock = 0;
         this.entityList = new ArrayList<>();
-        this.future = new FutureQueue();
+        this.future = new FutureQueue(futureEventQueue);
         this.deferred = new DeferredQueue();
+        this.eventPool = new CloudSimEventPool();
         this.cis = new CloudInformationService(this);
         this.simulationAccuracy = 3;
         this.isSqlRecord = true;
     }
 
+    @Override
+    public CloudSimEventPool getEventPool() {
+        return eventPool;
+    }
+
+    @Override
+    public <T, R> Function<T, R> withCurrentClock(Function<T, R> task) {
+        return task;
+    }
+
     @Override
     public double clock() {
         return clock;
@@ -156,59 +210,63 @@ public class CloudSim implements Simulation {
 
     @Override
     public SimEvent select(final SimEntity dest, final Predicate<SimEvent> predicate) {
-        final SimEvent evt = findFirstDeferred(dest, predicate);
-        if (evt != SimEvent.NULL) {
-            deferred.remove(evt);
-        }
-
-        return evt;
+        return deferred.select(dest, predicate);
     }
 
     @Override
     public SimEvent findFirstDeferred(final SimEntity dest, final Predicate<SimEvent> predicate) {
-        return filterEventsToDestinationEntity(deferred, predicate, dest).findFirst().orElse(SimEvent.NULL);
+        return deferred.findFirst(dest, predicate);
     }
 
     @Override
     public void send(@NonNull final SimEvent evt) {
         //Events with a negative tag have higher priority
-        if (evt.getTag() < 0)
+        final boolean first = evt.getTag() < 0;
+        if (future.merge(evt, first)) {
+            eventPool.release(evt);
+            return;
+        }
+        if (first)
             future.addEventFirst(evt);
         else future.addEvent(evt);
     }
 
     @Override
-    public boolean terminateAt(double time) {
-        if (time <= clock) {
-            return false;
-        }
-
-        terminationTime = time;
-        return true;
+    public boolean sendPrimitive(@NonNull final SimEntity source, @NonNull final SimEntity destination, final double delay, final int tag, final Object data) {
+        //Events with a negative tag have higher priority
+        return future.addEvent(source, destination, delay, tag, data, tag < 0);
     }
 
     /**
-     * Gets a stream of events inside a specific queue that match a given predicate
-     * and are targeted to an specific entity.
+     * Enables or disables keeping the events of the {@link CloudSimTag#PRIMITIVE_TAG} tags in primitive arrays,
+     * see {@link PrimitiveEventStore}.
+     * It is disabled by default and can only be changed before the simulation starts.
      *
-     * @param queue     the queue to get the events from
-     * @param predicate the event selection predicate
-     * @param dest      id of entity that the event has to be sent to
-     * @return a Stream of events from the queue
+     * @param enabled whether to keep the events of the primitive tags in primitive arrays
+     * @return the simulation itself
      */
-    private Stream<SimEvent> filterEventsToDestinationEntity(final EventQueue queue, final Predicate<SimEvent> predicate, final SimEntity dest) {
-        return filterEvents(queue, predicate.and(evt -> evt.getDestination() == dest));
+    public CloudSim setPrimitiveEventStoreEnabled(final boolean enabled) {
+        future.setPrimitiveEventStore(enabled ? new PrimitiveEventStore(CloudSimTag.PRIMITIVE_TAG, eventPool) : null);
+        return this;
     }
 
     /**
-     * Gets a stream of events inside a specific queue that match a given predicate.
+     * Checks whether the events of the {@link CloudSimTag#PRIMITIVE_TAG} tags are kept in primitive arrays.
      *
-     * @param queue the queue to get the events from
-     * @param predicate the event selection predicate
-     * @return a Stream of events from the queue
+     * @return true if the primitive event store is enabled, false otherwise
      */
-    private Stream<SimEvent> filterEvents(final EventQueue queue, final Predicate<SimEvent> predicate) {
-        return queue.stream().filter(predicate);
+    public boolean isPrimitiveEventStoreEnabled() {
+        return future.getPrimitiveEventStore() != null;
+    }
+
+    @Override
+    public boolean terminateAt(double time) {
+        if (time <= clock) {
+            return false;
+        }
+
+        terminationTime = time;
+        return true;
     }
 
     @Override
@@ -226,10 +284,13 @@ public class CloudSim implements Simulation {
         }
         startSync();
         MemoryRecord.recordMemory();
+        AllocationRecord.start();
 
         while (processEvents(Double.MAX_VALUE)) {
             MemoryRecord.recordMemory();
         }
+        AllocationRecord.stop();
+        shutdownForkJoinPool();
         finish();
         MemoryRecord.recordMemory();
         getSqlRecord().close();
@@ -247,7 +308,7 @@ public class CloudSim implements Simulation {
         if (!runClockTickAndProcessFutureEvents(until)) {
             return false;
         }
-        LOGGER.debug(this.deferred.toString());
+        LOGGER.debug("{}", this.deferred);
         /* If it's time to terminate the simulation, sets a new termination time
          * so that events to finish Cloudlets with a negative length are received.
          * Cloudlets with a negative length must keep running
@@ -291,9 +352,26 @@ public class CloudSim implements Simulation {
         sqlRecord.recordDcNetworkInfo(networkTopology);
 
         System.out.printf("All TCO = %f\n", allCost);
+        printEventStatistics();
         System.out.printf("Database to save simulation results: %s\n", getSqlRecord().getDbPath());
     }
 
+    /**
+     * Prints the number of processed events, the merged events, the reuse of the event pool
+     * and the bytes allocated by the simulation thread per event.
+     */
+    private void printEventStatistics() {
+        System.out.printf("Processed %d events, merged %d events, created %d events and reused %d events from the event pool\n",
+                processedEventNum, future.getMergedEventNum(), eventPool.getCreatedEventNum(), eventPool.getReusedEventNum());
+        if (future.getPrimitiveEventStore() != null) {
+            System.out.printf("Kept %d events in primitive arrays\n", future.getPrimitiveEventStore().getStoredEventNum());
+        }
+        long allocatedBytes = AllocationRecord.getAllocatedBytes();
+        if (allocatedBytes >= 0 && processedEventNum > 0) {
+            System.out.printf("Allocated %.1f bytes per event during the simulation\n", (double) allocatedBytes / processedEventNum);
+        }
+    }
+
     @Override
     public boolean isTimeToTerminateSimulationUnderRequest() {
         return isTerminationTimeSet() && clock >= terminationTime;
@@ -336,31 +414,103 @@ public class CloudSim implements Simulation {
      * @return true if there are only continuous looping events, false otherwise
      */
     private boolean isOnlySyn() {
-        //TODO We can consider making a judgment in advance here.
-//        if (!cis.getDatacenterList().isEmpty() && future.size() > cis.getDatacenterList().size() + 1) {
-//            return false;
-//        }
-        for (SimEvent simEvent : future.stream().toList()) {
-            if (!CloudSimTag.LOOP_TAG.contains(simEvent.getTag())) {
-                return false;
-            }
-        }
-        return true;
+        return future.isOnlyLoopTagEvents();
     }
 
     /**
      * Gets the list of entities that are in {@link SimEntity.State#RUNNABLE}
      * and execute them.
+     * When the {@link #parallelism} is greater than 1,
+     * the consecutive datacenters which only have {@link CloudSimTag#PARALLEL_TAG} events to process
+     * are executed in parallel by {@link #runInParallel}.
      */
     @SuppressWarnings("ForLoopReplaceableByForEach")
     private void executeRunnableEntities(final double until) {
+        final List<CloudSimEntity> parallelEntities = new ArrayList<>();
         /* Uses an indexed loop instead of anything else to avoid
         ConcurrencyModificationException when a HostFaultInjection is created inside a DC. */
         for (int i = 0; i < entityList.size(); i++) {
             final CloudSimEntity ent = entityList.get(i);
-            if (ent.getState() == SimEntity.State.RUNNABLE) {
-                ent.run(until);
+            if (ent.getState() != SimEntity.State.RUNNABLE) {
+                continue;
             }
+            if (parallelism > 1) {
+                if (deferred.findFirst(ent, evt -> evt.getTime() <= until) == SimEvent.NULL) {
+                    continue;
+                }
+                if (isParallelizable(ent, until)) {
+                    parallelEntities.add(ent);
+                    continue;
+                }
+                runInParallel(parallelEntities, until);
+            }
+            ent.run(until);
+        }
+        runInParallel(parallelEntities, until);
+    }
+
+    /**
+     * Get whether an entity can process its events up to a given time in parallel with other entities.
+     * It is true for the datacenters which only have {@link CloudSimTag#PARALLEL_TAG} events to process,
+     * because these events only change the state of the datacenter itself and send events.
+     * @param ent the entity
+     * @param until the time up to which the events are processed
+     * @return true if the entity can be executed in parallel, false otherwise
+     */
+    private boolean isParallelizable(final CloudSimEntity ent, final double until) {
+        return ent instanceof Datacenter
+                && deferred.findFirst(ent, evt -> evt.getTime() <= until && !CloudSimTag.PARALLEL_TAG.contains(evt.getTag())) == SimEvent.NULL;
+    }
+
+    /**
+     * Executes the entities in parallel and clears the list.
+     * The events of each entity are removed from the deferred queue and processed on the {@link #forkJoinPool}
+     * while the entity buffers its sends.
+     * Then the sends are executed in the entity order,
+     * so the network delays and the serials of the sent events are the same as in the serial execution.
+     * @param entities the entities to execute, ordered by id
+     * @param until the time up to which the events are processed
+     */
+    private void runInParallel(final List<CloudSimEntity> entities, final double until) {
+        if (entities.size() <= 1) {
+            entities.forEach(ent -> ent.run(until));
+            entities.clear();
+            return;
+        }
+
+        final List<List<SimEvent>> entityEvents = new ArrayList<>(entities.size());
+        for (CloudSimEntity ent : entities) {
+            entityEvents.add(deferred.selectAll(ent, evt -> evt.getTime() <= until));
+            ent.startBufferingSends();
+        }
+        getForkJoinPool().submit(() -> IntStream.range(0, entities.size()).parallel()
+                .forEach(i -> entityEvents.get(i).forEach(entities.get(i)::processEvent))).join();
+
+        for (int i = 0; i < entities.size(); i++) {
+            entities.get(i).flushBufferedSends();
+            entityEvents.get(i).forEach(eventPool::release);
+        }
+        entities.clear();
+    }
+
+    /**
+     * Gets the {@link #forkJoinPool}, creating it if needed.
+     * @return the pool of threads used to process the events in parallel
+     */
+    ForkJoinPool getForkJoinPool() {
+        if (forkJoinPool == null) {
+            forkJoinPool = new ForkJoinPool(parallelism);
+        }
+        return forkJoinPool;
+    }
+
+    /**
+     * Shuts down the {@link #forkJoinPool} if it was created.
+     */
+    private void shutdownForkJoinPool() {
+        if (forkJoinPool != null) {
+            forkJoinPool.shutdown();
+            forkJoinPool = null;
         }
     }
 
@@ -368,16 +518,17 @@ public class CloudSim implements Simulation {
      * Process all the future events happening at the same time of the first one.
      * @param firstEvent the first event to process
      */
-    private void processFutureEventsHappeningAtSameTimeOfTheFirstOne(final SimEvent firstEvent) {
-        processEvent(firstEvent);
+    void processFutureEventsHappeningAtSameTimeOfTheFirstOne(final SimEvent firstEvent) {
+        final double time = firstEvent.getTime();
         future.remove(firstEvent);
+        processEvent(firstEvent);
 
         while (!future.isEmpty()) {
             final SimEvent evt = future.first();
-            if (evt.getTime() != firstEvent.getTime())
+            if (evt.getTime() != time)
                 break;
-            processEvent(evt);
             future.remove(evt);
+            processEvent(evt);
         }
     }
 
@@ -393,8 +544,10 @@ public class CloudSim implements Simulation {
         }
 
         setClock(evt.getTime());
+        processedEventNum++;
         if (CloudSimTag.UNIQUE_TAG.contains(evt.getTag())) {
             if (deferred.isExistSameEvent(evt.getDestination(), evt.getTag(), evt.getData())) {
+                eventPool.release(evt);
                 return;
             }
         }
@@ -451,6 +604,16 @@ public class CloudSim implements Simulation {
         this.sqlRecord = sqlRecord;
     }
 
+    @Override
+    public Simulation setParallelism(final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be at least 1.");
+        }
+        shutdownForkJoinPool();
+        this.parallelism = parallelism;
+        return this;
+    }
+
     @Override
     public boolean isTerminationTimeSet() {
         return terminationTime > 0.0;
@@ -0,0 +1,430 @@
+package org.lgdcloudsim.core;
+
+import lombok.Getter;
+import lombok.NonNull;
+import org.lgdcloudsim.core.events.CloudSimEventPool;
+import org.lgdcloudsim.core.events.EventQueue;
+import org.lgdcloudsim.core.events.SimEvent;
+import org.lgdcloudsim.core.events.TreeSetEventQueue;
+import org.lgdcloudsim.datacenter.Datacenter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * A conservative parallel simulation which uses the lookahead of the network to process
+ * the events of the datacenters happening at different times in parallel.
+ * Each {@link Datacenter} is a logical process with its own clock.
+ * <p>
+ * Starting from the first future event, the simulation looks for a window of events
+ * which are all {@link CloudSimTag#PARALLEL_TAG} events to datacenters
+ * and which happen before the time of the first event plus the {@link #getLookahead() lookahead}.
+ * No entity can send an event to another datacenter earlier than the lookahead,
+ * so the logical processes of the window process their events in parallel on separate threads
+ * until the end of the window, including the parallel events they send to themselves.
+ * The other events they send are kept until the window ends and then added to the future queue in the datacenter order.
+ * When the first event cannot start a window, the events are processed as in {@link CloudSim},
+ * which is the case of all the events to the {@link CloudInformationService} and the users.
+ * </p>
+ * The results are reproducible, but the events sent during a window get their serials when the window ends,
+ * so the events happening at the same time can be processed in another order than in {@link CloudSim}.
+ * The events of the window which are not processed go back to the future queue with their serials.
+ * The future queue is walked in order to find the windows, so a {@link TreeSetEventQueue} is preferred.
+ *
+ * @author Anonymous
+ * @since LGDCloudSim 1.0
+ */
+public class CloudSimConservative extends CloudSim {
+    /**
+     * The lookahead of the simulation.
+     * When it is negative, the min delay of the {@link #getNetworkTopology() network topology} is used.
+     */
+    @Getter
+    private double lookahead = -1;
+
+    /**
+     * The number of windows processed in parallel.
+     */
+    @Getter
+    private long windowNum;
+
+    /**
+     * The number of events processed by the logical processes of the windows,
+     * counted as in {@link #getProcessedEventNum()}.
+     */
+    @Getter
+    private long windowEventNum;
+
+    /**
+     * The start time of the current window.
+     */
+    private double windowStart;
+
+    /**
+     * The end time of the current window, which is excluded unless it is the start time.
+     */
+    private double windowEnd;
+
+    /**
+     * The logical process running on the current thread, or null for the simulation thread.
+     */
+    private final ThreadLocal<LogicalProcess> currentLogicalProcess = new ThreadLocal<>();
+
+    /**
+     * Creates a new conservative simulation using all the available processors.
+     */
+    public CloudSimConservative() {
+        this(new TreeSetEventQueue());
+    }
+
+    /**
+     * Creates a new conservative simulation using all the available processors
+     * whose future events are kept ordered by the given queue.
+     *
+     * @param futureEventQueue the empty queue to keep the future events ordered
+     */
+    public CloudSimConservative(@NonNull final EventQueue futureEventQueue) {
+        super(futureEventQueue);
+        setParallelism(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Sets the lookahead of the simulation.
+     * It must not be greater than the delay of any event sent by an entity to another datacenter.
+     *
+     * @param lookahead the lookahead, or a negative value to use the min delay of the network topology
+     * @return the current simulation instance
+     */
+    public CloudSimConservative setLookahead(final double lookahead) {
+        this.lookahead = lookahead;
+        return this;
+    }
+
+    /**
+     * Starts the simulation, warning when the lookahead is 0,
+     * as each window then only has the events happening at its start time.
+     *
+     * @return the finish time of the simulation
+     */
+    @Override
+    public double start() {
+        if (getLookaheadOrMinDelay() <= 0) {
+            LOGGER.warn("The lookahead is 0, so the logical processes only process the events happening at the same time in parallel. "
+                    + "Set a positive lookahead or a network topology with a positive min delay.");
+        }
+        final double finishTime = super.start();
+        LOGGER.info("Processed {} events in {} windows of logical processes.", windowEventNum, windowNum);
+        return finishTime;
+    }
+
+    @Override
+    public double clock() {
+        final LogicalProcess logicalProcess = currentLogicalProcess.get();
+        return logicalProcess == null ? super.clock() : logicalProcess.clock;
+    }
+
+    /**
+     * Wraps a task so that it reads the clock of the logical process running on the current thread,
+     * as the other threads do not run the logical process.
+     */
+    @Override
+    public <T, R> Function<T, R> withCurrentClock(final Function<T, R> task) {
+        final LogicalProcess logicalProcess = currentLogicalProcess.get();
+        if (logicalProcess == null) {
+            return task;
+        }
+        return input -> {
+            final LogicalProcess previousLogicalProcess = currentLogicalProcess.get();
+            currentLogicalProcess.set(logicalProcess);
+            try {
+                return task.apply(input);
+            } finally {
+                if (previousLogicalProcess == null) {
+                    currentLogicalProcess.remove();
+                } else {
+                    currentLogicalProcess.set(previousLogicalProcess);
+                }
+            }
+        };
+    }
+
+    @Override
+    public String clockStr() {
+        return "%.2f ms".formatted(clock());
+    }
+
+    @Override
+    public CloudSimEventPool getEventPool() {
+        final LogicalProcess logicalProcess = currentLogicalProcess.get();
+        return logicalProcess == null ? super.getEventPool() : logicalProcess.eventPool;
+    }
+
+    @Override
+    public void send(@NonNull final SimEvent evt) {
+        final LogicalProcess logicalProcess = currentLogicalProcess.get();
+        if (logicalProcess == null) {
+            super.send(evt);
+        } else {
+            logicalProcess.send(evt);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * The events sent by a logical process are sent as event objects, so they can be buffered in the process.
+     */
+    @Override
+    public boolean sendPrimitive(final SimEntity source, final SimEntity destination, final double delay, final int tag, final Object data) {
+        return currentLogicalProcess.get() == null && super.sendPrimitive(source, destination, delay, tag, data);
+    }
+
+    @Override
+    void processFutureEventsHappeningAtSameTimeOfTheFirstOne(final SimEvent firstEvent) {
+        if (!processWindow(firstEvent)) {
+            super.processFutureEventsHappeningAtSameTimeOfTheFirstOne(firstEvent);
+        }
+    }
+
+    /**
+     * Processes the window of events starting from the first future event in parallel.
+     *
+     * @param firstEvent the first future event
+     * @return true if the window was processed, false if the first event cannot start a window
+     */
+    private boolean processWindow(final SimEvent firstEvent) {
+        if (!isParallelizable(firstEvent)) {
+            return false;
+        }
+
+        windowStart = firstEvent.getTime();
+        windowEnd = windowStart + getLookaheadOrMinDelay();
+        if (isTerminationTimeSet()) {
+            windowEnd = Math.min(windowEnd, terminationTime);
+        }
+        final List<SimEvent> windowEvents = new ArrayList<>();
+        final Iterator<SimEvent> iterator = future.iterator();
+        while (iterator.hasNext()) {
+            final SimEvent evt = iterator.next();
+            if (!isInWindow(evt.getTime())) {
+                break;
+            }
+            if (!isParallelizable(evt)) {
+                if (evt.getTime() == windowStart) {
+                    return false;
+                }
+                windowEnd = Math.min(windowEnd, evt.getTime());
+                break;
+            }
+            windowEvents.add(evt);
+        }
+        windowEvents.removeIf(evt -> !isInWindow(evt.getTime()));
+        future.removeAll(windowEvents);
+
+        final Map<SimEntity, LogicalProcess> logicalProcesses = new TreeMap<>();
+        for (SimEvent evt : windowEvents) {
+            logicalProcesses.computeIfAbsent(evt.getDestination(), LogicalProcess::new).events.add(evt);
+        }
+        setClock(windowStart);
+        getForkJoinPool().submit(() -> logicalProcesses.values().parallelStream().forEach(LogicalProcess::run)).join();
+
+        for (LogicalProcess logicalProcess : logicalProcesses.values()) {
+            logicalProcess.returnEvents();
+            processedEventNum += logicalProcess.processedEventNum;
+            windowEventNum += logicalProcess.processedEventNum;
+        }
+        windowNum++;
+        return true;
+    }
+
+    /**
+     * Gets the lookahead used for the windows.
+     *
+     * @return the {@link #lookahead} or the min delay of the network topology if it is negative
+     */
+    private double getLookaheadOrMinDelay() {
+        if (lookahead >= 0) {
+            return lookahead;
+        }
+        return getNetworkTopology() == null ? 0 : getNetworkTopology().getMinDelay();
+    }
+
+    /**
+     * Get whether a time is in the current window.
+     *
+     * @param time the time
+     * @return true if the time is the start of the window or before its end, false otherwise
+     */
+    private boolean isInWindow(final double time) {
+        return time == windowStart || time < windowEnd;
+    }
+
+    /**
+     * Get whether an event can be processed by the logical process of its destination.
+     *
+     * @param evt the event
+     * @return true if it is a {@link CloudSimTag#PARALLEL_TAG} event to a datacenter, false otherwise
+     */
+    private boolean isParallelizable(final SimEvent evt) {
+        return evt.getDestination() instanceof Datacenter && CloudSimTag.PARALLEL_TAG.contains(evt.getTag());
+    }
+
+    /**
+     * The logical process of a datacenter in a window.
+     * It processes the events of the datacenter in time order with its own clock.
+     * Like the {@link CloudSim#processEvent(SimEvent) simulation}, the events happening at the same time
+     * are processed together and only one of the same {@link CloudSimTag#UNIQUE_TAG} events is processed.
+     */
+    private class LogicalProcess {
+        /**
+         * The datacenter whose events are processed.
+         */
+        private final SimEntity entity;
+
+        /**
+         * The events waiting to be processed.
+         * They are returned to the future queue at the end of the window.
+         */
+        private final TreeSet<SimEvent> events = new TreeSet<>();
+
+        /**
+         * The events sent, in the order they were sent.
+         * Those which are not processed in the window are added to the future queue at the end of the window.
+         */
+        private final List<SimEvent> sentEvents = new ArrayList<>();
+
+        /**
+         * The events sent which are kept in {@link #events} to be processed in the window.
+         */
+        private final Set<SimEvent> keptEvents = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        /**
+         * The disabled event pool used to create the events, because the event pool of the simulation is not thread safe.
+         */
+        private final CloudSimEventPool eventPool = new CloudSimEventPool();
+
+        /**
+         * The clock of the logical process.
+         */
+        private double clock;
+
+        /**
+         * The time from which the logical process cannot process its events,
+         * because it sent itself an event which is not processed in the window.
+         */
+        private double stopTime = Double.MAX_VALUE;
+
+        /**
+         * The serial of the next event the logical process sends itself.
+         * It starts from the next serial of the future queue to order them after the events from the queue.
+         */
+        private long serial = future.getSerial();
+
+        /**
+         * The number of events processed, including the repeated unique events skipped.
+         */
+        private long processedEventNum;
+
+        LogicalProcess(final SimEntity entity) {
+            this.entity = entity;
+        }
+
+        /**
+         * Processes the events until the end of the window or the {@link #stopTime}.
+         */
+        void run() {
+            // The thread may be waiting for the tasks of another logical process, see withCurrentClock.
+            final LogicalProcess previousLogicalProcess = currentLogicalProcess.get();
+            currentLogicalProcess.set(this);
+            try {
+                while (!events.isEmpty() && events.first().getTime() < stopTime) {
+                    clock = events.first().getTime();
+                    final List<SimEvent> sameTimeEvents = new ArrayList<>();
+                    while (!events.isEmpty() && events.first().getTime() == clock) {
+                        sameTimeEvents.add(events.pollFirst());
+                    }
+                    processSameTimeEvents(sameTimeEvents);
+                }
+            } finally {
+                if (previousLogicalProcess == null) {
+                    currentLogicalProcess.remove();
+                } else {
+                    currentLogicalProcess.set(previousLogicalProcess);
+                }
+            }
+        }
+
+        /**
+         * Adds the events which are not processed in the window to the future queue.
+         * The events from the future queue keep their serials
+         * and the events sent get new serials in the order they were sent.
+         */
+        void returnEvents() {
+            final Set<SimEvent> unprocessedEvents = Collections.newSetFromMap(new IdentityHashMap<>());
+            unprocessedEvents.addAll(events);
+            for (SimEvent evt : events) {
+                if (!keptEvents.contains(evt)) {
+                    future.addEventKeepingSerial(evt);
+                }
+            }
+            for (SimEvent evt : sentEvents) {
+                if (!keptEvents.contains(evt) || unprocessedEvents.contains(evt)) {
+                    CloudSimConservative.super.send(evt);
+                }
+            }
+        }
+
+        /**
+         * Processes the events happening at the same time, skipping the repeated unique events.
+         *
+         * @param sameTimeEvents the events happening at the same time
+         */
+        private void processSameTimeEvents(final List<SimEvent> sameTimeEvents) {
+            final Set<UniqueEvent> uniqueEvents = new HashSet<>();
+            processedEventNum += sameTimeEvents.size();
+            for (SimEvent evt : sameTimeEvents) {
+                if (CloudSimTag.UNIQUE_TAG.contains(evt.getTag()) && !uniqueEvents.add(new UniqueEvent(evt.getTag(), evt.getData()))) {
+                    continue;
+                }
+                entity.processEvent(evt);
+            }
+        }
+
+        /**
+         * Keeps an event sent by the datacenter.
+         * The parallel events it sends itself in the window are processed by the logical process,
+         * the others and those left unprocessed are added to the future queue at the end of the window.
+         *
+         * @param evt the event sent
+         */
+        void send(final SimEvent evt) {
+            sentEvents.add(evt);
+            if (evt.getDestination() == entity && CloudSimTag.PARALLEL_TAG.contains(evt.getTag())
+                    && isInWindow(evt.getTime()) && evt.getTime() < stopTime) {
+                events.add(evt.setSerial(serial++));
+                keptEvents.add(evt);
+                return;
+            }
+            if (evt.getDestination() == entity) {
+                stopTime = Math.min(stopTime, evt.getTime());
+            }
+        }
+    }
+
+    /**
+     * The tag and the data identifying the same {@link CloudSimTag#UNIQUE_TAG} events.
+     *
+     * @param tag  the tag of the event
+     * @param data the data of the event
+     */
+    private record UniqueEvent(int tag, Object data) {
+    }
+}
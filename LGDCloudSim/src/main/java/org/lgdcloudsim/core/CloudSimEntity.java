@@ -11,12 +11,13 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
-import org.lgdcloudsim.core.events.CloudSimEvent;
 import org.lgdcloudsim.core.events.SimEvent;
 import org.lgdcloudsim.user.UserSimple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Predicate;
 
 import static java.util.Objects.requireNonNull;
@@ -54,6 +55,14 @@ public abstract class CloudSimEntity implements SimEntity {
      */
     private SimEvent buffer;
 
+    /**
+     * The sends buffered while the entity processes its events in parallel with other entities,
+     * or null if the sends are executed immediately.
+     * They are executed by {@link #flushBufferedSends()} in the entity order,
+     * so that the network delays and the event order are the same as in the serial simulation.
+     */
+    private List<Runnable> bufferedSends;
+
     /**
      * Creates a new entity.
      *
@@ -98,6 +107,7 @@ public abstract class CloudSimEntity implements SimEntity {
 
         while (evt != SimEvent.NULL) {
             processEvent(evt);
+            simulation.getEventPool().release(evt);
             if (state != State.RUNNABLE) {
                 break;
             }
@@ -108,6 +118,40 @@ public abstract class CloudSimEntity implements SimEntity {
         buffer = null;
     }
 
+    /**
+     * Starts buffering the sends of the entity instead of executing them,
+     * until {@link #flushBufferedSends()} is called.
+     */
+    void startBufferingSends() {
+        bufferedSends = new ArrayList<>();
+    }
+
+    /**
+     * Executes the sends buffered since {@link #startBufferingSends()} in the order they were made
+     * and stops buffering.
+     */
+    void flushBufferedSends() {
+        final List<Runnable> sends = bufferedSends;
+        bufferedSends = null;
+        if (sends != null) {
+            sends.forEach(Runnable::run);
+        }
+    }
+
+    /**
+     * Buffers a send if the entity is buffering its sends.
+     *
+     * @param send the send to buffer
+     * @return true if the send was buffered, false if it has to be executed now
+     */
+    private boolean bufferSend(final Runnable send) {
+        if (bufferedSends == null) {
+            return false;
+        }
+        bufferedSends.add(send);
+        return true;
+    }
+
     /**
      * Gets the first event matching a predicate from the deferred queue, or if
      * none match, wait for a matching event to arrive.
@@ -166,6 +210,9 @@ public abstract class CloudSimEntity implements SimEntity {
 
     @Override
     public boolean schedule(final SimEvent evt) {
+        if (bufferSend(() -> simulation.send(evt))) {
+            return true;
+        }
         simulation.send(evt);
         return true;
     }
@@ -175,7 +222,13 @@ public abstract class CloudSimEntity implements SimEntity {
     }
     @Override
     public boolean schedule(final SimEntity dest, final double delay, final int tag, final Object data) {
-        return schedule(new CloudSimEvent(delay, this, dest, tag, data));
+        if (bufferSend(() -> schedule(dest, delay, tag, data))) {
+            return true;
+        }
+        if (simulation.sendPrimitive(this, dest, delay, tag, data)) {
+            return true;
+        }
+        return schedule(simulation.getEventPool().acquire(delay, this, dest, tag, data));
     }
 
     /**
@@ -186,7 +239,21 @@ public abstract class CloudSimEntity implements SimEntity {
      * @param tag a user-defined number representing the type of event, @see {@link SimEvent#getTag()}
      * @param data a reference to an object to be sent with the event
      */
-    protected void send(final SimEntity dest, double delay, final int tag, final Object data) {
+    protected void send(final SimEntity dest, final double delay, final int tag, final Object data) {
+        // The network delay is drawn when the send is executed, so a buffered send must be buffered before it
+        if (!bufferSend(() -> sendWithNetworkDelay(dest, delay, tag, data))) {
+            sendWithNetworkDelay(dest, delay, tag, data);
+        }
+    }
+
+    /**
+     * Sends an event from one entity to another considering the network delay between the entities.
+     * @param dest the destination entity
+     * @param delay how long from now the event should be executed
+     * @param tag a user-defined number representing the type of event, @see {@link SimEvent#getTag()}
+     * @param data a reference to an object to be sent with the event
+     */
+    private void sendWithNetworkDelay(final SimEntity dest, double delay, final int tag, final Object data) {
         requireNonNull(dest);
         if (dest.getId() < 0) {
             LOGGER.error("{}.send(): invalid entity id {} for {}", getName(), dest.getId(), dest);
@@ -183,6 +183,26 @@ public class CloudSimTag {
      */
     public static final Set<Integer> LOOP_TAG = Set.of(SYN_STATE_BETWEEN_DC, SYN_STATE_IN_DC, CHANGE_COLLABORATION_SYN);
 
+    /**
+     * Tags whose processing by a datacenter only changes the state of the datacenter itself and sends events.
+     * If a datacenter only has these events at a time,
+     * it can process them in parallel with the other datacenters, see {@link CloudSim#setParallelism(int)}.
+     */
+    public static final Set<Integer> PARALLEL_TAG = Set.of(SYN_STATE_IN_DC, LOAD_BALANCE_SEND, INTRA_SCHEDULE_BEGIN);
+
+    /**
+     * Tags whose events carry a list which is processed item by item.
+     * The events with the same time, source, destination and tag whose data are lists
+     * are merged into one event carrying all the items, see {@link org.lgdcloudsim.core.events.FutureQueue#merge}.
+     */
+    public static final Set<Integer> MERGEABLE_TAG = Set.of(END_INSTANCE_RUN);
+
+    /**
+     * Tags of the frequent events which are kept in primitive arrays instead of event objects
+     * when the primitive event store is enabled, see {@link CloudSim#setPrimitiveEventStoreEnabled(boolean)}.
+     */
+    public static final Set<Integer> PRIMITIVE_TAG = Set.of(SYN_STATE_IN_DC, LOAD_BALANCE_SEND, END_INSTANCE_RUN);
+
     /**
      * Convert the tag to a string.
      *
@@ -5,7 +5,11 @@ import org.lgdcloudsim.conflicthandler.ConflictHandler;
 import org.lgdcloudsim.intrascheduler.IntraScheduler;
 import org.lgdcloudsim.record.SqlRecord;
 import org.lgdcloudsim.interscheduler.InterScheduler;
+import org.lgdcloudsim.statemanager.HostStateStore;
 import org.lgdcloudsim.statemanager.PredictionManager;
+import org.lgdcloudsim.statemanager.StatesManagerSimple;
+import org.lgdcloudsim.core.events.EventQueue;
+import org.lgdcloudsim.util.ScheduleCostModel;
 
 /**
  * An interface that implements a method factory.
@@ -14,7 +18,8 @@ import org.lgdcloudsim.statemanager.PredictionManager;
  * So when the user customizes a component with different methods,
  * it needs to be registered here. Then it can be initialized through the file.
  * Current components are:
- * {@link IntraScheduler}, {@link PredictionManager}, {@link InterScheduler}, {@link LoadBalancer}, {@link ConflictHandler}.
+ * {@link IntraScheduler}, {@link PredictionManager}, {@link InterScheduler}, {@link LoadBalancer}, {@link ConflictHandler},
+ * and the {@link EventQueue} that keeps the future events of {@link CloudSim} ordered.
  *
  * @author Anonymous
  * @since LGDCloudSim 1.0
@@ -63,6 +68,28 @@ public interface Factory {
      */
     ConflictHandler getResourceAllocateSelector(String type);
 
+    /**
+     * Get the {@link EventQueue} used by {@link CloudSim} to keep the future events ordered by the type name.
+     * @param type the type name of the event queue.
+     * @return the event queue.
+     */
+    EventQueue getFutureEventQueue(String type);
+
+    /**
+     * Get the {@link HostStateStore} used by {@link StatesManagerSimple} to keep the states of the hosts by the type name.
+     * @param type the type name of the host state store.
+     * @param hostNum the number of hosts in the datacenter.
+     * @return the host state store.
+     */
+    HostStateStore getHostStateStore(String type, int hostNum);
+
+    /**
+     * Get the {@link ScheduleCostModel} giving the simulated time spent by the scheduling steps by the type name.
+     * @param type the type name of the schedule cost model.
+     * @return the schedule cost model.
+     */
+    ScheduleCostModel getScheduleCostModel(String type);
+
     /**
      * Get the {@link SqlRecord} by the type name.
      * @param type the type name of the sql record.
@@ -6,6 +6,11 @@ import org.lgdcloudsim.interscheduler.*;
 import org.lgdcloudsim.statemanager.*;
 import org.lgdcloudsim.conflicthandler.*;
 import org.lgdcloudsim.loadbalancer.*;
+import org.lgdcloudsim.core.events.*;
+import org.lgdcloudsim.util.ScheduleCostModel;
+import org.lgdcloudsim.util.ScheduleCostModelCalibration;
+import org.lgdcloudsim.util.ScheduleCostModelCounted;
+import org.lgdcloudsim.util.ScheduleCostModelMeasured;
 
 /**
  * A simple factory that implements the {@link Factory} interface.
@@ -26,6 +31,9 @@ public class FactorySimple implements Factory {
             case "FirstFit" -> new IntraSchedulerFirstFit(id, firstPartitionId, partitionNum);
             case "multiLevel" -> new IntraSchedulerPartitionMultiLevel(id, firstPartitionId, partitionNum);
             case "fixedPartitionRandom" -> new IntraSchedulerFixedPartitionRandom(id, firstPartitionId, partitionNum);
+            case "powerOfChoices" -> new IntraSchedulerPowerOfChoices(id, firstPartitionId, partitionNum);
+            case "bestFit", "BestFit" -> new IntraSchedulerBestFit(id, firstPartitionId, partitionNum);
+            case "gang", "Gang" -> new IntraSchedulerGang(id, firstPartitionId, partitionNum);
             default -> null;
         };
     }
@@ -71,6 +79,35 @@ public class FactorySimple implements Factory {
         };
     }
 
+    @Override
+    public EventQueue getFutureEventQueue(String type) {
+        return switch (type) {
+            case "simple", "Simple", "treeSet", "TreeSet" -> new TreeSetEventQueue();
+            case "calendar", "Calendar" -> new CalendarQueue();
+            default -> null;
+        };
+    }
+
+    @Override
+    public HostStateStore getHostStateStore(String type, int hostNum) {
+        return switch (type) {
+            case "simple", "Simple", "heap", "Heap" -> new HostStateStoreHeap(hostNum);
+            case "offHeap", "OffHeap", "off-heap" -> new HostStateStoreOffHeap(hostNum);
+            case "copyOnWrite", "CopyOnWrite", "cow" -> new HostStateStoreCopyOnWrite(hostNum);
+            default -> null;
+        };
+    }
+
+    @Override
+    public ScheduleCostModel getScheduleCostModel(String type) {
+        return switch (type) {
+            case "measured", "Measured" -> new ScheduleCostModelMeasured();
+            case "counted", "Counted" -> new ScheduleCostModelCounted();
+            case "calibration", "Calibration" -> new ScheduleCostModelCalibration();
+            default -> null;
+        };
+    }
+
     @Override
     public SqlRecord getSqlRecord(String type) {
         return switch (type) {
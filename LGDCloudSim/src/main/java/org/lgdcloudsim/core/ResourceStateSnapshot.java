@@ -0,0 +1,169 @@
+package org.lgdcloudsim.core;
+
+import org.lgdcloudsim.datacenter.Datacenter;
+import org.lgdcloudsim.network.DcBwManager;
+import org.lgdcloudsim.statemanager.HostState;
+import org.lgdcloudsim.statemanager.StatesManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * A versioned binary snapshot of the resource state of a simulation,
+ * used to start several runs from the resources occupied by a warm-up run instead of replaying the warm-up each time.
+ * A warm-up run is {@link Simulation#terminateAt(double) terminated} at the end of the warm-up and {@link #write written},
+ * then each new run builds the same data centers and {@link #importStates imports} the snapshot before it {@link Simulation#start() starts}.
+ * <p>
+ * It is a host-state-only import, not a checkpoint of the simulation:
+ * the snapshot contains the clock, the states of all the hosts of each data center
+ * and the residual bandwidth between the data centers with its total cost.
+ * The imported host states are used like the initial host states of a {@link org.lgdcloudsim.statemanager.HostStateGenerator}.
+ * The instances running at the end of the warm-up, their {@link CloudSimTag#END_INSTANCE_RUN} events,
+ * the other events, the queues and the user requests are not kept,
+ * so the resources occupied at the end of the warm-up are never released,
+ * and the new run starts from its own clock rather than the clock of the warm-up.
+ * </p>
+ * The file is written sequentially, one data center after the other,
+ * and it is memory-mapped to be imported, so the host states are copied straight from the mapped file.
+ * All the values are big-endian:
+ * <pre>
+ * int magic, int version, double clock, int datacenterNum,
+ * datacenterNum * (int datacenterId, int hostNum, hostNum * HostState.STATE_NUM * int state),
+ * int hasBw, [int bwNum, bwNum * (int srcDcId, int dstDcId, double bw), double bwTCO]
+ * </pre>
+ *
+ * @author Anonymous
+ * @since LGDCloudSim 1.0
+ */
+public final class ResourceStateSnapshot {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResourceStateSnapshot.class.getSimpleName());
+
+    /**
+     * The first int of the snapshot files, "LGDS".
+     */
+    public static final int MAGIC = 0x4C474453;
+
+    /**
+     * The version of the format written by {@link #write}.
+     */
+    public static final int VERSION = 1;
+
+    private ResourceStateSnapshot() {
+    }
+
+    /**
+     * Write the snapshot of a simulation.
+     *
+     * @param simulation the simulation
+     * @param file       the file to write, which is replaced if it exists
+     * @throws IOException if an I/O error occurs
+     */
+    public static void write(Simulation simulation, Path file) throws IOException {
+        Set<Datacenter> datacenters = getDatacenters(simulation);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeDouble(simulation.clock());
+            out.writeInt(datacenters.size());
+            for (Datacenter datacenter : datacenters) {
+                StatesManager statesManager = datacenter.getStatesManager();
+                out.writeInt(datacenter.getId());
+                out.writeInt(statesManager.getHostNum());
+                ByteBuffer hostStates = ByteBuffer.allocate(statesManager.getHostNum() * HostState.STATE_NUM * Integer.BYTES);
+                statesManager.copyHostStates(hostStates.asIntBuffer());
+                out.write(hostStates.array());
+            }
+
+            DcBwManager dcBwManager = getDcBwManager(simulation);
+            out.writeInt(dcBwManager == null ? 0 : 1);
+            if (dcBwManager != null) {
+                dcBwManager.writeBw(out);
+            }
+        }
+        LOGGER.info("{}: Wrote the snapshot of {} data centers to {}.", simulation.clockStr(), datacenters.size(), file);
+    }
+
+    /**
+     * Import the host states and the bandwidth of a snapshot to a simulation which has the same data centers and has not started.
+     * The clock of the simulation is not changed, see {@link ResourceStateSnapshot}.
+     *
+     * @param simulation the simulation
+     * @param file       the file written by {@link #write}
+     * @return the clock of the warm-up simulation when the snapshot was written, for information
+     * @throws IOException if an I/O error occurs or the file is not a snapshot of the same data centers
+     */
+    public static double importStates(Simulation simulation, Path file) throws IOException {
+        Set<Datacenter> datacenters = getDatacenters(simulation);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (in.getInt() != MAGIC) {
+                throw new IOException(file + " is not a simulation snapshot.");
+            }
+            int version = in.getInt();
+            if (version != VERSION) {
+                throw new IOException("The version " + version + " of the snapshot " + file + " is not supported.");
+            }
+            double clock = in.getDouble();
+            int datacenterNum = in.getInt();
+            if (datacenterNum != datacenters.size()) {
+                throw new IOException("The snapshot " + file + " has " + datacenterNum + " data centers instead of " + datacenters.size() + ".");
+            }
+
+            for (Datacenter datacenter : datacenters) {
+                int datacenterId = in.getInt();
+                int hostNum = in.getInt();
+                if (datacenterId != datacenter.getId() || hostNum != datacenter.getStatesManager().getHostNum()) {
+                    throw new IOException("The data center " + datacenterId + " with " + hostNum + " hosts of the snapshot " + file
+                            + " is not " + datacenter.getName() + " with " + datacenter.getStatesManager().getHostNum() + " hosts.");
+                }
+                int length = hostNum * HostState.STATE_NUM * Integer.BYTES;
+                datacenter.getStatesManager().restoreHostStates(in.slice(in.position(), length).asIntBuffer());
+                in.position(in.position() + length);
+            }
+
+            DcBwManager dcBwManager = getDcBwManager(simulation);
+            if ((in.getInt() == 1) != (dcBwManager != null)) {
+                throw new IOException("The bandwidth between the data centers of the snapshot " + file + " does not match the network topology.");
+            }
+            if (dcBwManager != null) {
+                dcBwManager.restoreBw(in);
+            }
+
+            LOGGER.info("Imported the host states of {} data centers written at {} ms from {}.", datacenters.size(), clock, file);
+            return clock;
+        }
+    }
+
+    /**
+     * Get all the data centers of the simulation in the order of their ids.
+     *
+     * @param simulation the simulation
+     * @return the data centers
+     */
+    private static Set<Datacenter> getDatacenters(Simulation simulation) {
+        Set<Datacenter> datacenters = new TreeSet<>();
+        simulation.getCollaborationManager().getCollaborationMap().values().forEach(datacenters::addAll);
+        return datacenters;
+    }
+
+    /**
+     * Get the data center bandwidth manager of the simulation.
+     *
+     * @param simulation the simulation
+     * @return the data center bandwidth manager, or null if there is not any
+     */
+    private static DcBwManager getDcBwManager(Simulation simulation) {
+        return simulation.getNetworkTopology() == null ? null : simulation.getNetworkTopology().getDcBwManager();
+    }
+}
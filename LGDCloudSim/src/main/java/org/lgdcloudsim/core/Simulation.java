@@ -1,10 +1,14 @@
 package org.lgdcloudsim.core;
 
+import org.lgdcloudsim.core.events.CloudSimEventPool;
 import org.lgdcloudsim.core.events.SimEvent;
 import org.lgdcloudsim.network.NetworkTopology;
 import org.lgdcloudsim.datacenter.CollaborationManager;
+import org.lgdcloudsim.util.ScheduleCostModel;
+import org.lgdcloudsim.util.ScheduleCostModelMeasured;
 import org.lgdcloudsim.record.SqlRecord;
 
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 /**
@@ -80,6 +84,39 @@ public interface Simulation {
      */
     void send(SimEvent evt);
 
+    /**
+     * Sends an event by its fields without creating an event object,
+     * if the simulation keeps the events of this tag in a {@link org.lgdcloudsim.core.events.PrimitiveEventStore}.
+     *
+     * @param source      the source entity which is sending the message
+     * @param destination the destination entity which has to receive the message
+     * @param delay       how many seconds after the current simulation time the event should be scheduled
+     * @param tag         the tag that identifies the type of the message
+     * @param data        the data attached to the message
+     * @return true if the event was sent, false if it has to be sent with {@link #send(SimEvent)}
+     */
+    boolean sendPrimitive(SimEntity source, SimEntity destination, double delay, int tag, Object data);
+
+    /**
+     * Gets the pool used to create the events sent by the entities.
+     * It is disabled by default, so a new event is created for each message.
+     *
+     * @return the event pool
+     */
+    CloudSimEventPool getEventPool();
+
+    /**
+     * Wraps a task to be run on other threads on behalf of the current thread,
+     * so that the {@link #clock()} it reads there is the clock of the current thread.
+     * The task must only read the simulation, not send events.
+     *
+     * @param task the task to run on other threads
+     * @param <T>  the type of the input of the task
+     * @param <R>  the type of the result of the task
+     * @return the task reading the clock of the current thread
+     */
+    <T, R> Function<T, R> withCurrentClock(Function<T, R> task);
+
     /**
      * Gets the {@link CloudInformationService}.
      *
@@ -239,4 +276,33 @@ public interface Simulation {
      * @return the name of the database
      */
     String getDbName();
+
+    /**
+     * Get the number of threads used to process the events of the datacenters in parallel.
+     * @return the number of threads, 1 if the events are processed serially
+     */
+    int getParallelism();
+
+    /**
+     * Set the number of threads used to process the events of the datacenters in parallel.
+     * The events of the datacenters happening at the same time which only change the state of the datacenter itself
+     * are processed in parallel, and the results are the same as processing them serially.
+     * @param parallelism the number of threads, 1 to process the events serially
+     * @return the current simulation instance
+     */
+    Simulation setParallelism(int parallelism);
+
+    /**
+     * Get the model giving the simulated time spent by the schedulers.
+     * @return the schedule cost model
+     */
+    ScheduleCostModel getScheduleCostModel();
+
+    /**
+     * Set the model giving the simulated time spent by the schedulers.
+     * By default, the measured wall-clock time is used, see {@link ScheduleCostModelMeasured}.
+     * @param scheduleCostModel the schedule cost model
+     * @return the current simulation instance
+     */
+    Simulation setScheduleCostModel(ScheduleCostModel scheduleCostModel);
 }
@@ -1,10 +1,14 @@
 package org.lgdcloudsim.core;
 
+import org.lgdcloudsim.core.events.CloudSimEventPool;
 import org.lgdcloudsim.core.events.SimEvent;
 import org.lgdcloudsim.network.NetworkTopology;
 import org.lgdcloudsim.datacenter.CollaborationManager;
+import org.lgdcloudsim.util.ScheduleCostModel;
+import org.lgdcloudsim.util.ScheduleCostModelMeasured;
 import org.lgdcloudsim.record.SqlRecord;
 
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 /**
@@ -47,6 +51,21 @@ public class SimulationNull implements Simulation {
 
     }
 
+    @Override
+    public boolean sendPrimitive(SimEntity source, SimEntity destination, double delay, int tag, Object data) {
+        return false;
+    }
+
+    @Override
+    public CloudSimEventPool getEventPool() {
+        return new CloudSimEventPool();
+    }
+
+    @Override
+    public <T, R> Function<T, R> withCurrentClock(Function<T, R> task) {
+        return task;
+    }
+
     @Override
     public CloudInformationService getCis() {
         return null;
@@ -151,4 +170,24 @@ public class SimulationNull implements Simulation {
     public void setSqlRecord(SqlRecord sqlRecord) {
 
     }
+
+    @Override
+    public int getParallelism() {
+        return 1;
+    }
+
+    @Override
+    public Simulation setParallelism(int parallelism) {
+        return this;
+    }
+
+    @Override
+    public ScheduleCostModel getScheduleCostModel() {
+        return new ScheduleCostModelMeasured();
+    }
+
+    @Override
+    public Simulation setScheduleCostModel(ScheduleCostModel scheduleCostModel) {
+        return this;
+    }
 }
@@ -0,0 +1,457 @@
+package org.lgdcloudsim.core.events;
+
+import lombok.Getter;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * An {@link EventQueue} based on the calendar queue proposed by R. Brown
+ * ("Calendar queues: a fast O(1) priority queue implementation for the simulation event set problem", 1988).
+ * The events are distributed into an array of buckets (the days of the calendar),
+ * each covering a time interval of {@link #bucketWidth}.
+ * An event with time t belongs to the virtual bucket floor(t / bucketWidth),
+ * which is mapped to the physical bucket by its remainder with the number of buckets.
+ * Each bucket keeps its events sorted by {@link SimEvent#compareTo(SimEvent)},
+ * so the queue keeps exactly the same order as the {@link TreeSetEventQueue}.
+ * <p>
+ * The number of buckets is doubled or halved when the number of events grows or shrinks,
+ * and the bucket width is estimated again from a sample of the events at each resize.
+ * Therefore, adding an event and getting/removing the first one take amortized O(1) time.
+ * The {@link #iterator()} and {@link #stream()} methods work on a sorted snapshot of the queue,
+ * so they take O(n log n) time and should not be used in the hot path.
+ * </p>
+ *
+ * @author Anonymous
+ * @see TreeSetEventQueue
+ * @since LGDCloudSim 1.0
+ */
+public class CalendarQueue implements EventQueue {
+    /**
+     * The minimum number of buckets of the calendar.
+     */
+    private static final int MIN_BUCKET_NUM = 16;
+
+    /**
+     * The default width of each bucket in ms.
+     */
+    private static final double DEFAULT_BUCKET_WIDTH = 1.0;
+
+    /**
+     * The minimum width of each bucket in ms.
+     */
+    private static final double MIN_BUCKET_WIDTH = 0.001;
+
+    /**
+     * The number of events sampled to estimate the bucket width when resizing.
+     */
+    private static final int WIDTH_SAMPLE_NUM = 64;
+
+    /**
+     * The buckets of the calendar. The length is always a power of two.
+     */
+    private Bucket[] buckets;
+
+    /**
+     * The mask to map a virtual bucket to the index of the physical bucket.
+     */
+    private int bucketMask;
+
+    /**
+     * The time interval covered by each bucket.
+     */
+    @Getter
+    private double bucketWidth;
+
+    /**
+     * The virtual bucket where the search for the first event starts.
+     * No event in the queue belongs to a virtual bucket lower than it.
+     */
+    private long currentVirtualBucket;
+
+    /**
+     * The number of events in the queue.
+     */
+    private int size;
+
+    /**
+     * The first event of the queue found by the last search,
+     * or null if it needs to be searched again.
+     */
+    private SimEvent cachedFirst;
+
+    /**
+     * The number of times the calendar was resized, just for debug purpose.
+     */
+    @Getter
+    private int resizeTimes;
+
+    /**
+     * Creates a calendar queue with the default number of buckets and bucket width.
+     */
+    public CalendarQueue() {
+        this(MIN_BUCKET_NUM, DEFAULT_BUCKET_WIDTH);
+    }
+
+    /**
+     * Creates a calendar queue.
+     *
+     * @param bucketNum   the initial number of buckets. It will be rounded up to a power of two.
+     * @param bucketWidth the initial time interval covered by each bucket.
+     */
+    public CalendarQueue(int bucketNum, double bucketWidth) {
+        if (bucketWidth <= 0) {
+            throw new IllegalArgumentException("The bucket width of the calendar queue must be positive.");
+        }
+        int num = Math.max(MIN_BUCKET_NUM, Integer.highestOneBit(Math.max(1, bucketNum - 1)) << 1);
+        this.bucketWidth = Math.max(MIN_BUCKET_WIDTH, bucketWidth);
+        initBuckets(num);
+    }
+
+    @Override
+    public void addEvent(final SimEvent newEvent) {
+        long virtualBucket = getVirtualBucket(newEvent.getTime());
+        if (!buckets[(int) (virtualBucket & bucketMask)].insert(newEvent)) {
+            return;
+        }
+        if (size == 0 || virtualBucket < currentVirtualBucket) {
+            currentVirtualBucket = virtualBucket;
+        }
+        if (cachedFirst != null && newEvent.compareTo(cachedFirst) < 0) {
+            cachedFirst = newEvent;
+        }
+        size++;
+        if (size > 2 * buckets.length) {
+            resize(buckets.length << 1);
+        }
+    }
+
+    @Override
+    public SimEvent first() throws NoSuchElementException {
+        if (size == 0) {
+            throw new NoSuchElementException("The Calendar Queue is empty.");
+        }
+        if (cachedFirst != null) {
+            return cachedFirst;
+        }
+
+        // Searches the buckets of the current year starting from the current virtual bucket.
+        for (int i = 0; i < buckets.length; i++) {
+            long virtualBucket = currentVirtualBucket + i;
+            Bucket bucket = buckets[(int) (virtualBucket & bucketMask)];
+            if (!bucket.isEmpty() && getVirtualBucket(bucket.first().getTime()) == virtualBucket) {
+                currentVirtualBucket = virtualBucket;
+                cachedFirst = bucket.first();
+                return cachedFirst;
+            }
+        }
+
+        // All events are in future years, so the first one is searched directly.
+        SimEvent first = null;
+        for (Bucket bucket : buckets) {
+            if (!bucket.isEmpty() && (first == null || bucket.first().compareTo(first) < 0)) {
+                first = bucket.first();
+            }
+        }
+        currentVirtualBucket = getVirtualBucket(first.getTime());
+        cachedFirst = first;
+        return first;
+    }
+
+    @Override
+    public boolean remove(final SimEvent event) {
+        if (size == 0 || !buckets[getBucketIndex(event.getTime())].remove(event)) {
+            return false;
+        }
+        if (cachedFirst != null && cachedFirst.compareTo(event) == 0) {
+            cachedFirst = null;
+        }
+        size--;
+        shrinkIfNeeded();
+        return true;
+    }
+
+    @Override
+    public boolean removeAll(final Collection<SimEvent> events) {
+        boolean removed = false;
+        for (SimEvent event : events) {
+            removed |= remove(event);
+        }
+        return removed;
+    }
+
+    @Override
+    public boolean removeIf(final Predicate<SimEvent> predicate) {
+        int removedNum = 0;
+        for (Bucket bucket : buckets) {
+            removedNum += bucket.removeIf(predicate);
+        }
+        if (removedNum == 0) {
+            return false;
+        }
+        size -= removedNum;
+        cachedFirst = null;
+        shrinkIfNeeded();
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        initBuckets(MIN_BUCKET_NUM);
+        size = 0;
+        cachedFirst = null;
+        currentVirtualBucket = 0;
+    }
+
+    @Override
+    public Iterator<SimEvent> iterator() {
+        return sortedSnapshot().iterator();
+    }
+
+    @Override
+    public Stream<SimEvent> stream() {
+        return sortedSnapshot().stream();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets a sorted copy of all the events in the queue.
+     *
+     * @return the sorted list of events
+     */
+    private List<SimEvent> sortedSnapshot() {
+        List<SimEvent> events = new ArrayList<>(size);
+        for (Bucket bucket : buckets) {
+            bucket.addTo(events);
+        }
+        events.sort(null);
+        return Collections.unmodifiableList(events);
+    }
+
+    /**
+     * Halves the number of buckets if the queue has too few events.
+     */
+    private void shrinkIfNeeded() {
+        if (buckets.length > MIN_BUCKET_NUM && size < buckets.length / 2) {
+            resize(buckets.length >> 1);
+        }
+    }
+
+    /**
+     * Resizes the calendar, estimating the new bucket width
+     * and redistributing all the events into the new buckets.
+     *
+     * @param bucketNum the new number of buckets
+     */
+    private void resize(int bucketNum) {
+        List<SimEvent> events = new ArrayList<>(size);
+        for (Bucket bucket : buckets) {
+            bucket.addTo(events);
+        }
+        bucketWidth = estimateBucketWidth(events);
+        initBuckets(bucketNum);
+        long minVirtualBucket = Long.MAX_VALUE;
+        for (SimEvent event : events) {
+            long virtualBucket = getVirtualBucket(event.getTime());
+            buckets[(int) (virtualBucket & bucketMask)].insert(event);
+            minVirtualBucket = Math.min(minVirtualBucket, virtualBucket);
+        }
+        currentVirtualBucket = events.isEmpty() ? 0 : minVirtualBucket;
+        resizeTimes++;
+    }
+
+    /**
+     * Estimates the bucket width from a sample of the events.
+     * As proposed by Brown, the width is three times the average separation of the events.
+     * The separation is measured over the earliest half of the sampled events,
+     * so a few events scheduled far in the future do not make the buckets too wide.
+     *
+     * @param events all the events in the queue
+     * @return the estimated bucket width
+     */
+    private double estimateBucketWidth(List<SimEvent> events) {
+        int sampleNum = Math.min(WIDTH_SAMPLE_NUM, events.size());
+        if (sampleNum < 2) {
+            return bucketWidth;
+        }
+        double[] times = new double[sampleNum];
+        int step = events.size() / sampleNum;
+        for (int i = 0; i < sampleNum; i++) {
+            times[i] = events.get(i * step).getTime();
+        }
+        Arrays.sort(times);
+
+        double span = times[sampleNum / 2] - times[0];
+        double eventNum = events.size() / 2.0;
+        if (span <= 0) {
+            span = times[sampleNum - 1] - times[0];
+            eventNum = events.size();
+        }
+        if (span <= 0) {
+            return bucketWidth;
+        }
+        return Math.max(MIN_BUCKET_WIDTH, 3 * span / eventNum);
+    }
+
+    /**
+     * Creates empty buckets.
+     *
+     * @param bucketNum the number of buckets, which must be a power of two
+     */
+    private void initBuckets(int bucketNum) {
+        buckets = new Bucket[bucketNum];
+        for (int i = 0; i < bucketNum; i++) {
+            buckets[i] = new Bucket();
+        }
+        bucketMask = bucketNum - 1;
+    }
+
+    private long getVirtualBucket(double time) {
+        return (long) Math.floor(time / bucketWidth);
+    }
+
+    private int getBucketIndex(double time) {
+        return (int) (getVirtualBucket(time) & bucketMask);
+    }
+
+    /**
+     * A bucket of the calendar.
+     * It keeps its events sorted in the range [head, tail) of an array,
+     * so removing the first event and appending a later event are O(1).
+     */
+    private static final class Bucket {
+        private SimEvent[] items = new SimEvent[4];
+        private int head;
+        private int tail;
+
+        boolean isEmpty() {
+            return head == tail;
+        }
+
+        SimEvent first() {
+            return items[head];
+        }
+
+        /**
+         * Inserts an event keeping the bucket sorted.
+         *
+         * @param event the event to insert
+         * @return false if an equal event is already in the bucket, true otherwise
+         */
+        boolean insert(SimEvent event) {
+            if (head == tail || items[tail - 1].compareTo(event) < 0) {
+                append(event);
+                return true;
+            }
+
+            int index = lowerBound(event);
+            if (items[index].compareTo(event) == 0) {
+                return false;
+            }
+            if (index == head && head > 0) {
+                items[--head] = event;
+                return true;
+            }
+            if (tail == items.length) {
+                index -= head;
+                ensureCapacity();
+            }
+            System.arraycopy(items, index, items, index + 1, tail - index);
+            items[index] = event;
+            tail++;
+            return true;
+        }
+
+        boolean remove(SimEvent event) {
+            if (head == tail) {
+                return false;
+            }
+            int index = lowerBound(event);
+            if (index == tail || items[index].compareTo(event) != 0) {
+                return false;
+            }
+            if (index == head) {
+                items[head++] = null;
+            } else {
+                System.arraycopy(items, index + 1, items, index, tail - index - 1);
+                items[--tail] = null;
+            }
+            if (head == tail) {
+                head = tail = 0;
+            }
+            return true;
+        }
+
+        int removeIf(Predicate<SimEvent> predicate) {
+            int write = head;
+            for (int read = head; read < tail; read++) {
+                if (!predicate.test(items[read])) {
+                    items[write++] = items[read];
+                }
+            }
+            int removedNum = tail - write;
+            Arrays.fill(items, write, tail, null);
+            tail = write;
+            if (head == tail) {
+                head = tail = 0;
+            }
+            return removedNum;
+        }
+
+        void addTo(List<SimEvent> events) {
+            for (int i = head; i < tail; i++) {
+                events.add(items[i]);
+            }
+        }
+
+        private void append(SimEvent event) {
+            if (tail == items.length) {
+                ensureCapacity();
+            }
+            items[tail++] = event;
+        }
+
+        /**
+         * Makes room for one more event at the tail,
+         * by moving the events to the beginning of the array or growing it.
+         */
+        private void ensureCapacity() {
+            int length = tail - head;
+            SimEvent[] target = head > items.length / 2 ? items : new SimEvent[items.length << 1];
+            System.arraycopy(items, head, target, 0, length);
+            if (target == items) {
+                Arrays.fill(items, length, tail, null);
+            }
+            items = target;
+            head = 0;
+            tail = length;
+        }
+
+        /**
+         * Finds the index of the first event in the bucket that is not lower than the given event.
+         */
+        private int lowerBound(SimEvent event) {
+            int low = head;
+            int high = tail;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (items[mid].compareTo(event) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
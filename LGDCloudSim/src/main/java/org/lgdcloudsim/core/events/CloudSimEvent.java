@@ -24,7 +24,8 @@ public final class CloudSimEvent implements SimEvent {
     @NonNull
     private Simulation simulation;
 
-    private final double time;
+    @Setter(AccessLevel.NONE)
+    private double time;
 
     @Setter(AccessLevel.NONE)
     private double endWaitingTime;
@@ -35,12 +36,21 @@ public final class CloudSimEvent implements SimEvent {
     @NonNull
     private SimEntity destination;
 
-    private final int tag;
+    @Setter(AccessLevel.NONE)
+    private int tag;
 
-    private final Object data;
+    @Setter(AccessLevel.NONE)
+    private Object data;
 
     private long serial = -1;
 
+    /**
+     * Whether the event was released to a {@link CloudSimEventPool} and has not been acquired again.
+     * Reading a released event throws an {@link IllegalStateException}.
+     */
+    @Getter(AccessLevel.PACKAGE) @Setter(AccessLevel.NONE)
+    private boolean released;
+
     public CloudSimEvent(final double delay, final SimEntity destination, final int tag, Object data) {
         this(delay, destination, destination, tag, data);
     }
@@ -108,16 +118,150 @@ public final class CloudSimEvent implements SimEvent {
             final SimEntity source, final SimEntity destination,
             final int tag, final Object data)
     {
-        if (delay < 0) {
-            throw new IllegalArgumentException("Delay can't be negative.");
-        }
+        init(delay, source, destination, tag, data);
+    }
+
+    /**
+     * Creates an event to be initialized by {@link #initAt}.
+     */
+    private CloudSimEvent() {
+    }
+
+    /**
+     * Initializes all the attributes of the event.
+     * It is used by the constructor and by the {@link CloudSimEventPool} to reuse a released event.
+     *
+     * @param delay how many seconds after the current simulation time the event should be scheduled
+     * @param source the source entity which is sending the message
+     * @param destination the destination entity which has to receive the message
+     * @param tag the tag that identifies the type of the message
+     * @param data the data attached to the message, that depends on the message tag
+     * @return the event itself
+     */
+    CloudSimEvent init(
+            final double delay,
+            final SimEntity source, final SimEntity destination,
+            final int tag, final Object data)
+    {
+        return initAt(getTimeAfter(source.getSimulation(), delay), -1, source, destination, tag, data);
+    }
 
+    /**
+     * Initializes all the attributes of an event whose time and serial are already known,
+     * such as an event kept in a {@link PrimitiveEventStore}.
+     *
+     * @param time the time of the event
+     * @param serial the serial of the event
+     * @param source the source entity which is sending the message
+     * @param destination the destination entity which has to receive the message
+     * @param tag the tag that identifies the type of the message
+     * @param data the data attached to the message, that depends on the message tag
+     * @return the event itself
+     */
+    CloudSimEvent initAt(
+            final double time, final long serial,
+            final SimEntity source, final SimEntity destination,
+            final int tag, final Object data)
+    {
+        this.released = false;
         this.setSource(source);
         this.setDestination(destination);
         this.setSimulation(source.getSimulation());
-        this.time = BigDecimal.valueOf(simulation.clock() + delay).setScale(getSimulation().getSimulationAccuracy(), RoundingMode.HALF_UP).doubleValue();
+        this.time = time;
         this.tag = tag;
         this.data = data;
+        this.serial = serial;
+        this.endWaitingTime = 0;
+        return this;
+    }
+
+    /**
+     * Creates an event whose time and serial are already known, see {@link #initAt}.
+     *
+     * @param time the time of the event
+     * @param serial the serial of the event
+     * @param source the source entity which is sending the message
+     * @param destination the destination entity which has to receive the message
+     * @param tag the tag that identifies the type of the message
+     * @param data the data attached to the message, that depends on the message tag
+     * @return the new event
+     */
+    static CloudSimEvent createAt(
+            final double time, final long serial,
+            final SimEntity source, final SimEntity destination,
+            final int tag, final Object data)
+    {
+        return new CloudSimEvent().initAt(time, serial, source, destination, tag, data);
+    }
+
+    /**
+     * Gets the time of an event scheduled after a delay, rounded to the accuracy of the simulation.
+     *
+     * @param simulation the simulation
+     * @param delay how many seconds after the current simulation time the event should be scheduled
+     * @return the time of the event
+     */
+    static double getTimeAfter(final Simulation simulation, final double delay) {
+        if (delay < 0) {
+            throw new IllegalArgumentException("Delay can't be negative.");
+        }
+
+        return BigDecimal.valueOf(simulation.clock() + delay).setScale(simulation.getSimulationAccuracy(), RoundingMode.HALF_UP).doubleValue();
+    }
+
+    /**
+     * Replaces the data of the event by the data merged with the data of other events,
+     * see {@link FutureQueue#merge(SimEvent)}.
+     *
+     * @param data the merged data
+     * @return the event itself
+     */
+    CloudSimEvent setMergedData(final Object data) {
+        checkNotReleased();
+        this.data = data;
+        return this;
+    }
+
+    /**
+     * Marks the event as released to a {@link CloudSimEventPool} and drops the reference to its data.
+     */
+    void release() {
+        this.released = true;
+        this.data = null;
+    }
+
+    @Override
+    public double getTime() {
+        checkNotReleased();
+        return time;
+    }
+
+    @Override
+    public int getTag() {
+        checkNotReleased();
+        return tag;
+    }
+
+    @Override
+    public Object getData() {
+        checkNotReleased();
+        return data;
+    }
+
+    @Override
+    public SimEntity getDestination() {
+        checkNotReleased();
+        return destination;
+    }
+
+    /**
+     * Checks that the event is not read after being released to a {@link CloudSimEventPool},
+     * which would mean that some entity retained it after processing it.
+     */
+    private void checkNotReleased() {
+        if (released) {
+            throw new IllegalStateException("The event was read after being released to the event pool.");
+        }
     }
 
     @Override
@@ -0,0 +1,150 @@
+package org.lgdcloudsim.core.events;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.lgdcloudsim.core.SimEntity;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * A pool of {@link CloudSimEvent}s owned by the simulation.
+ * When it is enabled, the events processed by the entities are released to the pool
+ * and reused for the next events sent, so that the simulation does not allocate a new event for each message.
+ * When it is disabled (the default), {@link #acquire} always creates a new event and {@link #release} does nothing.
+ * <p>
+ * A released event throws an {@link IllegalStateException} when it is read,
+ * so an entity that retains an event after processing it fails fast instead of reading the data of another event.
+ * With the safety check enabled, the pool also rejects events released twice
+ * and reuses the events in FIFO order, so that a released event stays poisoned as long as possible.
+ * </p>
+ *
+ * @author Anonymous
+ * @since LGDCloudSim 1.0
+ */
+public class CloudSimEventPool {
+    /**
+     * The default maximum number of released events kept in the pool.
+     */
+    public static final int DEFAULT_MAX_POOL_SIZE = 1 << 16;
+
+    /**
+     * The released events which can be reused.
+     */
+    private final Deque<CloudSimEvent> freeEvents = new ArrayDeque<>();
+
+    /**
+     * Whether the events are reused.
+     */
+    @Getter
+    @Setter
+    private boolean enabled;
+
+    /**
+     * Whether to check that the events are released only once and to reuse them in FIFO order.
+     */
+    @Getter
+    @Setter
+    private boolean safetyCheck;
+
+    /**
+     * The maximum number of released events kept in the pool.
+     * The events released when the pool is full are left to the garbage collector.
+     */
+    @Getter
+    @Setter
+    private int maxPoolSize = DEFAULT_MAX_POOL_SIZE;
+
+    /**
+     * The number of events created by {@link #acquire}.
+     */
+    @Getter
+    private long createdEventNum;
+
+    /**
+     * The number of events reused by {@link #acquire}.
+     */
+    @Getter
+    private long reusedEventNum;
+
+    /**
+     * The number of events released to the pool.
+     */
+    @Getter
+    private long releasedEventNum;
+
+    /**
+     * Gets an event from the pool, or creates a new one if the pool is disabled or empty.
+     *
+     * @param delay       how many seconds after the current simulation time the event should be scheduled
+     * @param source      the source entity which is sending the message
+     * @param destination the destination entity which has to receive the message
+     * @param tag         the tag that identifies the type of the message
+     * @param data        the data attached to the message, that depends on the message tag
+     * @return the event
+     */
+    public CloudSimEvent acquire(final double delay, final SimEntity source, final SimEntity destination, final int tag, final Object data) {
+        final CloudSimEvent event = enabled ? (safetyCheck ? freeEvents.pollFirst() : freeEvents.pollLast()) : null;
+        if (event == null) {
+            createdEventNum++;
+            return new CloudSimEvent(delay, source, destination, tag, data);
+        }
+        reusedEventNum++;
+        return event.init(delay, source, destination, tag, data);
+    }
+
+    /**
+     * Gets an event from the pool whose time and serial are already known, such as an event kept in a {@link PrimitiveEventStore},
+     * or creates a new one if the pool is disabled or empty.
+     *
+     * @param time        the time of the event
+     * @param serial      the serial of the event
+     * @param source      the source entity which is sending the message
+     * @param destination the destination entity which has to receive the message
+     * @param tag         the tag that identifies the type of the message
+     * @param data        the data attached to the message, that depends on the message tag
+     * @return the event
+     */
+    CloudSimEvent acquireAt(final double time, final long serial, final SimEntity source, final SimEntity destination, final int tag, final Object data) {
+        final CloudSimEvent event = enabled ? (safetyCheck ? freeEvents.pollFirst() : freeEvents.pollLast()) : null;
+        if (event == null) {
+            createdEventNum++;
+            return CloudSimEvent.createAt(time, serial, source, destination, tag, data);
+        }
+        reusedEventNum++;
+        return event.initAt(time, serial, source, destination, tag, data);
+    }
+
+    /**
+     * Releases an event which was processed by its destination entity, so it can be reused.
+     * The event must not be in any event queue and must not be read after being released.
+     *
+     * @param event the event to release
+     * @throws IllegalStateException when the safety check is enabled and the event was already released
+     */
+    public void release(final SimEvent event) {
+        if (!enabled || !(event instanceof CloudSimEvent cloudSimEvent)) {
+            return;
+        }
+        if (cloudSimEvent.isReleased()) {
+            if (safetyCheck) {
+                throw new IllegalStateException("The event was released to the event pool twice.");
+            }
+            return;
+        }
+        cloudSimEvent.release();
+        releasedEventNum++;
+        if (freeEvents.size() < maxPoolSize) {
+            freeEvents.addLast(cloudSimEvent);
+        }
+    }
+
+    /**
+     * Gets the number of released events which can be reused.
+     *
+     * @return the number of events in the pool
+     */
+    public int size() {
+        return freeEvents.size();
+    }
+}
@@ -1,6 +1,8 @@
 package org.lgdcloudsim.core.events;
 
 import lombok.Getter;
+import lombok.NonNull;
+import org.lgdcloudsim.core.CloudSimTag;
 import org.lgdcloudsim.core.SimEntity;
 
 import java.util.*;
@@ -14,6 +16,14 @@ import java.util.stream.Stream;
  * of a {@link java.util.SortedSet} such as {@link java.util.TreeSet}
  * because the {@link LinkedList} provides constant O(1) complexity
  * to add elements to the end.
+ * <p>
+ * The events are kept in one inbox per destination entity,
+ * so an entity only goes through its own events when it {@link #select selects} them.
+ * The events whose tag is in the unique tags (by default {@link CloudSimTag#UNIQUE_TAG})
+ * are also indexed by (destination, tag, data), so {@link #isExistSameEvent} is an O(1) hash lookup.
+ * The whole queue is only traversed by {@link #iterator()}, {@link #stream()}, {@link #first()} and {@link #toString()},
+ * where the events with the same time are grouped by destination.
+ * </p>
  *
  * @author Marcos Dias de Assuncao
  * @author Manoel Campos da Silva Filho
@@ -21,18 +31,37 @@ import java.util.stream.Stream;
  */
 public class DeferredQueue implements EventQueue {
     /**
+     * The events of each destination entity.
      * Despite the events are sorted by time and there are
      * sorted collections such as {@link java.util.SortedSet},
      * since the time of a new event is usually higher than the previous
      * one, in such a case, the {@link LinkedList#add(Object)} provides
      * better performance, which is O(1).
+     * The inboxes are kept in the order the destinations are first seen,
+     * so that going through them does not depend on the hash codes of the entities.
      */
-    private final List<SimEvent> eventList = new LinkedList<>();
+    private final Map<SimEntity, LinkedList<SimEvent>> inboxes = new LinkedHashMap<>();
 
     /**
-     * The max time that an added event is scheduled.
+     * The tags whose events are indexed by {@link #uniqueEventNums}.
      */
-    private double maxTime = -1;
+    private final Set<Integer> uniqueTags;
+
+    /**
+     * The number of events in the queue for each (destination, tag, data) of the unique tags.
+     */
+    private final Map<UniqueEventKey, Integer> uniqueEventNums = new HashMap<>();
+
+    /**
+     * The order of the events of different inboxes, by time and then by serial,
+     * so that the events of different destinations at the same time are always in the same order.
+     */
+    private static final Comparator<SimEvent> EVENT_ORDER = Comparator.comparingDouble(SimEvent::getTime).thenComparingLong(SimEvent::getSerial);
+
+    /**
+     * The number of events in the queue.
+     */
+    private int size;
 
     /**
      * Keeps track of the total number of events
@@ -59,6 +88,22 @@ public class DeferredQueue implements EventQueue {
 
     double eventTime;
 
+    /**
+     * Creates a deferred queue which indexes the events of {@link CloudSimTag#UNIQUE_TAG}.
+     */
+    public DeferredQueue() {
+        this(CloudSimTag.UNIQUE_TAG);
+    }
+
+    /**
+     * Creates a deferred queue.
+     *
+     * @param uniqueTags the tags whose events are indexed to find the same event quickly
+     */
+    public DeferredQueue(@NonNull final Set<Integer> uniqueTags) {
+        this.uniqueTags = uniqueTags;
+    }
+
     /**
      * Adds a new event to the queue, preserving the temporal order
      * of the events.
@@ -69,24 +114,29 @@ public class DeferredQueue implements EventQueue {
         // The event has to be inserted as the last of all events
         // with the same event_time(). Yes, this matters.
         eventTime = newEvent.getTime();
-        maxSize = Math.max(maxSize, eventList.size());
-        if (eventTime >= maxTime) {
-            eventList.add(newEvent);
-            maxTime = eventTime;
+        maxSize = Math.max(maxSize, size);
+        size++;
+        if (uniqueTags.contains(newEvent.getTag())) {
+            uniqueEventNums.merge(new UniqueEventKey(newEvent), 1, Integer::sum);
+        }
+
+        final LinkedList<SimEvent> inbox = inboxes.computeIfAbsent(newEvent.getDestination(), dest -> new LinkedList<>());
+        if (inbox.isEmpty() || eventTime >= inbox.getLast().getTime()) {
+            inbox.add(newEvent);
             addedToTail++;
             return;
         }
 
         /*
-         * Adds an event in some position from the tail of the list.
-         * If the event time is smaller than the maxTime, traverses the list
+         * Adds an event in some position from the tail of the inbox.
+         * If the event time is smaller than the time of the last event, traverses the inbox
          * to find the place to insert the event.
          * It uses a reverse iterator because usually in such cases,
          * the time of the new event is close to the last events.
          * Starting from the tail of the list will ensure the lowest number
          * of iterations on the best cases.
          * */
-        final var reverseEvtIterator = eventList.listIterator(eventList.size() - 1);
+        final var reverseEvtIterator = inbox.listIterator(inbox.size() - 1);
         while (reverseEvtIterator.hasPrevious()) {
             if (reverseEvtIterator.previous().getTime() <= eventTime) {
                 reverseEvtIterator.next();
@@ -99,13 +149,79 @@ public class DeferredQueue implements EventQueue {
         reverseEvtIterator.add(newEvent);
     }
 
+    /**
+     * Finds the first event to the destination entity that matches the predicate.
+     *
+     * @param dest      the destination entity of the event
+     * @param predicate the event selection predicate
+     * @return the first matched event or {@link SimEvent#NULL} if not found
+     */
+    public SimEvent findFirst(final SimEntity dest, final Predicate<SimEvent> predicate) {
+        final LinkedList<SimEvent> inbox = inboxes.get(dest);
+        if (inbox != null) {
+            for (SimEvent event : inbox) {
+                if (predicate.test(event)) {
+                    return event;
+                }
+            }
+        }
+        return SimEvent.NULL;
+    }
+
+    /**
+     * Removes the first event to the destination entity that matches the predicate.
+     *
+     * @param dest      the destination entity of the event
+     * @param predicate the event selection predicate
+     * @return the removed event or {@link SimEvent#NULL} if not found
+     */
+    public SimEvent select(final SimEntity dest, final Predicate<SimEvent> predicate) {
+        final LinkedList<SimEvent> inbox = inboxes.get(dest);
+        if (inbox != null) {
+            final Iterator<SimEvent> iterator = inbox.iterator();
+            while (iterator.hasNext()) {
+                final SimEvent event = iterator.next();
+                if (predicate.test(event)) {
+                    iterator.remove();
+                    removed(event);
+                    return event;
+                }
+            }
+        }
+        return SimEvent.NULL;
+    }
+
+    /**
+     * Removes all the events to the destination entity that match the predicate.
+     *
+     * @param dest      the destination entity of the events
+     * @param predicate the event selection predicate
+     * @return the removed events in the order they would be selected by {@link #select}
+     */
+    public List<SimEvent> selectAll(final SimEntity dest, final Predicate<SimEvent> predicate) {
+        final List<SimEvent> selectedEvents = new ArrayList<>();
+        final LinkedList<SimEvent> inbox = inboxes.get(dest);
+        if (inbox != null) {
+            final Iterator<SimEvent> iterator = inbox.iterator();
+            while (iterator.hasNext()) {
+                final SimEvent event = iterator.next();
+                if (predicate.test(event)) {
+                    iterator.remove();
+                    removed(event);
+                    selectedEvents.add(event);
+                }
+            }
+        }
+        return selectedEvents;
+    }
+
     /**
      * Returns an iterator to the events in the queue.
      *
      * @return the iterator
      */
     public Iterator<SimEvent> iterator() {
-        return eventList.iterator();
+        return sortedEvents().iterator();
     }
 
     /**
@@ -114,7 +230,7 @@ public class DeferredQueue implements EventQueue {
      * @return the stream
      */
     public Stream<SimEvent> stream() {
-        return eventList.stream();
+        return sortedEvents().stream();
     }
 
     /**
@@ -123,12 +239,12 @@ public class DeferredQueue implements EventQueue {
      * @return the number of events in the queue.
      */
     public int size() {
-        return eventList.size();
+        return size;
     }
 
     @Override
     public boolean isEmpty() {
-        return eventList.isEmpty();
+        return size == 0;
     }
 
     /**
@@ -137,8 +253,14 @@ public class DeferredQueue implements EventQueue {
      * @param event the event
      * @return true if successful; false otherwise
      */
+    @Override
     public boolean remove(final SimEvent event) {
-        return eventList.remove(event);
+        final LinkedList<SimEvent> inbox = inboxes.get(event.getDestination());
+        if (inbox == null || !inbox.remove(event)) {
+            return false;
+        }
+        removed(event);
+        return true;
     }
 
     /**
@@ -147,47 +269,126 @@ public class DeferredQueue implements EventQueue {
      * @param events the events
      * @return true if successful; false otherwise
      */
+    @Override
     public boolean removeAll(final Collection<SimEvent> events) {
-        return eventList.removeAll(events);
+        boolean isRemoved = false;
+        for (SimEvent event : events) {
+            while (remove(event)) {
+                isRemoved = true;
+            }
+        }
+        return isRemoved;
     }
 
+    @Override
     public boolean removeIf(final Predicate<SimEvent> predicate) {
-        return eventList.removeIf(predicate);
+        boolean isRemoved = false;
+        for (LinkedList<SimEvent> inbox : inboxes.values()) {
+            final Iterator<SimEvent> iterator = inbox.iterator();
+            while (iterator.hasNext()) {
+                final SimEvent event = iterator.next();
+                if (predicate.test(event)) {
+                    iterator.remove();
+                    removed(event);
+                    isRemoved = true;
+                }
+            }
+        }
+        return isRemoved;
     }
 
     /**
      * Clears the queue removing all elements.
      */
+    @Override
     public void clear() {
-        eventList.clear();
+        inboxes.clear();
+        uniqueEventNums.clear();
+        size = 0;
     }
 
     @Override
     public SimEvent first() throws NoSuchElementException {
-        if (eventList.isEmpty()) {
+        SimEvent first = null;
+        for (LinkedList<SimEvent> inbox : inboxes.values()) {
+            if (!inbox.isEmpty() && (first == null || EVENT_ORDER.compare(inbox.getFirst(), first) < 0)) {
+                first = inbox.getFirst();
+            }
+        }
+        if (first == null) {
             throw new NoSuchElementException("The Deferred Queue is empty.");
         }
 
-        return eventList.get(0);
+        return first;
     }
 
+    /**
+     * Checks whether there is an event with the same destination, tag and data in the queue.
+     * It is an O(1) lookup for the unique tags, otherwise it scans the inbox of the destination.
+     *
+     * @param dst  the destination entity of the event
+     * @param tag  the tag of the event
+     * @param data the data of the event
+     * @return true if the same event is in the queue, false otherwise
+     */
     public boolean isExistSameEvent(SimEntity dst, int tag, Object data) {
-        //TODO 可以进行时间优化
-        for (SimEvent event : eventList) {
-            if (event.getDestination().equals(dst) && event.getTag() == tag && (event.getData() == null && data == null || event.getData().equals(data))) {
-                return true;
+        if (uniqueTags.contains(tag)) {
+            return uniqueEventNums.containsKey(new UniqueEventKey(dst, tag, data));
+        }
+        final LinkedList<SimEvent> inbox = inboxes.get(dst);
+        if (inbox != null) {
+            for (SimEvent event : inbox) {
+                if (event.getTag() == tag && Objects.equals(event.getData(), data)) {
+                    return true;
+                }
             }
         }
         return false;
     }
 
+    /**
+     * Updates the size and the index after an event was removed from its inbox.
+     *
+     * @param event the removed event
+     */
+    private void removed(final SimEvent event) {
+        size--;
+        if (uniqueTags.contains(event.getTag())) {
+            uniqueEventNums.computeIfPresent(new UniqueEventKey(event), (key, num) -> num == 1 ? null : num - 1);
+        }
+    }
+
+    /**
+     * Gets all the events in the queue sorted by time.
+     *
+     * @return the sorted list of events
+     */
+    private List<SimEvent> sortedEvents() {
+        final List<SimEvent> events = new ArrayList<>(size);
+        inboxes.values().forEach(events::addAll);
+        events.sort(EVENT_ORDER);
+        return events;
+    }
 
     @Override
     public String toString() {
-        String str = "deferred queue(" + eventTime + "ms):\n";
-        for (SimEvent event : eventList) {
-            str += event.toString() + "\n";
+        final StringBuilder str = new StringBuilder("deferred queue(" + eventTime + "ms):\n");
+        for (SimEvent event : sortedEvents()) {
+            str.append(event).append("\n");
+        }
+        return str.toString();
+    }
+
+    /**
+     * The key to index the events of the unique tags.
+     *
+     * @param destination the destination entity of the event
+     * @param tag         the tag of the event
+     * @param data        the data of the event
+     */
+    private record UniqueEventKey(SimEntity destination, int tag, Object data) {
+        UniqueEventKey(SimEvent event) {
+            this(event.getDestination(), event.getTag(), event.getData());
         }
-        return str;
     }
 }
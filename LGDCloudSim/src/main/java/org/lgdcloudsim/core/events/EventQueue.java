@@ -1,7 +1,9 @@
 package org.lgdcloudsim.core.events;
 
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 /**
@@ -55,4 +57,33 @@ public interface EventQueue {
      * @throws NoSuchElementException when the queue is empty
      */
     SimEvent first() throws NoSuchElementException;
+
+    /**
+     * Removes the event from the queue.
+     *
+     * @param event the event
+     * @return true if successful; false if not event was removed
+     */
+    boolean remove(SimEvent event);
+
+    /**
+     * Removes all the events from the queue.
+     *
+     * @param events the events
+     * @return true if successful; false if not event was removed
+     */
+    boolean removeAll(Collection<SimEvent> events);
+
+    /**
+     * Removes all the events that match the given predicate.
+     *
+     * @param predicate the predicate which returns true for events to be removed
+     * @return true if any event was removed
+     */
+    boolean removeIf(Predicate<SimEvent> predicate);
+
+    /**
+     * Clears the queue removing all elements.
+     */
+    void clear();
 }
@@ -9,29 +9,46 @@
 package org.lgdcloudsim.core.events;
 
 import lombok.Getter;
+import lombok.NonNull;
+import org.lgdcloudsim.core.CloudSimTag;
+import org.lgdcloudsim.core.SimEntity;
 
 import java.util.*;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * An {@link EventQueue} that stores future simulation events.
- * It uses a {@link TreeSet} in order ensure the events
- * are stored ordered. Using a {@link java.util.LinkedList}
+ * It numbers the events with {@link SimEvent#setSerial(long)}
+ * and delegates keeping them ordered to another {@link EventQueue}.
+ * By default, it uses a {@link TreeSetEventQueue} in order ensure the events
+ * are stored ordered. A {@link CalendarQueue} can be used instead
+ * to add and remove events in amortized O(1) time.
+ * It also counts the events whose tag is in {@link CloudSimTag#LOOP_TAG},
+ * so the simulation can check whether only looping events are left in constant time.
+ * The events whose tag is in the mergeable tags (by default {@link CloudSimTag#MERGEABLE_TAG})
+ * are indexed by (time, source, destination, tag), so a new event with list data can be {@link #merge merged}
+ * into the queued one instead of being added.
+ * A {@link PrimitiveEventStore} can be set to keep the events of some hot tags in primitive arrays,
+ * they are then added by their fields with {@link #addEvent(SimEntity, SimEntity, double, int, Object, boolean)}
+ * and the queue returns them in the same order as if they were added as event objects.
+ * Using a {@link java.util.LinkedList}
  * as defined by {@link DeferredQueue} to improve performance
  * doesn't work for this queue.
  *
  * @author Marcos Dias de Assuncao
  * @author Manoel Campos da Silva Filho
- * @see java.util.TreeSet
+ * @see TreeSetEventQueue
+ * @see CalendarQueue
  * @since CloudSim Toolkit 1.0
  */
 public class FutureQueue implements EventQueue {
 
     /**
-     * The sorted set of events.
+     * The queue which keeps the events ordered.
      */
-    private final SortedSet<SimEvent> sortedSet = new TreeSet<>();
+    private final EventQueue sortedEvents;
 
     /** An incremental number used for {@link SimEvent#getSerial()} event attribute. */
     @Getter
@@ -46,11 +63,145 @@ public class FutureQueue implements EventQueue {
     @Getter
     private long maxEventsNumber;
 
+    /**
+     * The number of events in the queue whose tag is in {@link CloudSimTag#LOOP_TAG}.
+     */
+    @Getter
+    private int loopTagEventNum;
+
+    /**
+     * The number of events in the queue whose tag is not in {@link CloudSimTag#LOOP_TAG}.
+     */
+    @Getter
+    private int nonLoopTagEventNum;
+
+    /**
+     * The tags whose events can be merged.
+     */
+    private final Set<Integer> mergeableTags;
+
+    /**
+     * The queued events of the mergeable tags with list data, indexed by (time, source, destination, tag).
+     */
+    private final Map<MergeKey, MergeableEvent> mergeableEvents = new HashMap<>();
+
+    /**
+     * The number of events merged into queued events.
+     */
+    @Getter
+    private long mergedEventNum;
+
+    /**
+     * The store which keeps the events of some tags in primitive arrays, or null if all the events are kept in {@link #sortedEvents}.
+     */
+    @Getter
+    private PrimitiveEventStore primitiveEventStore;
+
+    /**
+     * The first event of the {@link #primitiveEventStore} returned by {@link #first()}, or null if it was not created yet.
+     * It is kept, so the same event object is returned until it is removed.
+     */
+    private CloudSimEvent storedFirst;
+
+    /**
+     * Creates a future queue that keeps the events ordered in a {@link TreeSetEventQueue}.
+     */
+    public FutureQueue() {
+        this(new TreeSetEventQueue());
+    }
+
+    /**
+     * Creates a future queue that keeps the events ordered in the given queue.
+     *
+     * @param sortedEvents the empty queue to keep the events ordered.
+     *                     It must order the events only by {@link SimEvent#compareTo(SimEvent)}.
+     */
+    public FutureQueue(@NonNull final EventQueue sortedEvents) {
+        this(sortedEvents, CloudSimTag.MERGEABLE_TAG);
+    }
+
+    /**
+     * Creates a future queue that keeps the events ordered in the given queue.
+     *
+     * @param sortedEvents  the empty queue to keep the events ordered.
+     *                      It must order the events only by {@link SimEvent#compareTo(SimEvent)}.
+     * @param mergeableTags the tags whose events with list data can be merged
+     */
+    public FutureQueue(@NonNull final EventQueue sortedEvents, @NonNull final Set<Integer> mergeableTags) {
+        this.sortedEvents = sortedEvents;
+        this.mergeableTags = mergeableTags;
+    }
+
+    /**
+     * Sets the store to keep the events of some tags in primitive arrays.
+     *
+     * @param primitiveEventStore the empty store, or null to keep all the events in the sorted queue
+     * @return the future queue itself
+     * @throws IllegalStateException when the queue is not empty
+     */
+    public FutureQueue setPrimitiveEventStore(final PrimitiveEventStore primitiveEventStore) {
+        if (!isEmpty()) {
+            throw new IllegalStateException("The primitive event store can only be set on an empty future queue.");
+        }
+        if (primitiveEventStore != null && !primitiveEventStore.isEmpty()) {
+            throw new IllegalArgumentException("The primitive event store must be empty.");
+        }
+        this.primitiveEventStore = primitiveEventStore;
+        this.storedFirst = null;
+        return this;
+    }
+
     @Override
     public void addEvent(final SimEvent newEvent) {
         newEvent.setSerial(serial++);
-        sortedSet.add(newEvent);
-        maxEventsNumber = Math.max(maxEventsNumber, sortedSet.size());
+        addEventKeepingSerial(newEvent);
+    }
+
+    /**
+     * Adds back an event removed from the queue without giving it a new serial,
+     * so it keeps its place among the events happening at the same time.
+     *
+     * @param event the event removed from the queue
+     */
+    public void addEventKeepingSerial(final SimEvent event) {
+        sortedEvents.addEvent(event);
+        countEvent(event, 1);
+        indexMergeableEvent(event);
+        maxEventsNumber = Math.max(maxEventsNumber, size());
+    }
+
+    /**
+     * Adds a new event by its fields to the {@link #primitiveEventStore} if it can keep it,
+     * without creating an event object.
+     * Like {@link #addEvent(SimEvent)} and {@link #addEventFirst(SimEvent)}, the event gets the next serial,
+     * and it is {@link #merge(SimEvent, boolean) merged} into a queued event with the same time, source, destination and tag if possible.
+     *
+     * @param source      the source entity which is sending the message
+     * @param destination the destination entity which has to receive the message
+     * @param delay       how many seconds after the current simulation time the event should be scheduled
+     * @param tag         the tag that identifies the type of the message
+     * @param data        the data attached to the message
+     * @param first       whether to add the event to the head of the queue like {@link #addEventFirst(SimEvent)}
+     * @return true if the event was stored or merged, false if it has to be added as an event object
+     */
+    public boolean addEvent(final SimEntity source, final SimEntity destination, final double delay, final int tag, final Object data, final boolean first) {
+        if (primitiveEventStore == null || !primitiveEventStore.canStore(source, destination, tag)) {
+            return false;
+        }
+        final MergeKey key = new MergeKey(CloudSimEvent.getTimeAfter(source.getSimulation(), delay), source, destination, tag);
+        if (merge(key, data, first)) {
+            return true;
+        }
+
+        final long eventSerial = first ? --lowestSerial : serial++;
+        final int handle = primitiveEventStore.add(key.time(), eventSerial, source, destination, tag, data);
+        checkStoredFirst();
+        countTag(tag, 1);
+        if (handle >= 0 && mergeableTags.contains(tag) && data instanceof List<?>) {
+            mergeableEvents.putIfAbsent(key, new MergeableEvent(eventSerial, null, handle));
+        }
+        maxEventsNumber = Math.max(maxEventsNumber, size());
+        return true;
     }
 
     /**
@@ -60,27 +211,109 @@ public class FutureQueue implements EventQueue {
      */
     public void addEventFirst(final SimEvent newEvent) {
         newEvent.setSerial(--lowestSerial);
-        sortedSet.add(newEvent);
+        sortedEvents.addEvent(newEvent);
+        countEvent(newEvent, 1);
+        indexMergeableEvent(newEvent);
+    }
+
+    /**
+     * Merges a new event to be {@link #addEvent added} into the queued event with the same time, source, destination and tag,
+     * see {@link #merge(SimEvent, boolean)}.
+     *
+     * @param newEvent the event to merge
+     * @return true if the event was merged, false if it has to be added to the queue
+     */
+    public boolean merge(final SimEvent newEvent) {
+        return merge(newEvent, false);
+    }
+
+    /**
+     * Merges a new event into the queued event with the same time, source, destination and tag
+     * when its tag is mergeable and the data of both events are lists.
+     * A new event to be {@link #addEvent added} is processed after the queued event,
+     * so the queued event then carries the items of its list followed by the items of the new event's list.
+     * A new event to be {@link #addEventFirst added first} is processed before the queued event,
+     * so its items are put before the items of the queued event.
+     * Either way, the destination processes the same items in the same order as if it had received both events.
+     * The new event is not added to the queue and can be released.
+     *
+     * @param newEvent the event to merge
+     * @param first    whether the new event would be added with {@link #addEventFirst}
+     * @return true if the event was merged, false if it has to be added to the queue
+     */
+    public boolean merge(final SimEvent newEvent, final boolean first) {
+        return merge(new MergeKey(newEvent), newEvent.getData(), first);
     }
 
+    /**
+     * Merges the data of a new event into the queued event with the same key, see {@link #merge(SimEvent, boolean)}.
+     *
+     * @param key   the key of the new event
+     * @param data  the data of the new event
+     * @param first whether the new event would be added with {@link #addEventFirst}
+     * @return true if the event was merged, false if it has to be added to the queue
+     */
+    private boolean merge(final MergeKey key, final Object data, final boolean first) {
+        if (!mergeableTags.contains(key.tag()) || !(data instanceof List<?> newData)) {
+            return false;
+        }
+        final MergeableEvent mergeableEvent = mergeableEvents.get(key);
+        if (mergeableEvent == null) {
+            return false;
+        }
+
+        if (mergeableEvent.mergedData == null) {
+            if (mergeableEvent.event != null) {
+                mergeableEvent.mergedData = new ArrayList<>((List<?>) mergeableEvent.event.getData());
+                mergeableEvent.event.setMergedData(mergeableEvent.mergedData);
+            } else {
+                mergeableEvent.mergedData = new ArrayList<>((List<?>) primitiveEventStore.getPayloadObject(mergeableEvent.handle));
+                primitiveEventStore.setPayloadObject(mergeableEvent.handle, mergeableEvent.mergedData);
+                if (storedFirst != null && storedFirst.getSerial() == mergeableEvent.serial) {
+                    storedFirst.setMergedData(mergeableEvent.mergedData);
+                }
+            }
+        }
+        if (first) {
+            mergeableEvent.mergedData.addAll(0, newData);
+        } else {
+            mergeableEvent.mergedData.addAll(newData);
+        }
+        mergedEventNum++;
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The events of the {@link #primitiveEventStore} are created when they are reached,
+     * except its first event which is the one returned by {@link #first()} if it was created.
+     *
+     * @return {@inheritDoc}
+     */
     @Override
     public Iterator<SimEvent> iterator() {
-        return sortedSet.iterator();
+        if (primitiveEventStore == null || primitiveEventStore.isEmpty()) {
+            return sortedEvents.iterator();
+        }
+        return new MergingIterator(sortedEvents.iterator(), primitiveEventStore.iterator());
     }
 
     @Override
     public Stream<SimEvent> stream() {
-        return sortedSet.stream();
+        if (primitiveEventStore == null || primitiveEventStore.isEmpty()) {
+            return sortedEvents.stream();
+        }
+        return StreamSupport.stream(Spliterators.spliterator(iterator(), size(), Spliterator.ORDERED | Spliterator.NONNULL), false);
     }
 
     @Override
     public int size() {
-        return sortedSet.size();
+        return primitiveEventStore == null ? sortedEvents.size() : sortedEvents.size() + primitiveEventStore.size();
     }
 
     @Override
     public boolean isEmpty() {
-        return sortedSet.isEmpty();
+        return sortedEvents.isEmpty() && (primitiveEventStore == null || primitiveEventStore.isEmpty());
     }
 
     /**
@@ -89,8 +322,17 @@ public class FutureQueue implements EventQueue {
      * @param event the event
      * @return true if successful; false if not event was removed
      */
+    @Override
     public boolean remove(final SimEvent event) {
-        return sortedSet.remove(event);
+        if (!sortedEvents.remove(event)) {
+            if (primitiveEventStore == null || !primitiveEventStore.remove(event.getTime(), event.getTag(), event.getSerial())) {
+                return false;
+            }
+            checkStoredFirst();
+        }
+        countEvent(event, -1);
+        unindexMergeableEvent(event);
+        return true;
     }
 
     /**
@@ -99,23 +341,223 @@ public class FutureQueue implements EventQueue {
      * @param events the events
      * @return true if successful; false if not event was removed
      */
+    @Override
     public boolean removeAll(final Collection<SimEvent> events) {
-        return sortedSet.removeAll(events);
+        boolean isRemoved = false;
+        for (SimEvent event : events) {
+            isRemoved |= remove(event);
+        }
+        return isRemoved;
     }
 
+    @Override
     public boolean removeIf(final Predicate<SimEvent> predicate){
-        return sortedSet.removeIf(predicate);
+        final Predicate<SimEvent> removal = event -> {
+            if (predicate.test(event)) {
+                countEvent(event, -1);
+                unindexMergeableEvent(event);
+                return true;
+            }
+            return false;
+        };
+        boolean isRemoved = sortedEvents.removeIf(removal);
+        if (primitiveEventStore != null && primitiveEventStore.removeIf(removal)) {
+            checkStoredFirst();
+            isRemoved = true;
+        }
+        return isRemoved;
     }
 
     @Override
     public SimEvent first() throws NoSuchElementException {
-        return sortedSet.first();
+        if (primitiveEventStore == null || primitiveEventStore.isEmpty()) {
+            return sortedEvents.first();
+        }
+        final SimEvent sortedFirst = sortedEvents.isEmpty() ? null : sortedEvents.first();
+        if (!primitiveEventStore.isFirstBefore(sortedFirst)) {
+            return sortedFirst;
+        }
+        if (storedFirst == null) {
+            storedFirst = primitiveEventStore.peek();
+        }
+        return storedFirst;
     }
 
     /**
      * Clears the queue.
      */
+    @Override
     public void clear() {
-        sortedSet.clear();
+        sortedEvents.clear();
+        if (primitiveEventStore != null) {
+            primitiveEventStore.clear();
+        }
+        storedFirst = null;
+        mergeableEvents.clear();
+        loopTagEventNum = 0;
+        nonLoopTagEventNum = 0;
+    }
+
+    /**
+     * Checks whether all the events in the queue are looping events,
+     * i.e. their tags are in {@link CloudSimTag#LOOP_TAG}.
+     *
+     * @return true if there is no event whose tag is not a loop tag, false otherwise
+     */
+    public boolean isOnlyLoopTagEvents() {
+        return nonLoopTagEventNum == 0;
+    }
+
+    /**
+     * Updates the number of loop-tag and non-loop-tag events.
+     *
+     * @param event the added or removed event
+     * @param delta 1 if the event was added, -1 if it was removed
+     */
+    private void countEvent(final SimEvent event, final int delta) {
+        countTag(event.getTag(), delta);
+    }
+
+    /**
+     * Updates the number of loop-tag and non-loop-tag events.
+     *
+     * @param tag   the tag of the added or removed event
+     * @param delta 1 if the event was added, -1 if it was removed
+     */
+    private void countTag(final int tag, final int delta) {
+        if (CloudSimTag.LOOP_TAG.contains(tag)) {
+            loopTagEventNum += delta;
+        } else {
+            nonLoopTagEventNum += delta;
+        }
+    }
+
+    /**
+     * Indexes an added event if it can receive merged events.
+     *
+     * @param event the added event
+     */
+    private void indexMergeableEvent(final SimEvent event) {
+        if (event instanceof CloudSimEvent cloudSimEvent && mergeableTags.contains(event.getTag()) && event.getData() instanceof List<?>) {
+            mergeableEvents.putIfAbsent(new MergeKey(event), new MergeableEvent(event.getSerial(), cloudSimEvent, -1));
+        }
+    }
+
+    /**
+     * Removes a removed event from the index of the mergeable events.
+     *
+     * @param event the removed event
+     */
+    private void unindexMergeableEvent(final SimEvent event) {
+        if (mergeableTags.contains(event.getTag())) {
+            final MergeKey key = new MergeKey(event);
+            final MergeableEvent mergeableEvent = mergeableEvents.get(key);
+            if (mergeableEvent != null && mergeableEvent.serial == event.getSerial()) {
+                mergeableEvents.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Forgets the {@link #storedFirst} event when the first event of the {@link #primitiveEventStore} changed.
+     */
+    private void checkStoredFirst() {
+        if (storedFirst != null && (primitiveEventStore.isEmpty() || primitiveEventStore.getFirstSerial() != storedFirst.getSerial())) {
+            storedFirst = null;
+        }
+    }
+
+    /**
+     * The key to index the mergeable events.
+     *
+     * @param time        the time of the event
+     * @param source      the source entity of the event
+     * @param destination the destination entity of the event
+     * @param tag         the tag of the event
+     */
+    private record MergeKey(double time, SimEntity source, SimEntity destination, int tag) {
+        MergeKey(SimEvent event) {
+            this(event.getTime(), event.getSource(), event.getDestination(), event.getTag());
+        }
+    }
+
+    /**
+     * A queued event which can receive merged events.
+     */
+    private static final class MergeableEvent {
+        /**
+         * The serial of the queued event.
+         */
+        private final long serial;
+
+        /**
+         * The queued event, or null if it is kept in the {@link #primitiveEventStore}.
+         */
+        private final CloudSimEvent event;
+
+        /**
+         * The handle of the data of the event kept in the {@link #primitiveEventStore}, or -1.
+         */
+        private final int handle;
+
+        /**
+         * The list owned by the queue which replaces the data of the event after the first merge, null before.
+         */
+        private List<Object> mergedData;
+
+        MergeableEvent(final long serial, final CloudSimEvent event, final int handle) {
+            this.serial = serial;
+            this.event = event;
+            this.handle = handle;
+        }
+    }
+
+    /**
+     * An iterator over the events of the {@link #sortedEvents} and of the {@link #primitiveEventStore} in their order.
+     */
+    private final class MergingIterator implements Iterator<SimEvent> {
+        private final Iterator<SimEvent> sortedIterator;
+
+        private final Iterator<SimEvent> storedIterator;
+
+        private SimEvent nextSorted;
+
+        private SimEvent nextStored;
+
+        MergingIterator(final Iterator<SimEvent> sortedIterator, final Iterator<SimEvent> storedIterator) {
+            this.sortedIterator = sortedIterator;
+            this.storedIterator = storedIterator;
+            this.nextSorted = sortedIterator.hasNext() ? sortedIterator.next() : null;
+            this.nextStored = nextStored();
+        }
+
+        private SimEvent nextStored() {
+            if (!storedIterator.hasNext()) {
+                return null;
+            }
+            final SimEvent event = storedIterator.next();
+            return storedFirst != null && storedFirst.getSerial() == event.getSerial() ? storedFirst : event;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextSorted != null || nextStored != null;
+        }
+
+        @Override
+        public SimEvent next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final SimEvent event;
+            if (nextStored == null || (nextSorted != null && nextSorted.compareTo(nextStored) < 0)) {
+                event = nextSorted;
+                nextSorted = sortedIterator.hasNext() ? sortedIterator.next() : null;
+            } else {
+                event = nextStored;
+                nextStored = nextStored();
+            }
+            return event;
+        }
     }
 }
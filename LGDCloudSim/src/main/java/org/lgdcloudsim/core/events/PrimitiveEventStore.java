@@ -0,0 +1,545 @@
+package org.lgdcloudsim.core.events;
+
+import lombok.Getter;
+import lombok.NonNull;
+import org.lgdcloudsim.core.SimEntity;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A store of future events kept in primitive arrays instead of {@link SimEvent} objects,
+ * used by the {@link FutureQueue} for the events of some hot tags.
+ * The time, serial, tag, source and destination entity ids and the payload of each event
+ * are stored in a binary heap of parallel arrays ordered like {@link CloudSimEvent#compareTo(SimEvent)}.
+ * A null or {@link Integer} payload is stored in the primitive payload itself,
+ * any other payload, such as the instance lists of the {@link org.lgdcloudsim.core.CloudSimTag#END_INSTANCE_RUN} events,
+ * is kept in a table of objects and the primitive payload is its handle.
+ * <p>
+ * The events are added by their fields when they are sent, see {@link FutureQueue#addEvent(SimEntity, SimEntity, double, int, Object, boolean)},
+ * so a waiting event takes neither an event object nor a node of the sorted queue.
+ * The event object is only created from the {@link CloudSimEventPool} when the event becomes the first event of the future queue.
+ * </p>
+ *
+ * @author Anonymous
+ * @since LGDCloudSim 1.0
+ */
+public class PrimitiveEventStore {
+    /**
+     * The kind of payload of a null data.
+     */
+    private static final byte NULL_PAYLOAD = 0;
+
+    /**
+     * The kind of payload of an {@link Integer} data stored in the primitive payload.
+     */
+    private static final byte INT_PAYLOAD = 1;
+
+    /**
+     * The kind of payload of a data kept in {@link #payloadObjects}.
+     */
+    private static final byte OBJECT_PAYLOAD = 2;
+
+    /**
+     * The initial capacity of the arrays.
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * The tags whose events are stored.
+     */
+    @Getter
+    private final Set<Integer> tags;
+
+    /**
+     * The pool to acquire the first event from.
+     */
+    private final CloudSimEventPool eventPool;
+
+    private double[] times = new double[INITIAL_CAPACITY];
+
+    private long[] serials = new long[INITIAL_CAPACITY];
+
+    private int[] eventTags = new int[INITIAL_CAPACITY];
+
+    private int[] sourceIds = new int[INITIAL_CAPACITY];
+
+    private int[] destinationIds = new int[INITIAL_CAPACITY];
+
+    private byte[] payloadKinds = new byte[INITIAL_CAPACITY];
+
+    private long[] payloads = new long[INITIAL_CAPACITY];
+
+    /**
+     * The entities indexed by id, to get them back from the stored ids.
+     */
+    private SimEntity[] entities = new SimEntity[INITIAL_CAPACITY];
+
+    /**
+     * The object payloads indexed by handle.
+     */
+    private Object[] payloadObjects = new Object[INITIAL_CAPACITY];
+
+    /**
+     * The free handles of {@link #payloadObjects}, from index 0 to {@link #freeHandleNum} - 1.
+     */
+    private int[] freeHandles = new int[INITIAL_CAPACITY];
+
+    private int freeHandleNum;
+
+    /**
+     * The number of handles of {@link #payloadObjects} ever used.
+     */
+    private int usedHandleNum;
+
+    /**
+     * The number of events in the store.
+     */
+    private int size;
+
+    /**
+     * The number of events ever added to the store.
+     */
+    @Getter
+    private long storedEventNum;
+
+    /**
+     * Creates a store for the events of the given tags.
+     *
+     * @param tags      the tags whose events are stored
+     * @param eventPool the pool of the simulation
+     */
+    public PrimitiveEventStore(@NonNull final Set<Integer> tags, @NonNull final CloudSimEventPool eventPool) {
+        this.tags = tags;
+        this.eventPool = eventPool;
+    }
+
+    /**
+     * Checks whether an event can be stored.
+     *
+     * @param source      the source entity of the event
+     * @param destination the destination entity of the event
+     * @param tag         the tag of the event
+     * @return true if the tag is stored and both entities have an id, false otherwise
+     */
+    public boolean canStore(final SimEntity source, final SimEntity destination, final int tag) {
+        return tags.contains(tag) && source.getId() >= 0 && destination.getId() >= 0;
+    }
+
+    /**
+     * Adds an event to the store, see {@link #canStore}.
+     *
+     * @param time        the time of the event
+     * @param serial      the serial of the event
+     * @param source      the source entity of the event
+     * @param destination the destination entity of the event
+     * @param tag         the tag of the event
+     * @param data        the data of the event
+     * @return the handle of the data, see {@link #getPayloadObject(int)}, or -1 if it is stored in the primitive payload
+     */
+    public int add(final double time, final long serial, final SimEntity source, final SimEntity destination, final int tag, final Object data) {
+        if (size == times.length) {
+            grow();
+        }
+        final int i = size++;
+        times[i] = time;
+        serials[i] = serial;
+        eventTags[i] = tag;
+        sourceIds[i] = registerEntity(source);
+        destinationIds[i] = registerEntity(destination);
+        final int handle = storePayload(i, data);
+        siftUp(i);
+        storedEventNum++;
+        return handle;
+    }
+
+    /**
+     * Checks whether the first event of the store is before an event.
+     *
+     * @param event the event, or null
+     * @return true if the store is not empty and its first event is before the event or the event is null
+     */
+    public boolean isFirstBefore(final SimEvent event) {
+        if (size == 0) {
+            return false;
+        }
+        return event == null || compare(0, event.getTime(), event.getTag(), event.getSerial()) < 0;
+    }
+
+    /**
+     * Gets the serial of the first event of the store.
+     *
+     * @return the serial of the first event
+     * @throws NoSuchElementException when the store is empty
+     */
+    public long getFirstSerial() {
+        checkNotEmpty();
+        return serials[0];
+    }
+
+    /**
+     * Creates the first event of the store from the {@link CloudSimEventPool} without removing it.
+     *
+     * @return the first event
+     * @throws NoSuchElementException when the store is empty
+     */
+    public CloudSimEvent peek() {
+        checkNotEmpty();
+        return eventPool.acquireAt(times[0], serials[0], entities[sourceIds[0]], entities[destinationIds[0]], eventTags[0], getData(0));
+    }
+
+    /**
+     * Removes the first event of the store.
+     *
+     * @throws NoSuchElementException when the store is empty
+     */
+    public void removeFirst() {
+        checkNotEmpty();
+        removeAt(0);
+    }
+
+    /**
+     * Removes an event of the store.
+     * It takes time linear in the size of the store unless the event is the first one.
+     *
+     * @param time   the time of the event
+     * @param tag    the tag of the event
+     * @param serial the serial of the event
+     * @return true if the event was removed, false if it is not in the store
+     */
+    public boolean remove(final double time, final int tag, final long serial) {
+        for (int i = 0; i < size; i++) {
+            if (serials[i] == serial && eventTags[i] == tag && times[i] == time) {
+                removeAt(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes the events matching a predicate.
+     * Each event is created to be tested, so it takes time linear in the size of the store.
+     *
+     * @param predicate the predicate which returns true for the events to be removed
+     * @return true if any event was removed
+     */
+    public boolean removeIf(final Predicate<SimEvent> predicate) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (predicate.test(createEvent(i))) {
+                if (payloadKinds[i] == OBJECT_PAYLOAD) {
+                    releaseHandle((int) payloads[i]);
+                }
+            } else {
+                move(i, kept++);
+            }
+        }
+        if (kept == size) {
+            return false;
+        }
+        size = kept;
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+        return true;
+    }
+
+    /**
+     * Gets an iterator over the events of the store in their order.
+     * The events are created when they are reached and are not removed from the store.
+     *
+     * @return the iterator
+     */
+    public Iterator<SimEvent> iterator() {
+        return new Iterator<>() {
+            /**
+             * The indexes of the heap which may be reached next, the children of the events already reached.
+             */
+            private final PriorityQueue<Integer> frontier = new PriorityQueue<>(PrimitiveEventStore.this::compare);
+
+            {
+                if (size > 0) {
+                    frontier.add(0);
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !frontier.isEmpty();
+            }
+
+            @Override
+            public SimEvent next() {
+                if (frontier.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                final int i = frontier.poll();
+                if (2 * i + 1 < size) {
+                    frontier.add(2 * i + 1);
+                }
+                if (2 * i + 2 < size) {
+                    frontier.add(2 * i + 2);
+                }
+                return createEvent(i);
+            }
+        };
+    }
+
+    /**
+     * Gets an object payload of the store.
+     *
+     * @param handle the handle returned by {@link #add}
+     * @return the payload
+     */
+    public Object getPayloadObject(final int handle) {
+        return payloadObjects[handle];
+    }
+
+    /**
+     * Replaces an object payload of the store, such as the list of an event merged with other events.
+     *
+     * @param handle the handle returned by {@link #add}
+     * @param data   the new payload
+     */
+    public void setPayloadObject(final int handle, final Object data) {
+        payloadObjects[handle] = data;
+    }
+
+    /**
+     * Gets the number of events in the store.
+     *
+     * @return the number of events
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the store is empty.
+     *
+     * @return true if there is no event in the store, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all the events from the store.
+     */
+    public void clear() {
+        size = 0;
+        Arrays.fill(payloadObjects, null);
+        freeHandleNum = 0;
+        usedHandleNum = 0;
+    }
+
+    private void checkNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException("The primitive event store is empty.");
+        }
+    }
+
+    /**
+     * Creates an event of the store which is not taken from the {@link CloudSimEventPool},
+     * as it may be kept by the caller.
+     *
+     * @param i the index of the event
+     * @return the event
+     */
+    private CloudSimEvent createEvent(final int i) {
+        return CloudSimEvent.createAt(times[i], serials[i], entities[sourceIds[i]], entities[destinationIds[i]], eventTags[i], getData(i));
+    }
+
+    /**
+     * Gets the data of an event.
+     *
+     * @param i the index of the event
+     * @return the data
+     */
+    private Object getData(final int i) {
+        return switch (payloadKinds[i]) {
+            case INT_PAYLOAD -> (int) payloads[i];
+            case OBJECT_PAYLOAD -> payloadObjects[(int) payloads[i]];
+            default -> null;
+        };
+    }
+
+    /**
+     * Removes the event at an index of the heap.
+     *
+     * @param i the index of the event
+     */
+    private void removeAt(final int i) {
+        if (payloadKinds[i] == OBJECT_PAYLOAD) {
+            releaseHandle((int) payloads[i]);
+        }
+        size--;
+        if (i < size) {
+            move(size, i);
+            siftDown(i);
+            siftUp(i);
+        }
+    }
+
+    /**
+     * Registers an entity to get it back from its id.
+     *
+     * @param entity the entity
+     * @return the id of the entity
+     */
+    private int registerEntity(final SimEntity entity) {
+        final int id = entity.getId();
+        if (id >= entities.length) {
+            entities = Arrays.copyOf(entities, Math.max(id + 1, entities.length * 2));
+        }
+        entities[id] = entity;
+        return id;
+    }
+
+    /**
+     * Stores the payload of an event.
+     *
+     * @param i    the index of the event
+     * @param data the data of the event
+     * @return the handle of the data, or -1 if it is stored in the primitive payload
+     */
+    private int storePayload(final int i, final Object data) {
+        if (data == null) {
+            payloadKinds[i] = NULL_PAYLOAD;
+            payloads[i] = 0;
+            return -1;
+        }
+        if (data instanceof Integer value) {
+            payloadKinds[i] = INT_PAYLOAD;
+            payloads[i] = value;
+            return -1;
+        }
+        final int handle = acquireHandle(data);
+        payloadKinds[i] = OBJECT_PAYLOAD;
+        payloads[i] = handle;
+        return handle;
+    }
+
+    /**
+     * Keeps an object payload in the table.
+     *
+     * @param data the payload
+     * @return the handle of the payload
+     */
+    private int acquireHandle(final Object data) {
+        final int handle;
+        if (freeHandleNum > 0) {
+            handle = freeHandles[--freeHandleNum];
+        } else {
+            handle = usedHandleNum++;
+            if (handle == payloadObjects.length) {
+                payloadObjects = Arrays.copyOf(payloadObjects, payloadObjects.length * 2);
+            }
+        }
+        payloadObjects[handle] = data;
+        return handle;
+    }
+
+    /**
+     * Removes an object payload from the table.
+     *
+     * @param handle the handle of the payload
+     */
+    private void releaseHandle(final int handle) {
+        payloadObjects[handle] = null;
+        if (freeHandleNum == freeHandles.length) {
+            freeHandles = Arrays.copyOf(freeHandles, freeHandles.length * 2);
+        }
+        freeHandles[freeHandleNum++] = handle;
+    }
+
+    /**
+     * Compares the event at an index with an event, like {@link CloudSimEvent#compareTo(SimEvent)}.
+     */
+    private int compare(final int i, final double time, final int tag, final long serial) {
+        int res = Double.compare(times[i], time);
+        if (res != 0) {
+            return res;
+        }
+        res = Integer.compare(eventTags[i], tag);
+        if (res != 0) {
+            return res;
+        }
+        return Long.compare(serials[i], serial);
+    }
+
+    private int compare(final int i, final int j) {
+        return compare(i, times[j], eventTags[j], serials[j]);
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            final int parent = (i - 1) / 2;
+            if (compare(i, parent) >= 0) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            final int left = 2 * i + 1;
+            if (left >= size) {
+                return;
+            }
+            final int right = left + 1;
+            final int child = right < size && compare(right, left) < 0 ? right : left;
+            if (compare(i, child) <= 0) {
+                return;
+            }
+            swap(i, child);
+            i = child;
+        }
+    }
+
+    private void swap(final int i, final int j) {
+        final double time = times[i];
+        final long serial = serials[i];
+        final int tag = eventTags[i];
+        final int sourceId = sourceIds[i];
+        final int destinationId = destinationIds[i];
+        final byte payloadKind = payloadKinds[i];
+        final long payload = payloads[i];
+        move(j, i);
+        times[j] = time;
+        serials[j] = serial;
+        eventTags[j] = tag;
+        sourceIds[j] = sourceId;
+        destinationIds[j] = destinationId;
+        payloadKinds[j] = payloadKind;
+        payloads[j] = payload;
+    }
+
+    private void move(final int from, final int to) {
+        times[to] = times[from];
+        serials[to] = serials[from];
+        eventTags[to] = eventTags[from];
+        sourceIds[to] = sourceIds[from];
+        destinationIds[to] = destinationIds[from];
+        payloadKinds[to] = payloadKinds[from];
+        payloads[to] = payloads[from];
+    }
+
+    private void grow() {
+        final int capacity = times.length * 2;
+        times = Arrays.copyOf(times, capacity);
+        serials = Arrays.copyOf(serials, capacity);
+        eventTags = Arrays.copyOf(eventTags, capacity);
+        sourceIds = Arrays.copyOf(sourceIds, capacity);
+        destinationIds = Arrays.copyOf(destinationIds, capacity);
+        payloadKinds = Arrays.copyOf(payloadKinds, capacity);
+        payloads = Arrays.copyOf(payloads, capacity);
+    }
+}
@@ -0,0 +1,73 @@
+package org.lgdcloudsim.core.events;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * An {@link EventQueue} that keeps the events ordered in a {@link TreeSet}.
+ * It is the default event storage of the {@link FutureQueue}.
+ * Each operation is O(log n) and allocates one tree node per added event.
+ * The events are ordered only by {@link SimEvent#compareTo(SimEvent)},
+ * so the serial of an event must be set before adding it.
+ *
+ * @author Anonymous
+ * @see CalendarQueue
+ * @since LGDCloudSim 1.0
+ */
+public class TreeSetEventQueue implements EventQueue {
+    /**
+     * The sorted set of events.
+     */
+    private final SortedSet<SimEvent> sortedSet = new TreeSet<>();
+
+    @Override
+    public void addEvent(final SimEvent newEvent) {
+        sortedSet.add(newEvent);
+    }
+
+    @Override
+    public Iterator<SimEvent> iterator() {
+        return sortedSet.iterator();
+    }
+
+    @Override
+    public Stream<SimEvent> stream() {
+        return sortedSet.stream();
+    }
+
+    @Override
+    public int size() {
+        return sortedSet.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return sortedSet.isEmpty();
+    }
+
+    @Override
+    public SimEvent first() throws NoSuchElementException {
+        return sortedSet.first();
+    }
+
+    @Override
+    public boolean remove(final SimEvent event) {
+        return sortedSet.remove(event);
+    }
+
+    @Override
+    public boolean removeAll(final Collection<SimEvent> events) {
+        return sortedSet.removeAll(events);
+    }
+
+    @Override
+    public boolean removeIf(final Predicate<SimEvent> predicate) {
+        return sortedSet.removeIf(predicate);
+    }
+
+    @Override
+    public void clear() {
+        sortedSet.clear();
+    }
+}
@@ -158,6 +158,23 @@ public interface Datacenter extends SimEntity, DatacenterPrice {
      */
     Datacenter setArchitecture(String architecture);
 
+    /**
+     * Set whether the intra-schedulers starting at the same time schedule in parallel.
+     * Their results are the same as scheduling one after another,
+     * since each intra-scheduler only reads the host states while it schedules and the conflicts are handled afterwards.
+     * The schedule cost times are only the same with a schedule cost model which is not {@link org.lgdcloudsim.util.ScheduleCostModel#isMeasured() measured},
+     * otherwise the intra-schedulers schedule one after another.
+     * @param parallelIntraScheduling whether the intra-schedulers schedule in parallel.
+     * @return the datacenter.
+     */
+    Datacenter setParallelIntraScheduling(boolean parallelIntraScheduling);
+
+    /**
+     * Get whether the intra-schedulers starting at the same time schedule in parallel.
+     * @return whether the intra-schedulers schedule in parallel.
+     */
+    boolean isParallelIntraScheduling();
+
     /**
      * Get the host number of the datacenter.
      * @return the host number of the datacenter.
@@ -174,6 +174,16 @@ public class DatacenterNull implements Datacenter {
         return null;
     }
 
+    @Override
+    public Datacenter setParallelIntraScheduling(boolean parallelIntraScheduling) {
+        return null;
+    }
+
+    @Override
+    public boolean isParallelIntraScheduling() {
+        return false;
+    }
+
     @Override
     public int compareTo(SimEntity o) {
         return 0;
@@ -265,6 +265,13 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
     @Setter
     private boolean failureClusterFlag = false;
 
+    /**
+     * Whether the intra-schedulers starting at the same time schedule in parallel, see {@link #processIntraScheduleBegin(SimEvent)}.
+     **/
+    @Getter
+    @Setter
+    private boolean parallelIntraScheduling = false;
+
     /**
      * The IntraScheduleResult List.
      **/
@@ -644,10 +651,14 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
             intraScheduleFailed(failedInstances, intraScheduler, true, outDatedUserRequests);
         }
 
+        List<IntraScheduler> startedIntraSchedulers = new ArrayList<>();
         for (IntraSchedulerResult intraSchedulerResult : this.intraSchedulerResults) {
             IntraScheduler intraScheduler = intraSchedulerResult.getIntraScheduler();
-            startIntraScheduling(intraScheduler);
+            if (startIntraScheduling(intraScheduler)) {
+                startedIntraSchedulers.add(intraScheduler);
+            }
         }
+        sendIntraScheduleBegin(0, startedIntraSchedulers);
 
         this.intraSchedulerResults.clear();
     }
@@ -747,36 +758,77 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
      * Note that the inter-scheduling process is only started when the intra-scheduler is not busy and the queue is not empty.
      *
      * @param intraScheduler the intra-scheduler
+     * @return whether the intra-scheduler is started, in which case {@link #sendIntraScheduleBegin(double, List)} has to be called for it
      */
-    private void startIntraScheduling(IntraScheduler intraScheduler) {
+    private boolean startIntraScheduling(IntraScheduler intraScheduler) {
         if (intraScheduler.isQueuesEmpty()) {
             isIntraSchedulerBusy.put(intraScheduler, false);
-        } else if (!intraScheduler.isQueuesEmpty()) {
+            return false;
+        } else {
             isIntraSchedulerBusy.put(intraScheduler, true);
-            send(this, 0, CloudSimTag.INTRA_SCHEDULE_BEGIN, intraScheduler);
+            return true;
+        }
+    }
+
+    /**
+     * Send the {@link CloudSimTag#INTRA_SCHEDULE_BEGIN} events of the intra-schedulers starting at the same time.
+     * If {@link #parallelIntraScheduling} is set and the schedule cost model is not measured,
+     * the intra-schedulers are sent in one event so that they schedule in parallel,
+     * otherwise each intra-scheduler is sent in its own event.
+     *
+     * @param delay           the delay of the events
+     * @param intraSchedulers the intra-schedulers
+     */
+    private void sendIntraScheduleBegin(double delay, List<IntraScheduler> intraSchedulers) {
+        if (parallelIntraScheduling && intraSchedulers.size() > 1 && !getSimulation().getScheduleCostModel().isMeasured()) {
+            send(this, delay, CloudSimTag.INTRA_SCHEDULE_BEGIN, intraSchedulers);
+        } else {
+            for (IntraScheduler intraScheduler : intraSchedulers) {
+                send(this, delay, CloudSimTag.INTRA_SCHEDULE_BEGIN, intraScheduler);
+            }
         }
     }
 
     /**
      * Call the {@link IntraScheduler} to allocate {@link Instance} to various hosts.
      * It will send {CloudSimTag#INTRA_SCHEDULE_END} to itself after the scheduling is completed.
+     * When the data of the event is a list of intra-schedulers, see {@link #sendIntraScheduleBegin(double, List)},
+     * they schedule in parallel, as scheduling only reads the host states and changes the state of the intra-scheduler itself,
+     * reading the clock of the datacenter with {@link Simulation#withCurrentClock},
+     * and their {CloudSimTag#INTRA_SCHEDULE_END} events are sent in the order of the list.
+     * The conflicts between their results are handled by the {@link ConflictHandler} as usual.
      *
      * @param evt the event
      */
     private void processIntraScheduleBegin(SimEvent evt) {
         if (evt.getData() instanceof IntraScheduler intraScheduler) {
-            IntraSchedulerResult innerScheduleResult = intraScheduler.schedule();
-
-            double costTime = intraScheduler.getScheduleCostTime();
-
-            if(this.isFailureCluster()) {
-                costTime = 0;
+            sendIntraScheduleEnd(intraScheduler, intraScheduler.schedule());
+        } else if (evt.getData() instanceof List<?> list) {
+            List<IntraScheduler> parallelIntraSchedulers = list.stream().map(IntraScheduler.class::cast).toList();
+            List<IntraSchedulerResult> parallelIntraSchedulerResults = parallelIntraSchedulers.parallelStream()
+                    .map(getSimulation().withCurrentClock(IntraScheduler::schedule)).toList();
+            for (int i = 0; i < parallelIntraSchedulers.size(); i++) {
+                sendIntraScheduleEnd(parallelIntraSchedulers.get(i), parallelIntraSchedulerResults.get(i));
             }
+        }
+    }
 
-            LOGGER.info("{}: {}'s {} starts scheduling {} instances,cost {} ms", getSimulation().clockStr(), this.getName(), intraScheduler.getName(), innerScheduleResult.getInstanceNum(), costTime);
+    /**
+     * Send the {@link CloudSimTag#INTRA_SCHEDULE_END} event after the scheduling cost time of an intra-scheduler.
+     *
+     * @param intraScheduler       the intra-scheduler
+     * @param innerScheduleResult the result of the scheduling
+     */
+    private void sendIntraScheduleEnd(IntraScheduler intraScheduler, IntraSchedulerResult innerScheduleResult) {
+        double costTime = intraScheduler.getScheduleCostTime();
 
-            send(this, costTime, CloudSimTag.INTRA_SCHEDULE_END, innerScheduleResult);
+        if(this.isFailureCluster()) {
+            costTime = 0;
         }
+
+        LOGGER.info("{}: {}'s {} starts scheduling {} instances,cost {} ms", getSimulation().clockStr(), this.getName(), intraScheduler.getName(), innerScheduleResult.getInstanceNum(), costTime);
+
+        send(this, costTime, CloudSimTag.INTRA_SCHEDULE_END, innerScheduleResult);
     }
 
     /**
@@ -881,6 +933,7 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
                 send(this, intraLoadBalancer.getLoadBalanceCostTime(), CloudSimTag.LOAD_BALANCE_SEND, "intra");
             }
 
+            List<IntraScheduler> startedIntraSchedulers = new ArrayList<>();
             for (Map.Entry<IntraScheduler, List<Instance>> entry : loadBalanceResult.entrySet()) {
                 IntraScheduler intraScheduler = entry.getKey();
                 List<Instance> instanceList = entry.getValue();
@@ -888,10 +941,11 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
                 intraScheduler.addInstance(instanceList, false);
                 if ((!isIntraSchedulerBusy.containsKey(intraScheduler) || !isIntraSchedulerBusy.get(intraScheduler))
                         && !intraScheduler.isQueuesEmpty()) {
-                    send(this, intraLoadBalancer.getLoadBalanceCostTime(), CloudSimTag.INTRA_SCHEDULE_BEGIN, intraScheduler);
+                    startedIntraSchedulers.add(intraScheduler);
                     isIntraSchedulerBusy.put(intraScheduler, true);
                 }
             }
+            sendIntraScheduleBegin(intraLoadBalancer.getLoadBalanceCostTime(), startedIntraSchedulers);
         }
     }
 
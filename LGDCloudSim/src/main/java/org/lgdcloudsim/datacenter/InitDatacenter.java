@@ -2,15 +2,22 @@ package org.lgdcloudsim.datacenter;
 
 import org.lgdcloudsim.conflicthandler.ConflictHandler;
 import org.lgdcloudsim.core.CloudInformationService;
+import org.lgdcloudsim.core.CloudSim;
 import org.lgdcloudsim.core.Factory;
 import org.lgdcloudsim.core.Simulation;
+import org.lgdcloudsim.core.events.EventQueue;
 import org.lgdcloudsim.intrascheduler.IntraScheduler;
+import org.lgdcloudsim.intrascheduler.IntraSchedulerGang;
+import org.lgdcloudsim.intrascheduler.IntraSchedulerPowerOfChoices;
+import org.lgdcloudsim.intrascheduler.IntraSchedulerSimple;
 import org.lgdcloudsim.interscheduler.InterScheduler;
 import org.lgdcloudsim.interscheduler.InterSchedulerSimple;
+import org.lgdcloudsim.interscheduler.RandomAndHeuristicAlgorithm;
 import org.lgdcloudsim.loadbalancer.LoadBalancer;
 import org.lgdcloudsim.request.Instance;
 import org.lgdcloudsim.request.InstanceGroup;
 import org.lgdcloudsim.statemanager.*;
+import org.lgdcloudsim.util.ScheduleCostModel;
 import org.slf4j.LoggerFactory;
 
 import javax.json.Json;
@@ -31,6 +38,13 @@ import org.slf4j.Logger;
  * A class to initialize datacenters from a json file.
  * A simple example of the json file is as follows, the iter-architecture is centralized-two stage:
  * {
+ * "futureEventQueue": "treeSet", // The queue keeping the future events of the simulation ordered, "treeSet" or "calendar". It is optional and the default value is "treeSet".
+ * // It is read by {@link #getFutureEventQueue(Factory, String)} before the {@link org.lgdcloudsim.core.CloudSim} is created.
+ * "eventPool": false, // Whether the events processed by the entities are reused from a {@link org.lgdcloudsim.core.events.CloudSimEventPool} instead of being created for each send. It is optional and the default value is false.
+ * "scheduleCostModel": "measured", // The model giving the simulated time spent by the scheduling steps, "measured", "counted" or "calibration". It is optional and the default value is "measured".
+ * // "counted" computes the time from the operations counted during each step, so the results do not depend on the load of the machine.
+ * "seed": 1, // The seed of the random number generators of the schedulers, so that the results can be reproduced. It is optional and the generators are not seeded by default.
+ * "primitiveEventStore": false, // Whether the frequent events of the {@link org.lgdcloudsim.core.CloudSimTag#PRIMITIVE_TAG} tags are kept in primitive arrays instead of event objects. It is optional and the default value is false.
  * "collaborations": // A list of collaboration zones
  * [
  * {
@@ -84,14 +98,23 @@ import org.slf4j.Logger;
  * ...
  * ]
  * "synchronizationGap": 1000, // The interval of state synchronization, in milliseconds
+ * "hostStateStore": "heap", // Where the states of the hosts are kept, "heap", "offHeap" or "copyOnWrite". It is optional and the default value is "heap".
+ * // "offHeap" keeps them outside the Java heap, for the datacenters with millions of hosts.
+ * // "copyOnWrite" keeps them in pages shared with the views of the inter-schedulers, so each synchronization of an inter-scheduler does not copy all host states.
+ * "parallelIntraScheduling": false, // Whether the intra-schedulers starting at the same time schedule in parallel. It is optional and the default value is false.
+ * // It needs a schedule cost model which does not measure the wall-clock time, such as "scheduleCostModel": "counted" at the top level of the json file,
+ * // since the time measured by each intra-scheduler would depend on the other threads.
  * "intraSchedulers": // The intra-schedulers of the datacenter
  * [{
  * "firstPartitionId": 0, // The first partition id of the intra-scheduler to synchronize the state. If it is not set, the default value is 0.
  * // The status synchronization method in the data center is performed by zone,
  * //and the intra-scheduler will synchronize the status of each partition in turn.
  * "type": "simple", // The type of the intra-scheduler. Intra-schedulers with different scheduling algorithms need to be registered in the {@link Factory}.
+ * "partitionSharded": false, // Whether the "simple" intra-scheduler shards each batch of instances across the partitions to schedule them concurrently. It is optional and the default value is false. It is rejected for the intra-schedulers with their own scheduling strategy.
+ * "antiAffinity": "none", // The anti-affinity of the instances of the same instance group for the "gang" intra-scheduler, "none", "host" or "rack". It is optional and the default value is "none".
+ * "choiceNum": 2, // The number of hosts sampled for each instance by the "powerOfChoices" intra-scheduler. It is optional and the default value is 2.
  * }],
- * "intraLoadBalancer": // The load balancer of the datacenter. When there are intra-schedulers in the datacenter, the load balancer is needed.
+ * "intraLoadBalancer": // The load balancer of the datacenter. When there are intra-schedulers in the datacenter, the load balancer is needed. With a "gang" intra-scheduler, it never splits an instance group.
  * {
  * "type": "batch" // The type of the load balancer. Load balancers with different scheduling algorithms need to be registered in the {@link Factory}.
  * },
@@ -149,6 +172,16 @@ public class InitDatacenter {
      */
     private static int datacenterId = 1;
 
+    /**
+     * The seed of the random number generators of the schedulers from the "seed" key, or null if they are not seeded.
+     */
+    private static Long seed;
+
+    /**
+     * The number of random number generators seeded from the {@link #seed} in the scenario.
+     */
+    private static int seededGeneratorNum;
+
     /**
      * Initialize datacenters with the simulation and factory and the path of the json file.
      *
@@ -160,6 +193,7 @@ public class InitDatacenter {
         InitDatacenter.LGDCloudSim = LGDCloudSim;
         InitDatacenter.factory = factory;
         JsonObject jsonObject = readJsonFile(filePath);
+        initSimulation(jsonObject);
 
         if (jsonObject.containsKey("collaborations")) {
             initMultiDatacenters(jsonObject);
@@ -172,6 +206,65 @@ public class InitDatacenter {
         }
     }
 
+    /**
+     * Get the queue keeping the future events of the simulation ordered from the "futureEventQueue" key of the json file,
+     * to create the {@link org.lgdcloudsim.core.CloudSim} with before initializing the datacenters.
+     *
+     * @param factory  the {@link Factory} object
+     * @param filePath the path of the json file
+     * @return the queue, a tree set queue if the key is not set
+     */
+    public static EventQueue getFutureEventQueue(Factory factory, String filePath) {
+        JsonObject jsonObject = readJsonFile(filePath);
+        String futureEventQueueType = jsonObject.containsKey("futureEventQueue") ? jsonObject.getString("futureEventQueue") : "treeSet";
+        EventQueue futureEventQueue = factory.getFutureEventQueue(futureEventQueueType);
+        if (futureEventQueue == null) {
+            throw new IllegalArgumentException("Unrecognized future event queue type: " + futureEventQueueType);
+        }
+        return futureEventQueue;
+    }
+
+    /**
+     * Initialize the options of the simulation set in the json file.
+     *
+     * @param jsonObject the json object of the scenario
+     */
+    private static void initSimulation(JsonObject jsonObject) {
+        if (jsonObject.containsKey("scheduleCostModel")) {
+            String scheduleCostModelType = jsonObject.getString("scheduleCostModel");
+            ScheduleCostModel scheduleCostModel = factory.getScheduleCostModel(scheduleCostModelType);
+            if (scheduleCostModel == null) {
+                throw new IllegalArgumentException("Unrecognized schedule cost model type: " + scheduleCostModelType);
+            }
+            LGDCloudSim.setScheduleCostModel(scheduleCostModel);
+        }
+        seed = jsonObject.containsKey("seed") ? jsonObject.getJsonNumber("seed").longValue() : null;
+        seededGeneratorNum = 0;
+        if (seed != null) {
+            RandomAndHeuristicAlgorithm.setSeed(deriveSeed());
+        }
+        if (LGDCloudSim instanceof CloudSim cloudSim) {
+            if (jsonObject.getBoolean("eventPool", false)) {
+                cloudSim.getEventPool().setEnabled(true);
+            }
+            if (jsonObject.getBoolean("primitiveEventStore", false)) {
+                cloudSim.setPrimitiveEventStoreEnabled(true);
+            }
+        }
+    }
+
+    /**
+     * Derive the seed of the next random number generator of the scenario from the "seed" key,
+     * so that each scheduler draws a different sequence of numbers.
+     * The seeds only depend on the order in which the schedulers are created from the json file,
+     * not on their ids which keep increasing when several scenarios are initialized in the same JVM.
+     *
+     * @return the seed of the random number generator
+     */
+    private static long deriveSeed() {
+        return new SplittableRandom(seed + seededGeneratorNum++).nextLong();
+    }
+
     /**
      * Initialize multiple datacenters scenario.
      *
@@ -344,6 +437,9 @@ public class InitDatacenter {
         }
 
         InterScheduler interScheduler = factory.getInterScheduler(type, interSchedulerId++, LGDCloudSim, collaborationId, target, isSupportForward);
+        if (seed != null) {
+            interScheduler.setSeed(deriveSeed());
+        }
 
         if(interSchedulerJson.containsKey("enablePipeline")) {
             interScheduler.setEnablePipelineFlag(interSchedulerJson.getBoolean("enablePipeline"));
@@ -690,6 +786,14 @@ public class InitDatacenter {
             datacenter.setArchitecture(datacenterJson.getString("architecture"));
         }
 
+        if (datacenterJson.containsKey("parallelIntraScheduling")) {
+            boolean parallelIntraScheduling = datacenterJson.getBoolean("parallelIntraScheduling");
+            if (parallelIntraScheduling && LGDCloudSim.getScheduleCostModel().isMeasured()) {
+                throw new IllegalArgumentException("The parallel intra-scheduling of datacenter " + id + " needs a schedule cost model which is not measured, such as \"scheduleCostModel\": \"counted\"");
+            }
+            datacenter.setParallelIntraScheduling(parallelIntraScheduling);
+        }
+
         StatesManager statesManager = getStatesManager(datacenterJson, isCenterSchedule, target);
         datacenter.setStatesManager(statesManager);
 
@@ -703,6 +807,10 @@ public class InitDatacenter {
 
             List<IntraScheduler> intraSchedulers = getIntraSchedulers(datacenterJson, statesManager.getPartitionRangesManager().getPartitionNum());
             datacenter.setIntraSchedulers(intraSchedulers);
+            if (intraSchedulers.stream().anyMatch(IntraSchedulerGang.class::isInstance)) {
+                // The gang intra-schedulers can only schedule an instance group together if it is not split.
+                loadBalancer.setRequestGroupKey(Instance::getInstanceGroup);
+            }
         }
 
         JsonObject resourceAllocateSelectorJson = datacenterJson.getJsonObject("resourceAllocateSelector");
@@ -780,6 +888,22 @@ public class InitDatacenter {
                 LOGGER.info("IntraScheduler {} Missing firstPartitionId, defaults to 0", k);
             }
             IntraScheduler scheduler = factory.getIntraScheduler(schedulerJson.getString("type"), intraSchedulerId++, firstSynPartitionId, partitionNum);
+            if (seed != null) {
+                scheduler.setSeed(deriveSeed());
+            }
+            if (schedulerJson.containsKey("choiceNum") && scheduler instanceof IntraSchedulerPowerOfChoices powerOfChoices) {
+                powerOfChoices.setChoiceNum(schedulerJson.getInt("choiceNum"));
+            }
+            if (schedulerJson.containsKey("antiAffinity") && scheduler instanceof IntraSchedulerGang gang) {
+                gang.setAntiAffinity(IntraSchedulerGang.AntiAffinity.valueOf(schedulerJson.getString("antiAffinity").toUpperCase()));
+            }
+            if (schedulerJson.containsKey("partitionSharded") && scheduler instanceof IntraSchedulerSimple simple) {
+                boolean partitionSharded = schedulerJson.getBoolean("partitionSharded");
+                if (partitionSharded && !simple.isPartitionShardingSupported()) {
+                    throw new IllegalArgumentException("The \"" + schedulerJson.getString("type") + "\" intra-scheduler has its own scheduling strategy, so it can not be partition sharded");
+                }
+                simple.setPartitionSharded(partitionSharded);
+            }
             intraSchedulers.add(scheduler);
         }
         return intraSchedulers;
@@ -800,7 +924,12 @@ public class InitDatacenter {
             synchronizationGap = datacenterJson.getJsonNumber("synchronizationGap").doubleValue();
         }
         int[] maxCpuRam = getMaxCpuRam(datacenterJson);
-        StatesManager statesManager = new StatesManagerSimple(hostNum, partitionRangesManager, synchronizationGap, maxCpuRam[0], maxCpuRam[1]);
+        String hostStateStoreType = datacenterJson.containsKey("hostStateStore") ? datacenterJson.getString("hostStateStore") : "heap";
+        HostStateStore hostStateStore = factory.getHostStateStore(hostStateStoreType, hostNum);
+        if (hostStateStore == null) {
+            throw new IllegalArgumentException("Unrecognized host state store type: " + hostStateStoreType);
+        }
+        StatesManager statesManager = new StatesManagerSimple(hostStateStore, partitionRangesManager, synchronizationGap, maxCpuRam[0], maxCpuRam[1]);
 
         if (datacenterJson.containsKey("competeGap")) {
             double competeGap = datacenterJson.getJsonNumber("competeGap").doubleValue();
@@ -109,6 +109,14 @@ public interface InterScheduler extends Nameable, DatacenterEntity {
      */
     InterScheduler setEnablePipelineFlag(boolean enablePipelineFlag);
 
+    /**
+     * Set the seed of the random number generator of the inter-scheduler,
+     * so that its scheduling results can be reproduced.
+     * @param seed the seed of the random number generator.
+     * @return the inter-scheduler itself.
+     */
+    InterScheduler setSeed(long seed);
+
     /**
      * Set the simulation.
      * @param simulation the simulation.
@@ -5,6 +5,7 @@ import org.lgdcloudsim.datacenter.Datacenter;
 import org.lgdcloudsim.queue.InstanceGroupQueueCFS;
 import org.lgdcloudsim.request.InstanceGroup;
 import org.lgdcloudsim.statemanager.SimpleStateWithCompeteEasyObject;
+import org.lgdcloudsim.util.ScheduleOperation;
 
 import java.util.List;
 import java.util.Map;
@@ -16,13 +17,13 @@ public class InterSchedulerDiktyo extends InterSchedulerSimple{
     }
     @Override
     protected InterSchedulerResult scheduleToDatacenter(List<InstanceGroup> instanceGroups){
-        double start = System.currentTimeMillis();
         List<Datacenter> allDatacenters = simulation.getCollaborationManager().getDatacenters(collaborationId);
+        scheduleCostCounter.startExclude();
         InterSchedulerResult interSchedulerResult = new InterSchedulerResult(this, allDatacenters);
-        double end = System.currentTimeMillis();
-        this.excludeTime = Math.max(0.0, end - start);
+        scheduleCostCounter.endExclude();
 
         for(InstanceGroup instanceGroup : instanceGroups){
+            scheduleCostCounter.count(ScheduleOperation.DC_FILTER, allDatacenters.size());
             Map<InstanceGroup, List<Datacenter>> instanceGroupAvailableDatacenters = RandomAndHeuristicAlgorithm.heuristicFiltering(instanceGroup, allDatacenters, simulation, interScheduleSimpleStateMap, interSchedulerResult);
 
             if (interScheduleSimpleStateMap.get(allDatacenters.get(0)) instanceof SimpleStateWithCompeteEasyObject) {
@@ -4,7 +4,9 @@ import org.lgdcloudsim.core.Simulation;
 import org.lgdcloudsim.datacenter.Datacenter;
 import org.lgdcloudsim.queue.InstanceGroupQueueCFS;
 import org.lgdcloudsim.request.InstanceGroup;
+import org.lgdcloudsim.statemanager.DetailedDcStateSimple;
 import org.lgdcloudsim.statemanager.SimpleStateWithCompeteEasyObject;
+import org.lgdcloudsim.util.ScheduleOperation;
 
 import java.util.List;
 import java.util.Map;
@@ -21,13 +23,13 @@ public class InterSchedulerLattice extends InterSchedulerSimple {
     
     @Override
     protected InterSchedulerResult scheduleToDatacenter(List<InstanceGroup> instanceGroups){
-        double start = System.currentTimeMillis();
         List<Datacenter> allDatacenters = simulation.getCollaborationManager().getDatacenters(collaborationId);
+        scheduleCostCounter.startExclude();
         InterSchedulerResult interSchedulerResult = new InterSchedulerResult(this, allDatacenters);
-        double end = System.currentTimeMillis();
-        this.excludeTime = Math.max(0.0, end - start);
+        scheduleCostCounter.endExclude();
 
         for(InstanceGroup instanceGroup : instanceGroups){
+            scheduleCostCounter.count(ScheduleOperation.DC_FILTER, allDatacenters.size());
             Map<InstanceGroup, List<Datacenter>> instanceGroupAvailableDatacenters = this.pmqsf.filtering(instanceGroup, allDatacenters, simulation, interScheduleSimpleStateMap, interSchedulerResult);
 
             // 如果 interScheduleSimpleStateMap 的 value 类型为 SimpleStateWithCompeteEasyObject，则调用 heuristicScoringByPriceAndAvailableAndCompete 方法
@@ -52,7 +54,10 @@ public class InterSchedulerLattice extends InterSchedulerSimple {
             }
 
             String stateType = dcStateSynType.get(datacenter);
-            interScheduleSimpleStateMap.put(datacenter, datacenter.getStatesManager().getStateByType(stateType));
+            Object previousState = interScheduleSimpleStateMap.put(datacenter, datacenter.getStatesManager().getStateByType(stateType));
+            if (previousState instanceof DetailedDcStateSimple detailedDcStateSimple) {
+                detailedDcStateSimple.release();
+            }
         }
         updateBWInfo(datacenters);
     }
@@ -6,8 +6,8 @@ import org.lgdcloudsim.network.NetworkTopology;
 import org.lgdcloudsim.request.Instance;
 import org.lgdcloudsim.request.InstanceGroup;
 import org.lgdcloudsim.statemanager.DetailedDcStateSimple;
-import org.lgdcloudsim.statemanager.HostState;
 import org.lgdcloudsim.statemanager.SimpleStateEasyObject;
+import org.lgdcloudsim.util.ScheduleOperation;
 import org.lgdcloudsim.util.ScoredDatacentersManager;
 import org.lgdcloudsim.util.ScoredDc;
 import org.lgdcloudsim.util.ScoredHost;
@@ -128,6 +128,7 @@ public class InterSchedulerLeastRequested extends InterSchedulerSimple {
      */
     private List<Datacenter> getAvailableDatacenterByNetworkLimit(InstanceGroup instanceGroup, List<Datacenter> allDatacenters, InterSchedulerResult interSchedulerResult) {
         List<Datacenter> availableDatacenters = new ArrayList<>(allDatacenters);
+        scheduleCostCounter.count(ScheduleOperation.DC_FILTER, allDatacenters.size());
         filterAvailableDatacenterByAccessLatency(instanceGroup, availableDatacenters);
         filterAvailableDatacenterByEdgeDelayLimit(instanceGroup, availableDatacenters, interSchedulerResult);
         filterAvailableDatacenterByEdgeBwLimit(instanceGroup, availableDatacenters, interSchedulerResult);
@@ -217,6 +218,7 @@ public class InterSchedulerLeastRequested extends InterSchedulerSimple {
             int dcIndex = (randomStartIndex + i) % allDatacenters.size();
             Datacenter datacenter = allDatacenters.get(dcIndex);
 
+            scheduleCostCounter.count(ScheduleOperation.DC_FILTER);
             double score = getScoreForDc(sameInstanceGroup, datacenter, (SimpleStateEasyObject)interScheduleSimpleStateMap.get(datacenter));
             if(score == -1){
                 continue;
@@ -433,16 +435,15 @@ public class InterSchedulerLeastRequested extends InterSchedulerSimple {
      * @return the score of the host.
      */
     private double getScoreForHost(Instance instance, int hostId, Datacenter datacenter, DetailedDcStateSimple detailedDcStateSimple) {
-        HostState hostState = detailedDcStateSimple.getHostState(hostId);
-        if (!hostState.isSuitable(instance)) {
+        if (!detailedDcStateSimple.isSuitable(hostId, instance)) {
             return -1;
         } else {
             if(scoreHostHistoryMap.containsKey(datacenter) && scoreHostHistoryMap.get(datacenter).containsKey(hostId)){
                 return scoreHostHistoryMap.get(datacenter).get(hostId);
             }else{
-                int cpuCapacity = detailedDcStateSimple.getHostCapacity(hostId)[0];
-                int ramCapacity = detailedDcStateSimple.getHostCapacity(hostId)[1];
-                double score = (hostState.getCpu() * 10 / (double) cpuCapacity + hostState.getRam() * 10 / (double) ramCapacity) / 2;
+                int cpuCapacity = detailedDcStateSimple.getHostCapacity(hostId, 0);
+                int ramCapacity = detailedDcStateSimple.getHostCapacity(hostId, 1);
+                double score = (detailedDcStateSimple.getResource(hostId, 0) * 10 / (double) cpuCapacity + detailedDcStateSimple.getResource(hostId, 1) * 10 / (double) ramCapacity) / 2;
                 scoreHostHistoryMap.computeIfAbsent(datacenter, k -> new HashMap<>()).put(hostId, score);
                 return score;
             }
@@ -13,8 +13,9 @@ import org.lgdcloudsim.request.Instance;
 import org.lgdcloudsim.request.InstanceGroup;
 import org.lgdcloudsim.request.UserRequest;
 import org.lgdcloudsim.statemanager.DetailedDcStateSimple;
-import org.lgdcloudsim.statemanager.HostState;
 import org.lgdcloudsim.statemanager.SimpleStateEasyObject;
+import org.lgdcloudsim.util.ScheduleCostCounter;
+import org.lgdcloudsim.util.ScheduleOperation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -124,6 +125,12 @@ public class InterSchedulerSimple implements InterScheduler {
     @Setter
     InstanceGroupQueue instanceGroupQueue = new InstanceGroupQueueFifo();
 
+    @Override
+    public InterScheduler setSeed(long seed) {
+        random.setSeed(seed);
+        return this;
+    }
+
     public InterScheduler setInstanceGroupQueue(InstanceGroupQueue instanceGroupQueue) {
         this.instanceGroupQueue = instanceGroupQueue;
         return this;
@@ -197,7 +204,10 @@ public class InterSchedulerSimple implements InterScheduler {
     @Getter
     double scheduleTime = 0.0;
 
-    double excludeTime = 0.0;
+    /**
+     * The counter of the operations and the time of the scheduling.
+     */
+    ScheduleCostCounter scheduleCostCounter = new ScheduleCostCounter();
 
     /**
      * The time spent on the presolve.
@@ -268,6 +278,7 @@ public class InterSchedulerSimple implements InterScheduler {
         QueueResult<InstanceGroup> queueResult = getUnpresolvedInstanceGroups();
         List<InstanceGroup> waitPresolveInstanceGroups = queueResult.getWaitScheduledItems();
         
+        waitSchedulingInstanceGroupQueue.setScheduleCostModel(simulation.getScheduleCostModel());
         waitSchedulingInstanceGroupQueue.add(waitPresolveInstanceGroups);
 
         this.presolveTime = waitSchedulingInstanceGroupQueue.getSortTime();
@@ -318,7 +329,7 @@ public class InterSchedulerSimple implements InterScheduler {
         InterSchedulerResult interSchedulerResult = null;
 
         traversalTime = 0;
-        double start = System.currentTimeMillis();
+        scheduleCostCounter.start(simulation.getScheduleCostModel());
         if (target == DC_TARGET) {
             interSchedulerResult = scheduleToDatacenter(waitSchedulingInstanceGroups);
         } else if (target == HOST_TARGET) {
@@ -328,16 +339,17 @@ public class InterSchedulerSimple implements InterScheduler {
         } else {
             throw new IllegalStateException("InterSchedulerSimple.schedule: Invalid target of " + target);
         }
-        double end = System.currentTimeMillis();
+        scheduleCostCounter.count(ScheduleOperation.HOST_PROBE, traversalTime);
+        double costTime = scheduleCostCounter.stop();
 
-        this.scheduleTime = Math.max(0.1, end - start - this.excludeTime);
+        this.scheduleTime = Math.max(0.1, costTime);
 
         setInstanceGroupInterScheduleEndTime(waitSchedulingInstanceGroups, getSimulation().clock() + this.scheduleTime);
 
         interSchedulerResult = checkInstanceGroupScheduleResult(interSchedulerResult);
 
-        if(end-start<0.1) {
-            LOGGER.warn("{}: interSchedule schedule time is less than 0.1 ms ({} ms).", simulation.clockStr(), end-start);
+        if(costTime<0.1) {
+            LOGGER.warn("{}: interSchedule schedule time is less than 0.1 ms ({} ms).", simulation.clockStr(), costTime);
         }
 
         interSchedulerResult.setOutDatedUserRequests(queueResult.getOutDatedItems());
@@ -647,6 +659,8 @@ public class InterSchedulerSimple implements InterScheduler {
 
     /**
      * Randomly schedule the instance to the hosts in the data center.
+     * The hosts are traversed from a random host, and the suitable host is found by {@link DetailedDcStateSimple#findSuitableHost},
+     * but the traversal time still counts every host before it.
      * @param instance the instance to be scheduled
      * @param detailedDcStateSimple the state of the data center, See {@link DetailedDcStateSimple}
      * @return the host id where the instance is scheduled
@@ -655,14 +669,15 @@ public class InterSchedulerSimple implements InterScheduler {
         int hostNum = detailedDcStateSimple.getHostNum();
         int startIndex = random.nextInt(hostNum);
 
-        for (int i = 0; i < hostNum; i++) {
-            int index = (startIndex + i) % hostNum;
-            HostState hostState = detailedDcStateSimple.getHostState(index);
-
-            if (hostState.isSuitable(instance)) {
-                traversalTime += i+1;
-                return index;
-            }
+        int index = detailedDcStateSimple.findSuitableHost(startIndex, hostNum - 1, instance);
+        if (index != -1) {
+            traversalTime += index - startIndex + 1;
+            return index;
+        }
+        index = detailedDcStateSimple.findSuitableHost(0, startIndex - 1, instance);
+        if (index != -1) {
+            traversalTime += hostNum - startIndex + index + 1;
+            return index;
         }
 
         traversalTime += hostNum;
@@ -690,7 +705,10 @@ public class InterSchedulerSimple implements InterScheduler {
             }
 
             String stateType = dcStateSynType.get(datacenter);
-            interScheduleSimpleStateMap.put(datacenter, datacenter.getStatesManager().getStateByType(stateType));
+            Object previousState = interScheduleSimpleStateMap.put(datacenter, datacenter.getStatesManager().getStateByType(stateType));
+            if (previousState instanceof DetailedDcStateSimple detailedDcStateSimple) {
+                detailedDcStateSimple.release();
+            }
         }
     }
 
@@ -757,6 +775,7 @@ public class InterSchedulerSimple implements InterScheduler {
      */
     private void filterDatacentersByAccessLatency(InstanceGroup instanceGroup, List<Datacenter> allDatacenters, NetworkTopology networkTopology) {
         // Filter based on access latency
+        scheduleCostCounter.count(ScheduleOperation.DC_FILTER, allDatacenters.size());
         allDatacenters.removeIf(
                 datacenter -> instanceGroup.getAccessLatency() <= networkTopology.getAccessLatency(instanceGroup.getUserRequest(), datacenter));
     }
@@ -768,6 +787,7 @@ public class InterSchedulerSimple implements InterScheduler {
      */
     private void filterDatacentersByResourceSample(InstanceGroup instanceGroup, List<Datacenter> allDatacenters) {
         //首先是粗粒度地筛选总量是否满足
+        scheduleCostCounter.count(ScheduleOperation.DC_FILTER, allDatacenters.size());
         allDatacenters.removeIf(
                 datacenter -> {
                     SimpleStateEasyObject simpleStateEasyObject = (SimpleStateEasyObject) interScheduleSimpleStateMap.get(datacenter);
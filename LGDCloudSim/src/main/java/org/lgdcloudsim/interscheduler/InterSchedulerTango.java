@@ -6,6 +6,7 @@ import org.lgdcloudsim.network.NetworkTopology;
 import org.lgdcloudsim.request.InstanceGroup;
 import org.lgdcloudsim.request.UserRequest;
 import org.lgdcloudsim.statemanager.SimpleStateWithCompeteEasyObject;
+import org.lgdcloudsim.util.ScheduleOperation;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -18,11 +19,10 @@ public class InterSchedulerTango extends InterSchedulerSimple{
     }
     @Override
     protected InterSchedulerResult scheduleToDatacenter(List<InstanceGroup> instanceGroups){
-        double start = System.currentTimeMillis();
         List<Datacenter> allDatacenters = simulation.getCollaborationManager().getDatacenters(collaborationId);
+        scheduleCostCounter.startExclude();
         InterSchedulerResult interSchedulerResult = new InterSchedulerResult(this, allDatacenters);
-        double end = System.currentTimeMillis();
-        this.excludeTime = Math.max(0.0, end - start);
+        scheduleCostCounter.endExclude();
         
         Map<InstanceGroup, List<Datacenter>> instanceGroupAvailableDatacenters = tangoFiltering(instanceGroups, allDatacenters);
 
@@ -72,6 +72,7 @@ public class InterSchedulerTango extends InterSchedulerSimple{
             for(InstanceGroup instanceGroup : instanceGroupList){
                 // 深拷贝allDatacenters并赋值
                 List<Datacenter> allDatacentersCopy = new ArrayList<>();
+                scheduleCostCounter.count(ScheduleOperation.DC_FILTER, allDatacenters.size());
                 for(Datacenter datacenter : allDatacenters){
                     if(instanceGroup.getAccessLatency() > networkTopology.getAccessLatency(instanceGroup.getUserRequest(), datacenter)) {
                         allDatacentersCopy.add(datacenter);
@@ -89,6 +90,7 @@ public class InterSchedulerTango extends InterSchedulerSimple{
                     Integer numBeforeUpdate = availableDatacenters.size();
 
                     // 若选定当前数据中心后，存在其它实例组：其所有可行数据中心，都无法满足实例组间延迟。则删除当前数据中心。
+                    scheduleCostCounter.count(ScheduleOperation.DC_FILTER, availableDatacenters.size());
                     availableDatacenters.removeIf(nullDatacenter -> {
                         for (InstanceGroup otherInstanceGroup : instanceGroupList) {
                             if (otherInstanceGroup != instanceGroup) {
@@ -38,6 +38,16 @@ public class RandomAndHeuristicAlgorithm {
     // 确保每一ms运行的两次代码不会相同
     private static Random random = new Random();
 
+    /**
+     * Set the seed of the random number generator shared by the filtering algorithms,
+     * so that their results can be reproduced.
+     *
+     * @param seed the seed of the random number generator
+     */
+    public static void setSeed(long seed) {
+        random.setSeed(seed);
+    }
+
     /**
      * The logger.
      */
@@ -173,7 +183,7 @@ public class RandomAndHeuristicAlgorithm {
         List<Datacenter> availableDatacenters = new ArrayList<>(allDatacenters);
     
         // queryDCNum 在1到allDatacenters.size()之间随机非零整数
-        Integer queryDCNum = (int)(Math.random() * allDatacenters.size()) + 1;
+        Integer queryDCNum = random.nextInt(allDatacenters.size()) + 1;
         // 对availableDatacenters列表进行洗牌（随机排序）
         Collections.shuffle(availableDatacenters, random);
 
@@ -207,7 +217,7 @@ public class RandomAndHeuristicAlgorithm {
             List<Datacenter> availableDatacenters = new ArrayList<>(allDatacenters);
         
             // queryDCNum 在1到allDatacenters.size()之间随机非零整数
-            Integer queryDCNum = (int)(Math.random() * allDatacenters.size()) + 1;
+            Integer queryDCNum = random.nextInt(allDatacenters.size()) + 1;
             // 对availableDatacenters列表进行洗牌（随机排序）
             Collections.shuffle(availableDatacenters, random);
 
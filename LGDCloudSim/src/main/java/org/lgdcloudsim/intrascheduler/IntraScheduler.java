@@ -103,6 +103,14 @@ public interface IntraScheduler extends Nameable, DatacenterEntity {
      */
     IntraScheduler setFirstPartitionId(int firstPartitionId);
 
+    /**
+     * Set the seed of the random number generator of the intra-scheduler,
+     * so that its scheduling results can be reproduced.
+     * @param seed the seed of the random number generator.
+     * @return the intra-scheduler itself.
+     */
+    IntraScheduler setSeed(long seed);
+
     /**
      * Get the first synchronization partition id of the intra-scheduler.
      * @return the first synchronization partition id of the intra-scheduler.
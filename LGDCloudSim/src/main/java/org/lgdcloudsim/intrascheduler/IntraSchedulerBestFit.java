@@ -0,0 +1,157 @@
+package org.lgdcloudsim.intrascheduler;
+
+import org.lgdcloudsim.record.SqlRecord;
+import org.lgdcloudsim.request.Instance;
+import org.lgdcloudsim.statemanager.HostCapacityManager;
+import org.lgdcloudsim.statemanager.HostStateRollup;
+import org.lgdcloudsim.statemanager.SynState;
+import org.lgdcloudsim.util.HostResidualIndex;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The best-fit-decreasing intra-scheduler that extends the {@link IntraSchedulerSimple} class.
+ * It packs the instances on the cpu, ram, storage and bw of the hosts jointly as follows:
+ * <ul>
+ *     <li>Sort the batch of instances by their dominant share, which is the largest share of the total capacity
+ *     of the data center they require among the four resources, from the largest to the smallest.</li>
+ *     <li>Build a {@link HostResidualIndex} of the hosts in its scheduling view,
+ *     which keeps the hosts of each capacity class ordered by their free share.</li>
+ *     <li>Schedule each instance to the tightest suitable host found by the index,
+ *     i.e. the host with the smallest residual after placing it:
+ *     Residual = sum of (remaining resource - required resource) / total resource of the host over the four resources,
+ *     and update the index with the resources allocated on the host.</li>
+ * </ul>
+ * Building the index reads each host of the view once per scheduling,
+ * then finding the tightest host for an instance takes time logarithmic in the number of hosts of the view
+ * instead of a scan of all its suitable hosts, as long as the resources of the hosts are balanced.
+ * <p>
+ * After each scheduling, the fragmentation of the data center is recorded with {@link SqlRecord#recordFragmentation}.
+ * It is computed from the rollups of the actual host states kept by the {@link org.lgdcloudsim.statemanager.StatesManager},
+ * not from the scheduling view the instances are placed with,
+ * and the instances of the scheduling are not allocated yet, so it is the fragmentation before the scheduling.
+ * </p>
+ *
+ * @author Anonymous
+ * @since LGDCloudSim 1.0
+ */
+public class IntraSchedulerBestFit extends IntraSchedulerSimple {
+    /**
+     * The index of the hosts in the scheduling view ordered by their residual, built at each scheduling.
+     */
+    private HostResidualIndex residualIndex;
+
+    /**
+     * Construct the intra-scheduler with the id, the first partition id and the partition number.
+     *
+     * @param id               the intra-scheduler id.
+     * @param firstPartitionId the first synchronization partition id.
+     * @param partitionNum     the number of partitions in the data center.
+     */
+    public IntraSchedulerBestFit(int id, int firstPartitionId, int partitionNum) {
+        super(id, firstPartitionId, partitionNum);
+    }
+
+    /**
+     * Schedule the instances from the one with the largest dominant share to the one with the smallest,
+     * each to the tightest suitable host in the scheduling view.
+     * @param instances the instances to be scheduled.
+     * @param synState the synchronization state.
+     * @return the intra-scheduler result.
+     */
+    @Override
+    protected IntraSchedulerResult scheduleInstances(List<Instance> instances, SynState synState) {
+        IntraSchedulerResult intraSchedulerResult = new IntraSchedulerResult(this, getDatacenter().getSimulation().clock());
+
+        List<Integer> innerSchedulerView = datacenter.getStatesManager().getIntraSchedulerView(this);
+        int firstHostId = innerSchedulerView.get(0);
+        int lastHostId = innerSchedulerView.get(1);
+
+        if (residualIndex == null) {
+            residualIndex = new HostResidualIndex(datacenter.getStatesManager().getHostCapacityManager());
+        }
+        residualIndex.build(synState, firstHostId, lastHostId, scheduleCostCounter);
+
+        List<Instance> sortedInstances = new ArrayList<>(instances);
+        sortedInstances.sort(Comparator.comparingDouble(this::getDominantShare).reversed());
+        for (Instance instance : sortedInstances) {
+            int suitId = residualIndex.findTightestHost(instance, scheduleCostCounter);
+            if (suitId != -1) {
+                synState.allocateTmpResource(suitId, instance);
+                residualIndex.allocate(suitId, instance);
+                instance.setExpectedScheduleHostId(suitId);
+                intraSchedulerResult.addScheduledInstance(instance);
+            } else {
+                intraSchedulerResult.addFailedScheduledInstance(instance);
+            }
+        }
+
+        recordFragmentation(instances);
+        return intraSchedulerResult;
+    }
+
+    /**
+     * Get the dominant share of an instance,
+     * which is the largest share of the total capacity of the data center it requires among the four resources.
+     * @param instance the instance.
+     * @return the dominant share of the instance.
+     */
+    protected double getDominantShare(Instance instance) {
+        HostCapacityManager hostCapacityManager = datacenter.getStatesManager().getHostCapacityManager();
+        return Math.max(Math.max(getShare(instance.getCpu(), hostCapacityManager.getCpuCapacitySum()),
+                        getShare(instance.getRam(), hostCapacityManager.getRamCapacitySum())),
+                Math.max(getShare(instance.getStorage(), hostCapacityManager.getStorageCapacitySum()),
+                        getShare(instance.getBw(), hostCapacityManager.getBwCapacitySum())));
+    }
+
+    /**
+     * Get the share of a capacity of a resource, or 0 if there is not any of the resource.
+     * @param amount the amount of the resource.
+     * @param capacity the capacity of the resource.
+     * @return the share of the capacity.
+     */
+    private static double getShare(long amount, long capacity) {
+        return capacity == 0 ? 0 : (double) amount / capacity;
+    }
+
+    /**
+     * Record the fragmentation of the data center from the rollups of its capacity classes, see {@link HostStateRollup}.
+     * The rollups follow the actual host states, not the scheduling view of the intra-scheduler.
+     * A host is counted as fragmented when it has some available cpu but less than the smallest cpu of the instances,
+     * so that none of them fits on it, while its capacity class could take the smallest instance when it is empty.
+     * The hosts of the classes too small for any of the instances are not fragmented, they are only too small.
+     * The intra-schedulers may schedule in parallel, so the recording is synchronized on the {@link SqlRecord}.
+     * @param instances the instances of the scheduling.
+     */
+    private void recordFragmentation(List<Instance> instances) {
+        HostStateRollup capacityClassRollup = datacenter.getStatesManager().getCapacityClassRollup();
+        if (instances.isEmpty() || capacityClassRollup == null) {
+            return;
+        }
+        HostCapacityManager hostCapacityManager = datacenter.getStatesManager().getHostCapacityManager();
+        int minCpu = Integer.MAX_VALUE;
+        for (Instance instance : instances) {
+            minCpu = Math.min(minCpu, instance.getCpu());
+        }
+        int poweredOnHostNum = 0;
+        long availableCpu = 0;
+        long availableRam = 0;
+        int fragmentedHostNum = 0;
+        for (int capacityClass = 0; capacityClass < capacityClassRollup.getGroupNum(); capacityClass++) {
+            poweredOnHostNum += capacityClassRollup.getPoweredOnHostNum(capacityClass);
+            availableCpu += capacityClassRollup.getAvailableSum(capacityClass, 0);
+            availableRam += capacityClassRollup.getAvailableSum(capacityClass, 1);
+            if (hostCapacityManager.getCapacityClassCapacity(capacityClass, 0) < minCpu) {
+                continue;
+            }
+            fragmentedHostNum += capacityClassRollup.getFreeCpuHostNumBelow(capacityClass, minCpu);
+        }
+        SqlRecord sqlRecord = getDatacenter().getSimulation().getSqlRecord();
+        synchronized (sqlRecord) {
+            sqlRecord.recordFragmentation(getDatacenter().getSimulation().clock(), datacenter.getId(), id,
+                    poweredOnHostNum, availableCpu, availableRam, fragmentedHostNum);
+        }
+    }
+}
@@ -52,12 +52,15 @@ public class IntraSchedulerFirstFit extends IntraSchedulerSimple {
             int p = 0;
             for (; p < partitionNum; p++) {
                 int[] range = datacenter.getStatesManager().getPartitionRangesManager().getRange(lastPartitionIndex);
-                for (int i = range[0]; i <= range[1]; i++) {
-                    if (synState.isSuitable(lastHostIndex, instance)) {
-                        suitId = lastHostIndex;
-                        break;
+                int rangeLength = range[1] - range[0] + 1;
+                if (isHostSuitable(synState, lastHostIndex, instance)) {
+                    suitId = lastHostIndex;
+                } else {
+                    lastHostIndex = ++lastHostIndex % rangeLength;
+                    if (rangeLength > 1) {
+                        suitId = findSuitableHost(synState, 0, rangeLength - 1, lastHostIndex, rangeLength - 1, instance);
+                        lastHostIndex = suitId != -1 ? suitId : (lastHostIndex + rangeLength - 1) % rangeLength;
                     }
-                    lastHostIndex = ++lastHostIndex % (range[1] - range[0] + 1);
                 }
                 if (suitId != -1) {
                     break;
@@ -13,11 +13,6 @@ import java.util.*;
  * @since LGDCloudSim 1.0
  */
 public class IntraSchedulerFixedPartitionRandom extends IntraSchedulerSimple {
-    /**
-     * The random object.
-     */
-    Random random = new Random();
-
     /**
      * Construct the intra-scheduler with the id, the first partition id and the partition number.
      *
@@ -55,7 +50,7 @@ public class IntraSchedulerFixedPartitionRandom extends IntraSchedulerSimple {
                 int selectId = random.nextInt(rangeLength);
                 for (int i = 0; i < rangeLength; i++) {
                     int hostId = startId + (selectId + i) % rangeLength;
-                    if (synState.isSuitable(hostId, instance)) {
+                    if (isHostSuitable(synState, hostId, instance)) {
                         suitId = hostId;
                         break;
                     }
@@ -0,0 +1,171 @@
+package org.lgdcloudsim.intrascheduler;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.lgdcloudsim.request.Instance;
+import org.lgdcloudsim.request.InstanceGroup;
+import org.lgdcloudsim.statemanager.SynState;
+
+import java.util.*;
+
+/**
+ * The gang intra-scheduler that extends the {@link IntraSchedulerSimple} class.
+ * It schedules the instances of the same {@link InstanceGroup} in a batch all or nothing:
+ * <ul>
+ *     <li>The instances of the batch are gathered by their instance group in the order of the batch,
+ *     an instance without an instance group is a group by itself.</li>
+ *     <li>The instances of a group are placed one by one on the first suitable host from a random host id in the scheduling view,
+ *     reserving their resources with {@link SynState#allocateTmpResource(int, Instance)}.
+ *     With {@link #antiAffinity}, the hosts or racks already used by the group are skipped.</li>
+ *     <li>If an instance of the group can not be placed,
+ *     the reserved resources of the group are given back at once with {@link SynState#releaseTmpResource(int, Instance)}
+ *     and all the instances of the group fail to be scheduled, so they are retried together.</li>
+ * </ul>
+ * The queues of the scheduler keep the instances of an instance group in one batch,
+ * and the intra load balancer of a datacenter with a gang intra-scheduler does not split instance groups either,
+ * so the instances of a group are scheduled together as long as they arrive together.
+ *
+ * @author Anonymous
+ * @since LGDCloudSim 1.0
+ */
+public class IntraSchedulerGang extends IntraSchedulerSimple {
+    /**
+     * The anti-affinity of the instances of the same instance group.
+     */
+    public enum AntiAffinity {
+        /**
+         * The instances of the group can be placed on any host.
+         */
+        NONE,
+        /**
+         * The instances of the group are placed on different hosts.
+         */
+        HOST,
+        /**
+         * The instances of the group are placed on different racks,
+         * the hosts of a rack are the consecutive hosts given by {@link org.lgdcloudsim.datacenter.Datacenter#getHostPerRack()}.
+         */
+        RACK
+    }
+
+    /**
+     * The anti-affinity of the instances of the same instance group, which is {@link AntiAffinity#NONE} by default.
+     */
+    @Getter
+    @Setter
+    private AntiAffinity antiAffinity = AntiAffinity.NONE;
+
+    /**
+     * Construct the intra-scheduler with the id, the first partition id and the partition number.
+     *
+     * @param id               the intra-scheduler id.
+     * @param firstPartitionId the first synchronization partition id.
+     * @param partitionNum     the number of partitions in the data center.
+     */
+    public IntraSchedulerGang(int id, int firstPartitionId, int partitionNum) {
+        super(id, firstPartitionId, partitionNum);
+        instanceQueue.setKeepInstanceGroupsTogether(true);
+        retryInstanceQueue.setKeepInstanceGroupsTogether(true);
+    }
+
+    /**
+     * Schedule the instances of each instance group of the batch all or nothing.
+     * @param instances the instances to be scheduled.
+     * @param synState the synchronization state.
+     * @return the intra-scheduler result.
+     */
+    @Override
+    protected IntraSchedulerResult scheduleInstances(List<Instance> instances, SynState synState) {
+        IntraSchedulerResult intraSchedulerResult = new IntraSchedulerResult(this, getDatacenter().getSimulation().clock());
+
+        List<Integer> innerSchedulerView = datacenter.getStatesManager().getIntraSchedulerView(this);
+        int firstHostId = innerSchedulerView.get(0);
+        int lastHostId = innerSchedulerView.get(1);
+
+        for (List<Instance> gang : getGangs(instances)) {
+            Set<Integer> usedDomains = new HashSet<>();
+            int placedNum = 0;
+            for (Instance instance : gang) {
+                int suitId = findGangHost(synState, firstHostId, lastHostId, instance, usedDomains);
+                if (suitId == -1) {
+                    break;
+                }
+                synState.allocateTmpResource(suitId, instance);
+                instance.setExpectedScheduleHostId(suitId);
+                if (antiAffinity != AntiAffinity.NONE) {
+                    usedDomains.add(getDomain(suitId));
+                }
+                placedNum++;
+            }
+
+            if (placedNum == gang.size()) {
+                for (Instance instance : gang) {
+                    intraSchedulerResult.addScheduledInstance(instance);
+                }
+            } else {
+                for (int i = 0; i < placedNum; i++) {
+                    Instance instance = gang.get(i);
+                    synState.releaseTmpResource(instance.getExpectedScheduleHostId(), instance);
+                    instance.setExpectedScheduleHostId(-1);
+                }
+                for (Instance instance : gang) {
+                    intraSchedulerResult.addFailedScheduledInstance(instance);
+                }
+            }
+        }
+
+        return intraSchedulerResult;
+    }
+
+    /**
+     * Gather the instances of the batch by their instance group in the order of the batch.
+     * @param instances the instances of the batch.
+     * @return the instances of each instance group.
+     */
+    private Collection<List<Instance>> getGangs(List<Instance> instances) {
+        Map<Object, List<Instance>> gangs = new LinkedHashMap<>();
+        for (Instance instance : instances) {
+            Object key = instance.getInstanceGroup() == null ? instance : instance.getInstanceGroup();
+            gangs.computeIfAbsent(key, k -> new ArrayList<>()).add(instance);
+        }
+        return gangs.values();
+    }
+
+    /**
+     * Find the first suitable host for an instance from a random host id in a range of hosts,
+     * skipping the hosts whose host or rack is already used by its instance group according to {@link #antiAffinity}.
+     * @param synState the synchronization state.
+     * @param firstHostId the first host id of the range.
+     * @param lastHostId the last host id of the range.
+     * @param instance the instance.
+     * @param usedDomains the hosts or racks already used by the instance group.
+     * @return the id of the suitable host, or -1 if there is not any.
+     */
+    private int findGangHost(SynState synState, int firstHostId, int lastHostId, Instance instance, Set<Integer> usedDomains) {
+        int hostNum = lastHostId - firstHostId + 1;
+        int startHostId = firstHostId + random.nextInt(hostNum);
+        int probedNum = 0;
+        while (probedNum < hostNum) {
+            int hostId = findSuitableHost(synState, firstHostId, lastHostId, startHostId, hostNum - probedNum, instance);
+            if (hostId == -1 || !usedDomains.contains(getDomain(hostId))) {
+                return hostId;
+            }
+            probedNum += (hostId - startHostId + hostNum) % hostNum + 1;
+            startHostId = hostId == lastHostId ? firstHostId : hostId + 1;
+        }
+        return -1;
+    }
+
+    /**
+     * Get the host or the rack of a host which the instances of the same group can not share according to {@link #antiAffinity}.
+     * @param hostId the id of the host.
+     * @return the id of the host or of its rack, or -1 if the instances of the same group can share any host.
+     */
+    private int getDomain(int hostId) {
+        return switch (antiAffinity) {
+            case NONE -> -1;
+            case HOST -> hostId;
+            case RACK -> datacenter.getHostPerRack() > 0 ? (int) (hostId / datacenter.getHostPerRack()) : hostId;
+        };
+    }
+}
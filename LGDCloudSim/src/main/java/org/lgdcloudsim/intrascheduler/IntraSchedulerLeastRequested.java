@@ -1,10 +1,10 @@
 package org.lgdcloudsim.intrascheduler;
 
 import org.lgdcloudsim.request.Instance;
+import org.lgdcloudsim.statemanager.HostCapacityManager;
 import org.lgdcloudsim.statemanager.HostState;
 import org.lgdcloudsim.statemanager.SynState;
-import org.lgdcloudsim.util.ScoredHost;
-import org.lgdcloudsim.util.ScoredHostsManager;
+import org.lgdcloudsim.util.ScoredHostHeap;
 
 import java.util.*;
 
@@ -16,10 +16,15 @@ import java.util.*;
  * <ul>
  *      <li>Sort the instances by the resource requirements in descending order.</li>
  *      <li>Get the same instances to schedule.</li>
- *      <li>Filter {@link #scoredHostNumForSameInstance} hosts and score them from a random start index.
+ *      <li>Schedule the same instances one by one to the host with the highest score in a {@link ScoredHostHeap}
+ *      which is kept for the whole batch, skipping the hosts which are not suitable for the instances.
+ *      Only the host that got an instance is scored again and put back.</li>
+ *      <li>When the heap has no suitable host left, go on filtering and scoring the hosts of the scheduling view
+ *      from where the last filtering stopped, which is a random host at the beginning of the batch,
+ *      until {@link #scoredHostNumForSameInstance} hosts per remaining same instance are added to the heap.
  *      Note that the score will be cached in the {@link #scoreHostHistoryMap}.</li>
- *      <li>Schedule the same instances to the hosts with the highest scores one by one.</li>
  * </ul>
+ * So the hosts already in the heap are not filtered and scored again for each group of same instances of the batch.
  * The score of a host that has met the requirements of the instance is calculated as follows:
  * Score = (cpu remaining resources * 10 / total cpu resources + ram remaining resources * 10 / total ram resources) / 2
  *
@@ -38,15 +43,26 @@ public class IntraSchedulerLeastRequested extends IntraSchedulerSimple {
     int scoredHostNumForSameInstance = 100;
 
     /**
-     * The time spent on the getting host state.
-     * It needs to be excluded from the scheduling time.
+     * The scored hosts of the batch being scheduled, kept from one group of same instances to the next.
      */
-    long excludeTimeNanos = 0;
+    private final ScoredHostHeap scoredHostHeap = new ScoredHostHeap();
 
     /**
-     * The random object.
+     * The hosts polled from {@link #scoredHostHeap} because they are not suitable for the same instances being scheduled,
+     * which are put back for the next group of same instances.
      */
-    Random random = new Random();
+    private final ScoredHostHeap setAsideHostHeap = new ScoredHostHeap();
+
+    /**
+     * The hosts scored in the batch, which are in {@link #scoredHostHeap} or {@link #setAsideHostHeap},
+     * indexed by hostId - the first host id of the scheduling view.
+     */
+    private final BitSet scoredHosts = new BitSet();
+
+    /**
+     * The index in the scheduling view of the host to filter and score next.
+     */
+    private int nextScoredIndex;
 
     /**
      * The constructor of the least requested intra-scheduler.
@@ -69,6 +85,9 @@ public class IntraSchedulerLeastRequested extends IntraSchedulerSimple {
     protected IntraSchedulerResult scheduleInstances(List<Instance> instances, SynState synState) {
         processBeforeSchedule();
         IntraSchedulerResult intraSchedulerResult = new IntraSchedulerResult(this, getDatacenter().getSimulation().clock());
+        scoredHostHeap.clear();
+        scoredHosts.clear();
+        nextScoredIndex = random.nextInt(datacenter.getStatesManager().getHostNum());
 
         instances.sort(new CustomComparator().reversed());
 
@@ -88,7 +107,6 @@ public class IntraSchedulerLeastRequested extends IntraSchedulerSimple {
             scheduleForSameInstancesToHost(sameInstance, intraSchedulerResult, synState);
         }
 
-        excludeTime = excludeTimeNanos/1_000_000;
         return intraSchedulerResult;
     }
 
@@ -96,7 +114,6 @@ public class IntraSchedulerLeastRequested extends IntraSchedulerSimple {
      * Process before the scheduling.
      */
     protected void processBeforeSchedule(){
-        excludeTimeNanos = 0;
         scoreHostHistoryMap.clear();
     }
 
@@ -111,107 +128,132 @@ public class IntraSchedulerLeastRequested extends IntraSchedulerSimple {
     }
 
     /**
-     * Schedule the same instances to the host by the least requested scheduling strategy.
+     * Schedule the same instances to the hosts with the highest scores one by one.
+     * When there is no suitable host left in the {@link #scoredHostHeap},
+     * more hosts are scored for the remaining instances, at most once per instance until a scoring finds no suitable host.
+     * The hosts set aside because they are not suitable for the instances are put back at the end.
      * @param sameInstances the same instances to be scheduled
      * @param intraSchedulerResult the result of the scheduling
      * @param synState the synchronization state
      */
     private void scheduleForSameInstancesToHost(List<Instance> sameInstances, IntraSchedulerResult intraSchedulerResult, SynState synState) {
-        int hostNum = datacenter.getStatesManager().getHostNum();
-        int randomStartIndex = random.nextInt(hostNum);
-        int scoredHostNum = Math.min(sameInstances.size() * scoredHostNumForSameInstance, hostNum);
-        Instance sameInstance = sameInstances.get(0);
+        boolean isViewExhausted = false;
+        for (int i = 0; i < sameInstances.size(); i++) {
+            Instance instance = sameInstances.get(i);
+            int scheduledHostId = pollSuitableHost(instance, synState);
+            if (scheduledHostId == -1 && !isViewExhausted) {
+                scoreHosts(instance, (sameInstances.size() - i) * scoredHostNumForSameInstance, synState);
+                scheduledHostId = pollSuitableHost(instance, synState);
+                isViewExhausted = scheduledHostId == -1;
+            }
 
-        ScoredHostsManager scoredHostsManager = getScoredHostsManager(sameInstance, randomStartIndex, scoredHostNum, synState);
+            if(scheduledHostId == -1){
+                intraSchedulerResult.addFailedScheduledInstance(instance);
+            }else{
+                instance.setExpectedScheduleHostId(scheduledHostId);
+                intraSchedulerResult.addScheduledInstance(instance);
+                synState.allocateTmpResource(scheduledHostId, instance);
+                scoreHostHistoryMap.remove(scheduledHostId);
+                scoredHostHeap.add(scheduledHostId, getCachedScoreForHost(probeHostState(synState, scheduledHostId), scheduledHostId));
+            }
+        }
+
+        while (!setAsideHostHeap.isEmpty()) {
+            int hostId = setAsideHostHeap.pollBestHostId();
+            scoredHostHeap.add(hostId, scoreHostHistoryMap.get(hostId));
+        }
+    }
 
-        scheduleSameInstancesByScoredHosts(sameInstances, scoredHostsManager, intraSchedulerResult, synState);
+    /**
+     * Poll the host with the highest score in the {@link #scoredHostHeap} which is suitable for the instance
+     * and has not been retried by it.
+     * The hosts polled before it are set aside in the {@link #setAsideHostHeap}.
+     * @param instance the instance to be scheduled
+     * @param synState the synchronization state
+     * @return the id of the host, or -1 if there is not any
+     */
+    private int pollSuitableHost(Instance instance, SynState synState) {
+        int hostId = scoredHostHeap.pollBestHostId();
+        while (hostId != -1 && ((instance.getRetryHostIds() != null && instance.getRetryHostIds().contains(hostId))
+                || !isHostSuitable(synState, hostId, instance))) {
+            setAsideHostHeap.add(hostId, scoreHostHistoryMap.get(hostId));
+            hostId = scoredHostHeap.pollBestHostId();
+        }
+        return hostId;
     }
 
     /**
-     * Score host for the instance from the random start index.
-     * And get the {@link ScoredHostsManager} for the same instances.
+     * Score the hosts of the scheduling view which are not scored yet,
+     * going on from {@link #nextScoredIndex} for at most one round of the view,
+     * until the given number of them are suitable for the instance.
+     * And put the scored hosts into the {@link #scoredHostHeap} even if they are not suitable for the instance,
+     * since they may be suitable for the next same instances.
      * @param instance the instance to be scheduled
-     * @param randomStartIndex the random start index
-     * @param scoredHostNum the number of scored hosts
+     * @param scoredHostNum the number of suitable hosts to be scored
      * @param synState the synchronization state
-     * @return the {@link ScoredHostsManager}
      */
-    protected ScoredHostsManager getScoredHostsManager(Instance instance, int randomStartIndex, int scoredHostNum, SynState synState){
-        ScoredHostsManager scoredHostsManager = new ScoredHostsManager(new HashMap<>(Map.of(datacenter, scoreHostHistoryMap)));
+    protected void scoreHosts(Instance instance, int scoredHostNum, SynState synState){
         List<Integer> innerSchedulerView = getDatacenter().getStatesManager().getIntraSchedulerView(this);
         int viewSize = innerSchedulerView.get(1)-innerSchedulerView.get(0)+1;
-        for(int i=0; i<viewSize; i++){
-            int hostId = (randomStartIndex + i) % viewSize + innerSchedulerView.get(0);
-            double score = getScoreForHost(instance, hostId, synState);
-            if(score==-1){
+        int suitableHostNum = 0;
+        for(int i=0; i<viewSize && suitableHostNum < scoredHostNum; i++){
+            int index = nextScoredIndex++ % viewSize;
+            if (scoredHosts.get(index)) {
                 continue;
             }
-
-            scoredHostsManager.addScoredHost(hostId, datacenter, score);
-
-            if(scoredHostsManager.getScoredHostNum() >= scoredHostNum){
-                break;
+            int hostId = index + innerSchedulerView.get(0);
+            int[] hostState = probeHostState(synState, hostId);
+            scoredHostHeap.add(hostId, getCachedScoreForHost(hostState, hostId));
+            scoredHosts.set(index);
+            if (HostState.isSuitable(hostState, instance)) {
+                suitableHostNum++;
             }
         }
-        return scoredHostsManager;
+        nextScoredIndex %= viewSize;
     }
 
     /**
-     * Get the score for the host.
+     * Get the score for the host if it is suitable for the instance.
      * @param instance the instance to be scheduled
      * @param hostId the id of the host
      * @param synState the synchronization state
-     * @return the score for the host
+     * @return the score for the host, or -1 if the host is not suitable for the instance
      */
     protected double getScoreForHost(Instance instance, int hostId, SynState synState){
-        long startTime = System.nanoTime();
-        HostState hostState = synState.getHostState(hostId);
-        long endTime  = System.nanoTime();
-        excludeTimeNanos += endTime - startTime;
-        if (!hostState.isSuitable(instance)) {
+        int[] hostState = probeHostState(synState, hostId);
+        if (!HostState.isSuitable(hostState, instance)) {
             return -1;
-        } else {
-            if(scoreHostHistoryMap.containsKey(hostId)){
-                return scoreHostHistoryMap.get(hostId);
-            }else{
-                int cpuCapacity = datacenter.getStatesManager().getHostCapacityManager().getHostCapacity(hostId)[0];
-                int ramCapacity = datacenter.getStatesManager().getHostCapacityManager().getHostCapacity(hostId)[1];
-                double score = (hostState.getCpu() * 10 / (double) cpuCapacity + hostState.getRam() * 10 / (double) ramCapacity) / 2;
-                scoreHostHistoryMap.put(hostId, score);
-                return score;
-            }
         }
+        return getCachedScoreForHost(hostState, hostId);
     }
 
     /**
-     * Schedule the same instances to the hosts with the highest scores one by one.
-     * @param sameInstances the same instances to be scheduled
-     * @param scoredHostsManager the scored hosts manager
-     * @param intraSchedulerResult the result of the scheduling
-     * @param synState the synchronization state
+     * Get the score for the host from the {@link #scoreHostHistoryMap},
+     * or score it with {@link #getScoreForHost(int[], int)} and cache the score.
+     * @param hostState the state of the host in the scheduling view
+     * @param hostId the id of the host
+     * @return the score for the host
      */
-    private void scheduleSameInstancesByScoredHosts(List<Instance> sameInstances, ScoredHostsManager scoredHostsManager, IntraSchedulerResult intraSchedulerResult, SynState synState) {
-        for(Instance instance : sameInstances){
-            ScoredHost scoredHost= scoredHostsManager.pollBestScoreHost();
-            while (scoredHost !=null && (instance.getRetryHostIds()!=null&&instance.getRetryHostIds().contains(scoredHost.getHostId()))){
-                scoredHost= scoredHostsManager.pollBestScoreHost();
-            }
-
-            if(scoredHost == null){
-                intraSchedulerResult.addFailedScheduledInstance(instance);
-            }else{
-                int scheduledHostId = scoredHost.getHostId();
-                instance.setExpectedScheduleHostId(scheduledHostId);
-                intraSchedulerResult.addScheduledInstance(instance);
-                synState.allocateTmpResource(scheduledHostId, instance);
-                scoreHostHistoryMap.remove(scheduledHostId);
-
-                double score = getScoreForHost(instance, scheduledHostId, synState);
-                if(score!=-1){
-                    scoredHostsManager.addScoredHost(scheduledHostId, datacenter, score);
-                }
-            }
+    private double getCachedScoreForHost(int[] hostState, int hostId) {
+        Double score = scoreHostHistoryMap.get(hostId);
+        if (score == null) {
+            score = getScoreForHost(hostState, hostId);
+            scoreHostHistoryMap.put(hostId, score);
         }
+        return score;
+    }
+
+    /**
+     * Score a host by its remaining cpu and ram, whether or not it is suitable for the instances being scheduled.
+     * @param hostState the state of the host in the scheduling view
+     * @param hostId the id of the host
+     * @return the score for the host, the higher the better
+     */
+    protected double getScoreForHost(int[] hostState, int hostId) {
+        HostCapacityManager hostCapacityManager = datacenter.getStatesManager().getHostCapacityManager();
+        int cpuCapacity = hostCapacityManager.getHostCapacity(hostId, 0);
+        int ramCapacity = hostCapacityManager.getHostCapacity(hostId, 1);
+        return (hostState[0] * 10 / (double) cpuCapacity + hostState[1] * 10 / (double) ramCapacity) / 2;
     }
 
     /**
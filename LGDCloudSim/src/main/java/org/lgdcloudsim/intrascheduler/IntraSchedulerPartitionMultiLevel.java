@@ -26,11 +26,6 @@ import java.util.*;
  * @since LGDCloudSim 1.0
  */
 public class IntraSchedulerPartitionMultiLevel extends IntraSchedulerSimple {
-    /**
-     * The random object.
-     */
-    Random random = new Random();
-
     /**
      * Construct the intra-scheduler with the id, the first partition id and the partition number.
      *
@@ -116,7 +111,7 @@ public class IntraSchedulerPartitionMultiLevel extends IntraSchedulerSimple {
             for (int _groupId = 0; _groupId < groupNum; _groupId++) {// Traverse the group
                 int groupId = (startGroupId + _groupId) % groupNum;
                 int hostId = partitionRangesManager.getRange(synPartitionId)[0] + groupId * partitionNum + groupPartitionId;
-                if (synState.isSuitable(hostId, instance)) {
+                if (isHostSuitable(synState, hostId, instance)) {
                     synState.allocateTmpResource(hostId, instance);
                     return hostId;
                 }
@@ -133,7 +128,7 @@ public class IntraSchedulerPartitionMultiLevel extends IntraSchedulerSimple {
                 for (int _groupId = 0; _groupId < groupNum; _groupId++) {// Traverse the group
                     int groupId = (startGroupId + _groupId) % groupNum;
                     int hostId = partitionRangesManager.getRange(partitionId)[0] + groupId * partitionNum + groupPartitionId;
-                    if (synState.isSuitable(hostId, instance)) {
+                    if (isHostSuitable(synState, hostId, instance)) {
                         synState.allocateTmpResource(hostId, instance);
                         return hostId;
                     }
@@ -0,0 +1,141 @@
+package org.lgdcloudsim.intrascheduler;
+
+import lombok.Getter;
+import org.lgdcloudsim.request.Instance;
+import org.lgdcloudsim.statemanager.HostCapacityManager;
+import org.lgdcloudsim.statemanager.HostState;
+import org.lgdcloudsim.statemanager.SynState;
+
+import java.util.List;
+
+/**
+ * The power-of-d-choices intra-scheduler that extends the {@link IntraSchedulerSimple} class.
+ * For each instance, it samples {@link #choiceNum} random hosts in its scheduling view
+ * and schedules the instance to the suitable sampled host with the highest score,
+ * so the scheduling cost of an instance does not grow with the number of hosts.
+ * Only when none of the sampled hosts is suitable, it looks for the first suitable host from a random host id,
+ * skipping the hosts on which the instance has been retried, see {@link IntraSchedulerSimple#findSuitableHost(SynState, int, int, int, int, Instance)}.
+ * The score of a host is the least requested score of the {@link IntraSchedulerLeastRequested}:
+ * Score = (cpu remaining resources * 10 / total cpu resources + ram remaining resources * 10 / total ram resources) / 2
+ *
+ * @author Anonymous
+ * @since LGDCloudSim 1.0
+ */
+public class IntraSchedulerPowerOfChoices extends IntraSchedulerSimple {
+    /**
+     * The number of hosts sampled for each instance, which is 2 by default.
+     */
+    @Getter
+    private int choiceNum = 2;
+
+    /**
+     * Construct the intra-scheduler with the id, the first partition id and the partition number.
+     *
+     * @param id               the intra-scheduler id.
+     * @param firstPartitionId the first synchronization partition id.
+     * @param partitionNum     the number of partitions in the data center.
+     */
+    public IntraSchedulerPowerOfChoices(int id, int firstPartitionId, int partitionNum) {
+        super(id, firstPartitionId, partitionNum);
+    }
+
+    /**
+     * Set the number of hosts sampled for each instance.
+     *
+     * @param choiceNum the number of hosts sampled for each instance, at least 1.
+     * @return the intra-scheduler itself.
+     */
+    public IntraSchedulerPowerOfChoices setChoiceNum(int choiceNum) {
+        if (choiceNum < 1) {
+            throw new IllegalArgumentException("The number of choices must be at least 1, but it is " + choiceNum);
+        }
+        this.choiceNum = choiceNum;
+        return this;
+    }
+
+    /**
+     * Schedule each instance to the best of {@link #choiceNum} random hosts in the scheduling view.
+     * @param instances the instances to be scheduled.
+     * @param synState the synchronization state.
+     * @return the intra-scheduler result.
+     */
+    @Override
+    protected IntraSchedulerResult scheduleInstances(List<Instance> instances, SynState synState) {
+        IntraSchedulerResult intraSchedulerResult = new IntraSchedulerResult(this, getDatacenter().getSimulation().clock());
+
+        List<Integer> innerSchedulerView = datacenter.getStatesManager().getIntraSchedulerView(this);
+        int firstHostId = innerSchedulerView.get(0);
+        int lastHostId = innerSchedulerView.get(1);
+        int hostNum = lastHostId - firstHostId + 1;
+
+        for (Instance instance : instances) {
+            int suitId = -1;
+            double bestScore = -1;
+            for (int i = 0; i < choiceNum; i++) {
+                int hostId = firstHostId + random.nextInt(hostNum);
+                if (instance.getRetryHostIds() != null && instance.getRetryHostIds().contains(hostId)) {
+                    continue;
+                }
+                int[] hostState = probeHostState(synState, hostId);
+                if (HostState.isSuitable(hostState, instance)) {
+                    double score = getScoreForHost(hostState, hostId);
+                    if (score > bestScore) {
+                        suitId = hostId;
+                        bestScore = score;
+                    }
+                }
+            }
+
+            if (suitId == -1) {
+                suitId = findUnretriedHost(synState, firstHostId, lastHostId, instance);
+            }
+
+            if (suitId != -1) {
+                synState.allocateTmpResource(suitId, instance);
+                instance.setExpectedScheduleHostId(suitId);
+                intraSchedulerResult.addScheduledInstance(instance);
+            } else {
+                intraSchedulerResult.addFailedScheduledInstance(instance);
+            }
+        }
+
+        return intraSchedulerResult;
+    }
+
+    /**
+     * Find the first suitable host for the instance from a random host id,
+     * skipping the hosts on which the instance has been retried like the sampling does.
+     * @param synState the synchronization state.
+     * @param firstHostId the first host id of the scheduling view.
+     * @param lastHostId the last host id of the scheduling view.
+     * @param instance the instance to be scheduled.
+     * @return the id of the suitable host, or -1 if there is no suitable host.
+     */
+    private int findUnretriedHost(SynState synState, int firstHostId, int lastHostId, Instance instance) {
+        int hostNum = lastHostId - firstHostId + 1;
+        int startHostId = firstHostId + random.nextInt(hostNum);
+        int probedNum = 0;
+        while (probedNum < hostNum) {
+            int hostId = findSuitableHost(synState, firstHostId, lastHostId, startHostId, hostNum - probedNum, instance);
+            if (hostId == -1 || instance.getRetryHostIds() == null || !instance.getRetryHostIds().contains(hostId)) {
+                return hostId;
+            }
+            probedNum += (hostId - startHostId + hostNum) % hostNum + 1;
+            startHostId = hostId == lastHostId ? firstHostId : hostId + 1;
+        }
+        return -1;
+    }
+
+    /**
+     * Get the score of a suitable sampled host.
+     * @param hostState the state of the host in the scheduling view.
+     * @param hostId the id of the host.
+     * @return the score of the host, the higher the better.
+     */
+    protected double getScoreForHost(int[] hostState, int hostId) {
+        HostCapacityManager hostCapacityManager = datacenter.getStatesManager().getHostCapacityManager();
+        int cpuCapacity = hostCapacityManager.getHostCapacity(hostId, 0);
+        int ramCapacity = hostCapacityManager.getHostCapacity(hostId, 1);
+        return (hostState[0] * 10 / (double) cpuCapacity + hostState[1] * 10 / (double) ramCapacity) / 2;
+    }
+}
@@ -13,11 +13,6 @@ import java.util.*;
  * @since LGDCloudSim 1.0
  */
 public class IntraSchedulerRandom extends IntraSchedulerSimple {
-    /**
-     * The random object.
-     */
-    Random random = new Random();
-
     /**
      * Construct the intra-scheduler with the id, the first partition id and the partition number.
      *
@@ -48,7 +43,7 @@ public class IntraSchedulerRandom extends IntraSchedulerSimple {
             int startHostId = random.nextInt(hostNum);
             for (int i = 0; i < hostNum; i++) {
                 int hostId = (startHostId + i) % hostNum+innerSchedulerView.get(0);
-                if (synState.isSuitable(hostId, instance)) {
+                if (isHostSuitable(synState, hostId, instance)) {
                     suitId = hostId;
                     break;
                 }
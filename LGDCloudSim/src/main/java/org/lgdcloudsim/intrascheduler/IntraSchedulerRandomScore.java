@@ -1,9 +1,5 @@
 package org.lgdcloudsim.intrascheduler;
 
-import org.lgdcloudsim.request.Instance;
-import org.lgdcloudsim.statemanager.HostState;
-import org.lgdcloudsim.statemanager.SynState;
-
 /**
  * The intra-scheduler that extends the {@link IntraSchedulerLeastRequested} class.
  * It has changed the score calculation method to random score.
@@ -27,27 +23,12 @@ public class IntraSchedulerRandomScore extends IntraSchedulerLeastRequested {
     /**
      * The score is calculated by the random score.
      * Note that the score also will be cached in the scoreHostHistoryMap.
-     * @param instance the instance to be scheduled.
+     * @param hostState the state of the host in the scheduling view.
      * @param hostId the id of the host.
-     * @param synState the synchronization state.
      * @return the score for the host.
      */
     @Override
-    protected double getScoreForHost(Instance instance, int hostId, SynState synState){
-        long startTime = System.nanoTime();
-        HostState hostState = synState.getHostState(hostId);
-        long endTime  = System.nanoTime();
-        excludeTimeNanos += endTime - startTime;
-        if (!hostState.isSuitable(instance)) {
-            return -1;
-        } else {
-            if(scoreHostHistoryMap.containsKey(hostId)){
-                return scoreHostHistoryMap.get(hostId);
-            }else{
-                double score = random.nextDouble(100);
-                scoreHostHistoryMap.put(hostId, score);
-                return score;
-            }
-        }
+    protected double getScoreForHost(int[] hostState, int hostId){
+        return random.nextDouble(100);
     }
 }
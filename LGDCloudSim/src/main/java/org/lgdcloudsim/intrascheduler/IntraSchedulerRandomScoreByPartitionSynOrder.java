@@ -1,9 +1,5 @@
 package org.lgdcloudsim.intrascheduler;
 
-import org.lgdcloudsim.request.Instance;
-import org.lgdcloudsim.statemanager.HostState;
-import org.lgdcloudsim.statemanager.SynState;
-
 /**
  * The intra-scheduler that extends the {@link IntraSchedulerLeastRequested} class.
  * It has changed the score calculation method.
@@ -36,7 +32,6 @@ public class IntraSchedulerRandomScoreByPartitionSynOrder extends IntraScheduler
      */
     @Override
     protected void processBeforeSchedule(){
-        excludeTimeNanos = 0;
         scoreHostHistoryMap.clear();
         synPartitionId = firstPartitionId;
         if (datacenter.getStatesManager().isSynCostTime()) {
@@ -48,28 +43,13 @@ public class IntraSchedulerRandomScoreByPartitionSynOrder extends IntraScheduler
      * Get the score for the host.
      * The more recently synchronized a partition is, the higher the score.
      *
-     * @param instance the instance to be scheduled.
+     * @param hostState the state of the host in the scheduling view.
      * @param hostId the id of the host.
-     * @param synState the synchronization state.
      * @return the score for the host.
      */
     @Override
-    protected double getScoreForHost(Instance instance, int hostId, SynState synState) {
-        long startTime = System.nanoTime();
-        HostState hostState = synState.getHostState(hostId);
-        long endTime  = System.nanoTime();
-        excludeTimeNanos += endTime - startTime;
-        if (!hostState.isSuitable(instance)) {
-            return -1;
-        } else {
-            if (scoreHostHistoryMap.containsKey(hostId)) {
-                return scoreHostHistoryMap.get(hostId);
-            } else {
-                int partitionId = datacenter.getStatesManager().getPartitionRangesManager().getPartitionId(hostId);
-                double score = random.nextDouble(100)-100*(synPartitionId - partitionId + partitionNum) % partitionNum;
-                scoreHostHistoryMap.put(hostId, score);
-                return score;
-            }
-        }
+    protected double getScoreForHost(int[] hostState, int hostId) {
+        int partitionId = datacenter.getStatesManager().getPartitionRangesManager().getPartitionId(hostId);
+        return random.nextDouble(100)-100*(synPartitionId - partitionId + partitionNum) % partitionNum;
     }
 }
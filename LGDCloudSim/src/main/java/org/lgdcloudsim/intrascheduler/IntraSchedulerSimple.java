@@ -9,9 +9,13 @@ import org.lgdcloudsim.queue.InstanceQueue;
 import org.lgdcloudsim.queue.InstanceQueueFifo;
 import org.lgdcloudsim.statemanager.HostState;
 import org.lgdcloudsim.statemanager.SynState;
+import org.lgdcloudsim.util.ScheduleCostCounter;
+import org.lgdcloudsim.util.ScheduleCostModel;
+import org.lgdcloudsim.util.ScheduleOperation;
 
 import java.util.List;
 import java.util.Random;
+import java.util.stream.IntStream;
 
 /**
  * The simple intra-scheduler that implements the {@link IntraScheduler} interface.
@@ -80,14 +84,29 @@ public class IntraSchedulerSimple implements IntraScheduler {
     int partitionNum = 0;
 
     /**
-     * The time needed to exclude.
-     * It will record the time for each scheduler to obtain status,
-     * and this part of the time will be subtracted from the final calculation of the total scheduling time.
-     * Because it may take a long time for the scheduler to obtain the state through the state manager,
-     * if no exclusions are performed,
-     * the scheduling time may not be significantly related to the number of traversals.
+     * Whether a batch of instances is sharded across the partitions to be scheduled concurrently,
+     * see {@link #scheduleInstancesByPartitionShards}.
+     * Each instance is first scheduled in the partition it is dealt to
+     * instead of the latest synchronization partition, and only the instances which do not fit there
+     * are scheduled one by one from the latest synchronization partition afterwards.
+     * It is only used by the scheduling strategy of this class, not by the subclasses which override {@link #scheduleInstances}.
      */
-    double excludeTime = 0;
+    @Getter
+    @Setter
+    boolean partitionSharded = false;
+
+    /**
+     * The counter of the operations and the time of the scheduling.
+     * Getting the host states through the state manager may take a long time,
+     * so it is excluded from the measured time,
+     * otherwise the scheduling time may not be significantly related to the number of traversals.
+     */
+    ScheduleCostCounter scheduleCostCounter = new ScheduleCostCounter();
+
+    /**
+     * The array to read the state of a probed host into, see {@link #probeHostState(SynState, int)}.
+     */
+    private final int[] probedHostState = new int[HostState.STATE_NUM];
 
 
     /**
@@ -127,6 +146,12 @@ public class IntraSchedulerSimple implements IntraScheduler {
      * @param isRetry whether the instance is added to the retry instance queue
      * @return the intra-scheduler itself
      */
+    @Override
+    public IntraScheduler setSeed(long seed) {
+        random.setSeed(seed);
+        return this;
+    }
+
     @Override
     public IntraScheduler addInstance(List<Instance> instances, boolean isRetry) {
         if (isRetry) {
@@ -175,11 +200,10 @@ public class IntraSchedulerSimple implements IntraScheduler {
         QueueResult<Instance> queueResult = getWaitSchedulingInstances();
         List<Instance> waitScheduledItems = queueResult.getWaitScheduledItems();
 
-        double startTime = System.currentTimeMillis();
+        scheduleCostCounter.start(datacenter.getSimulation().getScheduleCostModel());
         IntraSchedulerResult intraSchedulerResult = scheduleInstances(waitScheduledItems, synState);
-        double endTime = System.currentTimeMillis();
 
-        this.scheduleCostTime = Math.max(0, (endTime - startTime) - excludeTime);//= BigDecimal.valueOf((instances.size() * 0.25)).setScale(datacenter.getSimulation().getSimulationAccuracy(), RoundingMode.HALF_UP).doubleValue();//* instances.size();//(endTime-startTime)/10;
+        this.scheduleCostTime = Math.max(0, scheduleCostCounter.stop());//= BigDecimal.valueOf((instances.size() * 0.25)).setScale(datacenter.getSimulation().getSimulationAccuracy(), RoundingMode.HALF_UP).doubleValue();//* instances.size();//(endTime-startTime)/10;
 
         if(!this.datacenter.isFailureCluster()) {
             setInstanceIntraScheduleEndTime(waitScheduledItems, getDatacenter().getSimulation().clock()+this.scheduleCostTime);
@@ -234,38 +258,28 @@ public class IntraSchedulerSimple implements IntraScheduler {
      * @return the result of the scheduling
      */
     protected IntraSchedulerResult scheduleInstances(List<Instance> instances, SynState synState) {
-        double excludeTimeNanos = 0;
         IntraSchedulerResult intraSchedulerResult = new IntraSchedulerResult(this, getDatacenter().getSimulation().clock());
 
         int synPartitionId = firstPartitionId;
         if (datacenter.getStatesManager().isSynCostTime()) {
             synPartitionId = (firstPartitionId + datacenter.getStatesManager().getPartitionSynCount()) % partitionNum;
         }
-        for (Instance instance : instances) {
-            int suitId = -1;
-
-            for (int p = 0; p < partitionNum; p++) {
-                int[] range = datacenter.getStatesManager().getPartitionRangesManager().getRange((synPartitionId + partitionNum - p) % partitionNum);
-                int startHostId = random.nextInt(range[1] - range[0] + 1);
-                int rangeLength = range[1] - range[0] + 1;
-                for (int i = 0; i < rangeLength; i++) {
-                    int hostId = range[0] + (startHostId + i) % rangeLength;
-                    long startTime = System.nanoTime();
-                    HostState hostState = synState.getHostState(hostId);
-                    long endTime = System.nanoTime();
-                    excludeTimeNanos += endTime - startTime;
-                    if (hostState.isSuitable(instance)) {
-                        suitId = hostId;
-                        break;
-                    }
-                }
+        int[] shardSuitIds = null;
+        if (partitionSharded && partitionNum > 1 && instances.size() > 1) {
+            shardSuitIds = scheduleInstancesByPartitionShards(instances, synState, synPartitionId);
+        }
+        for (int i = 0; i < instances.size(); i++) {
+            Instance instance = instances.get(i);
+            int suitId = shardSuitIds == null ? -1 : shardSuitIds[i];
+
+            if (suitId == -1) {
+                suitId = findSuitableHostByPartitionSynOrder(synState, synPartitionId, instance);
                 if (suitId != -1) {
-                    break;
+                    synState.allocateTmpResource(suitId, instance);
                 }
             }
 
             if (suitId != -1) {
-                synState.allocateTmpResource(suitId, instance);
                 instance.setExpectedScheduleHostId(suitId);
                 intraSchedulerResult.addScheduledInstance(instance);
             } else {
@@ -273,10 +287,182 @@ public class IntraSchedulerSimple implements IntraScheduler {
             }
         }
 
-        excludeTime = excludeTimeNanos/1_000_000;
         return intraSchedulerResult;
     }
 
+    /**
+     * Find the suitable host for an instance from a random start host id in each partition,
+     * from the latest synchronization partition to the oldest one.
+     * @param synState the synchronization state
+     * @param synPartitionId the latest synchronization partition id
+     * @param instance the instance
+     * @return the id of the suitable host, or -1 if there is not any
+     */
+    private int findSuitableHostByPartitionSynOrder(SynState synState, int synPartitionId, Instance instance) {
+        for (int p = 0; p < partitionNum; p++) {
+            int[] range = datacenter.getStatesManager().getPartitionRangesManager().getRange((synPartitionId + partitionNum - p) % partitionNum);
+            int startHostId = random.nextInt(range[1] - range[0] + 1);
+            int rangeLength = range[1] - range[0] + 1;
+            int suitId = findSuitableHost(synState, range[0], range[1], range[0] + startHostId, rangeLength, instance);
+            if (suitId != -1) {
+                return suitId;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Schedule the instances to the partitions concurrently when {@link #partitionSharded} is set.
+     * The instances are dealt to the partitions in turn from the latest synchronization partition,
+     * and each partition looks for the suitable hosts of its instances in its own hosts on the {@link java.util.concurrent.ForkJoinPool#commonPool()}.
+     * Since the partitions are disjoint, each of them only allocates the temporary resources of its own hosts
+     * with its own {@link SynState#fork() SynState}, {@link ScheduleCostCounter} and random number generator.
+     * Each partition starts its counter with the schedule cost model of the simulation like the serial scheduling,
+     * so that its search is excluded from the measured time in the same way.
+     * The concurrent part is excluded from the measured time of {@link #scheduleCostCounter},
+     * and the operations and the measured time of the partitions are added to it,
+     * so the simulated scheduling time is that of probing the same hosts one by one.
+     * @param instances the instances to be scheduled
+     * @param synState the synchronization state
+     * @param synPartitionId the latest synchronization partition id
+     * @return the id of the suitable host of each instance, or -1 if there is not any in its partition
+     */
+    private int[] scheduleInstancesByPartitionShards(List<Instance> instances, SynState synState, int synPartitionId) {
+        int[] suitIds = new int[instances.size()];
+        ScheduleCostCounter[] shardCostCounters = new ScheduleCostCounter[partitionNum];
+        long[] shardSeeds = random.longs(partitionNum).toArray();
+        ScheduleCostModel scheduleCostModel = datacenter.getSimulation().getScheduleCostModel();
+        scheduleCostCounter.startExclude();
+        IntStream.range(0, partitionNum).parallel().forEach(shard -> {
+            int[] range = datacenter.getStatesManager().getPartitionRangesManager().getRange((synPartitionId + partitionNum - shard) % partitionNum);
+            int rangeLength = range[1] - range[0] + 1;
+            SynState shardSynState = synState.fork();
+            ScheduleCostCounter shardCostCounter = new ScheduleCostCounter();
+            shardCostCounter.start(scheduleCostModel);
+            Random shardRandom = new Random(shardSeeds[shard]);
+            for (int i = shard; i < instances.size(); i += partitionNum) {
+                Instance instance = instances.get(i);
+                int suitId = findSuitableHost(shardSynState, shardCostCounter, range[0], range[1], range[0] + shardRandom.nextInt(rangeLength), rangeLength, instance);
+                if (suitId != -1) {
+                    shardSynState.allocateTmpResource(suitId, instance);
+                }
+                suitIds[i] = suitId;
+            }
+            shardCostCounter.stopPart();
+            shardCostCounters[shard] = shardCostCounter;
+        });
+        scheduleCostCounter.endExclude();
+        for (ScheduleCostCounter shardCostCounter : shardCostCounters) {
+            scheduleCostCounter.count(shardCostCounter);
+        }
+        return suitIds;
+    }
+
+    /**
+     * Get whether the instances can be sharded across the partitions, see {@link #partitionSharded}.
+     * It is only the case when the class uses the scheduling strategy of this class,
+     * i.e. it does not override {@link #scheduleInstances}.
+     * @return true if {@link #scheduleInstances} is not overridden, false otherwise
+     */
+    public boolean isPartitionShardingSupported() {
+        for (Class<?> clazz = getClass(); clazz != IntraSchedulerSimple.class; clazz = clazz.getSuperclass()) {
+            try {
+                clazz.getDeclaredMethod("scheduleInstances", List.class, SynState.class);
+                return false;
+            } catch (NoSuchMethodException e) {
+                // The method is not overridden by this class, so look at its superclass.
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the state of a host to check whether it is suitable for an instance.
+     * It is counted as a {@link ScheduleOperation#HOST_PROBE},
+     * and the time to get the state is excluded from the measured scheduling time.
+     * The state is read into {@link #probedHostState} without creating a {@link HostState},
+     * so it is only valid until the next probe.
+     * @param synState the synchronization state
+     * @param hostId the id of the host
+     * @return the state of the host, see {@link HostState#isSuitable(int[], Instance)}
+     */
+    protected int[] probeHostState(SynState synState, int hostId) {
+        scheduleCostCounter.count(ScheduleOperation.HOST_PROBE);
+        scheduleCostCounter.startExclude();
+        synState.copyHostState(hostId, probedHostState);
+        scheduleCostCounter.endExclude();
+        return probedHostState;
+    }
+
+    /**
+     * Find the first suitable host for an instance when probing the hosts one by one from startHostId,
+     * going back to firstHostId after lastHostId, for at most probeNum hosts.
+     * The host is found by {@link SynState#findSuitableHost}, which may skip the hosts that can not be suitable,
+     * but each host that would have been probed is still counted as a {@link ScheduleOperation#HOST_PROBE},
+     * so that the counted scheduling time does not depend on how the host is found.
+     * Likewise, the search is excluded from the measured scheduling time,
+     * and the hosts it goes through are {@link ScheduleCostCounter#countUnmeasured counted as unmeasured},
+     * so that the measured models charge them at the cost of a probe like they were probed one by one.
+     * @param synState the synchronization state
+     * @param firstHostId the first host id of the probed range
+     * @param lastHostId the last host id of the probed range
+     * @param startHostId the host id to start probing from
+     * @param probeNum the max number of hosts to probe, not more than the number of hosts of the range
+     * @param instance the instance
+     * @return the id of the suitable host, or -1 if there is not any
+     */
+    protected int findSuitableHost(SynState synState, int firstHostId, int lastHostId, int startHostId, int probeNum, Instance instance) {
+        return findSuitableHost(synState, scheduleCostCounter, firstHostId, lastHostId, startHostId, probeNum, instance);
+    }
+
+    /**
+     * Find the first suitable host for an instance like {@link #findSuitableHost(SynState, int, int, int, int, Instance)},
+     * counting the probed hosts with the given counter.
+     * @param synState the synchronization state
+     * @param costCounter the counter of the probed hosts
+     * @param firstHostId the first host id of the probed range
+     * @param lastHostId the last host id of the probed range
+     * @param startHostId the host id to start probing from
+     * @param probeNum the max number of hosts to probe, not more than the number of hosts of the range
+     * @param instance the instance
+     * @return the id of the suitable host, or -1 if there is not any
+     */
+    protected int findSuitableHost(SynState synState, ScheduleCostCounter costCounter, int firstHostId, int lastHostId, int startHostId, int probeNum, Instance instance) {
+        int endHostId = Math.min(lastHostId, startHostId + probeNum - 1);
+        costCounter.startExclude();
+        int hostId = synState.findSuitableHost(startHostId, endHostId, instance);
+        costCounter.endExclude();
+        if (hostId != -1) {
+            costCounter.countUnmeasured(ScheduleOperation.HOST_PROBE, hostId - startHostId + 1);
+            return hostId;
+        }
+        int probedNum = endHostId - startHostId + 1;
+        if (probedNum < probeNum) {
+            costCounter.startExclude();
+            hostId = synState.findSuitableHost(firstHostId, firstHostId + probeNum - probedNum - 1, instance);
+            costCounter.endExclude();
+            if (hostId != -1) {
+                costCounter.countUnmeasured(ScheduleOperation.HOST_PROBE, probedNum + hostId - firstHostId + 1);
+                return hostId;
+            }
+        }
+        costCounter.countUnmeasured(ScheduleOperation.HOST_PROBE, probeNum);
+        return -1;
+    }
+
+    /**
+     * Check whether a host is suitable for an instance.
+     * It is counted as a {@link ScheduleOperation#HOST_PROBE}.
+     * @param synState the synchronization state
+     * @param hostId the id of the host
+     * @param instance the instance
+     * @return true if the host is suitable for the instance, false otherwise
+     */
+    protected boolean isHostSuitable(SynState synState, int hostId, Instance instance) {
+        scheduleCostCounter.count(ScheduleOperation.HOST_PROBE);
+        return synState.isSuitable(hostId, instance);
+    }
+
     /**
      * Set the data center it belongs to.
      */
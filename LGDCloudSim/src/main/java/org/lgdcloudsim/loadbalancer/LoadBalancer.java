@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 /**
  * An interface to be implemented by each class that represents a load balancer.
@@ -41,4 +42,40 @@ public interface LoadBalancer<R, S> {
      * @return the load balance cost time
      */
     double getLoadBalanceCostTime();
+
+    /**
+     * Set the function giving the group of a request.
+     * The consecutive requests of the same non-null group are never split across schedulers,
+     * so that the instances of an instance group can be scheduled together.
+     * With a null function, which is the default, the requests are split by count only.
+     *
+     * @param requestGroupKey the function giving the group of a request, or null
+     */
+    LoadBalancer setRequestGroupKey(Function<R, Object> requestGroupKey);
+
+    /**
+     * Get the function giving the group of a request.
+     *
+     * @return the function giving the group of a request, or null if the requests are split by count only
+     */
+    Function<R, Object> getRequestGroupKey();
+
+    /**
+     * Get the end of the group of consecutive requests which contains the request before the end.
+     *
+     * @param requests        the requests to be distributed
+     * @param end             the end index to be moved to the group boundary
+     * @param requestGroupKey the function giving the group of a request, or null
+     * @return the first index not less than end where a new group starts, or the size of the requests
+     */
+    static <R> int getGroupEnd(List<R> requests, int end, Function<R, Object> requestGroupKey) {
+        if (requestGroupKey == null || end == 0) {
+            return end;
+        }
+        Object group = requestGroupKey.apply(requests.get(end - 1));
+        while (group != null && end < requests.size() && group.equals(requestGroupKey.apply(requests.get(end)))) {
+            end++;
+        }
+        return end;
+    }
 }
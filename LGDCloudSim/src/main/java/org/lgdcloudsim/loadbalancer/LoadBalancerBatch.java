@@ -8,6 +8,7 @@ import org.lgdcloudsim.request.Instance;
 import org.lgdcloudsim.request.InstanceGroup;
 
 import java.util.*;
+import java.util.function.Function;
 
 /**
  * A class to represent a load balancer.
@@ -30,10 +31,18 @@ public class LoadBalancerBatch<R, S> implements LoadBalancer<R, S> {
      **/
     int lastDistributedId = 0;
 
+    /**
+     * the function giving the group of a request, the requests of the same group are sent to the same scheduler.
+     **/
+    @Getter
+    @Setter
+    Function<R, Object> requestGroupKey = null;
+
     /**
      * Overrides the method to send instances to intra schedulers or send instanceGroups to inter-schedulers.
      * This method distributes requests to each scheduler in batches according to the batch size
      * until all requests have been issued.
+     * With the {@link #requestGroupKey}, each batch is extended to the end of the group of its last request.
      *
      * @param requests List of instances or instanceGroups to be sent.
      * @param schedulers List of intra-schedulers or inter-schedulers to which instances are sent.
@@ -41,13 +50,13 @@ public class LoadBalancerBatch<R, S> implements LoadBalancer<R, S> {
      */
     @Override
     public Map<S, List<R>> loadBalance(List<R> requests, List<S> schedulers) {
-        Map<S, List<R>> resultMap = new HashMap<>();
+        Map<S, List<R>> resultMap = new LinkedHashMap<>();
         int batchSize = 100;
         int size = requests.size();
         int startIndex = 0;
         int endIndex = 0;
         while (endIndex < size) {
-            endIndex = Math.min(startIndex + batchSize, size);
+            endIndex = LoadBalancer.getGroupEnd(requests, Math.min(startIndex + batchSize, size), requestGroupKey);
             List<R> batchRequests = requests.subList(startIndex, endIndex);
             S scheduler = schedulers.get(lastDistributedId);
             lastDistributedId = (lastDistributedId + 1) % schedulers.size();
@@ -5,6 +5,7 @@ import lombok.Setter;
 import org.lgdcloudsim.datacenter.Datacenter;
 
 import java.util.*;
+import java.util.function.Function;
 
 /**
  * A class to represent a load balancer.
@@ -28,10 +29,18 @@ public class LoadBalancerRound<R, S> implements LoadBalancer<R, S> {
      **/
     int lastDistributedId = 0;
 
+    /**
+     * the function giving the group of a request, the requests of the same group are sent to the same scheduler.
+     **/
+    @Getter
+    @Setter
+    Function<R, Object> requestGroupKey = null;
+
     /**
      * Overrides the method to send instances to intra schedulers or send instanceGroups to inter-schedulers.
      * The method divides all instances into fractions of the number of schedulers,
      * and then distributes them to each scheduler.
+     * With the {@link #requestGroupKey}, each fraction is extended to the end of the group of its last request.
      *
      * @param requests List of instances or instanceGroups to be sent.
      * @param schedulers List of intra-schedulers or inter-schedulers to which instances are sent.
@@ -39,18 +48,20 @@ public class LoadBalancerRound<R, S> implements LoadBalancer<R, S> {
      */
     @Override
     public Map<S, List<R>> loadBalance(List<R> requests, List<S> schedulers) {
-        Map<S, List<R>> resultMap = new HashMap<>();
+        Map<S, List<R>> resultMap = new LinkedHashMap<>();
         int size = requests.size();
         int onceSendSize = size / schedulers.size();
         int remainder = size % schedulers.size();
 
         int start = 0;
         int end;
-        for (int i = 0; i < schedulers.size(); i++) {
+        int expectedEnd = 0;
+        for (int i = 0; i < schedulers.size() && start < size; i++) {
             S scheduler = schedulers.get((lastDistributedId + i) % schedulers.size());
-            end = start + onceSendSize + (i < remainder ? 1 : 0);
-            if (end == start) { // no more requests need to be distributed
-                break;
+            expectedEnd += onceSendSize + (i < remainder ? 1 : 0);
+            end = LoadBalancer.getGroupEnd(requests, Math.max(start, expectedEnd), requestGroupKey);
+            if (end == start) { // the fraction has been sent with the group before it
+                continue;
             }
 
             resultMap.put(scheduler, requests.subList(start, end));
@@ -7,12 +7,15 @@ import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 
+import java.io.DataOutput;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
 /**
  * DcBwManager manages the bandwidth between the data centers.
@@ -195,4 +198,44 @@ public class DcBwManager {
         double bw = bwMap.get(srcDcId).get(dstDcId);
         bwMap.get(srcDcId).put(dstDcId, bw + releaseBw);
     }
+
+    /**
+     * Write the current bandwidth between the data centers and the total cost,
+     * see {@link org.lgdcloudsim.core.ResourceStateSnapshot}.
+     *
+     * @param out the output to write to.
+     * @throws IOException if an I/O error occurs.
+     */
+    public void writeBw(DataOutput out) throws IOException {
+        int bwNum = 0;
+        for (Map<Integer, Double> dstBwMap : bwMap.values()) {
+            bwNum += dstBwMap.size();
+        }
+        out.writeInt(bwNum);
+        for (Map.Entry<Integer, Map<Integer, Double>> srcEntry : new TreeMap<>(bwMap).entrySet()) {
+            for (Map.Entry<Integer, Double> dstEntry : new TreeMap<>(srcEntry.getValue()).entrySet()) {
+                out.writeInt(srcEntry.getKey());
+                out.writeInt(dstEntry.getKey());
+                out.writeDouble(dstEntry.getValue());
+            }
+        }
+        out.writeDouble(bwTCO);
+    }
+
+    /**
+     * Restore the bandwidth between the data centers and the total cost written by {@link #writeBw(DataOutput)}.
+     *
+     * @param in the buffer to read from.
+     */
+    public void restoreBw(ByteBuffer in) {
+        int bwNum = in.getInt();
+        for (int i = 0; i < bwNum; i++) {
+            int srcDcId = in.getInt();
+            int dstDcId = in.getInt();
+            double bw = in.getDouble();
+            getBw(srcDcId, dstDcId);
+            bwMap.get(srcDcId).put(dstDcId, bw);
+        }
+        bwTCO = in.getDouble();
+    }
 }
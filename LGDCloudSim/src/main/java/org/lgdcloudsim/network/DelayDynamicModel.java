@@ -26,4 +26,12 @@ public interface DelayDynamicModel {
      * @return the maximum dynamic delay.
      */
     double getMaxDelay();
+
+    /**
+     * Get the lower bound of the dynamic delay of a static delay.
+     *
+     * @param delay the static delay.
+     * @return the minimum dynamic delay for the static delay.
+     */
+    double getMinDelay(double delay);
 }
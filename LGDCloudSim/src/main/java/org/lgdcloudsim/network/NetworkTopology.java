@@ -54,6 +54,22 @@ public interface NetworkTopology {
      */
     double getMaxDelay();
 
+    /**
+     * Get the lower bound of the delay of the events sent through the network between two different entities.
+     * No event sent by an entity can reach another entity earlier than this delay,
+     * so it can be used as the lookahead of a parallel simulation.
+     *
+     * @return the min delay of the network.
+     */
+    double getMinDelay();
+
+    /**
+     * Get the manager of the bandwidth between the data centers.
+     *
+     * @return the data center bandwidth manager, or null if there is not any.
+     */
+    DcBwManager getDcBwManager();
+
     /**
      * Get the bandwidth between the source and the destination.
      * The entity of the source and the destination must be a data center.
@@ -34,6 +34,16 @@ public class NetworkTopologyNull implements NetworkTopology {
         return 0;
     }
 
+    @Override
+    public double getMinDelay() {
+        return 0;
+    }
+
+    @Override
+    public DcBwManager getDcBwManager() {
+        return null;
+    }
+
     @Override
     public double getBw(Integer src, Integer dst) {
         return 0;
@@ -1,5 +1,6 @@
 package org.lgdcloudsim.network;
 
+import lombok.Getter;
 import lombok.Setter;
 
 import java.util.Set;
@@ -35,6 +36,7 @@ public class NetworkTopologySimple implements NetworkTopology {
     /**
      * The data center bandwidth manager.
      */
+    @Getter
     DcBwManager dcBwManager;
 
     /**
@@ -93,6 +95,15 @@ public class NetworkTopologySimple implements NetworkTopology {
         }
     }
 
+    @Override
+    public double getMinDelay() {
+        double minDelay = Math.min(regionDelayManager.getMinDelay(), regionDelayManager.getAverageDelay());
+        if (delayDynamicModel == null) {
+            return minDelay;
+        }
+        return delayDynamicModel.getMinDelay(minDelay);
+    }
+
     @Override
     public double getMaxDelay() {
         return regionDelayManager.getMaxDelay() + delayDynamicModel.getMaxDelay();
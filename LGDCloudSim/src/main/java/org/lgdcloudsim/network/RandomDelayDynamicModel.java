@@ -11,6 +11,7 @@ import lombok.Getter;
  * RandomDelayDynamicModel is an implementation of the {@link DelayDynamicModel} interface.
  * It is a simple dynamic delay model that adds a random delay to the static delay.
  * The random delay is generated by a Gaussian distribution with a mean of 0 and a standard deviation of 4.
+ * The dynamic delay is kept above half of the static delay, so that the conservative simulation has a positive lookahead.
  * It makes the dynamic delay between the same location at the same time the same through a hash function.
  *
  * @author Anonymous
@@ -20,17 +21,27 @@ public class RandomDelayDynamicModel implements DelayDynamicModel {
 
     double MAX_DELAY = 4.0;
 
+    /**
+     * The lowest ratio of the dynamic delay to the static delay.
+     */
+    double MIN_DELAY_RATIO = 0.5;
+
     @Override
     public double getMaxDelay() {
         return MAX_DELAY;
     }
 
+    @Override
+    public double getMinDelay(double delay) {
+        return delay * MIN_DELAY_RATIO;
+    }
+
     @Override
     public double getDynamicDelay(int srcId, int dstId, double delay, double time) {
         // Ensure that the dynamic delay of the same two region at the same time is the same
         long seed = hashMap(srcId, dstId, time);
         Random random = new Random(seed);
-        return Math.max(delay + random.nextGaussian() * MAX_DELAY, 0);
+        return Math.max(delay + random.nextGaussian() * MAX_DELAY, getMinDelay(delay));
     }
 
     /**
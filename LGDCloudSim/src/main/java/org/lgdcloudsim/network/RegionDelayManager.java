@@ -44,6 +44,12 @@ public class RegionDelayManager {
     @Getter
     private double maxDelay=0;
 
+    /**
+     * The minimum delay between regions.
+     */
+    @Getter
+    private double minDelay=0;
+
     /**
      * Construct a region delay manager with the csv file name.
      *
@@ -66,6 +72,7 @@ public class RegionDelayManager {
 
             double delaySum = 0;
             int regionCount = 0;
+            double minRegionDelay = Double.MAX_VALUE;
 
             // Get the header/column names from the CSV file
             String[] header = csvParser.getHeaderMap().keySet().toArray(new String[0]);
@@ -86,6 +93,7 @@ public class RegionDelayManager {
                         delayMap.put(destinationRegion, delay);
                         delaySum += delay;
                         maxDelay = Math.max(maxDelay, delay);
+                        minRegionDelay = Math.min(minRegionDelay, delay);
                         regionCount++;
                     }
                 }
@@ -93,6 +101,9 @@ public class RegionDelayManager {
                 regionDelayMap.put(region, delayMap);
                 averageDelay = delaySum / regionCount;
             }
+            if (regionCount > 0) {
+                minDelay = minRegionDelay;
+            }
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -3,6 +3,7 @@ package org.lgdcloudsim.queue;
 import org.lgdcloudsim.request.Instance;
 import org.lgdcloudsim.request.InstanceGroup;
 import org.lgdcloudsim.request.UserRequest;
+import org.lgdcloudsim.util.ScheduleCostModel;
 
 import java.util.List;
 
@@ -114,4 +115,11 @@ public interface InstanceGroupQueue {
      * @return the time of the last sorting
      */
     double getSortTime();
+
+    /**
+     * Set the model giving the sorting time from the comparisons counted during the sorting.
+     * @param scheduleCostModel the schedule cost model
+     * @return the instanceGroupQueue
+     */
+    InstanceGroupQueue setScheduleCostModel(ScheduleCostModel scheduleCostModel);
 }
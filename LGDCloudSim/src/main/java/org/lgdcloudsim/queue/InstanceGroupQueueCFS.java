@@ -5,6 +5,8 @@ import lombok.Setter;
 import org.lgdcloudsim.request.Instance;
 import org.lgdcloudsim.request.InstanceGroup;
 import org.lgdcloudsim.request.UserRequest;
+import org.lgdcloudsim.util.ScheduleCostCounter;
+import org.lgdcloudsim.util.ScheduleOperation;
 
 import java.util.*;
 
@@ -24,6 +26,11 @@ public class InstanceGroupQueueCFS extends InstanceGroupQueueFifo {
     @Getter
     @Setter
     private double memBETA = 0.5;
+
+    /**
+     * The counter of the comparisons and the time of the sorting.
+     */
+    private final ScheduleCostCounter sortCostCounter = new ScheduleCostCounter();
     
     public InstanceGroupQueueCFS() {
         super();
@@ -61,10 +68,11 @@ public class InstanceGroupQueueCFS extends InstanceGroupQueueFifo {
             }
         }
 
-        double start = System.currentTimeMillis();
+        sortCostCounter.start(scheduleCostModel);
 
         // 根据匿名函数的返回值对instanceGroups进行排序，匿名函数中计算每个 instanceGroup 的 网络连接数 edgeNumLinked 和 资源需求量 sumqValue，当 edgeNumLinked 不同时，按 edgeNumLinked 降序排列，当 edgeNumLinked 相同时，按 sumqValue 降序排列
         instanceGroups.sort((instanceGroup1, instanceGroup2) -> {
+            sortCostCounter.count(ScheduleOperation.COMPARISON);
             int compValue1 = instanceGroup1.getEdgeNumLinked();
             int compValue2 = instanceGroup2.getEdgeNumLinked();
             
@@ -78,10 +86,8 @@ public class InstanceGroupQueueCFS extends InstanceGroupQueueFifo {
             }
         });
 
-        
-        double end = System.currentTimeMillis();
 
-        this.sortTime = Math.max(0.1, end - start);
+        this.sortTime = Math.max(0.1, sortCostCounter.stop());
 
         for (InstanceGroup instanceGroup : instanceGroups) {
             add(instanceGroup);
@@ -5,6 +5,8 @@ import lombok.Setter;
 import org.lgdcloudsim.request.Instance;
 import org.lgdcloudsim.request.InstanceGroup;
 import org.lgdcloudsim.request.UserRequest;
+import org.lgdcloudsim.util.ScheduleCostModel;
+import org.lgdcloudsim.util.ScheduleCostModelMeasured;
 
 import java.util.*;
 
@@ -61,6 +63,13 @@ public class InstanceGroupQueueFifo implements InstanceGroupQueue {
     @Setter
     public double sortTime = 0.0;
 
+    /**
+     * The model giving the sorting time.
+     */
+    @Getter
+    @Setter
+    protected ScheduleCostModel scheduleCostModel = new ScheduleCostModelMeasured();
+
     /**
      * Add the instanceGroup in the request to the end of the queue
      *
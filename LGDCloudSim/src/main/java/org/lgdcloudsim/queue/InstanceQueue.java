@@ -98,6 +98,24 @@ public interface InstanceQueue {
      */
     boolean isCheckOutdatedFlag();
 
+    /**
+     * Set whether the queue keeps the instances of an instance group in one batch.
+     * If the flag is true, a batch is not cut in the middle of an instance group,
+     * the selection goes on to the end of the group of the last selected instance even if more than the requested number are selected.
+     * If the flag is false, the batch is cut by the number of instances.
+     *
+     * @param keepInstanceGroupsTogether the flag to keep the instances of an instance group in one batch
+     * @return the instanceQueue
+     */
+    InstanceQueue setKeepInstanceGroupsTogether(boolean keepInstanceGroupsTogether);
+
+    /**
+     * Get whether the queue keeps the instances of an instance group in one batch.
+     *
+     * @return true if the queue keeps the instances of an instance group in one batch, false otherwise
+     */
+    boolean isKeepInstanceGroupsTogether();
+
     /**
      * Set the datacenter.
      * 
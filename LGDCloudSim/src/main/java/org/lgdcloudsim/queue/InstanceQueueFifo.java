@@ -48,6 +48,13 @@ public class InstanceQueueFifo implements InstanceQueue {
     @Setter
     boolean checkOutdatedFlag = false;
 
+    /**
+     * the flag to set whether to keep the instances of an instance group in one batch.
+     */
+    @Getter
+    @Setter
+    boolean keepInstanceGroupsTogether = false;
+
     /**
      * Create a new instance of InstanceQueueFifo with the batch number.
      */
@@ -84,6 +91,7 @@ public class InstanceQueueFifo implements InstanceQueue {
 
     /**
      * Select num instances at the head of the queue.
+     * With {@link #keepInstanceGroupsTogether}, the selection goes on to the end of the instance group of the last selected instance.
      *
      * @param num     the number of instances to be selected
      * @param nowTime the current time
@@ -94,10 +102,12 @@ public class InstanceQueueFifo implements InstanceQueue {
         List<Instance> sendInstances = new ArrayList<>();
         Set<UserRequest> failedUserRequests = new HashSet<>();
 
-        for (int i = 0; i < num; i++) {
+        InstanceGroup lastInstanceGroup = null;
+        for (int i = 0; i < num || isInSameInstanceGroup(lastInstanceGroup); i++) {
             if (this.instances.isEmpty()) {
                 break;
             }
+            lastInstanceGroup = this.instances.get(0).getInstanceGroup();
 
             UserRequest userRequest = this.instances.get(0).getUserRequest();
             if (!this.datacenter.isFailureCluster() && userRequest.getState() == UserRequest.FAILED) {
@@ -116,6 +126,18 @@ public class InstanceQueueFifo implements InstanceQueue {
         return new QueueResult(sendInstances, failedUserRequests);
     }
 
+    /**
+     * Get whether the instance at the head of the queue belongs to the instance group of the last selected instance
+     * and the queue keeps the instances of an instance group in one batch.
+     *
+     * @param lastInstanceGroup the instance group of the last selected instance
+     * @return true if the instance at the head of the queue has to be selected in the same batch, false otherwise
+     */
+    private boolean isInSameInstanceGroup(InstanceGroup lastInstanceGroup) {
+        return keepInstanceGroupsTogether && lastInstanceGroup != null && !this.instances.isEmpty()
+                && this.instances.get(0).getInstanceGroup() == lastInstanceGroup;
+    }
+
     @Override
     public InstanceQueue add(Instance instance) {
         this.instances.add(instance);
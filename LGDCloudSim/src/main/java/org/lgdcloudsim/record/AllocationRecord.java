@@ -0,0 +1,53 @@
+package org.lgdcloudsim.record;
+
+import lombok.Getter;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * AllocationRecord records the heap memory allocated by the simulation thread during the simulation.
+ * It relies on {@link com.sun.management.ThreadMXBean}, so nothing is recorded on JVMs that do not support it.
+ *
+ * @author Anonymous
+ * @since LGDCloudSim 1.0
+ */
+public class AllocationRecord {
+    /**
+     * The bytes allocated by the simulation thread between {@link #start()} and {@link #stop()}.
+     * It is -1 if the JVM does not support measuring it.
+     */
+    @Getter
+    private static long allocatedBytes = -1;
+
+    /**
+     * The bytes allocated by the simulation thread before {@link #start()}.
+     */
+    private static long startAllocatedBytes;
+
+    /**
+     * Start recording the bytes allocated by the current thread.
+     */
+    public static void start() {
+        startAllocatedBytes = getThreadAllocatedBytes();
+    }
+
+    /**
+     * Stop recording the bytes allocated by the current thread.
+     */
+    public static void stop() {
+        long endAllocatedBytes = getThreadAllocatedBytes();
+        allocatedBytes = startAllocatedBytes < 0 || endAllocatedBytes < 0 ? -1 : endAllocatedBytes - startAllocatedBytes;
+    }
+
+    /**
+     * Get the bytes allocated by the current thread since it started.
+     * @return the allocated bytes, or -1 if the JVM does not support measuring it
+     */
+    private static long getThreadAllocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadMXBean
+                && threadMXBean.isThreadAllocatedMemorySupported() && threadMXBean.isThreadAllocatedMemoryEnabled()) {
+            return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+}
@@ -153,6 +153,19 @@ public interface SqlRecord {
      */
     void recordConflict(double time, int sum);
 
+    /**
+     * Record the fragmentation of the hosts of a data center after an intra-scheduler scheduled a batch of instances.
+     * @param time the time.
+     * @param datacenterId the id of the data center.
+     * @param intraSchedulerId the id of the intra-scheduler.
+     * @param poweredOnHostNum the number of the powered on hosts.
+     * @param availableCpu the sum of the available cpu of the hosts.
+     * @param availableRam the sum of the available ram of the hosts.
+     * @param fragmentedHostNum the number of the hosts whose available cpu is not enough for any instance of the batch.
+     */
+    void recordFragmentation(double time, int datacenterId, int intraSchedulerId, int poweredOnHostNum,
+                             long availableCpu, long availableRam, int fragmentedHostNum);
+
     /**
      * Record the data center information.
      * It records the data center id, the name, the location, the cpu, the ram, the storage, the bandwidth and the cost.
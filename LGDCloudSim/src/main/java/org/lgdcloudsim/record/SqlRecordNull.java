@@ -98,6 +98,12 @@ public class SqlRecordNull implements SqlRecord {
 
     }
 
+    @Override
+    public void recordFragmentation(double time, int datacenterId, int intraSchedulerId, int poweredOnHostNum,
+                                    long availableCpu, long availableRam, int fragmentedHostNum) {
+
+    }
+
     @Override
     public void recordDatacentersInfo(List<Datacenter> datacenters) {
 
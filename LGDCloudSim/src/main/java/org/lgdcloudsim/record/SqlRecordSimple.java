@@ -67,6 +67,11 @@ public class SqlRecordSimple implements SqlRecord {
      */
     private String conflictTableName = null;
 
+    /**
+     * The name of the fragmentation table.
+     */
+    private String fragmentationTableName = null;
+
     /**
      * The name of the inter schedule cost time table.
      */
@@ -157,6 +162,7 @@ public class SqlRecordSimple implements SqlRecord {
         this.instanceGroupGraphTableName = instanceGroupGraphTableName;
         this.instanceTableName = instanceTableName;
         this.conflictTableName = "conflict";
+        this.fragmentationTableName = "fragmentation";
         this.interScheduleCostTimeTableName = "interScheduleCostTime";
         try {
             Class.forName("org.sqlite.JDBC");
@@ -175,6 +181,7 @@ public class SqlRecordSimple implements SqlRecord {
             createGroupGraphTable();
             createInstanceTable();
             createConflictTable();
+            createFragmentationTable();
             createInterScheduleCostTimeTable();
         } catch (SQLException e) {
             System.err.println(e.getClass().getName() + ": " + e.getMessage());
@@ -669,6 +676,47 @@ public class SqlRecordSimple implements SqlRecord {
         conn.commit();
     }
 
+    /**
+     * Create the fragmentation table.
+     * The fragmentation table has the following columns:
+     * <ul>
+     *     <li>time: double. It records the time.</li>
+     *     <li>datacenterId: int. It records the id of the data center.</li>
+     *     <li>intraSchedulerId: int. It records the id of the intra-scheduler.</li>
+     *     <li>poweredOnHostNum: int. It records the number of the powered on hosts.</li>
+     *     <li>availableCpu: bigint. It records the sum of the available cpu of the hosts.</li>
+     *     <li>availableRam: bigint. It records the sum of the available ram of the hosts.</li>
+     *     <li>fragmentedHostNum: int. It records the number of the hosts whose available cpu is not enough for any instance of the batch.</li>
+     * </ul>
+     * @throws SQLException
+     */
+    private void createFragmentationTable() throws SQLException {
+        sql = "DROP TABLE IF EXISTS " + this.fragmentationTableName;
+        stmt.executeUpdate(sql);
+        sql = "CREATE TABLE IF NOT EXISTS " + this.fragmentationTableName + " " +
+                "(time DOUBLE NOT NULL," +
+                " datacenterId INT NOT NULL," +
+                " intraSchedulerId INT NOT NULL," +
+                " poweredOnHostNum INT NOT NULL," +
+                " availableCpu BIGINT NOT NULL," +
+                " availableRam BIGINT NOT NULL," +
+                " fragmentedHostNum INT NOT NULL) ";
+        stmt.executeUpdate(sql);
+        conn.commit();
+    }
+
+    @Override
+    public void recordFragmentation(double time, int datacenterId, int intraSchedulerId, int poweredOnHostNum,
+                                    long availableCpu, long availableRam, int fragmentedHostNum) {
+        try {
+            sql = "INSERT INTO " + this.fragmentationTableName + " (time, datacenterId, intraSchedulerId, poweredOnHostNum, availableCpu, availableRam, fragmentedHostNum) VALUES ("
+                    + time + "," + datacenterId + "," + intraSchedulerId + "," + poweredOnHostNum + "," + availableCpu + "," + availableRam + "," + fragmentedHostNum + ");";
+            stmt.executeUpdate(sql);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
     @Override
     public void recordConflict(double time, int sum) {
         int tmpTime = (int) time / 10 * 10;
@@ -14,7 +14,12 @@ public class DetailedDcStateSimple {
     /**
      * The status of each host in the data center.
      */
-    int[] hostStates;
+    HostStateStore hostStates;
+
+    /**
+     * The index of the free cpu and ram of {@link #hostStates}, built when a suitable host is searched for the first time.
+     */
+    HostCapacityIndex hostCapacityIndex;
 
     /**
      * The host capacity manager which records the capacity of each host in the data center.
@@ -61,23 +66,73 @@ public class DetailedDcStateSimple {
      * @param storageAvailableSum The total available storage resources of the data center.
      * @param bwAvailableSum      The total available bandwidth resources of the data center.
      */
-    public DetailedDcStateSimple(int[] hostStates, HostCapacityManager hostCapacityManager, long cpuAvailableSum, long ramAvailableSum, long storageAvailableSum, long bwAvailableSum) {
-        this.hostStates = hostStates.clone();//It must be cloned because it will be modified later, and this value must also be independent of the original value.
+    public DetailedDcStateSimple(HostStateStore hostStates, HostCapacityManager hostCapacityManager, long cpuAvailableSum, long ramAvailableSum, long storageAvailableSum, long bwAvailableSum) {
+        this.hostStates = hostStates.copy();//It must be copied because it will be modified later, and this value must also be independent of the original value.
         this.hostCapacityManager = hostCapacityManager;
-        hostNum = hostStates.length / 4;
+        hostNum = hostStates.getHostNum();
         this.cpuAvailableSum = cpuAvailableSum;
         this.ramAvailableSum = ramAvailableSum;
         this.storageAvailableSum = storageAvailableSum;
         this.bwAvailableSum = bwAvailableSum;
     }
 
+    /**
+     * Give back the host states of the state when it is replaced by a newer one,
+     * so that the next states of the data center can reuse their memory, see {@link HostStateStore#release()}.
+     * The state must not be used after it is released.
+     */
+    public void release() {
+        hostStates.release();
+        hostStates = null;
+        hostCapacityIndex = null;
+    }
+
     /**
      * Get the status of the host synchronized to with the given host id.
      * @param hostId The id of the host.
      * @return The status of the host.
      */
     public HostState getHostState(int hostId) {
-        return new HostState(hostStates[hostId * HostState.STATE_NUM], hostStates[hostId * HostState.STATE_NUM + 1], hostStates[hostId * HostState.STATE_NUM + 2], hostStates[hostId * HostState.STATE_NUM + 3]);
+        return hostStates.getHostState(hostId);
+    }
+
+    /**
+     * Get a resource of the status of the host synchronized to with the given host id, without creating a {@link HostState}.
+     * @param hostId The id of the host.
+     * @param resourceIndex The index of the resource in the host state, from 0 to {@link HostState#STATE_NUM} - 1.
+     * @return The amount of the resource.
+     */
+    public int getResource(int hostId, int resourceIndex) {
+        return hostStates.get(hostId, resourceIndex);
+    }
+
+    /**
+     * Whether the host synchronized to with the given host id has enough resources for the instance.
+     * @param hostId The id of the host.
+     * @param instance The instance to be placed.
+     * @return true if the host has enough resources for the instance, false otherwise.
+     */
+    public boolean isSuitable(int hostId, Instance instance) {
+        return hostStates.isSuitable(hostId, instance);
+    }
+
+    /**
+     * Find the first host from startHostId to endHostId on which the instance is suitable to be placed,
+     * using a {@link HostCapacityIndex} to skip the hosts without enough cpu or ram.
+     * @param startHostId The first host id of the range, inclusive.
+     * @param endHostId The last host id of the range, inclusive.
+     * @param instance The instance to be placed.
+     * @return The id of the first suitable host, or -1 if there is not any.
+     */
+    public int findSuitableHost(int startHostId, int endHostId, Instance instance) {
+        if (hostCapacityIndex == null) {
+            hostCapacityIndex = HostCapacityIndex.of(hostStates);
+        }
+        int hostId = hostCapacityIndex.findFirst(startHostId, endHostId, instance.getCpu(), instance.getRam());
+        while (hostId != -1 && !hostStates.isSuitable(hostId, instance)) {
+            hostId = hostCapacityIndex.findFirst(hostId + 1, endHostId, instance.getCpu(), instance.getRam());
+        }
+        return hostId;
     }
 
     /**
@@ -89,6 +144,16 @@ public class DetailedDcStateSimple {
         return hostCapacityManager.getHostCapacity(hostId);
     }
 
+    /**
+     * Get the capacity of a resource of the host with the given host id.
+     * @param hostId The id of the host.
+     * @param resourceIndex The index of the resource in the host state, from 0 to {@link HostState#STATE_NUM} - 1.
+     * @return The capacity of the resource of the host.
+     */
+    public int getHostCapacity(int hostId, int resourceIndex) {
+        return hostCapacityManager.getHostCapacity(hostId, resourceIndex);
+    }
+
     /**
      * Change the status of the host after allocating the instance to it.
      * It is used to update the status of the host from the scheduler's perspective after the instance is allocated to the host.
@@ -97,10 +162,10 @@ public class DetailedDcStateSimple {
      * @return The DetailedDcStateSimple itself.
      */
     public DetailedDcStateSimple allocate(Instance instance, int hostId) {
-        hostStates[hostId * HostState.STATE_NUM] -= instance.getCpu();
-        hostStates[hostId * HostState.STATE_NUM + 1] -= instance.getRam();
-        hostStates[hostId * HostState.STATE_NUM + 2] -= instance.getStorage();
-        hostStates[hostId * HostState.STATE_NUM + 3] -= instance.getBw();
+        hostStates.add(hostId, -instance.getCpu(), -instance.getRam(), -instance.getStorage(), -instance.getBw());
+        if (hostCapacityIndex != null) {
+            hostCapacityIndex.update(hostId, hostStates);
+        }
         cpuAvailableSum -= instance.getCpu();
         ramAvailableSum -= instance.getRam();
         storageAvailableSum -= instance.getStorage();
@@ -0,0 +1,156 @@
+package org.lgdcloudsim.statemanager;
+
+import java.util.Arrays;
+
+/**
+ * An index of the free cpu and ram of the hosts, used to find a host which may fit an instance without probing every host.
+ * It is a segment tree over the host ids whose nodes keep the max free cpu and the max free ram of the hosts of their range,
+ * so the state of a host is updated in O(log n) time,
+ * and {@link #findFirst(int, int, int, int)} skips every range in which no host has enough cpu or enough ram.
+ * The index only knows the cpu and the ram of the hosts,
+ * so the storage and the bw of a found host still have to be checked by the caller.
+ * <p>
+ * {@link StatesManagerSimple} keeps the index up to date with the actual host states,
+ * and {@link SynStateSimple} uses it for the hosts whose state in the intra-scheduler's view is their actual state.
+ * </p>
+ *
+ * @author Anonymous
+ * @since LGDCloudSim 1.0
+ */
+public class HostCapacityIndex {
+    /**
+     * The number of hosts.
+     */
+    private final int hostNum;
+
+    /**
+     * The number of leaves of the tree, the smallest power of two which is not less than {@link #hostNum}.
+     */
+    private final int leafNum;
+
+    /**
+     * The max free cpu of the range of each node, the root is at 1 and the leaf of a host is at {@link #leafNum} + hostId.
+     * The leaves after the last host are {@link Integer#MIN_VALUE} so that they never fit.
+     */
+    private final int[] maxCpu;
+
+    /**
+     * The max free ram of the range of each node, like {@link #maxCpu}.
+     */
+    private final int[] maxRam;
+
+    /**
+     * Create the index of hosts without any free resource.
+     *
+     * @param hostNum the number of hosts.
+     */
+    public HostCapacityIndex(int hostNum) {
+        this.hostNum = hostNum;
+        int leafNum = 1;
+        while (leafNum < hostNum) {
+            leafNum <<= 1;
+        }
+        this.leafNum = leafNum;
+        this.maxCpu = new int[2 * leafNum];
+        this.maxRam = new int[2 * leafNum];
+        Arrays.fill(maxCpu, leafNum + hostNum, 2 * leafNum, Integer.MIN_VALUE);
+        Arrays.fill(maxRam, leafNum + hostNum, 2 * leafNum, Integer.MIN_VALUE);
+        for (int node = leafNum - 1; node > 0; node--) {
+            pull(node);
+        }
+    }
+
+    /**
+     * Build the index of the hosts of a host state store.
+     *
+     * @param hostStates the host state store.
+     * @return the index.
+     */
+    public static HostCapacityIndex of(HostStateStore hostStates) {
+        HostCapacityIndex index = new HostCapacityIndex(hostStates.getHostNum());
+        for (int hostId = 0; hostId < index.hostNum; hostId++) {
+            index.maxCpu[index.leafNum + hostId] = hostStates.get(hostId, 0);
+            index.maxRam[index.leafNum + hostId] = hostStates.get(hostId, 1);
+        }
+        for (int node = index.leafNum - 1; node > 0; node--) {
+            index.pull(node);
+        }
+        return index;
+    }
+
+    /**
+     * Get the number of hosts.
+     *
+     * @return the number of hosts.
+     */
+    public int getHostNum() {
+        return hostNum;
+    }
+
+    /**
+     * Update the free resources of a host.
+     *
+     * @param hostId the id of the host.
+     * @param cpu    the free cpu of the host.
+     * @param ram    the free ram of the host.
+     */
+    public void update(int hostId, int cpu, int ram) {
+        int node = leafNum + hostId;
+        maxCpu[node] = cpu;
+        maxRam[node] = ram;
+        for (node >>= 1; node > 0; node >>= 1) {
+            pull(node);
+        }
+    }
+
+    /**
+     * Update the free resources of a host from a host state store.
+     *
+     * @param hostId     the id of the host.
+     * @param hostStates the host state store.
+     */
+    public void update(int hostId, HostStateStore hostStates) {
+        update(hostId, hostStates.get(hostId, 0), hostStates.get(hostId, 1));
+    }
+
+    /**
+     * Find the first host from startHostId to endHostId which has at least the given free cpu and ram.
+     *
+     * @param startHostId the first host id of the range, inclusive.
+     * @param endHostId   the last host id of the range, inclusive.
+     * @param cpu         the required cpu.
+     * @param ram         the required ram.
+     * @return the id of the first host which has enough cpu and ram, or -1 if there is not any.
+     */
+    public int findFirst(int startHostId, int endHostId, int cpu, int ram) {
+        if (startHostId > endHostId) {
+            return -1;
+        }
+        return findFirst(1, 0, leafNum - 1, startHostId, endHostId, cpu, ram);
+    }
+
+    private int findFirst(int node, int nodeStart, int nodeEnd, int startHostId, int endHostId, int cpu, int ram) {
+        if (nodeEnd < startHostId || nodeStart > endHostId || maxCpu[node] < cpu || maxRam[node] < ram) {
+            return -1;
+        }
+        if (nodeStart == nodeEnd) {
+            return nodeStart;
+        }
+        int middle = (nodeStart + nodeEnd) >>> 1;
+        int hostId = findFirst(2 * node, nodeStart, middle, startHostId, endHostId, cpu, ram);
+        if (hostId != -1) {
+            return hostId;
+        }
+        return findFirst(2 * node + 1, middle + 1, nodeEnd, startHostId, endHostId, cpu, ram);
+    }
+
+    /**
+     * Recompute the max free resources of a node from its children.
+     *
+     * @param node the node.
+     */
+    private void pull(int node) {
+        maxCpu[node] = Math.max(maxCpu[2 * node], maxCpu[2 * node + 1]);
+        maxRam[node] = Math.max(maxRam[2 * node], maxRam[2 * node + 1]);
+    }
+}
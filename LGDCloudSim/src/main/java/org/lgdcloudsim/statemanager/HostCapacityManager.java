@@ -1,29 +1,45 @@
 package org.lgdcloudsim.statemanager;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
 
 /**
  * A class to manage the capacity of the hosts.
  * Considering that the status of hosts in a data center usually has certain similarities,
  * HostCapacityManager will record the CPU, memory, storage and bandwidth capacity of a certain type of host,
  * and then record the ID range of this type of host.
+ * The capacity class of each host is kept in a dense array,
+ * so the capacity of a host is got in O(1) time without allocating anything.
  *
  * @author Anonymous
  * @since LGDCloudSim 1.0
  */
 public class HostCapacityManager {
     /**
-     * The start id of the hosts with the same capacity.
+     * The initial number of hosts and capacity classes the arrays can hold without growing.
      */
-    List<Integer> sameCapacityHostStartIds;
+    private static final int INITIAL_CAPACITY = 16;
 
     /**
-     * A list to store the capacity of the different types of hosts.
-     * It corresponds to sameCapacityHostStartIds.
+     * The capacity class of each host, which is the index of its capacity in {@link #hostCapacity}.
+     * It is kept for every host so that getting the capacity of a host does not search anything.
      */
-    List<int[]> hostCapacity;
+    int[] hostCapacityClasses;
+
+    /**
+     * The capacity of each capacity class, the hosts of a class share the same array.
+     */
+    int[][] hostCapacity;
+
+    /**
+     * The capacity of each capacity class by resource,
+     * the first index is the index of the resource in the host state and the second one is the capacity class.
+     */
+    int[][] resourceCapacities;
+
+    /**
+     * The number of capacity classes.
+     */
+    int capacityClassNum;
 
     /**
      * The number of hosts.
@@ -43,8 +59,10 @@ public class HostCapacityManager {
      * Create a new HostCapacityManager.
      */
     public  HostCapacityManager(){
-        sameCapacityHostStartIds = new ArrayList<>();
-        hostCapacity = new ArrayList<>();
+        hostCapacityClasses = new int[INITIAL_CAPACITY];
+        hostCapacity = new int[INITIAL_CAPACITY][];
+        resourceCapacities = new int[HostState.STATE_NUM][INITIAL_CAPACITY];
+        capacityClassNum = 0;
         hostNum = 0;
         hostCapacitySum = new long[HostState.STATE_NUM];
     }
@@ -57,29 +75,77 @@ public class HostCapacityManager {
      * @param resourceCapacity the capacity of the hosts to be added
      */
     public void orderlyAddSameCapacityHost(int length, int[] resourceCapacity) {
-        sameCapacityHostStartIds.add(hostNum);
+        if (capacityClassNum == hostCapacity.length) {
+            hostCapacity = Arrays.copyOf(hostCapacity, capacityClassNum * 2);
+            for (int i = 0; i < HostState.STATE_NUM; i++) {
+                resourceCapacities[i] = Arrays.copyOf(resourceCapacities[i], capacityClassNum * 2);
+            }
+        }
+        int capacityClass = capacityClassNum++;
+        hostCapacity[capacityClass] = resourceCapacity;
+        for (int i = 0; i < HostState.STATE_NUM; i++) {
+            resourceCapacities[i][capacityClass] = resourceCapacity[i];
+        }
+
+        if (hostNum + length > hostCapacityClasses.length) {
+            hostCapacityClasses = Arrays.copyOf(hostCapacityClasses, Math.max(hostNum + length, hostCapacityClasses.length * 2));
+        }
+        Arrays.fill(hostCapacityClasses, hostNum, hostNum + length, capacityClass);
         hostNum += length;
-        hostCapacity.add(resourceCapacity);
         for(int i=0;i<HostState.STATE_NUM;i++) {
             hostCapacitySum[i] += (long) resourceCapacity[i] * length;
         }
     }
 
     /**
-     * Get the capacity of the host with the given host id through binary search.
+     * Get the capacity of the host with the given host id.
+     * The returned array is shared by all the hosts with the same capacity, so it must not be modified.
      * @param hostId the id of the host
      * @return the capacity of the host, including the CPU, memory, storage and bandwidth capacity
      */
     public int[] getHostCapacity(int hostId) {
+        return hostCapacity[getCapacityClass(hostId)];
+    }
+
+    /**
+     * Get the capacity of a resource of the host with the given host id, without getting the array of its capacity.
+     * @param hostId the id of the host
+     * @param resourceIndex the index of the resource in the host state, from 0 to {@link HostState#STATE_NUM} - 1
+     * @return the capacity of the resource of the host
+     */
+    public int getHostCapacity(int hostId, int resourceIndex) {
+        return resourceCapacities[resourceIndex][getCapacityClass(hostId)];
+    }
+
+    /**
+     * Get the capacity class of the host with the given host id.
+     * The hosts added by the same {@link #orderlyAddSameCapacityHost} call have the same capacity class.
+     * @param hostId the id of the host
+     * @return the capacity class of the host, from 0 to {@link #getCapacityClassNum()} - 1
+     */
+    public int getCapacityClass(int hostId) {
         if(hostId<0|| hostId>=hostNum) {
             throw new IllegalArgumentException("hostId "+hostId+"is out of range [0,"+hostNum+"] in getHostCapacity");
         }
-        int index = Arrays.binarySearch(sameCapacityHostStartIds.toArray(), hostId);
-        if(index>=0) {
-            return hostCapacity.get(index);
-        } else {
-            return hostCapacity.get(-index-2);
-        }
+        return hostCapacityClasses[hostId];
+    }
+
+    /**
+     * Get the capacity of a resource of the hosts of a capacity class.
+     * @param capacityClass the capacity class, from 0 to {@link #getCapacityClassNum()} - 1
+     * @param resourceIndex the index of the resource in the host state, from 0 to {@link HostState#STATE_NUM} - 1
+     * @return the capacity of the resource of the hosts of the capacity class
+     */
+    public int getCapacityClassCapacity(int capacityClass, int resourceIndex) {
+        return resourceCapacities[resourceIndex][capacityClass];
+    }
+
+    /**
+     * Get the number of capacity classes.
+     * @return the number of capacity classes
+     */
+    public int getCapacityClassNum() {
+        return capacityClassNum;
     }
 
     /**
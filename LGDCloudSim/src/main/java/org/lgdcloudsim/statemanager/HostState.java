@@ -89,6 +89,17 @@ public class HostState {
         return cpu >= instance.getCpu() && ram >= instance.getRam() && storage >= instance.getStorage() && bw >= instance.getBw();
     }
 
+    /**
+     * Check whether the host with the given state is suitable for the instance, without creating a HostState object.
+     *
+     * @param state    the state of the host. The state includes 4 integers: cpu, ram, storage and bw.
+     * @param instance the instance to be checked
+     * @return true if the host is suitable for the instance, false otherwise
+     * */
+    public static boolean isSuitable(int[] state, Instance instance) {
+        return state[0] >= instance.getCpu() && state[1] >= instance.getRam() && state[2] >= instance.getStorage() && state[3] >= instance.getBw();
+    }
+
 
     /**
      * Allocate the instance on the host.
@@ -0,0 +1,272 @@
+package org.lgdcloudsim.statemanager;
+
+import org.lgdcloudsim.request.Instance;
+
+import java.util.Arrays;
+
+/**
+ * A map from host id to host state without boxing, used by {@link StatesManagerSimple} and {@link SynStateSimple}
+ * for the host states recorded at each partition synchronization and for the selfHostState of each intra-scheduler.
+ * The keys are kept in an open-addressing hash table with linear probing,
+ * and the states of the hosts are kept one after the other in one flat int array,
+ * so adding a host state does not allocate anything once the map has grown to its working size.
+ * A host state is accessed through the index of its entry, which is returned by {@link #indexOf(int)} and {@link #put(int, int[], int)}.
+ * The entries can not be removed one by one, but the map can be {@link #clear() cleared} in O(size) time to be reused.
+ *
+ * @author Anonymous
+ * @since LGDCloudSim 1.0
+ */
+public class HostStateMap {
+    /**
+     * The value of an empty slot of the hash table.
+     */
+    private static final int EMPTY = -1;
+
+    /**
+     * The initial number of entries the map can hold without growing.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The hash table, which maps a slot to the index of an entry, or {@link #EMPTY}.
+     */
+    private int[] table;
+
+    /**
+     * The host id of each entry.
+     */
+    private int[] hostIds;
+
+    /**
+     * The slot of each entry in the hash table, used to clear the table in O(size) time.
+     */
+    private int[] slots;
+
+    /**
+     * The states of the entries, {@link HostState#STATE_NUM} ints per entry.
+     */
+    private int[] states;
+
+    /**
+     * The number of entries.
+     */
+    private int size;
+
+    /**
+     * Create an empty map.
+     */
+    public HostStateMap() {
+        table = new int[INITIAL_CAPACITY * 2];
+        Arrays.fill(table, EMPTY);
+        hostIds = new int[INITIAL_CAPACITY];
+        slots = new int[INITIAL_CAPACITY];
+        states = new int[INITIAL_CAPACITY * HostState.STATE_NUM];
+    }
+
+    /**
+     * Get the number of host states in the map.
+     *
+     * @return the number of host states.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Whether the map is empty.
+     *
+     * @return true if there is no host state in the map.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Whether the map contains the state of a host.
+     *
+     * @param hostId the id of the host.
+     * @return true if the map contains the state of the host.
+     */
+    public boolean containsKey(int hostId) {
+        return indexOf(hostId) != EMPTY;
+    }
+
+    /**
+     * Get the index of the entry of a host.
+     *
+     * @param hostId the id of the host.
+     * @return the index of the entry, or -1 if the map does not contain the state of the host.
+     */
+    public int indexOf(int hostId) {
+        int mask = table.length - 1;
+        for (int slot = hash(hostId) & mask; ; slot = (slot + 1) & mask) {
+            int index = table[slot];
+            if (index == EMPTY || hostIds[index] == hostId) {
+                return index;
+            }
+        }
+    }
+
+    /**
+     * Put the state of a host if the map does not contain it yet.
+     *
+     * @param hostId the id of the host.
+     * @param state  the array containing the state of the host.
+     * @param offset the offset of the state of the host in the array.
+     * @return the index of the entry of the host.
+     */
+    public int putIfAbsent(int hostId, int[] state, int offset) {
+        int index = indexOf(hostId);
+        if (index != EMPTY) {
+            return index;
+        }
+        return put(hostId, state, offset);
+    }
+
+    /**
+     * Put the state of a host, replacing its previous state if there is one.
+     *
+     * @param hostId the id of the host.
+     * @param state  the array containing the state of the host.
+     * @param offset the offset of the state of the host in the array.
+     * @return the index of the entry of the host.
+     */
+    public int put(int hostId, int[] state, int offset) {
+        int mask = table.length - 1;
+        int slot = hash(hostId) & mask;
+        while (table[slot] != EMPTY) {
+            int index = table[slot];
+            if (hostIds[index] == hostId) {
+                System.arraycopy(state, offset, states, index * HostState.STATE_NUM, HostState.STATE_NUM);
+                return index;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        if (size == hostIds.length) {
+            grow();
+            return put(hostId, state, offset);
+        }
+        int index = size++;
+        table[slot] = index;
+        hostIds[index] = hostId;
+        slots[index] = slot;
+        System.arraycopy(state, offset, states, index * HostState.STATE_NUM, HostState.STATE_NUM);
+        return index;
+    }
+
+    /**
+     * Get the host id of an entry.
+     *
+     * @param index the index of the entry, from 0 to {@link #size()} - 1.
+     * @return the id of the host.
+     */
+    public int getHostId(int index) {
+        return hostIds[index];
+    }
+
+    /**
+     * Get a resource of the state of an entry.
+     *
+     * @param index         the index of the entry.
+     * @param resourceIndex the index of the resource in the host state, from 0 to {@link HostState#STATE_NUM} - 1.
+     * @return the amount of the resource.
+     */
+    public int get(int index, int resourceIndex) {
+        return states[index * HostState.STATE_NUM + resourceIndex];
+    }
+
+    /**
+     * Copy the state of an entry to an array.
+     *
+     * @param index  the index of the entry.
+     * @param state  the array to copy the state to.
+     * @param offset the offset in the array.
+     */
+    public void copyState(int index, int[] state, int offset) {
+        System.arraycopy(states, index * HostState.STATE_NUM, state, offset, HostState.STATE_NUM);
+    }
+
+    /**
+     * Get the state of an entry as a new array.
+     *
+     * @param index the index of the entry.
+     * @return the state of the host.
+     */
+    public int[] getState(int index) {
+        return Arrays.copyOfRange(states, index * HostState.STATE_NUM, (index + 1) * HostState.STATE_NUM);
+    }
+
+    /**
+     * Whether the state of an entry has enough resources for an instance.
+     *
+     * @param index    the index of the entry.
+     * @param instance the instance.
+     * @return true if the host has enough resources for the instance.
+     */
+    public boolean isSuitable(int index, Instance instance) {
+        int offset = index * HostState.STATE_NUM;
+        return states[offset] >= instance.getCpu() && states[offset + 1] >= instance.getRam()
+                && states[offset + 2] >= instance.getStorage() && states[offset + 3] >= instance.getBw();
+    }
+
+    /**
+     * Add some resources to the state of an entry.
+     * The resources are subtracted when the amounts are negative.
+     *
+     * @param index   the index of the entry.
+     * @param cpu     the cpu to add.
+     * @param ram     the ram to add.
+     * @param storage the storage to add.
+     * @param bw      the bw to add.
+     */
+    public void add(int index, int cpu, int ram, int storage, int bw) {
+        int offset = index * HostState.STATE_NUM;
+        states[offset] += cpu;
+        states[offset + 1] += ram;
+        states[offset + 2] += storage;
+        states[offset + 3] += bw;
+    }
+
+    /**
+     * Remove all the host states, keeping the arrays to be reused.
+     */
+    public void clear() {
+        for (int index = 0; index < size; index++) {
+            table[slots[index]] = EMPTY;
+        }
+        size = 0;
+    }
+
+    /**
+     * Double the capacity of the map and rehash the entries.
+     */
+    private void grow() {
+        int capacity = hostIds.length * 2;
+        hostIds = Arrays.copyOf(hostIds, capacity);
+        slots = Arrays.copyOf(slots, capacity);
+        states = Arrays.copyOf(states, capacity * HostState.STATE_NUM);
+        table = new int[capacity * 2];
+        Arrays.fill(table, EMPTY);
+        int mask = table.length - 1;
+        for (int index = 0; index < size; index++) {
+            int slot = hash(hostIds[index]) & mask;
+            while (table[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = index;
+            slots[index] = slot;
+        }
+    }
+
+    /**
+     * Spread the bits of a host id, as the consecutive host ids would otherwise fill consecutive slots.
+     *
+     * @param hostId the id of the host.
+     * @return the hash of the host id.
+     */
+    private static int hash(int hostId) {
+        int h = hostId * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,291 @@
+package org.lgdcloudsim.statemanager;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * The rollups of the states of groups of hosts, such as the partitions or the capacity classes of a datacenter.
+ * For each group, it keeps the sums of the available cpu, ram, storage and bw of its hosts,
+ * the number of its powered on hosts, which are the hosts with at least one instance,
+ * and a histogram of the available cpu of its hosts to show how fragmented the available cpu is.
+ * The bucket of a host in the histogram is the number of bits of its available cpu,
+ * so the bucket 0 counts the hosts without available cpu and the bucket b counts the hosts with 2^(b-1) to 2^b - 1 available cpu.
+ * When the groups have a known max available cpu, such as the capacity classes,
+ * the number of hosts with each amount of available cpu is kept too, in a Fenwick tree per group,
+ * so that the number of hosts with less available cpu than any amount is exact, see {@link #getFreeCpuHostNumBelow(int, int)}.
+ * <p>
+ * The rollups are kept in flat arrays indexed by group and updated incrementally by {@link StatesManagerSimple}
+ * each time the state of a host changes, so reading them does not go through the hosts.
+ * </p>
+ *
+ * @author Anonymous
+ * @since LGDCloudSim 1.0
+ */
+public class HostStateRollup {
+    /**
+     * The number of buckets of the histogram of the available cpu of each group.
+     */
+    public static final int FREE_CPU_BUCKET_NUM = Integer.SIZE;
+
+    /**
+     * The group of each host, or -1 if the host is not in any group.
+     */
+    private final int[] hostGroups;
+
+    /**
+     * The number of groups.
+     */
+    private final int groupNum;
+
+    /**
+     * The sums of the available resources of each group,
+     * the first index is the index of the resource in the host state and the second one is the group.
+     */
+    private final long[][] availableSums;
+
+    /**
+     * The number of powered on hosts of each group.
+     */
+    private final int[] poweredOnHostNums;
+
+    /**
+     * The number of instances on each host.
+     */
+    private final int[] instanceNums;
+
+    /**
+     * The histogram of the available cpu of each group, {@link #FREE_CPU_BUCKET_NUM} buckets per group.
+     */
+    private final int[] freeCpuHistograms;
+
+    /**
+     * The Fenwick tree of the number of hosts with each amount of available cpu from 1 to the max available cpu of each group,
+     * indexed by the group and then by the available cpu, or null if the max available cpu of the groups is not known.
+     */
+    private final int[][] freeCpuTrees;
+
+    /**
+     * Create the rollups of hosts without any resource or instance.
+     *
+     * @param hostGroups the group of each host, from 0 to groupNum - 1, or -1 if the host is not in any group.
+     * @param groupNum   the number of groups.
+     */
+    public HostStateRollup(int[] hostGroups, int groupNum) {
+        this(hostGroups, groupNum, null);
+    }
+
+    /**
+     * Create the rollups of hosts without any resource or instance,
+     * which also count the hosts with each amount of available cpu up to the max available cpu of their group.
+     *
+     * @param hostGroups  the group of each host, from 0 to groupNum - 1, or -1 if the host is not in any group.
+     * @param groupNum    the number of groups.
+     * @param maxFreeCpus the max available cpu of the hosts of each group, or null not to count the hosts with each amount of available cpu.
+     */
+    public HostStateRollup(int[] hostGroups, int groupNum, int[] maxFreeCpus) {
+        this.hostGroups = hostGroups;
+        this.groupNum = groupNum;
+        this.availableSums = new long[HostState.STATE_NUM][groupNum];
+        this.poweredOnHostNums = new int[groupNum];
+        this.instanceNums = new int[hostGroups.length];
+        this.freeCpuHistograms = new int[groupNum * FREE_CPU_BUCKET_NUM];
+        for (int group : hostGroups) {
+            if (group != -1) {
+                freeCpuHistograms[group * FREE_CPU_BUCKET_NUM]++;
+            }
+        }
+        if (maxFreeCpus == null) {
+            this.freeCpuTrees = null;
+        } else {
+            this.freeCpuTrees = new int[groupNum][];
+            for (int group = 0; group < groupNum; group++) {
+                freeCpuTrees[group] = new int[Math.max(0, maxFreeCpus[group]) + 1];
+            }
+        }
+    }
+
+    /**
+     * Create the rollups of the partitions of hosts without any resource or instance.
+     *
+     * @param partitionRangesManager the partition ranges manager.
+     * @param hostNum                the number of hosts.
+     * @return the rollups whose groups are the partition ids.
+     */
+    public static HostStateRollup ofPartitions(PartitionRangesManager partitionRangesManager, int hostNum) {
+        int[] hostGroups = new int[hostNum];
+        Arrays.fill(hostGroups, -1);
+        for (int partitionId : partitionRangesManager.getPartitionIds()) {
+            int[] range = partitionRangesManager.getRange(partitionId);
+            Arrays.fill(hostGroups, range[0], range[1] + 1, partitionId);
+        }
+        return new HostStateRollup(hostGroups, partitionRangesManager.getPartitionNum());
+    }
+
+    /**
+     * Create the rollups of the capacity classes of the hosts from their current states,
+     * see {@link HostCapacityManager#getCapacityClass(int)}.
+     *
+     * @param hostCapacityManager    the host capacity manager, which must know the capacity of all the hosts.
+     * @param hostStates             the current states of the hosts.
+     * @param powerOnHostInstanceNum the number of instances on each powered on host.
+     * @return the rollups whose groups are the capacity classes.
+     */
+    public static HostStateRollup ofCapacityClasses(HostCapacityManager hostCapacityManager, HostStateStore hostStates,
+                                                    Map<Integer, Integer> powerOnHostInstanceNum) {
+        int[] hostGroups = new int[hostStates.getHostNum()];
+        for (int hostId = 0; hostId < hostGroups.length; hostId++) {
+            hostGroups[hostId] = hostCapacityManager.getCapacityClass(hostId);
+        }
+        int[] maxFreeCpus = new int[hostCapacityManager.getCapacityClassNum()];
+        for (int capacityClass = 0; capacityClass < maxFreeCpus.length; capacityClass++) {
+            maxFreeCpus[capacityClass] = hostCapacityManager.getCapacityClassCapacity(capacityClass, 0);
+        }
+        HostStateRollup rollup = new HostStateRollup(hostGroups, hostCapacityManager.getCapacityClassNum(), maxFreeCpus);
+        int[] emptyState = new int[HostState.STATE_NUM];
+        int[] state = new int[HostState.STATE_NUM];
+        for (int hostId = 0; hostId < hostGroups.length; hostId++) {
+            hostStates.copyState(hostId, state, 0);
+            rollup.updateHostState(hostId, emptyState, state);
+        }
+        for (Map.Entry<Integer, Integer> entry : powerOnHostInstanceNum.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                rollup.addInstance(entry.getKey());
+            }
+        }
+        return rollup;
+    }
+
+    /**
+     * Update the rollups after the state of a host changed.
+     *
+     * @param hostId      the id of the host.
+     * @param beforeState the state of the host before the change.
+     * @param afterState  the state of the host after the change.
+     */
+    public void updateHostState(int hostId, int[] beforeState, int[] afterState) {
+        int group = hostGroups[hostId];
+        if (group == -1) {
+            return;
+        }
+        for (int i = 0; i < HostState.STATE_NUM; i++) {
+            availableSums[i][group] += afterState[i] - beforeState[i];
+        }
+        freeCpuHistograms[group * FREE_CPU_BUCKET_NUM + getFreeCpuBucket(beforeState[0])]--;
+        freeCpuHistograms[group * FREE_CPU_BUCKET_NUM + getFreeCpuBucket(afterState[0])]++;
+        if (freeCpuTrees != null && beforeState[0] != afterState[0]) {
+            addFreeCpuHost(freeCpuTrees[group], beforeState[0], -1);
+            addFreeCpuHost(freeCpuTrees[group], afterState[0], 1);
+        }
+    }
+
+    /**
+     * Add to the number of hosts with an amount of available cpu in the Fenwick tree of a group.
+     * The hosts without available cpu are not counted, and the hosts with more than the max available cpu are counted with the max.
+     *
+     * @param freeCpuTree the Fenwick tree of the group.
+     * @param freeCpu     the available cpu.
+     * @param delta       the number of hosts to add.
+     */
+    private static void addFreeCpuHost(int[] freeCpuTree, int freeCpu, int delta) {
+        for (int index = Math.min(freeCpu, freeCpuTree.length - 1); index > 0 && index < freeCpuTree.length; index += index & -index) {
+            freeCpuTree[index] += delta;
+        }
+    }
+
+    /**
+     * Update the rollups after an instance is allocated to a host.
+     *
+     * @param hostId the id of the host.
+     */
+    public void addInstance(int hostId) {
+        if (instanceNums[hostId]++ == 0 && hostGroups[hostId] != -1) {
+            poweredOnHostNums[hostGroups[hostId]]++;
+        }
+    }
+
+    /**
+     * Update the rollups after an instance is released from a host.
+     *
+     * @param hostId the id of the host.
+     */
+    public void removeInstance(int hostId) {
+        if (instanceNums[hostId] == 0) {
+            return;
+        }
+        if (--instanceNums[hostId] == 0 && hostGroups[hostId] != -1) {
+            poweredOnHostNums[hostGroups[hostId]]--;
+        }
+    }
+
+    /**
+     * Get the number of groups.
+     *
+     * @return the number of groups.
+     */
+    public int getGroupNum() {
+        return groupNum;
+    }
+
+    /**
+     * Get the sum of an available resource of the hosts of a group.
+     *
+     * @param group         the group.
+     * @param resourceIndex the index of the resource in the host state, from 0 to {@link HostState#STATE_NUM} - 1.
+     * @return the sum of the available resource.
+     */
+    public long getAvailableSum(int group, int resourceIndex) {
+        return availableSums[resourceIndex][group];
+    }
+
+    /**
+     * Get the number of powered on hosts of a group.
+     *
+     * @param group the group.
+     * @return the number of hosts with at least one instance.
+     */
+    public int getPoweredOnHostNum(int group) {
+        return poweredOnHostNums[group];
+    }
+
+    /**
+     * Get the number of hosts of a group in a bucket of the histogram of the available cpu.
+     *
+     * @param group  the group.
+     * @param bucket the bucket, see {@link #getFreeCpuBucket(int)}.
+     * @return the number of hosts.
+     */
+    public int getFreeCpuHostNum(int group, int bucket) {
+        return freeCpuHistograms[group * FREE_CPU_BUCKET_NUM + bucket];
+    }
+
+    /**
+     * Get the number of hosts of a group with some available cpu but less than an amount.
+     * It is only kept when the rollups are created with the max available cpu of each group, as {@link #ofCapacityClasses} does.
+     *
+     * @param group the group.
+     * @param cpu   the amount of cpu.
+     * @return the number of hosts with 1 to cpu - 1 available cpu.
+     * @throws IllegalStateException if the rollups do not count the hosts with each amount of available cpu.
+     */
+    public int getFreeCpuHostNumBelow(int group, int cpu) {
+        if (freeCpuTrees == null) {
+            throw new IllegalStateException("The rollups do not count the hosts with each amount of available cpu");
+        }
+        int[] freeCpuTree = freeCpuTrees[group];
+        int hostNum = 0;
+        for (int index = Math.min(cpu - 1, freeCpuTree.length - 1); index > 0; index -= index & -index) {
+            hostNum += freeCpuTree[index];
+        }
+        return hostNum;
+    }
+
+    /**
+     * Get the bucket of the histogram of the available cpu for an amount of available cpu.
+     *
+     * @param freeCpu the available cpu of a host.
+     * @return 0 if there is no available cpu, otherwise the number of bits of the available cpu.
+     */
+    public static int getFreeCpuBucket(int freeCpu) {
+        return freeCpu <= 0 ? 0 : Integer.SIZE - Integer.numberOfLeadingZeros(freeCpu);
+    }
+}
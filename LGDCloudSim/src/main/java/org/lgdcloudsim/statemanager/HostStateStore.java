@@ -0,0 +1,115 @@
+package org.lgdcloudsim.statemanager;
+
+import org.lgdcloudsim.request.Instance;
+
+import java.nio.IntBuffer;
+
+/**
+ * The store of the actual states of all hosts in a datacenter,
+ * which {@link StatesManagerSimple}, {@link SynStateSimple} and {@link DetailedDcStateSimple} read and write.
+ * The state of each host is {@link HostState#STATE_NUM} ints: cpu, ram, storage and bw.
+ * There are two implementations:
+ * <ul>
+ *     <li>{@link HostStateStoreHeap}: the states are kept in an int array on the heap. It is the default one.</li>
+ *     <li>{@link HostStateStoreOffHeap}: the states are kept in a direct buffer outside the heap,
+ *     so the datacenters with millions of hosts do not need a large heap and are not scanned by the garbage collector.</li>
+ *     <li>{@link HostStateStoreCopyOnWrite}: the states are kept in pages on the heap which are shared by the {@link #copy() copies}
+ *     until they are changed, so a copy takes O(1) time.</li>
+ * </ul>
+ *
+ * @author Anonymous
+ * @since LGDCloudSim 1.0
+ */
+public interface HostStateStore {
+    /**
+     * Get the number of hosts in the store.
+     *
+     * @return the number of hosts.
+     */
+    int getHostNum();
+
+    /**
+     * Get a resource of the state of a host.
+     *
+     * @param hostId        the id of the host.
+     * @param resourceIndex the index of the resource in the host state, from 0 to {@link HostState#STATE_NUM} - 1.
+     * @return the amount of the resource.
+     */
+    int get(int hostId, int resourceIndex);
+
+    /**
+     * Add some resources to the state of a host.
+     * The resources are subtracted when the amounts are negative.
+     *
+     * @param hostId  the id of the host.
+     * @param cpu     the cpu to add.
+     * @param ram     the ram to add.
+     * @param storage the storage to add.
+     * @param bw      the bw to add.
+     * @return the store itself.
+     */
+    HostStateStore add(int hostId, int cpu, int ram, int storage, int bw);
+
+    /**
+     * Copy the state of a host to an array.
+     *
+     * @param hostId the id of the host.
+     * @param state  the array to copy the state to.
+     * @param offset the offset in the array.
+     */
+    void copyState(int hostId, int[] state, int offset);
+
+    /**
+     * Set the state of a host from an array.
+     *
+     * @param hostId the id of the host.
+     * @param state  the array containing the state.
+     * @param offset the offset of the state in the array.
+     * @return the store itself.
+     */
+    HostStateStore setState(int hostId, int[] state, int offset);
+
+    /**
+     * Copy the states of all hosts to a buffer, in host id order.
+     *
+     * @param buffer the buffer with {@link #getHostNum()} * {@link HostState#STATE_NUM} ints remaining.
+     */
+    void copyTo(IntBuffer buffer);
+
+    /**
+     * Create an independent copy of the store, of the same kind.
+     *
+     * @return the copy of the store.
+     */
+    HostStateStore copy();
+
+    /**
+     * Give back a {@link #copy() copy} which is no longer read,
+     * so that the next copies of the same store can reuse its memory.
+     * The copy must not be used after it is released.
+     */
+    default void release() {
+    }
+
+    /**
+     * Get the state of a host as a new {@link HostState}.
+     *
+     * @param hostId the id of the host.
+     * @return the state of the host.
+     */
+    default HostState getHostState(int hostId) {
+        return new HostState(get(hostId, 0), get(hostId, 1), get(hostId, 2), get(hostId, 3));
+    }
+
+    /**
+     * Whether the host has enough resources for the instance.
+     *
+     * @param hostId   the id of the host.
+     * @param instance the instance.
+     * @return true if the host has enough cpu, ram, storage and bw for the instance.
+     */
+    default boolean isSuitable(int hostId, Instance instance) {
+        return get(hostId, 0) >= instance.getCpu() && get(hostId, 1) >= instance.getRam()
+                && get(hostId, 2) >= instance.getStorage() && get(hostId, 3) >= instance.getBw();
+    }
+}
@@ -0,0 +1,166 @@
+package org.lgdcloudsim.statemanager;
+
+import java.nio.IntBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link HostStateStore} whose {@link #copy() copies} share the host states until they are changed.
+ * The states are kept in pages of {@link #PAGE_HOST_NUM} hosts,
+ * and each store stamps the pages it has copied with its own version.
+ * A copy takes O(1) time: the copy and the original store share the table of pages and both get a new version,
+ * so the first change of each of them copies the table of pages,
+ * and the first change of a host in a page copies only this page.
+ * <p>
+ * It is used to give each {@link org.lgdcloudsim.interscheduler.InterScheduler} its own consistent view of the host states
+ * through {@link StatesManager#getStateByType(String) getStateByType("detailed")}
+ * without copying the states of all hosts at each synchronization.
+ * </p>
+ *
+ * @author Anonymous
+ * @since LGDCloudSim 1.0
+ */
+public class HostStateStoreCopyOnWrite implements HostStateStore {
+    /**
+     * The number of hosts in a page.
+     */
+    public static final int PAGE_HOST_NUM = 1024;
+
+    /**
+     * The shift to get the page of a host id.
+     */
+    private static final int PAGE_SHIFT = Integer.numberOfTrailingZeros(PAGE_HOST_NUM);
+
+    /**
+     * The generator of the versions of the stores, so that every store has a different version.
+     */
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    /**
+     * The number of hosts.
+     */
+    private final int hostNum;
+
+    /**
+     * The pages of host states, {@link HostState#STATE_NUM} ints per host.
+     */
+    private int[][] pages;
+
+    /**
+     * The version of the store which created each page.
+     * The store can only change the pages stamped with its own version.
+     */
+    private long[] pageVersions;
+
+    /**
+     * Whether {@link #pages} and {@link #pageVersions} are shared with another store.
+     */
+    private boolean tableShared;
+
+    /**
+     * The version of the store.
+     */
+    private long version;
+
+    /**
+     * Create a store of hosts without any resource.
+     *
+     * @param hostNum the number of hosts.
+     */
+    public HostStateStoreCopyOnWrite(int hostNum) {
+        this.hostNum = hostNum;
+        this.version = VERSIONS.incrementAndGet();
+        int pageNum = (hostNum + PAGE_HOST_NUM - 1) / PAGE_HOST_NUM;
+        this.pages = new int[pageNum][];
+        this.pageVersions = new long[pageNum];
+        for (int page = 0; page < pageNum; page++) {
+            int pageHostNum = Math.min(PAGE_HOST_NUM, hostNum - page * PAGE_HOST_NUM);
+            pages[page] = new int[pageHostNum * HostState.STATE_NUM];
+            pageVersions[page] = version;
+        }
+    }
+
+    /**
+     * Create a copy sharing the pages of another store.
+     *
+     * @param store the store to copy.
+     */
+    private HostStateStoreCopyOnWrite(HostStateStoreCopyOnWrite store) {
+        this.hostNum = store.hostNum;
+        this.pages = store.pages;
+        this.pageVersions = store.pageVersions;
+        this.tableShared = true;
+        this.version = VERSIONS.incrementAndGet();
+    }
+
+    @Override
+    public int getHostNum() {
+        return hostNum;
+    }
+
+    @Override
+    public int get(int hostId, int resourceIndex) {
+        return pages[hostId >>> PAGE_SHIFT][(hostId & (PAGE_HOST_NUM - 1)) * HostState.STATE_NUM + resourceIndex];
+    }
+
+    @Override
+    public HostStateStore add(int hostId, int cpu, int ram, int storage, int bw) {
+        int[] page = getWritablePage(hostId >>> PAGE_SHIFT);
+        int offset = (hostId & (PAGE_HOST_NUM - 1)) * HostState.STATE_NUM;
+        page[offset] += cpu;
+        page[offset + 1] += ram;
+        page[offset + 2] += storage;
+        page[offset + 3] += bw;
+        return this;
+    }
+
+    @Override
+    public void copyState(int hostId, int[] state, int offset) {
+        System.arraycopy(pages[hostId >>> PAGE_SHIFT], (hostId & (PAGE_HOST_NUM - 1)) * HostState.STATE_NUM, state, offset, HostState.STATE_NUM);
+    }
+
+    @Override
+    public HostStateStore setState(int hostId, int[] state, int offset) {
+        System.arraycopy(state, offset, getWritablePage(hostId >>> PAGE_SHIFT), (hostId & (PAGE_HOST_NUM - 1)) * HostState.STATE_NUM, HostState.STATE_NUM);
+        return this;
+    }
+
+    @Override
+    public void copyTo(IntBuffer buffer) {
+        for (int[] page : pages) {
+            buffer.put(page);
+        }
+    }
+
+    /**
+     * Create a copy of the store in O(1) time.
+     * The original store and the copy share their pages until they change them.
+     *
+     * @return the copy of the store.
+     */
+    @Override
+    public HostStateStore copy() {
+        HostStateStoreCopyOnWrite copy = new HostStateStoreCopyOnWrite(this);
+        this.tableShared = true;
+        this.version = VERSIONS.incrementAndGet();
+        return copy;
+    }
+
+    /**
+     * Get a page which the store can change, copying it if it is shared with another store.
+     *
+     * @param page the index of the page.
+     * @return the page.
+     */
+    private int[] getWritablePage(int page) {
+        if (tableShared) {
+            pages = pages.clone();
+            pageVersions = pageVersions.clone();
+            tableShared = false;
+        }
+        if (pageVersions[page] != version) {
+            pages[page] = pages[page].clone();
+            pageVersions[page] = version;
+        }
+        return pages[page];
+    }
+}
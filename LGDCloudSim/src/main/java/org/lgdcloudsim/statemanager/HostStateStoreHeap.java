@@ -0,0 +1,75 @@
+package org.lgdcloudsim.statemanager;
+
+import java.nio.IntBuffer;
+
+/**
+ * A {@link HostStateStore} which keeps the states of the hosts in one int array on the heap.
+ *
+ * @author Anonymous
+ * @since LGDCloudSim 1.0
+ */
+public class HostStateStoreHeap implements HostStateStore {
+    /**
+     * The states of the hosts, {@link HostState#STATE_NUM} ints per host.
+     */
+    private final int[] hostStates;
+
+    /**
+     * Create a store of hosts without any resource.
+     *
+     * @param hostNum the number of hosts.
+     */
+    public HostStateStoreHeap(int hostNum) {
+        this.hostStates = new int[hostNum * HostState.STATE_NUM];
+    }
+
+    /**
+     * Create a store of the given host states.
+     *
+     * @param hostStates the states of the hosts, which are not copied.
+     */
+    private HostStateStoreHeap(int[] hostStates) {
+        this.hostStates = hostStates;
+    }
+
+    @Override
+    public int getHostNum() {
+        return hostStates.length / HostState.STATE_NUM;
+    }
+
+    @Override
+    public int get(int hostId, int resourceIndex) {
+        return hostStates[hostId * HostState.STATE_NUM + resourceIndex];
+    }
+
+    @Override
+    public HostStateStore add(int hostId, int cpu, int ram, int storage, int bw) {
+        int offset = hostId * HostState.STATE_NUM;
+        hostStates[offset] += cpu;
+        hostStates[offset + 1] += ram;
+        hostStates[offset + 2] += storage;
+        hostStates[offset + 3] += bw;
+        return this;
+    }
+
+    @Override
+    public void copyState(int hostId, int[] state, int offset) {
+        System.arraycopy(hostStates, hostId * HostState.STATE_NUM, state, offset, HostState.STATE_NUM);
+    }
+
+    @Override
+    public HostStateStore setState(int hostId, int[] state, int offset) {
+        System.arraycopy(state, offset, hostStates, hostId * HostState.STATE_NUM, HostState.STATE_NUM);
+        return this;
+    }
+
+    @Override
+    public void copyTo(IntBuffer buffer) {
+        buffer.put(hostStates);
+    }
+
+    @Override
+    public HostStateStore copy() {
+        return new HostStateStoreHeap(hostStates.clone());
+    }
+}
@@ -0,0 +1,111 @@
+package org.lgdcloudsim.statemanager;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A {@link HostStateStore} which keeps the states of the hosts in a direct buffer outside the heap.
+ * A datacenter with 1M hosts then only keeps 16 MB outside the heap for its host states,
+ * and the garbage collector does not scan or copy them.
+ * The size of the direct memory is limited by the -XX:MaxDirectMemorySize option of the JVM.
+ * The buffer is freed when the store is garbage collected.
+ * The {@link #copy() copies} of a store reuse the buffers of its {@link #release() released} copies,
+ * so the snapshots taken at each synchronization do not allocate a new direct buffer each time.
+ *
+ * @author Anonymous
+ * @since LGDCloudSim 1.0
+ */
+public class HostStateStoreOffHeap implements HostStateStore {
+    /**
+     * The states of the hosts, {@link HostState#STATE_NUM} ints per host, in the native byte order.
+     */
+    private IntBuffer hostStates;
+
+    /**
+     * The buffers of the released copies, shared by the store and all its copies.
+     * The copies may be taken and released by the inter-schedulers of several data centers in parallel.
+     */
+    private final Queue<IntBuffer> freeBuffers;
+
+    /**
+     * Create a store of hosts without any resource.
+     *
+     * @param hostNum the number of hosts.
+     */
+    public HostStateStoreOffHeap(int hostNum) {
+        this(allocateHostStates(hostNum), new ConcurrentLinkedQueue<>());
+    }
+
+    private HostStateStoreOffHeap(IntBuffer hostStates, Queue<IntBuffer> freeBuffers) {
+        this.hostStates = hostStates;
+        this.freeBuffers = freeBuffers;
+    }
+
+    /**
+     * Allocate the direct buffer of the states of some hosts without any resource.
+     *
+     * @param hostNum the number of hosts.
+     * @return the buffer in the native byte order.
+     */
+    private static IntBuffer allocateHostStates(int hostNum) {
+        if ((long) hostNum * HostState.STATE_NUM * Integer.BYTES > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The states of " + hostNum + " hosts do not fit in a direct buffer.");
+        }
+        return ByteBuffer.allocateDirect(hostNum * HostState.STATE_NUM * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+
+    @Override
+    public int getHostNum() {
+        return hostStates.capacity() / HostState.STATE_NUM;
+    }
+
+    @Override
+    public int get(int hostId, int resourceIndex) {
+        return hostStates.get(hostId * HostState.STATE_NUM + resourceIndex);
+    }
+
+    @Override
+    public HostStateStore add(int hostId, int cpu, int ram, int storage, int bw) {
+        int offset = hostId * HostState.STATE_NUM;
+        hostStates.put(offset, hostStates.get(offset) + cpu);
+        hostStates.put(offset + 1, hostStates.get(offset + 1) + ram);
+        hostStates.put(offset + 2, hostStates.get(offset + 2) + storage);
+        hostStates.put(offset + 3, hostStates.get(offset + 3) + bw);
+        return this;
+    }
+
+    @Override
+    public void copyState(int hostId, int[] state, int offset) {
+        hostStates.get(hostId * HostState.STATE_NUM, state, offset, HostState.STATE_NUM);
+    }
+
+    @Override
+    public HostStateStore setState(int hostId, int[] state, int offset) {
+        hostStates.put(hostId * HostState.STATE_NUM, state, offset, HostState.STATE_NUM);
+        return this;
+    }
+
+    @Override
+    public void copyTo(IntBuffer buffer) {
+        buffer.put(hostStates.duplicate().clear());
+    }
+
+    @Override
+    public HostStateStore copy() {
+        IntBuffer buffer = freeBuffers.poll();
+        if (buffer == null) {
+            buffer = allocateHostStates(getHostNum());
+        }
+        buffer.put(0, hostStates, 0, hostStates.capacity());
+        return new HostStateStoreOffHeap(buffer, freeBuffers);
+    }
+
+    @Override
+    public void release() {
+        freeBuffers.offer(hostStates);
+        hostStates = null;
+    }
+}
@@ -0,0 +1,210 @@
+package org.lgdcloudsim.statemanager;
+
+import java.util.Arrays;
+
+/**
+ * A map from host id to the sums of some states of the host without boxing,
+ * used by {@link PartitionSynStateRing} to keep the sums of the states recorded for each host
+ * in the synchronizations used by the prediction, see {@link PredictionManager#predictHostState(long[], int, int[])}.
+ * Like {@link HostStateMap}, the keys are kept in an open-addressing hash table with linear probing,
+ * and the sums and the number of summed states of the hosts are kept in flat arrays.
+ * A state can be added to and subtracted from the sums of a host,
+ * and the hosts whose number of summed states drops to 0 are dropped when the map would otherwise grow.
+ *
+ * @author Anonymous
+ * @since LGDCloudSim 1.0
+ */
+public class HostStateSumMap {
+    /**
+     * The value of an empty slot of the hash table.
+     */
+    private static final int EMPTY = -1;
+
+    /**
+     * The initial number of entries the map can hold without growing.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The hash table, which maps a slot to the index of an entry, or {@link #EMPTY}.
+     */
+    private int[] table;
+
+    /**
+     * The host id of each entry.
+     */
+    private int[] hostIds;
+
+    /**
+     * The number of summed states of each entry.
+     */
+    private int[] counts;
+
+    /**
+     * The sums of the states of the entries, {@link HostState#STATE_NUM} longs per entry.
+     */
+    private long[] sums;
+
+    /**
+     * The number of entries, including the ones without any summed state.
+     */
+    private int size;
+
+    /**
+     * Create an empty map.
+     */
+    public HostStateSumMap() {
+        table = new int[INITIAL_CAPACITY * 2];
+        Arrays.fill(table, EMPTY);
+        hostIds = new int[INITIAL_CAPACITY];
+        counts = new int[INITIAL_CAPACITY];
+        sums = new long[INITIAL_CAPACITY * HostState.STATE_NUM];
+    }
+
+    /**
+     * Get the index of the entry of a host.
+     *
+     * @param hostId the id of the host.
+     * @return the index of the entry, or -1 if the map does not contain the host.
+     * The entry may have no summed state, see {@link #getCount(int)}.
+     */
+    public int indexOf(int hostId) {
+        int mask = table.length - 1;
+        for (int slot = hash(hostId) & mask; ; slot = (slot + 1) & mask) {
+            int index = table[slot];
+            if (index == EMPTY || hostIds[index] == hostId) {
+                return index;
+            }
+        }
+    }
+
+    /**
+     * Add a state of a host to its sums.
+     *
+     * @param hostId the id of the host.
+     * @param state  the array containing the state of the host.
+     * @param offset the offset of the state of the host in the array.
+     */
+    public void add(int hostId, int[] state, int offset) {
+        int index = indexOf(hostId);
+        if (index == EMPTY) {
+            index = insert(hostId);
+        }
+        counts[index]++;
+        for (int i = 0; i < HostState.STATE_NUM; i++) {
+            sums[index * HostState.STATE_NUM + i] += state[offset + i];
+        }
+    }
+
+    /**
+     * Subtract a state of a host which was added before from its sums.
+     *
+     * @param hostId the id of the host.
+     * @param state  the array containing the state of the host.
+     * @param offset the offset of the state of the host in the array.
+     */
+    public void subtract(int hostId, int[] state, int offset) {
+        int index = indexOf(hostId);
+        if (index == EMPTY || counts[index] == 0) {
+            throw new IllegalStateException("The state of the host " + hostId + " was not added to the sums.");
+        }
+        counts[index]--;
+        for (int i = 0; i < HostState.STATE_NUM; i++) {
+            sums[index * HostState.STATE_NUM + i] -= state[offset + i];
+        }
+    }
+
+    /**
+     * Get the number of summed states of an entry.
+     *
+     * @param index the index of the entry.
+     * @return the number of summed states.
+     */
+    public int getCount(int index) {
+        return counts[index];
+    }
+
+    /**
+     * Copy the sums of an entry to an array.
+     *
+     * @param index  the index of the entry.
+     * @param stateSums the array to copy the sums to.
+     */
+    public void copySums(int index, long[] stateSums) {
+        System.arraycopy(sums, index * HostState.STATE_NUM, stateSums, 0, HostState.STATE_NUM);
+    }
+
+    /**
+     * Remove all the sums, keeping the arrays to be reused.
+     */
+    public void clear() {
+        Arrays.fill(table, EMPTY);
+        size = 0;
+    }
+
+    /**
+     * Insert an entry without any summed state for a host which is not in the map.
+     *
+     * @param hostId the id of the host.
+     * @return the index of the entry.
+     */
+    private int insert(int hostId) {
+        if (size == hostIds.length) {
+            grow();
+        }
+        int mask = table.length - 1;
+        int slot = hash(hostId) & mask;
+        while (table[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        int index = size++;
+        table[slot] = index;
+        hostIds[index] = hostId;
+        counts[index] = 0;
+        Arrays.fill(sums, index * HostState.STATE_NUM, (index + 1) * HostState.STATE_NUM, 0);
+        return index;
+    }
+
+    /**
+     * Drop the entries without any summed state, and double the capacity of the map if at least half of the entries are left.
+     */
+    private void grow() {
+        int newSize = 0;
+        for (int index = 0; index < size; index++) {
+            if (counts[index] != 0) {
+                hostIds[newSize] = hostIds[index];
+                counts[newSize] = counts[index];
+                System.arraycopy(sums, index * HostState.STATE_NUM, sums, newSize * HostState.STATE_NUM, HostState.STATE_NUM);
+                newSize++;
+            }
+        }
+        size = newSize;
+        if (size * 2 >= hostIds.length) {
+            int capacity = hostIds.length * 2;
+            hostIds = Arrays.copyOf(hostIds, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+            sums = Arrays.copyOf(sums, capacity * HostState.STATE_NUM);
+            table = new int[capacity * 2];
+        }
+        Arrays.fill(table, EMPTY);
+        int mask = table.length - 1;
+        for (int index = 0; index < size; index++) {
+            int slot = hash(hostIds[index]) & mask;
+            while (table[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = index;
+        }
+    }
+
+    /**
+     * Spread the bits of a host id, as the consecutive host ids would otherwise fill consecutive slots.
+     *
+     * @param hostId the id of the host.
+     * @return the hash of the host id.
+     */
+    private static int hash(int hostId) {
+        int h = hostId * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,232 @@
+package org.lgdcloudsim.statemanager;
+
+import java.util.Arrays;
+
+/**
+ * The host states recorded at the recent partition synchronizations of a partition,
+ * used by {@link StatesManagerSimple} instead of a map from synchronization time to host states.
+ * Each partition synchronization is identified by its partition synchronization count,
+ * see {@link SynGapManager#getPartitionSynCount()},
+ * and its host states are kept in a {@link HostStateMap} in a ring buffer indexed by the count modulo the number of kept synchronizations.
+ * The {@link HostStateMap} of a synchronization which is no longer kept is cleared and reused for the next synchronization.
+ * <p>
+ * When the prediction is enabled, the ring can also keep the sums of the states recorded for each host
+ * in the kept synchronizations whose counts are equal modulo a number of residues, see {@link #enableWindowSums(int)}.
+ * The sums are updated when a state is recorded and when a synchronization is no longer kept,
+ * so that the predicted state of a host does not need to go through all the kept synchronizations.
+ * </p>
+ *
+ * @author Anonymous
+ * @since LGDCloudSim 1.0
+ */
+public class PartitionSynStateRing {
+    /**
+     * The host states of the kept synchronizations.
+     */
+    private HostStateMap[] synStates;
+
+    /**
+     * The partition synchronization count of each element of {@link #synStates}, or -1 if it is not used.
+     */
+    private int[] synCounts;
+
+    /**
+     * The partition synchronization count of the latest synchronization.
+     */
+    private int latestSynCount;
+
+    /**
+     * The sums of the states recorded in the kept synchronizations, indexed by synchronization count modulo {@link #residueNum},
+     * or null if they are not kept.
+     */
+    private HostStateSumMap[] windowSums;
+
+    /**
+     * The number of residues of {@link #windowSums}.
+     */
+    private int residueNum;
+
+    /**
+     * The array to copy a state added to or subtracted from {@link #windowSums} into.
+     */
+    private final int[] windowState = new int[HostState.STATE_NUM];
+
+    /**
+     * Create a ring which only keeps the host states of the synchronization 0.
+     */
+    public PartitionSynStateRing() {
+        synStates = new HostStateMap[]{new HostStateMap()};
+        synCounts = new int[]{0};
+        latestSynCount = 0;
+    }
+
+    /**
+     * Get the host states recorded at a partition synchronization.
+     *
+     * @param synCount the partition synchronization count.
+     * @return the host states, or null if the synchronization is not kept.
+     */
+    public HostStateMap get(int synCount) {
+        if (synCount < 0) {
+            return null;
+        }
+        int slot = synCount % synCounts.length;
+        return synCounts[slot] == synCount ? synStates[slot] : null;
+    }
+
+    /**
+     * Get the host states recorded at the latest partition synchronization.
+     *
+     * @return the host states.
+     */
+    public HostStateMap getLatest() {
+        return get(latestSynCount);
+    }
+
+    /**
+     * Record the state of a host in the latest partition synchronization if it is not recorded yet.
+     *
+     * @param hostId the id of the host.
+     * @param state  the array containing the state of the host.
+     * @param offset the offset of the state of the host in the array.
+     * @return the index of the entry of the host in the host states of the latest synchronization.
+     */
+    public int putIfAbsentLatest(int hostId, int[] state, int offset) {
+        HostStateMap latestSynState = getLatest();
+        int size = latestSynState.size();
+        int index = latestSynState.putIfAbsent(hostId, state, offset);
+        if (windowSums != null && latestSynState.size() != size) {
+            windowSums[latestSynCount % residueNum].add(hostId, state, offset);
+        }
+        return index;
+    }
+
+    /**
+     * Start keeping the sums of the states recorded for each host in the kept synchronizations
+     * whose counts are equal modulo residueNum, which are built from the kept synchronizations.
+     *
+     * @param residueNum the number of residues, which is the number of partitions.
+     * @return the ring itself.
+     */
+    public PartitionSynStateRing enableWindowSums(int residueNum) {
+        this.residueNum = residueNum;
+        windowSums = new HostStateSumMap[residueNum];
+        for (int residue = 0; residue < residueNum; residue++) {
+            windowSums[residue] = new HostStateSumMap();
+        }
+        for (int slot = 0; slot < synCounts.length; slot++) {
+            if (synCounts[slot] != -1) {
+                addWindowSums(synCounts[slot], synStates[slot]);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Stop keeping the sums of the states, see {@link #enableWindowSums(int)}.
+     *
+     * @return the ring itself.
+     */
+    public PartitionSynStateRing disableWindowSums() {
+        windowSums = null;
+        return this;
+    }
+
+    /**
+     * Get the sums of the states recorded for each host in the kept synchronizations
+     * whose counts are equal to a synchronization count modulo the number of residues.
+     *
+     * @param synCount the partition synchronization count.
+     * @return the sums, or null if they are not kept.
+     */
+    public HostStateSumMap getWindowSums(int synCount) {
+        return windowSums == null || synCount < 0 ? null : windowSums[synCount % residueNum];
+    }
+
+    /**
+     * Start recording the host states of a new partition synchronization,
+     * and stop keeping the host states recorded at the synchronizations before the recordNum latest ones.
+     *
+     * @param synCount  the partition synchronization count of the new synchronization.
+     * @param recordNum the number of synchronizations to keep, including the new one.
+     * @return the ring itself.
+     */
+    public PartitionSynStateRing addSynState(int synCount, int recordNum) {
+        if (recordNum != synCounts.length) {
+            resize(recordNum);
+        }
+        for (int slot = 0; slot < synCounts.length; slot++) {
+            if (synCounts[slot] != -1 && synCounts[slot] <= synCount - recordNum) {
+                subtractWindowSums(synCounts[slot], synStates[slot]);
+                synStates[slot].clear();
+                synCounts[slot] = -1;
+            }
+        }
+
+        int slot = synCount % synCounts.length;
+        if (synStates[slot] == null) {
+            synStates[slot] = new HostStateMap();
+        } else {
+            synStates[slot].clear();
+        }
+        synCounts[slot] = synCount;
+        latestSynCount = synCount;
+        return this;
+    }
+
+    /**
+     * Change the number of kept synchronizations, keeping the host states of the latest ones which still fit.
+     *
+     * @param recordNum the new number of kept synchronizations.
+     */
+    private void resize(int recordNum) {
+        HostStateMap[] oldSynStates = synStates;
+        int[] oldSynCounts = synCounts;
+        synStates = new HostStateMap[recordNum];
+        synCounts = new int[recordNum];
+        Arrays.fill(synCounts, -1);
+        for (int i = 0; i < oldSynCounts.length; i++) {
+            int synCount = oldSynCounts[i];
+            if (synCount != -1 && synCount > latestSynCount - recordNum) {
+                synStates[synCount % recordNum] = oldSynStates[i];
+                synCounts[synCount % recordNum] = synCount;
+            } else if (synCount != -1) {
+                subtractWindowSums(synCount, oldSynStates[i]);
+            }
+        }
+    }
+
+    /**
+     * Add the host states of a synchronization to the window sums, if they are kept.
+     *
+     * @param synCount  the partition synchronization count.
+     * @param synStates the host states of the synchronization.
+     */
+    private void addWindowSums(int synCount, HostStateMap synStates) {
+        if (windowSums == null) {
+            return;
+        }
+        HostStateSumMap sums = windowSums[synCount % residueNum];
+        for (int index = 0; index < synStates.size(); index++) {
+            synStates.copyState(index, windowState, 0);
+            sums.add(synStates.getHostId(index), windowState, 0);
+        }
+    }
+
+    /**
+     * Subtract the host states of a synchronization which is no longer kept from the window sums, if they are kept.
+     *
+     * @param synCount  the partition synchronization count.
+     * @param synStates the host states of the synchronization.
+     */
+    private void subtractWindowSums(int synCount, HostStateMap synStates) {
+        if (windowSums == null) {
+            return;
+        }
+        HostStateSumMap sums = windowSums[synCount % residueNum];
+        for (int index = 0; index < synStates.size(); index++) {
+            synStates.copyState(index, windowState, 0);
+            sums.subtract(synStates.getHostId(index), windowState, 0);
+        }
+    }
+}
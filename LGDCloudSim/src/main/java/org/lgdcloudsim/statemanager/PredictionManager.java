@@ -16,4 +16,17 @@ public interface PredictionManager {
      * @return the predicted state of the host.the state includes 4 integers: cpu, ram, storage and bw.
      * */
     int[] predictHostState(List<HostStateHistory> hostStateHistories);
+
+    /**
+     * Predict the state of a host from the sums of its historical states, without building the list of the histories.
+     * It is used when the sums are kept incrementally, see {@link PartitionSynStateRing#enableWindowSums(int)}.
+     *
+     * @param stateSums      the sums of the cpu, ram, storage and bw of the historical states.
+     * @param historyNum     the number of historical states.
+     * @param predictedState the array to write the predicted state into.
+     * @return true if the state was predicted, false if this prediction needs the histories themselves.
+     * */
+    default boolean predictHostState(long[] stateSums, int historyNum, int[] predictedState) {
+        return false;
+    }
 }
@@ -32,4 +32,20 @@ public class PredictionManagerSimple implements PredictionManager {
         }
         return new int[]{(int) (cpuSum / hostStateHistories.size()), (int) (ramSum / hostStateHistories.size()), (int) (storageSum / hostStateHistories.size()), (int) (bwSum / hostStateHistories.size())};
     }
+
+    /**
+     * Predict the state of a host from the sums of its historical states, which is the average of the historical states.
+     *
+     * @param stateSums      the sums of the cpu, ram, storage and bw of the historical states.
+     * @param historyNum     the number of historical states.
+     * @param predictedState the array to write the predicted state into.
+     * @return true.
+     * */
+    @Override
+    public boolean predictHostState(long[] stateSums, int historyNum, int[] predictedState) {
+        for (int i = 0; i < HostState.STATE_NUM; i++) {
+            predictedState[i] = (int) (stateSums[i] / historyNum);
+        }
+        return true;
+    }
 }
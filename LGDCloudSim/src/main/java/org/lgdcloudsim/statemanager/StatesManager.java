@@ -8,6 +8,7 @@ import org.lgdcloudsim.request.Instance;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.IntBuffer;
 import java.util.List;
 
 /**
@@ -81,6 +82,30 @@ public interface StatesManager {
      */
     HostState getNowHostState(int hostId);
 
+    /**
+     * Copy the host status at the current moment according to the host id to an array, without creating a {@link HostState}.
+     * @param hostId the id of the host.
+     * @param state the array of at least {@link HostState#STATE_NUM} ints to copy the state to.
+     * @return the statesManager itself.
+     */
+    StatesManager copyNowHostState(int hostId, int[] state);
+
+    /**
+     * Copy the current states of all the hosts to a buffer, see {@link org.lgdcloudsim.core.ResourceStateSnapshot}.
+     * @param buffer the buffer with {@link #getHostNum()} * {@link HostState#STATE_NUM} remaining ints.
+     * @return the statesManager itself.
+     */
+    StatesManager copyHostStates(IntBuffer buffer);
+
+    /**
+     * Restore the current states of all the hosts from a buffer, see {@link org.lgdcloudsim.core.ResourceStateSnapshot}.
+     * The synchronized states of the intra-schedulers are restored to the current states,
+     * and the powered on hosts are rebuilt from the restored states.
+     * @param buffer the buffer with {@link #getHostNum()} * {@link HostState#STATE_NUM} remaining ints.
+     * @return the statesManager itself.
+     */
+    StatesManager restoreHostStates(IntBuffer buffer);
+
     /**
      * Allocate the instance on the host with hostId.
      *
@@ -131,6 +156,8 @@ public interface StatesManager {
 
     /**
      * get the synchronization state of the intra-scheduler.
+     * It can be called by several intra-schedulers in parallel as long as the host states are not changed meanwhile,
+     * see {@link org.lgdcloudsim.datacenter.Datacenter#setParallelIntraScheduling(boolean)}.
      *
      * @param intraScheduler the intra-scheduler.
      * @return the synchronization state of the intra-scheduler, see {@link SynState}.
@@ -204,6 +231,20 @@ public interface StatesManager {
      */
     HostCapacityManager getHostCapacityManager();
 
+    /**
+     * Get the rollups of the states of the hosts of each partition, see {@link HostStateRollup}.
+     *
+     * @return the rollups of the partitions, or null if the host states are not initialized.
+     */
+    HostStateRollup getPartitionRollup();
+
+    /**
+     * Get the rollups of the states of the hosts of each capacity class, see {@link HostStateRollup}.
+     *
+     * @return the rollups of the capacity classes, or null if the capacities of some hosts are not known yet.
+     */
+    HostStateRollup getCapacityClassRollup();
+
     /**
      * Set the compete gap.
      * @param competeGap the compete gap.
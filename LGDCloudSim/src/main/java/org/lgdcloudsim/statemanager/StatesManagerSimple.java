@@ -8,7 +8,9 @@ import org.lgdcloudsim.intrascheduler.IntraScheduler;
 import org.lgdcloudsim.intrascheduler.IntraSchedulerResult;
 import org.lgdcloudsim.request.Instance;
 
+import java.nio.IntBuffer;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.apache.commons.lang3.math.NumberUtils.max;
 
@@ -20,20 +22,52 @@ import static org.apache.commons.lang3.math.NumberUtils.max;
  * However, using a simple method of duplicating all states to the intra-scheduler during each synchronization would result in redundant state copies and substantial memory wastage.
  * As a result, we optimize the maintenance of historical host resource states through a multi-level incremental state representation (MLI) method.
  * The core idea of this method is only to perform appropriate state replication on changed hosts to avoid redundant replication.
- * When synchronizing the host states to the intra-scheduler, the system creates an empty hash table in synStateMap for each partition and deletes outdated historical hash tables.
+ * When synchronizing the host states to the intra-scheduler, the system adds an empty hash table in synStateMap for each partition and recycles outdated historical hash tables.
  * Before the next synchronization, if a host's state changes, the host state before the change is put into the new hash table of the corresponding partition to prevent state loss.
  * Since these hash tables synStateMap maintained by the state manager do not belong exclusively to an intra-scheduler, these tables are read-only to the intra-scheduler.
  * Therefore, each intra-scheduler also needs to maintain additional hash tables selfHostStateMap for each partition.
  * The hash tables document the state of the scheduled hosts from the intra-scheduler's own view before the next synchronization.
+ * All these hash tables are {@link HostStateMap}s, which keep the host states in flat int arrays without boxing,
+ * and the tables of each partition in synStateMap are kept in a {@link PartitionSynStateRing} indexed by partition synchronization count.
+ * The free cpu and ram of the hosts are also kept in a {@link HostCapacityIndex},
+ * so that the intra-schedulers can find a suitable host through {@link SynState#findSuitableHost} without probing every host.
  *
  * @author Anonymous
  * @since LGDCloudSim 1.0
  */
 public class StatesManagerSimple implements StatesManager {
     /**
-     * The status of all hosts at the current time
+     * The status of all hosts at the current time, see {@link HostStateStore}
      **/
-    private int[] hostStates;
+    private HostStateStore hostStates;
+
+    /**
+     * The index of the free cpu and ram of the hosts, kept up to date with {@link #hostStates}, see {@link HostCapacityIndex}
+     **/
+    @Getter
+    private HostCapacityIndex hostCapacityIndex;
+
+    /**
+     * The rollups of the states of the hosts of each partition, kept up to date with {@link #hostStates}, see {@link HostStateRollup}
+     **/
+    @Getter
+    private HostStateRollup partitionRollup;
+
+    /**
+     * The rollups of the states of the hosts of each capacity class, built by {@link #getCapacityClassRollup()}
+     **/
+    private HostStateRollup capacityClassRollup;
+
+    /**
+     * The state of a host before it changes, used to update the synchronization states, the rollups and the simple state
+     * without allocating an array for each allocated or released instance
+     **/
+    private final int[] rollupBeforeState = new int[HostState.STATE_NUM];
+
+    /**
+     * The state of a host after it changes, used to update the rollups
+     **/
+    private final int[] rollupAfterState = new int[HostState.STATE_NUM];
 
     /**
      * Whether to enable prediction
@@ -41,14 +75,15 @@ public class StatesManagerSimple implements StatesManager {
     private boolean predictable;
 
     /**
-     * The host state at the time of synchronization
+     * The host state at the time of synchronization, indexed by partition id
      **/
-    private Map<Integer, TreeMap<Double, Map<Integer, int[]>>> synStateMap;
+    private PartitionSynStateRing[] synStateMap;
 
     /**
-     * Maintain separate selfHostState for each scheduler
+     * Maintain separate selfHostState for each scheduler, indexed by partition id.
+     * It is concurrent as the intra-schedulers may get their synchronization states in parallel.
      **/
-    private Map<IntraScheduler, Map<Integer, Map<Integer, int[]>>> selfHostStateMap;
+    private Map<IntraScheduler, HostStateMap[]> selfHostStateMap;
 
     /**
      * Number of partition in the datacenter
@@ -149,9 +184,28 @@ public class StatesManagerSimple implements StatesManager {
      * @param maxRamCapacity         the max ram capacity among all hosts in the datacenter.
      */
     public StatesManagerSimple(int hostNum, PartitionRangesManager partitionRangesManager, double synGap, int maxCpuCapacity, int maxRamCapacity) {
-        this.hostNum = hostNum;
-        this.hostStates = new int[hostNum * HostState.STATE_NUM];
+        this(new HostStateStoreHeap(hostNum), partitionRangesManager, synGap, maxCpuCapacity, maxRamCapacity);
+    }
+
+    /**
+     * Initialize the StatesManagerSimple with the given store of the host states, such as a {@link HostStateStoreOffHeap}.
+     *
+     * @param hostStates             the store of the host states, whose hosts have no resource yet.
+     * @param partitionRangesManager the partition ranges manager.
+     * @param synGap                 the synchronization gap.
+     * @param maxCpuCapacity         the max cpu capacity among all hosts in the datacenter.
+     * @param maxRamCapacity         the max ram capacity among all hosts in the datacenter.
+     */
+    public StatesManagerSimple(HostStateStore hostStates, PartitionRangesManager partitionRangesManager, double synGap, int maxCpuCapacity, int maxRamCapacity) {
+        this.hostNum = hostStates.getHostNum();
+        this.hostStates = hostStates;
+        this.hostCapacityIndex = HostCapacityIndex.of(hostStates);
         this.partitionRangesManager = partitionRangesManager;
+        this.partitionRollup = HostStateRollup.ofPartitions(partitionRangesManager, hostNum);
+        for (int hostId = 0; hostId < hostNum; hostId++) {
+            hostStates.copyState(hostId, rollupAfterState, 0);
+            partitionRollup.updateHostState(hostId, rollupBeforeState, rollupAfterState);
+        }
         this.synGapManager = new SynGapManager(synGap, partitionRangesManager.getPartitionNum());
         this.maxCpuCapacity = maxCpuCapacity;
         this.maxRamCapacity = maxRamCapacity;
@@ -159,7 +213,7 @@ public class StatesManagerSimple implements StatesManager {
         this.simpleState = new SimpleStateWithCompete(this);
         this.competeGap = 1000;
         this.partitionNum = partitionRangesManager.getPartitionNum();
-        this.selfHostStateMap = new HashMap<>();
+        this.selfHostStateMap = new ConcurrentHashMap<>();
         this.datacenterPowerOnRecord = new DatacenterPowerOnRecord();
         this.hostCapacityManager = new HostCapacityManager();
         this.intraSchedulerView = new HashMap<>();
@@ -197,6 +251,7 @@ public class StatesManagerSimple implements StatesManager {
             initSingleHostState(i, cpu, ram, storage, bw);
         }
         hostCapacityManager.orderlyAddSameCapacityHost(length, new int[]{cpu, ram, storage, bw});
+        capacityClassRollup = null;
         return this;
     }
 
@@ -223,7 +278,10 @@ public class StatesManagerSimple implements StatesManager {
         if (state.length != HostState.STATE_NUM) {
             throw new IllegalArgumentException("Host state must be array of size " + HostState.STATE_NUM);
         }
-        System.arraycopy(state, 0, hostStates, hostId * HostState.STATE_NUM, HostState.STATE_NUM);
+        hostStates.copyState(hostId, rollupBeforeState, 0);
+        hostStates.setState(hostId, state, 0);
+        hostCapacityIndex.update(hostId, hostStates);
+        updateRollups(hostId);
         simpleState.initHostSimpleState(hostId, state);
     }
 
@@ -239,6 +297,64 @@ public class StatesManagerSimple implements StatesManager {
         initSingleHostState(hostId, new int[]{cpu, ram, storage, bw});
     }
 
+    @Override
+    public StatesManager copyHostStates(IntBuffer buffer) {
+        hostStates.copyTo(buffer);
+        return this;
+    }
+
+    @Override
+    public StatesManager restoreHostStates(IntBuffer buffer) {
+        if (buffer.remaining() != hostNum * HostState.STATE_NUM) {
+            throw new IllegalArgumentException("The states of " + buffer.remaining() / HostState.STATE_NUM + " hosts can not be restored to " + hostNum + " hosts.");
+        }
+        int[] state = new int[HostState.STATE_NUM];
+        int[] difference = new int[HostState.STATE_NUM];
+        for (int hostId = 0; hostId < hostNum; hostId++) {
+            buffer.get(state);
+            for (int i = 0; i < HostState.STATE_NUM; i++) {
+                difference[i] = state[i] - hostStates.get(hostId, i);
+            }
+            hostStates.copyState(hostId, rollupBeforeState, 0);
+            hostStates.setState(hostId, state, 0);
+            hostCapacityIndex.update(hostId, hostStates);
+            updateRollups(hostId);
+            simpleState.initHostSimpleState(hostId, difference);
+        }
+        rebuildPowerOnRecord();
+        initSynStateMap();
+        selfHostStateMap.clear();
+        return this;
+    }
+
+    /**
+     * Rebuild the powered on hosts of {@link #datacenterPowerOnRecord} and the rollups from the restored host states.
+     * The resources occupied on a host in the restored states are never released, see {@link org.lgdcloudsim.core.ResourceStateSnapshot},
+     * so each host with less available resources than its capacity is powered on with one instance which is never released.
+     * The capacity class rollups are rebuilt from the record the next time they are asked for.
+     */
+    private void rebuildPowerOnRecord() {
+        datacenterPowerOnRecord = new DatacenterPowerOnRecord();
+        partitionRollup = HostStateRollup.ofPartitions(partitionRangesManager, hostNum);
+        capacityClassRollup = null;
+        Arrays.fill(rollupBeforeState, 0);
+        for (int hostId = 0; hostId < hostNum; hostId++) {
+            hostStates.copyState(hostId, rollupAfterState, 0);
+            partitionRollup.updateHostState(hostId, rollupBeforeState, rollupAfterState);
+        }
+        if (hostCapacityManager.hostNum != hostNum) {
+            return;
+        }
+        double clock = datacenter == null ? 0 : datacenter.getSimulation().clock();
+        for (int hostId = 0; hostId < hostNum; hostId++) {
+            hostStates.copyState(hostId, rollupAfterState, 0);
+            if (!Arrays.equals(rollupAfterState, hostCapacityManager.getHostCapacity(hostId))) {
+                partitionRollup.addInstance(hostId);
+                datacenterPowerOnRecord.hostAllocateInstance(hostId, clock);
+            }
+        }
+    }
+
     /**
      * Get the host state of the host with hostId in the intra-scheduler's view.
      * @see SynState
@@ -247,17 +363,19 @@ public class StatesManagerSimple implements StatesManager {
      */
     @Override
     public SynState getSynState(IntraScheduler scheduler) {
-        Map<Integer, Map<Integer, int[]>> selfHostState;
-        int[] partitionIds = partitionRangesManager.getPartitionIds();
-
-        if (!selfHostStateMap.containsKey(scheduler) || !synGapManager.isSynCostTime()) {
-            selfHostStateMap.put(scheduler, new HashMap<>());
-            for (int partitionId : partitionIds) {
-                selfHostStateMap.get(scheduler).put(partitionId, new HashMap<>());
+        HostStateMap[] selfHostState = selfHostStateMap.get(scheduler);
+        if (selfHostState == null) {
+            selfHostState = new HostStateMap[partitionNum];
+            for (int partitionId : partitionRangesManager.getPartitionIds()) {
+                selfHostState[partitionId] = new HostStateMap();
+            }
+            selfHostStateMap.put(scheduler, selfHostState);
+        } else if (!synGapManager.isSynCostTime()) {
+            for (HostStateMap partitionSelfHostState : selfHostState) {
+                partitionSelfHostState.clear();
             }
         }
-        selfHostState = selfHostStateMap.get(scheduler);
-        return new SynStateSimple(synStateMap, hostStates, partitionRangesManager, selfHostState, scheduler, predictionManager, synGapManager, predictRecordNum, predictable);
+        return new SynStateSimple(synStateMap, hostStates, hostCapacityIndex, partitionRangesManager, selfHostState, scheduler, predictionManager, synGapManager, predictRecordNum, predictable);
     }
 
     /**
@@ -270,17 +388,13 @@ public class StatesManagerSimple implements StatesManager {
         }
         synGapManager.partitionSynGapCountAddOne();
         int latestSmallSynGapCount = synGapManager.getPartitionSynCount();
-        for (Map<Double, Map<Integer, int[]>> partitionSynStateMap : synStateMap.values()) {
-            if (!predictable && latestSmallSynGapCount >= partitionNum) {
-                partitionSynStateMap.remove(synGapManager.getSynTime(latestSmallSynGapCount - partitionNum));
-            } else if (predictable && latestSmallSynGapCount >= partitionNum * getPredictRecordNum()) {
-                partitionSynStateMap.remove(synGapManager.getSynTime(latestSmallSynGapCount - partitionNum * getPredictRecordNum()));
-            }
-            partitionSynStateMap.put(synGapManager.getSynTime(latestSmallSynGapCount), new HashMap<>());
+        int recordNum = predictable ? partitionNum * getPredictRecordNum() : partitionNum;
+        for (PartitionSynStateRing partitionSynStateMap : synStateMap) {
+            partitionSynStateMap.addSynState(latestSmallSynGapCount, recordNum);
         }
-        for (IntraScheduler scheduler : selfHostStateMap.keySet()) {
-            int clearPartitionId = (latestSmallSynGapCount + scheduler.getFirstPartitionId()) % partitionNum;
-            selfHostStateMap.get(scheduler).get(clearPartitionId).clear();
+        for (Map.Entry<IntraScheduler, HostStateMap[]> entry : selfHostStateMap.entrySet()) {
+            int clearPartitionId = (latestSmallSynGapCount + entry.getKey().getFirstPartitionId()) % partitionNum;
+            entry.getValue()[clearPartitionId].clear();
         }
         return this;
     }
@@ -293,20 +407,22 @@ public class StatesManagerSimple implements StatesManager {
     */
     @Override
     public boolean allocate(int hostId, Instance instance) {
-        int[] beforeHostState = new int[HostState.STATE_NUM];
-        System.arraycopy(hostStates, hostId * HostState.STATE_NUM, beforeHostState, 0, HostState.STATE_NUM);
-        if (beforeHostState[0] < instance.getCpu() || beforeHostState[1] < instance.getRam() || beforeHostState[2] < instance.getStorage() || beforeHostState[3] < instance.getBw()) {
+        if (!hostStates.isSuitable(hostId, instance)) {
             return false;//一般不会发生
         }
+        hostStates.copyState(hostId, rollupBeforeState, 0);
 
-        updateSynStateMap(hostId, beforeHostState);
+        updateSynStateMap(hostId, rollupBeforeState);
 
-        hostStates[hostId * HostState.STATE_NUM] -= instance.getCpu();
-        hostStates[hostId * HostState.STATE_NUM + 1] -= instance.getRam();
-        hostStates[hostId * HostState.STATE_NUM + 2] -= instance.getStorage();
-        hostStates[hostId * HostState.STATE_NUM + 3] -= instance.getBw();
+        hostStates.add(hostId, -instance.getCpu(), -instance.getRam(), -instance.getStorage(), -instance.getBw());
+        hostCapacityIndex.update(hostId, hostStates);
+        updateRollups(hostId);
+        partitionRollup.addInstance(hostId);
+        if (capacityClassRollup != null) {
+            capacityClassRollup.addInstance(hostId);
+        }
 
-        simpleState.updateSimpleStateAllocated(hostId, beforeHostState, instance);
+        simpleState.updateSimpleStateAllocated(hostId, rollupBeforeState, instance);
         datacenterPowerOnRecord.hostAllocateInstance(hostId, datacenter.getSimulation().clock());
         return true;
     }
@@ -319,17 +435,19 @@ public class StatesManagerSimple implements StatesManager {
      */
     @Override
     public StatesManager release(int hostId, Instance instance) {
-        int[] beforeHostState = new int[HostState.STATE_NUM];
-        System.arraycopy(hostStates, hostId * HostState.STATE_NUM, beforeHostState, 0, HostState.STATE_NUM);
+        hostStates.copyState(hostId, rollupBeforeState, 0);
 
-        updateSynStateMap(hostId, beforeHostState);
+        updateSynStateMap(hostId, rollupBeforeState);
 
-        hostStates[hostId * HostState.STATE_NUM] += instance.getCpu();
-        hostStates[hostId * HostState.STATE_NUM + 1] += instance.getRam();
-        hostStates[hostId * HostState.STATE_NUM + 2] += instance.getStorage();
-        hostStates[hostId * HostState.STATE_NUM + 3] += instance.getBw();
+        hostStates.add(hostId, instance.getCpu(), instance.getRam(), instance.getStorage(), instance.getBw());
+        hostCapacityIndex.update(hostId, hostStates);
+        updateRollups(hostId);
+        partitionRollup.removeInstance(hostId);
+        if (capacityClassRollup != null) {
+            capacityClassRollup.removeInstance(hostId);
+        }
 
-        simpleState.updateSimpleStateReleased(hostId, beforeHostState, instance);
+        simpleState.updateSimpleStateReleased(hostId, rollupBeforeState, instance);
         datacenterPowerOnRecord.hostReleaseInstance(hostId, datacenter.getSimulation().clock());
         return this;
     }
@@ -353,86 +471,93 @@ public class StatesManagerSimple implements StatesManager {
     @Override
     public StatesManager setPredictable(boolean predictable) {
         this.predictable = predictable;
+        for (PartitionSynStateRing partitionSynStateMap : synStateMap) {
+            setWindowSums(partitionSynStateMap);
+        }
         return this;
     }
 
+    /**
+     * Keep the sums of the synchronized host states used by the prediction in a ring only when the prediction is enabled.
+     * @param partitionSynStateMap the ring of a partition.
+     */
+    private void setWindowSums(PartitionSynStateRing partitionSynStateMap) {
+        if (predictable) {
+            partitionSynStateMap.enableWindowSums(partitionNum);
+        } else {
+            partitionSynStateMap.disableWindowSums();
+        }
+    }
+
     @Override
     public HostState getNowHostState(int hostId) {
-        HostState hostState = new HostState(
-                hostStates[hostId * HostState.STATE_NUM],
-                hostStates[hostId * HostState.STATE_NUM + 1],
-                hostStates[hostId * HostState.STATE_NUM + 2],
-                hostStates[hostId * HostState.STATE_NUM + 3]);
-        return hostState;
+        return hostStates.getHostState(hostId);
+    }
+
+    @Override
+    public StatesManager copyNowHostState(int hostId, int[] state) {
+        hostStates.copyState(hostId, state, 0);
+        return this;
     }
 
     @Override
     public StatesManager revertHostState(IntraSchedulerResult intraSchedulerResult) {
         int smallSynGapCount = synGapManager.getPartitionSynCount();
         IntraScheduler intraScheduler = intraSchedulerResult.getIntraScheduler();
-        Set<Integer> clearPartitions = new HashSet<>();
-        while (clearPartitions.size() != partitionNum && smallSynGapCount >= 0) {
-            double time = synGapManager.getSynTime(smallSynGapCount);
-            if (time < intraSchedulerResult.getScheduleTime()) {
-                break;
-            }
-            clearPartitions.add((smallSynGapCount + intraScheduler.getFirstPartitionId()) % partitionNum);
-            smallSynGapCount--;
+        // The partitions synchronized since the scheduling began are the ones of the latest revertSynNum partition synchronizations,
+        // so a partition is reverted if it is less than revertSynNum partitions before the latest synchronized one.
+        int revertSynNum = Math.min(partitionNum, smallSynGapCount - synGapManager.getLatestSynCountBefore(intraSchedulerResult.getScheduleTime()));
+        if (revertSynNum <= 0) {
+            return this;
         }
-//        LOGGER.info("{}: revertHostState: clearPartitions: {}", datacenter.getSimulation().clock(), clearPartitions);
+        int latestSynPartitionId = (smallSynGapCount + intraScheduler.getFirstPartitionId()) % partitionNum;
 
+        HostStateMap[] selfHostState = selfHostStateMap.get(intraScheduler);
         for (Instance instance : intraSchedulerResult.getScheduledInstances()) {
             int hostId = instance.getExpectedScheduleHostId();
             int partitionId = partitionRangesManager.getPartitionId(hostId);
-            if (clearPartitions.contains(partitionId)) {
-                int[] hostState;
-                if (selfHostStateMap.get(intraScheduler).get(partitionId).containsKey(hostId)) {
-                    hostState = selfHostStateMap.get(intraScheduler).get(partitionId).get(hostId);
-                }else{
-                    hostState = getLatestSynHostState(hostId);
+            if ((latestSynPartitionId - partitionId + partitionNum) % partitionNum < revertSynNum) {
+                int index = selfHostState[partitionId].indexOf(hostId);
+                if (index == -1) {
+                    index = putLatestSynHostState(selfHostState[partitionId], hostId);
                 }
-                hostState[0] -= instance.getCpu();
-                hostState[1] -= instance.getRam();
-                hostState[2] -= instance.getStorage();
-                hostState[3] -= instance.getBw();
-                selfHostStateMap.get(intraScheduler).get(partitionId).put(hostId, hostState);
+                selfHostState[partitionId].add(index, -instance.getCpu(), -instance.getRam(), -instance.getStorage(), -instance.getBw());
             }
         }
         return this;
     }
 
     /**
-     * Get the latest synchronized host state of the host with hostId.
+     * Put the latest synchronized host state of the host with hostId into a selfHostState table.
+     * @param selfHostState the selfHostState table of the partition of the host.
      * @param hostId the id of the host.
-     * @return the host state.
+     * @return the index of the host state in the selfHostState table.
      */
-    private int[] getLatestSynHostState(int hostId) {
-        double time = synGapManager.getSynTime(synGapManager.getPartitionSynCount());
+    private int putLatestSynHostState(HostStateMap selfHostState, int hostId) {
         int partitionId = partitionRangesManager.getPartitionId(hostId);
-        Map<Integer, int[]> partitionSynState = synStateMap.get(partitionId).get(time);
-        if (partitionSynState.containsKey(hostId)) {
-            return partitionSynState.get(hostId);
+        HostStateMap partitionSynState = synStateMap[partitionId].getLatest();
+        int index = partitionSynState.indexOf(hostId);
+        int[] hostState;
+        if (index != -1) {
+            hostState = partitionSynState.getState(index);
         } else {
-            int[] hostState = new int[HostState.STATE_NUM];
-            System.arraycopy(hostStates, hostId * HostState.STATE_NUM, hostState, 0, HostState.STATE_NUM);
-            return hostState;
+            hostState = new int[HostState.STATE_NUM];
+            hostStates.copyState(hostId, hostState, 0);
         }
+        return selfHostState.put(hostId, hostState, 0);
     }
 
     @Override
     public StatesManager revertSelfHostState(List<Instance> instances, IntraScheduler intraScheduler) {
-        Map<Integer, Map<Integer, int[]>> selfHostState = selfHostStateMap.get(intraScheduler);
+        HostStateMap[] selfHostState = selfHostStateMap.get(intraScheduler);
         for (Instance instance : instances) {
             if (instance.getRetryHostIds() == null || instance.getRetryHostIds().isEmpty()) {
                 LOGGER.error("{}: instance {} has no retry host id in revertSelftHostState function", getDatacenter().getSimulation().clockStr(), instance.getId());
                 System.exit(-1);
             }
             int hostId = instance.getRetryHostIds().get(instance.getRetryHostIds().size() - 1);
-            int[] hostState = selfHostState.get(partitionRangesManager.getPartitionId(hostId)).get(hostId);
-            hostState[0] += instance.getCpu();
-            hostState[1] += instance.getRam();
-            hostState[2] += instance.getStorage();
-            hostState[3] += instance.getBw();
+            HostStateMap partitionSelfHostState = selfHostState[partitionRangesManager.getPartitionId(hostId)];
+            partitionSelfHostState.add(partitionSelfHostState.indexOf(hostId), instance.getCpu(), instance.getRam(), instance.getStorage(), instance.getBw());
         }
         return this;
     }
@@ -478,6 +603,8 @@ public class StatesManagerSimple implements StatesManager {
 
     /**
      * Adjust the scheduling view of each intra-scheduler and divide it evenly according to the remaining resources of the hosts in the current data center.
+     * The partitions are walked in host order with their available cpu from {@link #partitionRollup},
+     * and only the hosts of the partitions in which a view ends are walked one by one.
      * @return the StatesManager itself.
      */
     private StatesManager adjustScheduleViewOfDynamicAvg(){
@@ -488,14 +615,24 @@ public class StatesManagerSimple implements StatesManager {
         int startIndex = 0;
         int innerSchedulerId = 0;
         long tmpCpuAvailableSum = 0;
-        for(int hostId = 0; hostId<hostNum && innerSchedulerId < innerSchedulerNum-1;hostId++){
-            tmpCpuAvailableSum+=getNowHostState(hostId).getCpu();
-            if(tmpCpuAvailableSum>=averageCpuAvailable){
-                IntraScheduler intraScheduler = getDatacenter().getIntraSchedulers().get(innerSchedulerId);
-                intraSchedulerView.putIfAbsent(intraScheduler, List.of(startIndex, hostId));
-                startIndex = hostId+1;
-                innerSchedulerId++;
-                tmpCpuAvailableSum = 0;
+        for (int partitionId : partitionRangesManager.getPartitionIds()) {
+            int[] range = partitionRangesManager.getRange(partitionId);
+            long remainingCpuAvailable = partitionRollup.getAvailableSum(partitionId, 0);
+            for (int hostId = range[0]; hostId <= range[1] && innerSchedulerId < innerSchedulerNum - 1; hostId++) {
+                if (tmpCpuAvailableSum + remainingCpuAvailable < averageCpuAvailable) {
+                    tmpCpuAvailableSum += remainingCpuAvailable;
+                    break;
+                }
+                int cpuAvailable = hostStates.get(hostId, 0);
+                tmpCpuAvailableSum += cpuAvailable;
+                remainingCpuAvailable -= cpuAvailable;
+                if (tmpCpuAvailableSum >= averageCpuAvailable) {
+                    IntraScheduler intraScheduler = getDatacenter().getIntraSchedulers().get(innerSchedulerId);
+                    intraSchedulerView.putIfAbsent(intraScheduler, List.of(startIndex, hostId));
+                    startIndex = hostId + 1;
+                    innerSchedulerId++;
+                    tmpCpuAvailableSum = 0;
+                }
             }
         }
         IntraScheduler intraScheduler = getDatacenter().getIntraSchedulers().get(innerSchedulerId);
@@ -521,6 +658,33 @@ public class StatesManagerSimple implements StatesManager {
         return intraSchedulerView.get(intraScheduler);
     }
 
+    /**
+     * Get the rollups of the states of the hosts of each capacity class, see {@link HostCapacityManager#getCapacityClass(int)}.
+     * They are built from the current host states the first time they are asked for, and then kept up to date.
+     * It is synchronized as the intra-schedulers scheduling in parallel may ask for them at the same time.
+     * @return the rollups, or null if the capacities of some hosts are not known yet.
+     */
+    @Override
+    public synchronized HostStateRollup getCapacityClassRollup() {
+        if (capacityClassRollup == null && hostCapacityManager.hostNum == hostNum) {
+            capacityClassRollup = HostStateRollup.ofCapacityClasses(hostCapacityManager, hostStates, datacenterPowerOnRecord.getPowerOnHostInstanceNum());
+        }
+        return capacityClassRollup;
+    }
+
+    /**
+     * Update the rollups after the state of a host changed from {@link #rollupBeforeState}.
+     *
+     * @param hostId the id of the host
+     */
+    private void updateRollups(int hostId) {
+        hostStates.copyState(hostId, rollupAfterState, 0);
+        partitionRollup.updateHostState(hostId, rollupBeforeState, rollupAfterState);
+        if (capacityClassRollup != null) {
+            capacityClassRollup.updateHostState(hostId, rollupBeforeState, rollupAfterState);
+        }
+    }
+
     /**
      * Before the host state changes,
      * save the previous host state to ensure that the synchronized host state will not change in real time.
@@ -530,22 +694,17 @@ public class StatesManagerSimple implements StatesManager {
      */
     private void updateSynStateMap(int hostId, int[] synHostState) {
         int partitionId = partitionRangesManager.getPartitionId(hostId);
-        TreeMap<Double, Map<Integer, int[]>> partitionSynStateMap = synStateMap.get(partitionId);
-        double largestSynTime = partitionSynStateMap.lastKey();
-        if (!partitionSynStateMap.get(largestSynTime).containsKey(hostId)) {
-            partitionSynStateMap.get(largestSynTime).put(hostId, synHostState);
-        }
+        synStateMap[partitionId].putIfAbsentLatest(hostId, synHostState, 0);
     }
 
     /**
      * Initialize the synStateMap.
      */
     private void initSynStateMap() {
-        synStateMap = new HashMap<>();
+        synStateMap = new PartitionSynStateRing[partitionNum];
         for (int partitionId : partitionRangesManager.getPartitionIds()) {
-            TreeMap<Double, Map<Integer, int[]>> partitionSynStateMap = new TreeMap<>();
-            partitionSynStateMap.put(0.0, new HashMap<>());
-            synStateMap.put(partitionId, partitionSynStateMap);
+            synStateMap[partitionId] = new PartitionSynStateRing();
+            setWindowSums(synStateMap[partitionId]);
         }
     }
 
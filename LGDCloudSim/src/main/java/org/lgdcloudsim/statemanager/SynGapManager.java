@@ -104,4 +104,23 @@ public class SynGapManager {
             return synGap * (partitionSynCount / partitionNum) + partitionSynGap * (partitionSynCount % partitionNum);
         }
     }
+
+    /**
+     * Get the latest partition synchronization count, up to the current one, whose partition synchronization time is before a time.
+     * The count is estimated from the partition synchronization gap and then corrected with {@link #getSynTime(int)},
+     * so it does not go through the partition synchronizations one by one.
+     *
+     * @param time the time.
+     * @return the partition synchronization count, or -1 if no partition synchronization is before the time.
+     */
+    public int getLatestSynCountBefore(double time) {
+        int count = (int) Math.min(partitionSynCount, Math.floor(time / partitionSynGap));
+        while (count >= 0 && getSynTime(count) >= time) {
+            count--;
+        }
+        while (count < partitionSynCount && getSynTime(count + 1) < time) {
+            count++;
+        }
+        return count;
+    }
 }
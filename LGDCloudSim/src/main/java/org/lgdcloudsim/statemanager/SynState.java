@@ -27,6 +27,41 @@ public interface SynState {
      */
     HostState getHostState(int hostId);
 
+    /**
+     * Get a resource of the host with hostId in the intra-scheduler's view without creating a {@link HostState}.
+     *
+     * @param hostId the id of the host.
+     * @param resourceIndex the index of the resource in the host state, from 0 to {@link HostState#STATE_NUM} - 1.
+     * @return the amount of the resource.
+     */
+    default int getResource(int hostId, int resourceIndex) {
+        return getHostState(hostId).getStateArray()[resourceIndex];
+    }
+
+    /**
+     * Copy the host state of the host with hostId in the intra-scheduler's view to an array without creating a {@link HostState}.
+     *
+     * @param hostId the id of the host.
+     * @param state the array of at least {@link HostState#STATE_NUM} ints to copy the state to.
+     */
+    default void copyHostState(int hostId, int[] state) {
+        System.arraycopy(getHostState(hostId).getStateArray(), 0, state, 0, HostState.STATE_NUM);
+    }
+
+    /**
+     * Judging whether the given resources fit on the host with hostId according to SynState without creating a {@link HostState}.
+     * @param hostId the id of the host.
+     * @param cpu the required cpu.
+     * @param ram the required ram.
+     * @param storage the required storage.
+     * @param bw the required bw.
+     * @return true if the host has enough resources, otherwise false.
+     */
+    default boolean fits(int hostId, int cpu, int ram, int storage, int bw) {
+        HostState hostState = getHostState(hostId);
+        return hostState.getCpu() >= cpu && hostState.getRam() >= ram && hostState.getStorage() >= storage && hostState.getBw() >= bw;
+    }
+
     /**
      * Judging whether this instance is suitable to be placed on the host with hostId according to SynState
      * @param hostId the id of the host.
@@ -41,4 +76,42 @@ public interface SynState {
      * @param instance the instance to be placed.
      */
     void allocateTmpResource(int hostId, Instance instance);
+
+    /**
+     * Give back the resources allocated by {@link #allocateTmpResource(int, Instance)} in the SynState,
+     * when the intra-scheduler gives up placing the instance on the host during the same scheduling.
+     * @param hostId the id of the host.
+     * @param instance the instance which was placed.
+     */
+    void releaseTmpResource(int hostId, Instance instance);
+
+    /**
+     * Find the first host from startHostId to endHostId on which this instance is suitable to be placed according to SynState.
+     * Some implementations find it without checking every host of the range.
+     * @param startHostId the first host id of the range, inclusive.
+     * @param endHostId the last host id of the range, inclusive.
+     * @param instance the instance to be placed.
+     * @return the id of the first suitable host, or -1 if there is not any.
+     */
+    default int findSuitableHost(int startHostId, int endHostId, Instance instance) {
+        for (int hostId = startHostId; hostId <= endHostId; hostId++) {
+            if (isSuitable(hostId, instance)) {
+                return hostId;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get a SynState with the same view of the hosts for another thread,
+     * so that an intra-scheduler can schedule instances to disjoint partitions concurrently.
+     * The SynStates forked from the same SynState can be used concurrently
+     * as long as each of them only reads and allocates resources on the hosts of different partitions.
+     * By default, the SynState itself is returned, which is only right if it does not keep temporary data while reading.
+     *
+     * @return the SynState for another thread.
+     */
+    default SynState fork() {
+        return this;
+    }
 }
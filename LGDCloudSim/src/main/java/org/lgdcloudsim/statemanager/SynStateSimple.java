@@ -32,18 +32,23 @@ public class SynStateSimple implements SynState {
      **/
 
     @Getter
-    Map<Integer, Map<Integer, int[]>> selfHostState;
+    HostStateMap[] selfHostState;
 
     /**
      * The host status here refers to the host status obtained during synchronization
      **/
     @Getter
-    Map<Integer, TreeMap<Double, Map<Integer, int[]>>> synState;
+    PartitionSynStateRing[] synState;
 
     /**
      * The actual state of all hosts in the datacenter
      **/
-    int[] nowHostStates;
+    HostStateStore nowHostStates;
+
+    /**
+     * The index of the free cpu and ram of the actual state of all hosts, see {@link HostCapacityIndex}
+     **/
+    HostCapacityIndex hostCapacityIndex;
 
     /**
      * see {@link  PartitionRangesManager}
@@ -61,19 +66,29 @@ public class SynStateSimple implements SynState {
     int latestSynPartitionId;
 
     /**
-     * The small syn count when the state was last synced for each region
+     * The small syn count when the state was last synced for each region, indexed by partition id
      **/
-    Map<Integer, Integer> partitionLatestSynCount = new HashMap<>();
+    int[] partitionLatestSynCount;
 
     /**
-     * Earliest recorded small syn count for each partition, which is used by the {@link PredictionManager}
+     * Earliest recorded small syn count for each partition, which is used by the {@link PredictionManager}, indexed by partition id
      **/
-    Map<Integer, Integer> partitionOldSynCount = new HashMap<>();
+    int[] partitionOldSynCount;
 
     /**
      * The host status has been predicted, the purpose of this data is to prevent repeated predictions
      **/
-    Map<Integer, int[]> predictHostStateMap = new HashMap<>();
+    HostStateMap predictHostStateMap = new HostStateMap();
+
+    /**
+     * The array to read a host state into, so that reading a host state does not allocate an array
+     **/
+    private final int[] readHostState = new int[HostState.STATE_NUM];
+
+    /**
+     * The array to read the sums of the synchronized states of a host into, see {@link PartitionSynStateRing#getWindowSums(int)}
+     **/
+    private final long[] readStateSums = new long[HostState.STATE_NUM];
 
     /**
      * Whether to enable prediction
@@ -90,6 +105,7 @@ public class SynStateSimple implements SynState {
      *
      * @param synState               the state of the hosts in different partition synchronization time.
      * @param nowHostStates          the actual state of all hosts in the datacenter.
+     * @param hostCapacityIndex      the index of the free cpu and ram of the actual state of all hosts, or null.
      * @param partitionRangesManager the partition ranges manager.
      * @param selfHostState          the state of the hosts that the intra-scheduler have scheduled instances to.
      * @param scheduler              the intra-scheduler.
@@ -98,32 +114,67 @@ public class SynStateSimple implements SynState {
      * @param predictRecordNum       the record data num for predicting.
      * @param predictable            whether to use the prediction function.
      */
-    public SynStateSimple(Map<Integer, TreeMap<Double, Map<Integer, int[]>>> synState, int[] nowHostStates,
-                          PartitionRangesManager partitionRangesManager, Map<Integer, Map<Integer, int[]>> selfHostState, IntraScheduler scheduler,
+    public SynStateSimple(PartitionSynStateRing[] synState, HostStateStore nowHostStates, HostCapacityIndex hostCapacityIndex,
+                          PartitionRangesManager partitionRangesManager, HostStateMap[] selfHostState, IntraScheduler scheduler,
                           PredictionManager predictionManager, SynGapManager synGapManager, int predictRecordNum, boolean predictable) {
         this.synState = synState;
         this.nowHostStates = nowHostStates;
+        this.hostCapacityIndex = hostCapacityIndex;
         this.partitionRangesManager = partitionRangesManager;
         this.selfHostState = selfHostState;
         this.predictionManager = predictionManager;
         this.synGapManager = synGapManager;
         this.predictable = predictable;
         this.latestSynPartitionId = (scheduler.getFirstPartitionId() + synGapManager.getPartitionSynCount()) % partitionRangesManager.getPartitionNum();
+        this.partitionLatestSynCount = new int[partitionRangesManager.getPartitionNum()];
+        this.partitionOldSynCount = new int[partitionRangesManager.getPartitionNum()];
 
         for (int partitionId : partitionRangesManager.getPartitionIds()) {
             int partDistanceLatestSynPartition = (latestSynPartitionId + partitionRangesManager.getPartitionNum() - partitionId) % partitionRangesManager.getPartitionNum();
             int partLatestSmallSynGapCount = max(0, synGapManager.getPartitionSynCount() - partDistanceLatestSynPartition);
-            partitionLatestSynCount.put(partitionId, partLatestSmallSynGapCount);
+            partitionLatestSynCount[partitionId] = partLatestSmallSynGapCount;
 
             int additionRecordNum = 0;
             if (predictable) {
                 additionRecordNum = min(partLatestSmallSynGapCount / partitionRangesManager.getPartitionNum(), predictRecordNum - 1);
             }
             int partOldSmallSynGapCount = partLatestSmallSynGapCount - partitionRangesManager.getPartitionNum() * additionRecordNum;
-            partitionOldSynCount.put(partitionId, partOldSmallSynGapCount);
+            partitionOldSynCount[partitionId] = partOldSmallSynGapCount;
         }
     }
 
+    /**
+     * Construct a SynState with the same view of the hosts as another one,
+     * but with its own arrays to read the host states into and its own predicted host states, see {@link #fork()}.
+     *
+     * @param synState the SynState to fork.
+     */
+    private SynStateSimple(SynStateSimple synState) {
+        this.synState = synState.synState;
+        this.nowHostStates = synState.nowHostStates;
+        this.hostCapacityIndex = synState.hostCapacityIndex;
+        this.partitionRangesManager = synState.partitionRangesManager;
+        this.selfHostState = synState.selfHostState;
+        this.predictionManager = synState.predictionManager;
+        this.synGapManager = synState.synGapManager;
+        this.predictable = synState.predictable;
+        this.latestSynPartitionId = synState.latestSynPartitionId;
+        this.partitionLatestSynCount = synState.partitionLatestSynCount;
+        this.partitionOldSynCount = synState.partitionOldSynCount;
+    }
+
+    /**
+     * Fork the SynState for another thread.
+     * The tables of the host states are shared, since each partition has its own selfHostState
+     * and the other tables are only read during the scheduling.
+     *
+     * @return the SynState for another thread.
+     */
+    @Override
+    public SynState fork() {
+        return new SynStateSimple(this);
+    }
+
     /**
      * When looking for the host state, we need to check whether there is relevant host data in selfHostState,
      * and then try to call getSynHostState to obtain synhost.
@@ -134,23 +185,23 @@ public class SynStateSimple implements SynState {
      */
     @Override
     public HostState getHostState(int hostId){
-        int partitionId = partitionRangesManager.getPartitionId(hostId);
-        if (selfHostState.get(partitionId).containsKey(hostId)) {
-            return new HostState(selfHostState.get(partitionId).get(hostId));
-        }else{
-            int[] hostState;
-            if (predictable) {
-                hostState = getPredictSynState(hostId);
-            } else {
-                hostState = getSynHostState(hostId);
-            }
+        return new HostState(readViewHostState(hostId));
+    }
 
-            if (hostState == null) {
-                return new HostState(nowHostStates[hostId * HostState.STATE_NUM], nowHostStates[hostId * HostState.STATE_NUM + 1], nowHostStates[hostId * HostState.STATE_NUM + 2], nowHostStates[hostId * HostState.STATE_NUM + 3]);
-            } else {
-                return new HostState(hostState);
-            }
-        }
+    @Override
+    public int getResource(int hostId, int resourceIndex) {
+        return readViewHostState(hostId)[resourceIndex];
+    }
+
+    @Override
+    public void copyHostState(int hostId, int[] state) {
+        System.arraycopy(readViewHostState(hostId), 0, state, 0, HostState.STATE_NUM);
+    }
+
+    @Override
+    public boolean fits(int hostId, int cpu, int ram, int storage, int bw) {
+        int[] hostState = readViewHostState(hostId);
+        return hostState[0] >= cpu && hostState[1] >= ram && hostState[2] >= storage && hostState[3] >= bw;
     }
 
     /**
@@ -162,8 +213,84 @@ public class SynStateSimple implements SynState {
      */
     @Override
     public boolean isSuitable(int hostId, Instance instance) {
-        HostState hostState = getHostState(hostId);
-        return hostState.isSuitable(instance);
+        return fits(hostId, instance.getCpu(), instance.getRam(), instance.getStorage(), instance.getBw());
+    }
+
+    /**
+     * Find the first suitable host with the {@link HostCapacityIndex} of the actual host states.
+     * The state of a host in the intra-scheduler's view is its actual state unless the host is in selfHostState
+     * or in one of the synState tables which are read for its partition.
+     * So the first suitable host is the first host found by the index whose state in the view is suitable,
+     * unless one of the hosts in these tables before it is suitable, which are checked one by one.
+     *
+     * @param startHostId the first host id of the range, inclusive.
+     * @param endHostId   the last host id of the range, inclusive.
+     * @param instance    the instance to be placed.
+     * @return the id of the first suitable host, or -1 if there is not any.
+     */
+    @Override
+    public int findSuitableHost(int startHostId, int endHostId, Instance instance) {
+        if (hostCapacityIndex == null) {
+            return SynState.super.findSuitableHost(startHostId, endHostId, instance);
+        }
+        int suitableHostId = -1;
+        int hostId = hostCapacityIndex.findFirst(startHostId, endHostId, instance.getCpu(), instance.getRam());
+        while (hostId != -1) {
+            if (isSuitable(hostId, instance)) {
+                suitableHostId = hostId;
+                break;
+            }
+            hostId = hostCapacityIndex.findFirst(hostId + 1, endHostId, instance.getCpu(), instance.getRam());
+        }
+
+        int lastHostId = suitableHostId == -1 ? endHostId : suitableHostId - 1;
+        for (int partitionId : partitionRangesManager.getPartitionIds()) {
+            int[] range = partitionRangesManager.getRange(partitionId);
+            if (range[1] < startHostId || range[0] > lastHostId) {
+                continue;
+            }
+            lastHostId = findSuitableChangedHost(selfHostState[partitionId], startHostId, lastHostId, instance);
+            if (synGapManager.isSynCostTime()) {
+                int synCount = predictable ? partitionOldSynCount[partitionId] : partitionLatestSynCount[partitionId];
+                for (; synCount <= synGapManager.getPartitionSynCount(); synCount++) {
+                    lastHostId = findSuitableChangedHost(synState[partitionId].get(synCount), startHostId, lastHostId, instance);
+                }
+            }
+        }
+        return lastHostId == endHostId ? -1 : lastHostId + 1;
+    }
+
+    /**
+     * Check the hosts of a table of changed host states which are in a range,
+     * and narrow the range down to the hosts before the first suitable one.
+     * When the range has fewer hosts than the table, the hosts of the range are looked up in the table from the start,
+     * so the work is bounded by the distance to the host found by the index rather than by the size of the table.
+     *
+     * @param changedHostStates the table of changed host states, or null.
+     * @param startHostId       the first host id of the range, inclusive.
+     * @param endHostId         the last host id of the range, inclusive.
+     * @param instance          the instance to be placed.
+     * @return the id before the first suitable host of the table in the range, or endHostId if there is not any.
+     */
+    private int findSuitableChangedHost(HostStateMap changedHostStates, int startHostId, int endHostId, Instance instance) {
+        if (changedHostStates == null || changedHostStates.isEmpty() || endHostId < startHostId) {
+            return endHostId;
+        }
+        if (endHostId - startHostId + 1 < changedHostStates.size()) {
+            for (int hostId = startHostId; hostId <= endHostId; hostId++) {
+                if (changedHostStates.containsKey(hostId) && isSuitable(hostId, instance)) {
+                    return hostId - 1;
+                }
+            }
+            return endHostId;
+        }
+        for (int index = 0; index < changedHostStates.size(); index++) {
+            int hostId = changedHostStates.getHostId(index);
+            if (hostId >= startHostId && hostId <= endHostId && isSuitable(hostId, instance)) {
+                endHostId = hostId - 1;
+            }
+        }
+        return endHostId;
     }
 
     /**
@@ -177,89 +304,139 @@ public class SynStateSimple implements SynState {
      */
     @Override
     public void allocateTmpResource(int hostId, Instance instance) {
-        int[] hostState;
-        int partitionId = partitionRangesManager.getPartitionId(hostId);
-        if (selfHostState.get(partitionId).containsKey(hostId)) {
-            hostState = selfHostState.get(partitionId).get(hostId);
-            hostState[0] -= instance.getCpu();
-            hostState[1] -= instance.getRam();
-            hostState[2] -= instance.getStorage();
-            hostState[3] -= instance.getBw();
+        HostStateMap partitionSelfHostState = selfHostState[partitionRangesManager.getPartitionId(hostId)];
+        int index = partitionSelfHostState.indexOf(hostId);
+        if (index == -1) {
+            index = partitionSelfHostState.put(hostId, readSynOrNowHostState(hostId), 0);
+        }
+        partitionSelfHostState.add(index, -instance.getCpu(), -instance.getRam(), -instance.getStorage(), -instance.getBw());
+    }
+
+    /**
+     * Give back the resources allocated by {@link #allocateTmpResource(int, Instance)} to selfHostState,
+     * so that the instance does not have to go through {@link StatesManager#revertSelfHostState}.
+     *
+     * @param hostId   the id of the host
+     * @param instance the instance which was placed
+     */
+    @Override
+    public void releaseTmpResource(int hostId, Instance instance) {
+        HostStateMap partitionSelfHostState = selfHostState[partitionRangesManager.getPartitionId(hostId)];
+        partitionSelfHostState.add(partitionSelfHostState.indexOf(hostId), instance.getCpu(), instance.getRam(), instance.getStorage(), instance.getBw());
+    }
+
+    /**
+     * Read the state of the host in the intra-scheduler's view into {@link #readHostState},
+     * from selfHostState if the intra-scheduler has scheduled instances to it, otherwise see {@link #readSynOrNowHostState}.
+     *
+     * @param hostId the id of the host
+     * @return {@link #readHostState} containing the state of the host
+     */
+    private int[] readViewHostState(int hostId) {
+        HostStateMap partitionSelfHostState = selfHostState[partitionRangesManager.getPartitionId(hostId)];
+        int index = partitionSelfHostState.indexOf(hostId);
+        if (index != -1) {
+            partitionSelfHostState.copyState(index, readHostState, 0);
+            return readHostState;
+        }
+        return readSynOrNowHostState(hostId);
+    }
+
+    /**
+     * Read the synchronized (or predicted) state of the host into {@link #readHostState},
+     * or its actual state if it has not changed since the synchronization.
+     *
+     * @param hostId the id of the host
+     * @return {@link #readHostState} containing the state of the host
+     */
+    private int[] readSynOrNowHostState(int hostId) {
+        boolean isSynHostState;
+        if (predictable) {
+            isSynHostState = readPredictSynState(hostId, readHostState);
         } else {
-            if (predictable) {
-                hostState = getPredictSynState(hostId);
-            } else {
-                hostState = getSynHostState(hostId);
-            }
-            if (hostState != null) {
-                selfHostState.get(partitionId).put(hostId, new int[]{
-                        hostState[0] - instance.getCpu(),
-                        hostState[1] - instance.getRam(),
-                        hostState[2] - instance.getStorage(),
-                        hostState[3] - instance.getBw()
-                });
-            } else {
-                selfHostState.get(partitionId).put(hostId, new int[]{
-                        nowHostStates[hostId * HostState.STATE_NUM] - instance.getCpu(),
-                        nowHostStates[hostId * HostState.STATE_NUM + 1] - instance.getRam(),
-                        nowHostStates[hostId * HostState.STATE_NUM + 2] - instance.getStorage(),
-                        nowHostStates[hostId * HostState.STATE_NUM + 3] - instance.getBw()
-                });
-            }
+            isSynHostState = readSynHostState(hostId, readHostState);
+        }
+        if (!isSynHostState) {
+            nowHostStates.copyState(hostId, readHostState, 0);
         }
+        return readHostState;
     }
 
     /**
-     * Get the state of the host when synchronized.
+     * Read the state of the host when synchronized.
      *
-     * @param hostId the host id to get the state
-     * @return the state of the host when synchronized
+     * @param hostId    the host id to get the state
+     * @param hostState the array to read the state of the host into
+     * @return true if the state of the host when synchronized was read, false if it has not changed since the synchronization
      */
-    private int[] getSynHostState(int hostId) {
+    private boolean readSynHostState(int hostId, int[] hostState) {
         if (!synGapManager.isSynCostTime()) {
-            return null;
+            return false;
         }
         int partitionId = partitionRangesManager.getPartitionId(hostId);
-        TreeMap<Double, Map<Integer, int[]>> partitionSynState = synState.get(partitionId);
+        PartitionSynStateRing partitionSynState = synState[partitionId];
         //TODO 这里需要再细看一下
-        int latestSmallSynCount = partitionLatestSynCount.get(partitionId);
+        int latestSmallSynCount = partitionLatestSynCount[partitionId];
         while (latestSmallSynCount <= synGapManager.getPartitionSynCount()) {
-            double synTime = synGapManager.getSynTime(latestSmallSynCount);
-            if (partitionSynState.containsKey(synTime) && partitionSynState.get(synTime).containsKey(hostId)) {
-                return partitionSynState.get(synTime).get(hostId);
+            HostStateMap synHostStates = partitionSynState.get(latestSmallSynCount);
+            if (synHostStates != null) {
+                int index = synHostStates.indexOf(hostId);
+                if (index != -1) {
+                    synHostStates.copyState(index, hostState, 0);
+                    return true;
+                }
             }
             latestSmallSynCount++;
         }
-        return null;
+        return false;
     }
 
     /**
-     * Get the predicted host state.
-     * Note that if the smallSynGap is 0, the predicted host state is null.
+     * Read the predicted host state.
+     * Note that if the smallSynGap is 0, there is no predicted host state.
      * Because we have the latest host state,we don't need to predict the host state.
      * It will use the data stored in synState for a period of time to make predictions.
+     * When the synState keeps the sums of the recorded states and the {@link PredictionManager} can predict from them,
+     * the prediction only looks the host up in the sums,
+     * which are those of the synchronizations from partitionOldSynCount to partitionLatestSynCount read below.
      *
-     * @param hostId the host id to predict
-     * @return the predicted host state
+     * @param hostId    the host id to predict
+     * @param hostState the array to read the predicted state of the host into
+     * @return true if the predicted state of the host was read, false if there is no recorded state to predict it
      */
-    private int[] getPredictSynState(int hostId) {
+    private boolean readPredictSynState(int hostId, int[] hostState) {
         if (!synGapManager.isSynCostTime()) {
-            return null;
+            return false;
         }
-        if (predictHostStateMap.containsKey(hostId)) {
-            return predictHostStateMap.get(hostId);
+        int partitionId = partitionRangesManager.getPartitionId(hostId);
+        HostStateSumMap windowSums = synState[partitionId].getWindowSums(partitionLatestSynCount[partitionId]);
+        if (windowSums != null) {
+            int sumIndex = windowSums.indexOf(hostId);
+            if (sumIndex == -1 || windowSums.getCount(sumIndex) == 0) {
+                return false;
+            }
+            windowSums.copySums(sumIndex, readStateSums);
+            if (predictionManager.predictHostState(readStateSums, windowSums.getCount(sumIndex), hostState)) {
+                return true;
+            }
+        }
+        int predictIndex = predictHostStateMap.indexOf(hostId);
+        if (predictIndex != -1) {
+            predictHostStateMap.copyState(predictIndex, hostState, 0);
+            return true;
         }
         List<HostStateHistory> hostStateHistories = new ArrayList<>();
-        int partitionId = partitionRangesManager.getPartitionId(hostId);
-        TreeMap<Double, Map<Integer, int[]>> partitionSynState = synState.get(partitionId);
-        int latestSmallSynCount = partitionLatestSynCount.get(partitionId);
-        int oldSmallSynCount = partitionOldSynCount.get(partitionId);
+        PartitionSynStateRing partitionSynState = synState[partitionId];
+        int latestSmallSynCount = partitionLatestSynCount[partitionId];
+        int oldSmallSynCount = partitionOldSynCount[partitionId];
         int tmpCount = oldSmallSynCount;
         while (tmpCount <= synGapManager.getPartitionSynCount()) {
             if (tmpCount >= oldSmallSynCount) {
-                double time = synGapManager.getSynTime(tmpCount);
-                if (partitionSynState.containsKey(time) && partitionSynState.get(time).containsKey(hostId)) {
-                    hostStateHistories.add(new HostStateHistory(partitionSynState.get(time).get(hostId), time));
+                HostStateMap synHostStates = partitionSynState.get(tmpCount);
+                int index = synHostStates == null ? -1 : synHostStates.indexOf(hostId);
+                if (index != -1) {
+                    hostStateHistories.add(new HostStateHistory(synHostStates.get(index, 0), synHostStates.get(index, 1),
+                            synHostStates.get(index, 2), synHostStates.get(index, 3), synGapManager.getSynTime(tmpCount)));
                 }
                 do {
                     oldSmallSynCount += partitionRangesManager.getPartitionNum();
@@ -271,11 +448,12 @@ public class SynStateSimple implements SynState {
             tmpCount++;
         }
         if (hostStateHistories.isEmpty()) {
-            return null;
+            return false;
         } else {
             int[] predictHostState = predictionManager.predictHostState(hostStateHistories);
-            predictHostStateMap.put(hostId, predictHostState);
-            return predictHostState;
+            predictHostStateMap.put(hostId, predictHostState, 0);
+            System.arraycopy(predictHostState, 0, hostState, 0, HostState.STATE_NUM);
+            return true;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,278 @@
+package org.lgdcloudsim.util;
+
+import org.lgdcloudsim.request.Instance;
+import org.lgdcloudsim.statemanager.HostCapacityManager;
+import org.lgdcloudsim.statemanager.HostState;
+import org.lgdcloudsim.statemanager.SynState;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * An index of the hosts of a range ordered by their residual, used by the best-fit intra-scheduler
+ * to find the tightest host for an instance without scanning all the suitable hosts.
+ * The residual of a host after placing an instance is
+ * the sum of (remaining resource - required resource) / total resource of the host over the four resources.
+ * For the hosts of the same capacity class, it is the free share of the host,
+ * i.e. the sum of remaining resource / total resource, minus a constant given by the instance,
+ * so the hosts are kept in one {@link TreeSet} per capacity class ordered by their free share and then by their id.
+ * The tightest host of a class is the first suitable host from the free share the instance needs on,
+ * and the tightest host of the range is the tightest one over the classes.
+ * <p>
+ * The index keeps a copy of the states of the hosts read from a {@link SynState} when it is built,
+ * and it is updated with {@link #allocate} and {@link #release} when the resources of the hosts are changed in the SynState.
+ * The states and the sets are reused from one build to the next.
+ * </p>
+ *
+ * @author Anonymous
+ * @since LGDCloudSim 1.0
+ */
+public class HostResidualIndex {
+    /**
+     * The margin of the free share the instance needs,
+     * so that a host which the instance fits exactly is not missed because of rounding.
+     */
+    private static final double FREE_SHARE_MARGIN = 1e-9;
+
+    /**
+     * The key of a host in the set of its capacity class.
+     *
+     * @param freeShare the sum of the shares of its capacity left over the four resources.
+     * @param hostId    the id of the host.
+     */
+    private record HostKey(double freeShare, int hostId) implements Comparable<HostKey> {
+        @Override
+        public int compareTo(HostKey other) {
+            int result = Double.compare(freeShare, other.freeShare);
+            return result != 0 ? result : Integer.compare(hostId, other.hostId);
+        }
+    }
+
+    /**
+     * The capacity manager giving the capacity class and the capacity of each host.
+     */
+    private final HostCapacityManager hostCapacityManager;
+
+    /**
+     * The hosts of each capacity class ordered by their free share, indexed by the capacity class.
+     */
+    private final List<TreeSet<HostKey>> capacityClassHosts = new ArrayList<>();
+
+    /**
+     * The key of each host of the range in its set, indexed by hostId - {@link #firstHostId}.
+     */
+    private HostKey[] hostKeys = new HostKey[0];
+
+    /**
+     * The states of the hosts of the range, {@link HostState#STATE_NUM} ints per host from hostId - {@link #firstHostId}.
+     */
+    private int[] hostStates = new int[0];
+
+    /**
+     * The first host id of the range.
+     */
+    private int firstHostId;
+
+    /**
+     * The last host id of the range.
+     */
+    private int lastHostId = -1;
+
+    /**
+     * Create an empty index of the hosts of a data center.
+     *
+     * @param hostCapacityManager the capacity manager of the data center.
+     */
+    public HostResidualIndex(HostCapacityManager hostCapacityManager) {
+        this.hostCapacityManager = hostCapacityManager;
+    }
+
+    /**
+     * Build the index of a range of hosts from their states in a SynState.
+     * Reading the state of each host is counted as a {@link ScheduleOperation#HOST_PROBE}
+     * and excluded from the measured scheduling time.
+     *
+     * @param synState    the synchronization state.
+     * @param firstHostId the first host id of the range, inclusive.
+     * @param lastHostId  the last host id of the range, inclusive.
+     * @param costCounter the counter of the probed hosts.
+     */
+    public void build(SynState synState, int firstHostId, int lastHostId, ScheduleCostCounter costCounter) {
+        this.firstHostId = firstHostId;
+        this.lastHostId = lastHostId;
+        int hostNum = lastHostId - firstHostId + 1;
+        if (hostKeys.length < hostNum) {
+            hostKeys = new HostKey[hostNum];
+            hostStates = new int[hostNum * HostState.STATE_NUM];
+        }
+        for (TreeSet<HostKey> hosts : capacityClassHosts) {
+            hosts.clear();
+        }
+        while (capacityClassHosts.size() < hostCapacityManager.getCapacityClassNum()) {
+            capacityClassHosts.add(new TreeSet<>());
+        }
+
+        int[] hostState = new int[HostState.STATE_NUM];
+        costCounter.count(ScheduleOperation.HOST_PROBE, hostNum);
+        for (int hostId = firstHostId; hostId <= lastHostId; hostId++) {
+            costCounter.startExclude();
+            synState.copyHostState(hostId, hostState);
+            costCounter.endExclude();
+            System.arraycopy(hostState, 0, hostStates, (hostId - firstHostId) * HostState.STATE_NUM, HostState.STATE_NUM);
+            addHost(hostId);
+        }
+    }
+
+    /**
+     * Find the tightest suitable host of the range for an instance, i.e. the one with the smallest residual after placing it,
+     * skipping the hosts the instance has been retried on.
+     * Of the hosts with the same residual, the one with the smallest id is found.
+     * Each host checked is counted as a {@link ScheduleOperation#HOST_PROBE}.
+     * The hosts of a class with enough free share but not enough of one of the resources are checked one by one,
+     * so the search is only logarithmic in the number of hosts when the resources of the hosts are balanced.
+     *
+     * @param instance    the instance.
+     * @param costCounter the counter of the probed hosts.
+     * @return the id of the tightest suitable host, or -1 if there is not any.
+     */
+    public int findTightestHost(Instance instance, ScheduleCostCounter costCounter) {
+        int bestHostId = -1;
+        double bestResidual = Double.MAX_VALUE;
+        for (int capacityClass = 0; capacityClass < capacityClassHosts.size(); capacityClass++) {
+            TreeSet<HostKey> hosts = capacityClassHosts.get(capacityClass);
+            if (hosts.isEmpty() || !isCapacityEnough(capacityClass, instance)) {
+                continue;
+            }
+            double neededFreeShare = getShare(instance.getCpu(), hostCapacityManager.getCapacityClassCapacity(capacityClass, 0))
+                    + getShare(instance.getRam(), hostCapacityManager.getCapacityClassCapacity(capacityClass, 1))
+                    + getShare(instance.getStorage(), hostCapacityManager.getCapacityClassCapacity(capacityClass, 2))
+                    + getShare(instance.getBw(), hostCapacityManager.getCapacityClassCapacity(capacityClass, 3));
+            for (HostKey hostKey : hosts.tailSet(new HostKey(neededFreeShare - FREE_SHARE_MARGIN, -1), true)) {
+                costCounter.count(ScheduleOperation.HOST_PROBE);
+                int hostId = hostKey.hostId();
+                if ((instance.getRetryHostIds() != null && instance.getRetryHostIds().contains(hostId)) || !isSuitable(hostId, instance)) {
+                    continue;
+                }
+                double residual = getResidual(hostId, instance);
+                if (residual < bestResidual || (residual == bestResidual && hostId < bestHostId)) {
+                    bestHostId = hostId;
+                    bestResidual = residual;
+                }
+                break;
+            }
+        }
+        return bestHostId;
+    }
+
+    /**
+     * Update the index after the resources of an instance are allocated on a host of the range.
+     *
+     * @param hostId   the id of the host.
+     * @param instance the instance.
+     */
+    public void allocate(int hostId, Instance instance) {
+        updateHost(hostId, instance, -1);
+    }
+
+    /**
+     * Update the index after the resources of an instance are released on a host of the range.
+     *
+     * @param hostId   the id of the host.
+     * @param instance the instance.
+     */
+    public void release(int hostId, Instance instance) {
+        updateHost(hostId, instance, 1);
+    }
+
+    /**
+     * Get the residual of a suitable host after placing an instance on it,
+     * which is the sum of the shares of its capacity left over the four resources.
+     *
+     * @param hostId   the id of the host.
+     * @param instance the instance.
+     * @return the residual of the host, the smaller the tighter.
+     */
+    public double getResidual(int hostId, Instance instance) {
+        int offset = (hostId - firstHostId) * HostState.STATE_NUM;
+        int[] hostCapacity = hostCapacityManager.getHostCapacity(hostId);
+        return getShare((long) hostStates[offset] - instance.getCpu(), hostCapacity[0])
+                + getShare((long) hostStates[offset + 1] - instance.getRam(), hostCapacity[1])
+                + getShare((long) hostStates[offset + 2] - instance.getStorage(), hostCapacity[2])
+                + getShare((long) hostStates[offset + 3] - instance.getBw(), hostCapacity[3]);
+    }
+
+    /**
+     * Change the state of a host of the range by the resources of an instance and move it in the set of its capacity class.
+     *
+     * @param hostId   the id of the host.
+     * @param instance the instance.
+     * @param sign     1 to add the resources of the instance to the host, -1 to take them.
+     */
+    private void updateHost(int hostId, Instance instance, int sign) {
+        if (hostId < firstHostId || hostId > lastHostId) {
+            throw new IllegalArgumentException("Host " + hostId + " is not in the range of the index");
+        }
+        int index = hostId - firstHostId;
+        capacityClassHosts.get(hostCapacityManager.getCapacityClass(hostId)).remove(hostKeys[index]);
+        int offset = index * HostState.STATE_NUM;
+        hostStates[offset] += sign * instance.getCpu();
+        hostStates[offset + 1] += sign * instance.getRam();
+        hostStates[offset + 2] += sign * instance.getStorage();
+        hostStates[offset + 3] += sign * instance.getBw();
+        addHost(hostId);
+    }
+
+    /**
+     * Add a host of the range to the set of its capacity class with its free share.
+     *
+     * @param hostId the id of the host.
+     */
+    private void addHost(int hostId) {
+        int index = hostId - firstHostId;
+        int offset = index * HostState.STATE_NUM;
+        int[] hostCapacity = hostCapacityManager.getHostCapacity(hostId);
+        double freeShare = getShare(hostStates[offset], hostCapacity[0]) + getShare(hostStates[offset + 1], hostCapacity[1])
+                + getShare(hostStates[offset + 2], hostCapacity[2]) + getShare(hostStates[offset + 3], hostCapacity[3]);
+        hostKeys[index] = new HostKey(freeShare, hostId);
+        capacityClassHosts.get(hostCapacityManager.getCapacityClass(hostId)).add(hostKeys[index]);
+    }
+
+    /**
+     * Whether the instance fits on a host of the range according to the states of the index.
+     *
+     * @param hostId   the id of the host.
+     * @param instance the instance.
+     * @return true if the host has enough resources for the instance.
+     */
+    private boolean isSuitable(int hostId, Instance instance) {
+        int offset = (hostId - firstHostId) * HostState.STATE_NUM;
+        return hostStates[offset] >= instance.getCpu() && hostStates[offset + 1] >= instance.getRam()
+                && hostStates[offset + 2] >= instance.getStorage() && hostStates[offset + 3] >= instance.getBw();
+    }
+
+    /**
+     * Whether the empty hosts of a capacity class could take the instance.
+     *
+     * @param capacityClass the capacity class.
+     * @param instance      the instance.
+     * @return true if the capacity of the class is enough for the instance.
+     */
+    private boolean isCapacityEnough(int capacityClass, Instance instance) {
+        return hostCapacityManager.getCapacityClassCapacity(capacityClass, 0) >= instance.getCpu()
+                && hostCapacityManager.getCapacityClassCapacity(capacityClass, 1) >= instance.getRam()
+                && hostCapacityManager.getCapacityClassCapacity(capacityClass, 2) >= instance.getStorage()
+                && hostCapacityManager.getCapacityClassCapacity(capacityClass, 3) >= instance.getBw();
+    }
+
+    /**
+     * Get the share of a capacity of a resource, or 0 if there is not any of the resource.
+     *
+     * @param amount   the amount of the resource.
+     * @param capacity the capacity of the resource.
+     * @return the share of the capacity.
+     */
+    private static double getShare(long amount, long capacity) {
+        return capacity == 0 ? 0 : (double) amount / capacity;
+    }
+}
@@ -0,0 +1,200 @@
+package org.lgdcloudsim.util;
+
+import java.util.Arrays;
+
+/**
+ * The counter of the operations and the wall-clock time of a scheduling step.
+ * Each scheduler has its own counter, which is used as follows:
+ * <ul>
+ *     <li>{@link #start(ScheduleCostModel)} before the step.</li>
+ *     <li>{@link #count(ScheduleOperation)} for each operation done during the step.</li>
+ *     <li>{@link #startExclude()} and {@link #endExclude()} around the parts of the step
+ *     which are not part of the scheduling algorithm, such as getting the host states from the state manager.
+ *     They are only timed when the {@link ScheduleCostModel#isMeasured() time is measured}.</li>
+ *     <li>{@link #countUnmeasured(ScheduleOperation, long)} for the operations which an excluded part stands for,
+ *     such as the hosts skipped by a search through an index,
+ *     so that the measured models still charge them, see {@link ScheduleCostModelMeasured}.</li>
+ *     <li>{@link #stop()} after the step to get the simulated time of the step from the {@link ScheduleCostModel}.</li>
+ * </ul>
+ *
+ * @author Anonymous
+ * @since LGDCloudSim 1.0
+ */
+public class ScheduleCostCounter {
+    /**
+     * The number of each operation done since the start, indexed by the ordinal of the {@link ScheduleOperation}.
+     */
+    private final long[] operationNums = new long[ScheduleOperation.values().length];
+
+    /**
+     * The number of each operation done since the start whose time is not measured,
+     * indexed by the ordinal of the {@link ScheduleOperation}.
+     */
+    private final long[] unmeasuredOperationNums = new long[ScheduleOperation.values().length];
+
+    /**
+     * The schedule cost model of the current step.
+     */
+    private ScheduleCostModel scheduleCostModel = new ScheduleCostModelMeasured();
+
+    /**
+     * Whether the wall-clock time of the current step is measured.
+     */
+    private boolean measured;
+
+    /**
+     * The wall-clock time in ns when the step started.
+     */
+    private long startNanos;
+
+    /**
+     * The wall-clock time in ns when the current excluded part started.
+     */
+    private long excludeStartNanos;
+
+    /**
+     * The total wall-clock time in ns of the excluded parts of the step.
+     */
+    private long excludedNanos;
+
+    /**
+     * The wall-clock time in ns measured when this counter counts a part of a step run concurrently with its other parts,
+     * see {@link #stopPart()}.
+     */
+    private long partNanos;
+
+    /**
+     * The total wall-clock time in ns of the parts of the step run concurrently,
+     * added by {@link #count(ScheduleCostCounter)}.
+     */
+    private long concurrentPartNanos;
+
+    /**
+     * Start counting a scheduling step.
+     *
+     * @param scheduleCostModel the schedule cost model giving the time of the step
+     */
+    public void start(ScheduleCostModel scheduleCostModel) {
+        this.scheduleCostModel = scheduleCostModel;
+        this.measured = scheduleCostModel.isMeasured();
+        Arrays.fill(operationNums, 0);
+        Arrays.fill(unmeasuredOperationNums, 0);
+        excludedNanos = 0;
+        partNanos = 0;
+        concurrentPartNanos = 0;
+        if (measured) {
+            startNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Count an operation.
+     *
+     * @param operation the operation done
+     */
+    public void count(ScheduleOperation operation) {
+        operationNums[operation.ordinal()]++;
+    }
+
+    /**
+     * Count several operations of the same type.
+     *
+     * @param operation the operation done
+     * @param num       the number of operations done
+     */
+    public void count(ScheduleOperation operation, long num) {
+        operationNums[operation.ordinal()] += num;
+    }
+
+    /**
+     * Count several operations of the same type which are done in a part of the step excluded from the measured time.
+     * They are counted like {@link #count(ScheduleOperation, long)},
+     * and the measured models add their cost to the measured time.
+     *
+     * @param operation the operation done
+     * @param num       the number of operations done
+     */
+    public void countUnmeasured(ScheduleOperation operation, long num) {
+        operationNums[operation.ordinal()] += num;
+        unmeasuredOperationNums[operation.ordinal()] += num;
+    }
+
+    /**
+     * Count the operations counted by another counter,
+     * such as the counter of a part of the step done by another thread.
+     * The measured time of the part, see {@link #stopPart()}, is added to the measured time of the step,
+     * so the part itself should be excluded from the measured time of this counter.
+     * The step is then measured as if its parts were run one after another.
+     *
+     * @param counter the other counter
+     */
+    public void count(ScheduleCostCounter counter) {
+        for (int i = 0; i < operationNums.length; i++) {
+            operationNums[i] += counter.operationNums[i];
+            unmeasuredOperationNums[i] += counter.unmeasuredOperationNums[i];
+        }
+        concurrentPartNanos += counter.partNanos;
+    }
+
+    /**
+     * Start a part of the step which is excluded from the measured time.
+     */
+    public void startExclude() {
+        if (measured) {
+            excludeStartNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * End a part of the step which is excluded from the measured time.
+     */
+    public void endExclude() {
+        if (measured) {
+            excludedNanos += System.nanoTime() - excludeStartNanos;
+        }
+    }
+
+    /**
+     * Stop counting a part of a step started with {@link #start(ScheduleCostModel)},
+     * keeping its measured time to be added to the counter of the step by {@link #count(ScheduleCostCounter)}.
+     */
+    public void stopPart() {
+        if (measured) {
+            partNanos = System.nanoTime() - startNanos - excludedNanos + concurrentPartNanos;
+        }
+    }
+
+    /**
+     * Stop counting the scheduling step.
+     *
+     * @return the simulated time of the step in ms given by the schedule cost model
+     */
+    public double stop() {
+        double measuredTime = 0;
+        if (measured) {
+            measuredTime = (System.nanoTime() - startNanos - excludedNanos + concurrentPartNanos) / 1_000_000.0;
+        }
+        return scheduleCostModel.getCostTime(measuredTime, this);
+    }
+
+    /**
+     * Get the number of an operation done since the start of the step.
+     *
+     * @param operation the operation
+     * @return the number of the operation done
+     */
+    public long getOperationNum(ScheduleOperation operation) {
+        return operationNums[operation.ordinal()];
+    }
+
+    /**
+     * Get the number of an operation done since the start of the step whose time is not measured,
+     * see {@link #countUnmeasured(ScheduleOperation, long)}.
+     *
+     * @param operation the operation
+     * @return the number of the operation done without being measured
+     */
+    public long getUnmeasuredOperationNum(ScheduleOperation operation) {
+        return unmeasuredOperationNums[operation.ordinal()];
+    }
+}
@@ -0,0 +1,30 @@
+package org.lgdcloudsim.util;
+
+/**
+ * The model which gives the simulated time spent by a scheduling step,
+ * such as the scheduling of an intra-scheduler, the scheduling of an inter-scheduler or the sorting of a queue.
+ * The time can be the measured wall-clock time, see {@link ScheduleCostModelMeasured},
+ * or be computed from the operations counted during the step, see {@link ScheduleCostModelCounted},
+ * so that the results of the simulation do not depend on the load of the machine.
+ * The cost of each operation can be calibrated on a machine with {@link ScheduleCostModelCalibration}.
+ *
+ * @author Anonymous
+ * @since LGDCloudSim 1.0
+ */
+public interface ScheduleCostModel {
+    /**
+     * Get whether the wall-clock time of the scheduling steps has to be measured.
+     *
+     * @return true if the model uses the measured time, false otherwise
+     */
+    boolean isMeasured();
+
+    /**
+     * Get the simulated time spent by a scheduling step.
+     *
+     * @param measuredTime the measured wall-clock time of the step in ms, or 0 if the model does not use it
+     * @param counter      the counter of the operations done during the step
+     * @return the simulated time in ms
+     */
+    double getCostTime(double measuredTime, ScheduleCostCounter counter);
+}
@@ -0,0 +1,148 @@
+package org.lgdcloudsim.util;
+
+import lombok.Getter;
+
+/**
+ * The {@link ScheduleCostModel} used for a calibration run.
+ * It uses the measured wall-clock time like {@link ScheduleCostModelMeasured},
+ * and it records the measured time and the counted operations of each scheduling step.
+ * Only the operations whose time is measured are fitted,
+ * the {@link ScheduleCostCounter#countUnmeasured unmeasured} ones are added with the default costs.
+ * At the end of the run, {@link #getCalibratedModel()} fits the cost of each {@link ScheduleOperation}
+ * by non-negative least squares, so that the counted operations times their costs best match the measured times.
+ * The calibrated model can then be used for the runs on any machine.
+ * The steps can be recorded by several threads.
+ *
+ * @author Anonymous
+ * @since LGDCloudSim 1.0
+ */
+public class ScheduleCostModelCalibration implements ScheduleCostModel {
+    /**
+     * The sums of the products of the operation numbers of each step.
+     */
+    private final double[][] operationProductSums = new double[ScheduleOperation.values().length][ScheduleOperation.values().length];
+
+    /**
+     * The sums of the operation numbers times the measured time in ns of each step.
+     */
+    private final double[] operationTimeSums = new double[ScheduleOperation.values().length];
+
+    /**
+     * The number of the recorded steps.
+     */
+    @Getter
+    private long sampleNum;
+
+    /**
+     * The model giving the costs of the operations whose time is not measured.
+     */
+    private final ScheduleCostModelCounted unmeasuredCostModel = new ScheduleCostModelCounted();
+
+    @Override
+    public boolean isMeasured() {
+        return true;
+    }
+
+    @Override
+    public double getCostTime(double measuredTime, ScheduleCostCounter counter) {
+        record(measuredTime, counter);
+        return measuredTime + unmeasuredCostModel.getUnmeasuredCostTime(counter);
+    }
+
+    /**
+     * Record the measured time and the counted operations of a step.
+     *
+     * @param measuredTime the measured time of the step in ms
+     * @param counter      the counter of the operations done during the step
+     */
+    private synchronized void record(double measuredTime, ScheduleCostCounter counter) {
+        ScheduleOperation[] operations = ScheduleOperation.values();
+        long[] nums = new long[operations.length];
+        for (int i = 0; i < operations.length; i++) {
+            nums[i] = counter.getOperationNum(operations[i]) - counter.getUnmeasuredOperationNum(operations[i]);
+        }
+        for (int i = 0; i < operations.length; i++) {
+            operationTimeSums[i] += nums[i] * measuredTime * 1_000_000;
+            for (int j = 0; j < operations.length; j++) {
+                operationProductSums[i][j] += (double) nums[i] * nums[j];
+            }
+        }
+        sampleNum++;
+    }
+
+    /**
+     * Get the counted model with the costs fitted from the recorded steps.
+     * The cost of an operation which was never counted or which does not increase the measured time is 0.
+     *
+     * @return the calibrated counted model
+     */
+    public synchronized ScheduleCostModelCounted getCalibratedModel() {
+        ScheduleOperation[] operations = ScheduleOperation.values();
+        boolean[] isFitted = new boolean[operations.length];
+        for (int i = 0; i < operations.length; i++) {
+            isFitted[i] = operationProductSums[i][i] > 0;
+        }
+
+        double[] costs = solve(isFitted);
+        for (int i = 0; i < operations.length; i++) {
+            if (isFitted[i] && costs[i] < 0) {
+                // Drop the negative costs one by one, as in the active set method of non-negative least squares.
+                isFitted[i] = false;
+                costs = solve(isFitted);
+                i = -1;
+            }
+        }
+
+        ScheduleCostModelCounted calibratedModel = new ScheduleCostModelCounted();
+        for (int i = 0; i < operations.length; i++) {
+            calibratedModel.setOperationCost(operations[i], isFitted[i] ? costs[i] : 0);
+        }
+        return calibratedModel;
+    }
+
+    /**
+     * Solve the normal equations of the least squares for the fitted operations by Gaussian elimination.
+     *
+     * @param isFitted whether the cost of each operation is fitted
+     * @return the costs of the operations, 0 for the operations not fitted
+     */
+    private double[] solve(boolean[] isFitted) {
+        int n = isFitted.length;
+        double[][] matrix = new double[n][n + 1];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                matrix[i][j] = isFitted[i] && isFitted[j] ? operationProductSums[i][j] : (i == j ? 1 : 0);
+            }
+            matrix[i][n] = isFitted[i] ? operationTimeSums[i] : 0;
+        }
+
+        for (int col = 0; col < n; col++) {
+            int pivot = col;
+            for (int row = col + 1; row < n; row++) {
+                if (Math.abs(matrix[row][col]) > Math.abs(matrix[pivot][col])) {
+                    pivot = row;
+                }
+            }
+            double[] tmp = matrix[col];
+            matrix[col] = matrix[pivot];
+            matrix[pivot] = tmp;
+            if (matrix[col][col] == 0) {
+                continue;
+            }
+            for (int row = 0; row < n; row++) {
+                if (row != col) {
+                    double factor = matrix[row][col] / matrix[col][col];
+                    for (int k = col; k <= n; k++) {
+                        matrix[row][k] -= factor * matrix[col][k];
+                    }
+                }
+            }
+        }
+
+        double[] costs = new double[n];
+        for (int i = 0; i < n; i++) {
+            costs[i] = matrix[i][i] == 0 ? 0 : matrix[i][n] / matrix[i][i];
+        }
+        return costs;
+    }
+}
@@ -0,0 +1,102 @@
+package org.lgdcloudsim.util;
+
+/**
+ * The {@link ScheduleCostModel} which computes the time of the scheduling steps
+ * from the number of operations done and the cost of each {@link ScheduleOperation}.
+ * The results of the simulation do not depend on the machine,
+ * so several simulations can run at the same time on one machine and get the same results.
+ * The costs can be obtained from a calibration run, see {@link ScheduleCostModelCalibration}.
+ *
+ * @author Anonymous
+ * @since LGDCloudSim 1.0
+ */
+public class ScheduleCostModelCounted implements ScheduleCostModel {
+    /**
+     * The default cost of a {@link ScheduleOperation#HOST_PROBE} in ns.
+     */
+    public static final double DEFAULT_HOST_PROBE_COST = 100;
+
+    /**
+     * The default cost of a {@link ScheduleOperation#DC_FILTER} in ns.
+     */
+    public static final double DEFAULT_DC_FILTER_COST = 1000;
+
+    /**
+     * The default cost of a {@link ScheduleOperation#COMPARISON} in ns.
+     */
+    public static final double DEFAULT_COMPARISON_COST = 50;
+
+    /**
+     * The cost of each operation in ns, indexed by the ordinal of the {@link ScheduleOperation}.
+     */
+    private final double[] operationCosts = new double[ScheduleOperation.values().length];
+
+    /**
+     * Create a counted schedule cost model with the default costs of the operations.
+     */
+    public ScheduleCostModelCounted() {
+        setOperationCost(ScheduleOperation.HOST_PROBE, DEFAULT_HOST_PROBE_COST);
+        setOperationCost(ScheduleOperation.DC_FILTER, DEFAULT_DC_FILTER_COST);
+        setOperationCost(ScheduleOperation.COMPARISON, DEFAULT_COMPARISON_COST);
+    }
+
+    /**
+     * Get the cost of an operation.
+     *
+     * @param operation the operation
+     * @return the cost of the operation in ns
+     */
+    public double getOperationCost(ScheduleOperation operation) {
+        return operationCosts[operation.ordinal()];
+    }
+
+    /**
+     * Set the cost of an operation.
+     *
+     * @param operation the operation
+     * @param cost      the cost of the operation in ns
+     * @return the schedule cost model
+     */
+    public ScheduleCostModelCounted setOperationCost(ScheduleOperation operation, double cost) {
+        if (cost < 0) {
+            throw new IllegalArgumentException("The cost of " + operation + " must not be negative.");
+        }
+        operationCosts[operation.ordinal()] = cost;
+        return this;
+    }
+
+    @Override
+    public boolean isMeasured() {
+        return false;
+    }
+
+    @Override
+    public double getCostTime(double measuredTime, ScheduleCostCounter counter) {
+        double costNanos = 0;
+        for (ScheduleOperation operation : ScheduleOperation.values()) {
+            costNanos += counter.getOperationNum(operation) * operationCosts[operation.ordinal()];
+        }
+        return costNanos / 1_000_000;
+    }
+
+    /**
+     * Get the time of the operations of a scheduling step whose time is not measured,
+     * see {@link ScheduleCostCounter#countUnmeasured(ScheduleOperation, long)}.
+     *
+     * @param counter the counter of the operations done during the step
+     * @return the time of the unmeasured operations in ms
+     */
+    public double getUnmeasuredCostTime(ScheduleCostCounter counter) {
+        double costNanos = 0;
+        for (ScheduleOperation operation : ScheduleOperation.values()) {
+            costNanos += counter.getUnmeasuredOperationNum(operation) * operationCosts[operation.ordinal()];
+        }
+        return costNanos / 1_000_000;
+    }
+
+    @Override
+    public String toString() {
+        return "ScheduleCostModelCounted{hostProbe=%.1fns, dcFilter=%.1fns, comparison=%.1fns}".formatted(
+                getOperationCost(ScheduleOperation.HOST_PROBE), getOperationCost(ScheduleOperation.DC_FILTER), getOperationCost(ScheduleOperation.COMPARISON));
+    }
+}
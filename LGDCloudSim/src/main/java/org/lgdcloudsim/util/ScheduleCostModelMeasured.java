@@ -0,0 +1,46 @@
+package org.lgdcloudsim.util;
+
+/**
+ * The {@link ScheduleCostModel} which uses the measured wall-clock time of the scheduling steps.
+ * The results of the simulation change with the load of the machine.
+ * The operations done in the parts of a step excluded from the measured time,
+ * such as the hosts skipped by a search through the index of the host states,
+ * are added with their costs in a {@link ScheduleCostModelCounted},
+ * so that the time of a step still grows with the number of hosts it goes through.
+ *
+ * @author Anonymous
+ * @since LGDCloudSim 1.0
+ */
+public class ScheduleCostModelMeasured implements ScheduleCostModel {
+    /**
+     * The model giving the costs of the operations whose time is not measured.
+     */
+    private final ScheduleCostModelCounted unmeasuredCostModel;
+
+    /**
+     * Create a measured schedule cost model with the default costs of the unmeasured operations.
+     */
+    public ScheduleCostModelMeasured() {
+        this(new ScheduleCostModelCounted());
+    }
+
+    /**
+     * Create a measured schedule cost model with the costs of the unmeasured operations of a counted model,
+     * such as a {@link ScheduleCostModelCalibration#getCalibratedModel() calibrated} one.
+     *
+     * @param unmeasuredCostModel the model giving the costs of the operations whose time is not measured
+     */
+    public ScheduleCostModelMeasured(ScheduleCostModelCounted unmeasuredCostModel) {
+        this.unmeasuredCostModel = unmeasuredCostModel;
+    }
+
+    @Override
+    public boolean isMeasured() {
+        return true;
+    }
+
+    @Override
+    public double getCostTime(double measuredTime, ScheduleCostCounter counter) {
+        return measuredTime + unmeasuredCostModel.getUnmeasuredCostTime(counter);
+    }
+}
@@ -0,0 +1,25 @@
+package org.lgdcloudsim.util;
+
+/**
+ * The operations of the schedulers counted by the {@link ScheduleCostCounter}.
+ * They are used by the {@link ScheduleCostModel} to get the simulated time of a scheduling step.
+ *
+ * @author Anonymous
+ * @since LGDCloudSim 1.0
+ */
+public enum ScheduleOperation {
+    /**
+     * Checking whether a host is suitable for an instance.
+     */
+    HOST_PROBE,
+
+    /**
+     * Checking whether a data center is suitable for an instance group.
+     */
+    DC_FILTER,
+
+    /**
+     * Comparing two items when sorting a queue.
+     */
+    COMPARISON
+}
@@ -0,0 +1,136 @@
+package org.lgdcloudsim.util;
+
+import java.util.Arrays;
+
+/**
+ * A max-heap of scored hosts of one data center without boxing,
+ * used by the intra-schedulers instead of a {@link ScoredHostsManager} to keep the scored hosts in flat arrays
+ * which are reused from one scheduling to the next.
+ * The hosts are added and polled in the same order as in the priority queue of {@link ScoredHostsManager},
+ * so the hosts with the same score are polled in the same order too.
+ *
+ * @author Anonymous
+ * @since LGDCloudSim 1.0
+ */
+public class ScoredHostHeap {
+    /**
+     * The initial number of hosts the heap can hold without growing.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The host ids in heap order.
+     */
+    private int[] hostIds;
+
+    /**
+     * The score of each host in {@link #hostIds}.
+     */
+    private double[] scores;
+
+    /**
+     * The number of hosts in the heap.
+     */
+    private int size;
+
+    /**
+     * Create an empty heap.
+     */
+    public ScoredHostHeap() {
+        hostIds = new int[INITIAL_CAPACITY];
+        scores = new double[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Get the number of scored hosts.
+     *
+     * @return the number of scored hosts.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Whether there is no scored host.
+     *
+     * @return true if there is no scored host.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Add a scored host.
+     *
+     * @param hostId the id of the host.
+     * @param score  the score of the host.
+     */
+    public void add(int hostId, double score) {
+        if (size == hostIds.length) {
+            hostIds = Arrays.copyOf(hostIds, size * 2);
+            scores = Arrays.copyOf(scores, size * 2);
+        }
+        int index = size++;
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (Double.compare(scores[parent], score) >= 0) {
+                break;
+            }
+            hostIds[index] = hostIds[parent];
+            scores[index] = scores[parent];
+            index = parent;
+        }
+        hostIds[index] = hostId;
+        scores[index] = score;
+    }
+
+    /**
+     * Get the id of the host with the best score.
+     *
+     * @return the id of the host, or -1 if there is no scored host.
+     */
+    public int peekBestHostId() {
+        return size == 0 ? -1 : hostIds[0];
+    }
+
+    /**
+     * Remove the host with the best score.
+     *
+     * @return the id of the host, or -1 if there is no scored host.
+     */
+    public int pollBestHostId() {
+        if (size == 0) {
+            return -1;
+        }
+        int bestHostId = hostIds[0];
+        int lastHostId = hostIds[--size];
+        double lastScore = scores[size];
+        int index = 0;
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && Double.compare(scores[right], scores[child]) > 0) {
+                child = right;
+            }
+            if (Double.compare(scores[child], lastScore) <= 0) {
+                break;
+            }
+            hostIds[index] = hostIds[child];
+            scores[index] = scores[child];
+            index = child;
+        }
+        if (size > 0) {
+            hostIds[index] = lastHostId;
+            scores[index] = lastScore;
+        }
+        return bestHostId;
+    }
+
+    /**
+     * Remove all the scored hosts, keeping the arrays to be reused.
+     */
+    public void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,150 @@
+package org.lgdcloudsim.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import org.junit.Test;
+import org.lgdcloudsim.core.events.SimEvent;
+import org.lgdcloudsim.datacenter.CollaborationManagerSimple;
+import org.lgdcloudsim.datacenter.DatacenterSimple;
+import org.lgdcloudsim.network.NetworkTopologySimple;
+import org.lgdcloudsim.network.RandomDelayDynamicModel;
+
+public class CloudSimConservativeTest {
+    private static final int DATACENTER_NUM = 5;
+
+    private static final double LOOKAHEAD = 5;
+
+    private static final ExecutorService WORKER = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable);
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Test
+    public void testSameEventsAsSerial() {
+        CloudSim serialCloudSim = new CloudSim();
+        List<CountdownDatacenter> serialDatacenters = simulate(serialCloudSim);
+        CloudSimConservative conservativeCloudSim = new CloudSimConservative().setLookahead(LOOKAHEAD);
+        List<CountdownDatacenter> conservativeDatacenters = simulate(conservativeCloudSim);
+
+        for (int i = 0; i < DATACENTER_NUM; i++) {
+            assertEquals(serialDatacenters.get(i).processedEvents, conservativeDatacenters.get(i).processedEvents);
+        }
+        assertEquals(serialCloudSim.getProcessedEventNum(), conservativeCloudSim.getProcessedEventNum());
+        assertTrue(conservativeCloudSim.getWindowNum() > 0);
+        assertTrue(conservativeCloudSim.getWindowEventNum() > DATACENTER_NUM * conservativeCloudSim.getWindowNum());
+    }
+
+    @Test
+    public void testSameEventsAsSerialWithPrimitiveEventStore() {
+        List<CountdownDatacenter> serialDatacenters = simulate(new CloudSim());
+        CloudSimConservative conservativeCloudSim = new CloudSimConservative().setLookahead(LOOKAHEAD);
+        conservativeCloudSim.setPrimitiveEventStoreEnabled(true);
+        List<CountdownDatacenter> conservativeDatacenters = simulate(conservativeCloudSim);
+
+        for (int i = 0; i < DATACENTER_NUM; i++) {
+            assertEquals(serialDatacenters.get(i).processedEvents, conservativeDatacenters.get(i).processedEvents);
+        }
+        assertTrue(conservativeCloudSim.getWindowNum() > 0);
+    }
+
+    @Test
+    public void testLookaheadFromNetworkTopology() {
+        NetworkTopologySimple networkTopology = new NetworkTopologySimple("src/test/resources/regionDelay.csv",
+                "src/test/resources/areaDelay.csv", "src/test/resources/DatacenterBwConfig.csv");
+        networkTopology.setDelayDynamicModel(new RandomDelayDynamicModel());
+        double minDelay = networkTopology.getMinDelay();
+        assertTrue(minDelay > 0);
+
+        CloudSim serialCloudSim = new CloudSim();
+        List<CountdownDatacenter> serialDatacenters = simulate(serialCloudSim, minDelay);
+        CloudSimConservative conservativeCloudSim = new CloudSimConservative();
+        conservativeCloudSim.setNetworkTopology(networkTopology);
+        List<CountdownDatacenter> conservativeDatacenters = simulate(conservativeCloudSim, minDelay);
+
+        for (int i = 0; i < DATACENTER_NUM; i++) {
+            assertEquals(serialDatacenters.get(i).processedEvents, conservativeDatacenters.get(i).processedEvents);
+        }
+        assertEquals(serialCloudSim.getProcessedEventNum(), conservativeCloudSim.getProcessedEventNum());
+        // The windows are not limited to the events happening at their start time.
+        assertTrue(conservativeCloudSim.getWindowEventNum() > DATACENTER_NUM * conservativeCloudSim.getWindowNum());
+    }
+
+    @Test
+    public void testWorkersReadClockOfLogicalProcess() {
+        CloudSimConservative conservativeCloudSim = new CloudSimConservative().setLookahead(LOOKAHEAD);
+        List<CountdownDatacenter> conservativeDatacenters = simulate(conservativeCloudSim);
+
+        for (CountdownDatacenter datacenter : conservativeDatacenters) {
+            assertEquals(0, datacenter.workerClockMismatchNum);
+        }
+    }
+
+    private List<CountdownDatacenter> simulate(CloudSim cloudSim) {
+        return simulate(cloudSim, LOOKAHEAD);
+    }
+
+    private List<CountdownDatacenter> simulate(CloudSim cloudSim, double nextDatacenterDelay) {
+        new CollaborationManagerSimple(cloudSim);
+        List<CountdownDatacenter> datacenters = new ArrayList<>();
+        for (int i = 0; i < DATACENTER_NUM; i++) {
+            datacenters.add(new CountdownDatacenter(cloudSim, datacenters, nextDatacenterDelay));
+        }
+        cloudSim.start();
+        return datacenters;
+    }
+
+    /**
+     * A datacenter which sends events to itself with short delays
+     * and to the next datacenter with a delay not lower than the lookahead, and records the events it processes.
+     */
+    private static class CountdownDatacenter extends DatacenterSimple {
+        private final List<CountdownDatacenter> datacenters;
+
+        private final double nextDatacenterDelay;
+
+        private final List<String> processedEvents = new ArrayList<>();
+
+        private int remainingSendNum = 40;
+
+        private int workerClockMismatchNum;
+
+        CountdownDatacenter(Simulation simulation, List<CountdownDatacenter> datacenters, double nextDatacenterDelay) {
+            super(simulation);
+            this.datacenters = datacenters;
+            this.nextDatacenterDelay = nextDatacenterDelay;
+        }
+
+        @Override
+        protected void startInternal() {
+            sendWithoutNetwork(this, getId() % 3, CloudSimTag.INTRA_SCHEDULE_BEGIN, null);
+        }
+
+        @Override
+        public void processEvent(SimEvent evt) {
+            processedEvents.add("%s %.1f %d %d".formatted(getSimulation().clockStr(), evt.getTime(), evt.getTag(), evt.getSource().getId()));
+            Function<SimEvent, Double> readClock = getSimulation().withCurrentClock(e -> getSimulation().clock());
+            if (CompletableFuture.supplyAsync(() -> readClock.apply(evt), WORKER).join() != getSimulation().clock()) {
+                workerClockMismatchNum++;
+            }
+            if (remainingSendNum-- <= 0) {
+                return;
+            }
+
+            CountdownDatacenter next = datacenters.get((datacenters.indexOf(this) + 1) % datacenters.size());
+            sendWithoutNetwork(this, remainingSendNum % 3, CloudSimTag.INTRA_SCHEDULE_BEGIN, null);
+            sendWithoutNetwork(next, nextDatacenterDelay, CloudSimTag.LOAD_BALANCE_SEND, "intra");
+            if (remainingSendNum % 9 == getId()) {
+                sendWithoutNetwork(this, 1, CloudSimTag.END_INSTANCE_RUN, null);
+            }
+        }
+    }
+}
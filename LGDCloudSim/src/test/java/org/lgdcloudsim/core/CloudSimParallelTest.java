@@ -0,0 +1,241 @@
+package org.lgdcloudsim.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.lgdcloudsim.core.events.SimEvent;
+import org.lgdcloudsim.datacenter.CollaborationManagerSimple;
+import org.lgdcloudsim.datacenter.Datacenter;
+import org.lgdcloudsim.datacenter.DatacenterSimple;
+import org.lgdcloudsim.datacenter.InitDatacenter;
+import org.lgdcloudsim.request.Instance;
+import org.lgdcloudsim.request.InstanceGroup;
+import org.lgdcloudsim.request.InstanceGroupGraphSimple;
+import org.lgdcloudsim.request.InstanceGroupSimple;
+import org.lgdcloudsim.request.InstanceSimple;
+import org.lgdcloudsim.request.UserRequest;
+import org.lgdcloudsim.request.UserRequestSimple;
+
+public class CloudSimParallelTest {
+    private static final int DATACENTER_NUM = 6;
+
+    private static final int SEEDED_SCENARIO_DATACENTER_NUM = 4;
+
+    private static final long SEEDED_SCENARIO_SEED = 11;
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testSameResultAsSerial() {
+        List<EchoDatacenter> serialDatacenters = simulate(1);
+        List<EchoDatacenter> parallelDatacenters = simulate(4);
+
+        for (int i = 0; i < DATACENTER_NUM; i++) {
+            assertEquals(serialDatacenters.get(i).processedEvents, parallelDatacenters.get(i).processedEvents);
+            assertFalse(serialDatacenters.get(i).isProcessedInParallel);
+        }
+        assertTrue(parallelDatacenters.stream().anyMatch(datacenter -> datacenter.isProcessedInParallel));
+    }
+
+    @Test
+    public void testSameResultAsSerialWithSameSeed() throws IOException {
+        File configFile = writeSeededScenarioConfig();
+
+        SeededScenarioResult serialResult = simulateSeededScenario(1, configFile);
+        SeededScenarioResult parallelResult = simulateSeededScenario(4, configFile);
+
+        assertTrue(serialResult.instanceResults().stream().anyMatch(result -> !result.startsWith("-1 ")));
+        assertEquals(serialResult.instanceResults(), parallelResult.instanceResults());
+        assertEquals(serialResult.processedEventNum(), parallelResult.processedEventNum());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidParallelism() {
+        new CloudSim().setParallelism(0);
+    }
+
+    private List<EchoDatacenter> simulate(int parallelism) {
+        CloudSim cloudSim = new CloudSim();
+        new CollaborationManagerSimple(cloudSim);
+        cloudSim.setParallelism(parallelism);
+        List<EchoDatacenter> datacenters = new ArrayList<>();
+        for (int i = 0; i < DATACENTER_NUM; i++) {
+            datacenters.add(new EchoDatacenter(cloudSim, datacenters));
+        }
+        cloudSim.start();
+        return datacenters;
+    }
+
+    /**
+     * Runs four datacenters with two random intra-schedulers each, seeded from the config,
+     * which receive user requests generated with a seed at the same times, under the counted schedule cost model.
+     *
+     * @param parallelism the number of threads processing the events of the datacenters
+     * @param configFile  the config of the datacenters
+     * @return the host, start time and finish time of each instance and the number of processed events
+     */
+    private static SeededScenarioResult simulateSeededScenario(int parallelism, File configFile) {
+        CloudSim cloudSim = new CloudSim();
+        cloudSim.setIsSqlRecord(false);
+        cloudSim.setParallelism(parallelism);
+        InitDatacenter.initDatacenters(cloudSim, new FactorySimple(), configFile.getPath());
+        // The user requests are scheduled by the intra-schedulers of the datacenters they are sent to.
+        cloudSim.getCollaborationManager().getDatacenters(1).forEach(datacenter -> datacenter.setFailureClusterFlag(true));
+        List<UserRequest> userRequests = new ArrayList<>();
+        new UserRequestSender(cloudSim, new Random(SEEDED_SCENARIO_SEED), userRequests);
+        cloudSim.start();
+
+        List<String> instanceResults = new ArrayList<>();
+        for (UserRequest userRequest : userRequests) {
+            for (InstanceGroup instanceGroup : userRequest.getInstanceGroups()) {
+                for (Instance instance : instanceGroup.getInstances()) {
+                    instanceResults.add("%d %.3f %.3f".formatted(instance.getHost(), instance.getStartTime(), instance.getFinishTime()));
+                }
+            }
+        }
+        return new SeededScenarioResult(instanceResults, cloudSim.getProcessedEventNum());
+    }
+
+    private File writeSeededScenarioConfig() throws IOException {
+        StringBuilder datacenters = new StringBuilder();
+        for (int id = 1; id <= SEEDED_SCENARIO_DATACENTER_NUM; id++) {
+            datacenters.append(id == 1 ? "" : ",\n").append("""
+                    {
+                      "id": %d,
+                      "interSchedulers": {"type": "simple", "target": "dc", "isSupportForward": false, "dcStateSynInfo": []},
+                      "interLoadBalancer": {"type": "round"},
+                      "hostNum": 4,
+                      "partitions": [{"length": 2}, {"length": 2}],
+                      "hostStates": [{"cpu": 16, "ram": 16, "storage": 16, "bw": 16, "startId": 0, "length": 4}],
+                      "synchronizationGap": 0,
+                      "intraSchedulers": [{"firstPartitionId": 0, "type": "random"}, {"firstPartitionId": 1, "type": "random"}],
+                      "intraLoadBalancer": {"type": "round"},
+                      "resourceAllocateSelector": {"type": "simple"}
+                    }""".formatted(id));
+        }
+        File configFile = tempFolder.newFile("DatacentersConfig.json");
+        Files.writeString(configFile.toPath(), """
+                {
+                  "scheduleCostModel": "counted",
+                  "seed": 5,
+                  "collaborations": [{"id": 1, "datacenters": [%s]}]
+                }
+                """.formatted(datacenters));
+        return configFile;
+    }
+
+    /**
+     * The host, start time and finish time of each instance and the number of processed events of a simulation.
+     */
+    private record SeededScenarioResult(List<String> instanceResults, long processedEventNum) {
+    }
+
+    /**
+     * An entity which sends a batch of random user requests to each datacenter at the same times.
+     */
+    private static class UserRequestSender extends CloudSimEntity {
+        private static final int SEND_TIMES = 5;
+
+        private static final int USER_REQUEST_NUM_PER_SEND = 4;
+
+        private final Random random;
+
+        private final List<UserRequest> userRequests;
+
+        private int sendTimes;
+
+        private int userRequestId;
+
+        UserRequestSender(CloudSim cloudSim, Random random, List<UserRequest> userRequests) {
+            super(cloudSim);
+            this.random = random;
+            this.userRequests = userRequests;
+        }
+
+        @Override
+        protected void startInternal() {
+            send(this, 0, CloudSimTag.USER_REQUEST_SEND, null);
+        }
+
+        @Override
+        public void processEvent(SimEvent evt) {
+            for (Datacenter datacenter : getSimulation().getCollaborationManager().getDatacenters(1)) {
+                List<UserRequest> sentUserRequests = new ArrayList<>();
+                for (int i = 0; i < USER_REQUEST_NUM_PER_SEND; i++) {
+                    sentUserRequests.add(createUserRequest(datacenter.getId()));
+                }
+                userRequests.addAll(sentUserRequests);
+                sendWithoutNetwork(datacenter, 0, CloudSimTag.USER_REQUEST_SEND, sentUserRequests);
+            }
+            if (++sendTimes < SEND_TIMES) {
+                send(this, 100, CloudSimTag.USER_REQUEST_SEND, null);
+            }
+        }
+
+        private UserRequest createUserRequest(int datacenterId) {
+            int id = userRequestId++;
+            List<Instance> instances = new ArrayList<>();
+            for (int i = 1 + random.nextInt(4); i > 0; i--) {
+                instances.add(new InstanceSimple(id * 8 + i, 1 + random.nextInt(8), 1 + random.nextInt(8),
+                        1 + random.nextInt(8), 1 + random.nextInt(8), 50 + random.nextInt(400)));
+            }
+            UserRequest userRequest = new UserRequestSimple(id, List.of(new InstanceGroupSimple(id, instances)), new InstanceGroupGraphSimple(false));
+            userRequest.setBelongDatacenterId(datacenterId).setScheduleDelayLimit(-1);
+            return userRequest;
+        }
+    }
+
+    /**
+     * A datacenter which keeps sending events to itself and to the next datacenter
+     * and records the events it processes.
+     */
+    private static class EchoDatacenter extends DatacenterSimple {
+        private final Thread simulationThread = Thread.currentThread();
+
+        private final List<EchoDatacenter> datacenters;
+
+        private final List<String> processedEvents = new ArrayList<>();
+
+        private boolean isProcessedInParallel;
+
+        private int remainingSendNum = 30;
+
+        EchoDatacenter(Simulation simulation, List<EchoDatacenter> datacenters) {
+            super(simulation);
+            this.datacenters = datacenters;
+        }
+
+        @Override
+        protected void startInternal() {
+            sendWithoutNetwork(this, 0, CloudSimTag.INTRA_SCHEDULE_BEGIN, null);
+        }
+
+        @Override
+        public void processEvent(SimEvent evt) {
+            processedEvents.add("%.1f %d %d %d".formatted(evt.getTime(), evt.getTag(), evt.getSerial(), evt.getSource().getId()));
+            isProcessedInParallel |= Thread.currentThread() != simulationThread;
+            if (remainingSendNum-- <= 0) {
+                return;
+            }
+
+            EchoDatacenter next = datacenters.get((datacenters.indexOf(this) + 1) % datacenters.size());
+            sendWithoutNetwork(this, remainingSendNum % 2, CloudSimTag.INTRA_SCHEDULE_BEGIN, null);
+            sendWithoutNetwork(next, 1, CloudSimTag.LOAD_BALANCE_SEND, "intra");
+            if (remainingSendNum % 7 == getId() % 7) {
+                sendWithoutNetwork(next, 0, CloudSimTag.END_INSTANCE_RUN, null);
+            }
+        }
+    }
+}
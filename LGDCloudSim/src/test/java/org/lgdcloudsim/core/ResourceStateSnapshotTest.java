@@ -0,0 +1,122 @@
+package org.lgdcloudsim.core;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.lgdcloudsim.datacenter.CollaborationManagerSimple;
+import org.lgdcloudsim.datacenter.Datacenter;
+import org.lgdcloudsim.datacenter.DatacenterSimple;
+import org.lgdcloudsim.network.NetworkTopologySimple;
+import org.lgdcloudsim.request.InstanceSimple;
+import org.lgdcloudsim.statemanager.PartitionRangesManager;
+import org.lgdcloudsim.statemanager.StatesManager;
+import org.lgdcloudsim.statemanager.StatesManagerSimple;
+
+public class ResourceStateSnapshotTest {
+    private static final int HOST_NUM = 10;
+
+    @Test
+    public void testWriteAndImport() throws IOException {
+        CloudSim warmUpCloudSim = new CloudSim();
+        List<Datacenter> warmUpDatacenters = createDatacenters(warmUpCloudSim, 2);
+        warmUpDatacenters.get(0).getStatesManager().allocate(3, new InstanceSimple(0, 4, 5, 6, 7));
+        warmUpDatacenters.get(1).getStatesManager().allocate(9, new InstanceSimple(1, 10, 10, 10, 10));
+        warmUpCloudSim.getNetworkTopology().getDcBwManager().allocateBw(1, 2, 100);
+
+        Path file = Files.createTempFile("snapshot", ".bin");
+        try {
+            ResourceStateSnapshot.write(warmUpCloudSim, file);
+
+            CloudSim cloudSim = new CloudSim();
+            List<Datacenter> datacenters = createDatacenters(cloudSim, 2);
+            assertEquals(warmUpCloudSim.clock(), ResourceStateSnapshot.importStates(cloudSim, file), 0);
+            assertEquals(0, cloudSim.clock(), 0);
+
+            for (int i = 0; i < datacenters.size(); i++) {
+                StatesManager warmUpStatesManager = warmUpDatacenters.get(i).getStatesManager();
+                StatesManager statesManager = datacenters.get(i).getStatesManager();
+                for (int hostId = 0; hostId < HOST_NUM; hostId++) {
+                    assertEquals(warmUpStatesManager.getNowHostState(hostId), statesManager.getNowHostState(hostId));
+                }
+                assertEquals(warmUpStatesManager.getSimpleState().getCpuAvailableSum(), statesManager.getSimpleState().getCpuAvailableSum());
+                assertEquals(warmUpStatesManager.getSimpleState().getBwAvailableSum(), statesManager.getSimpleState().getBwAvailableSum());
+            }
+            assertEquals(warmUpCloudSim.getNetworkTopology().getDcBwManager().getBw(1, 2), cloudSim.getNetworkTopology().getDcBwManager().getBw(1, 2), 0);
+            assertEquals(warmUpCloudSim.getNetworkTopology().getDcBwManager().getBwTCO(), cloudSim.getNetworkTopology().getDcBwManager().getBwTCO(), 0);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testImportPowerOnHosts() throws IOException {
+        CloudSim warmUpCloudSim = new CloudSim();
+        List<Datacenter> warmUpDatacenters = createDatacenters(warmUpCloudSim, 1);
+        warmUpDatacenters.get(0).getStatesManager().allocate(3, new InstanceSimple(0, 4, 5, 6, 7));
+        warmUpDatacenters.get(0).getStatesManager().allocate(3, new InstanceSimple(1, 1, 1, 1, 1));
+
+        Path file = Files.createTempFile("snapshot", ".bin");
+        try {
+            ResourceStateSnapshot.write(warmUpCloudSim, file);
+
+            CloudSim cloudSim = new CloudSim();
+            StatesManager statesManager = createDatacenters(cloudSim, 1).get(0).getStatesManager();
+            // The instance allocated before the import is not kept, as its host is free in the snapshot.
+            statesManager.allocate(5, new InstanceSimple(2, 1, 1, 1, 1));
+            assertEquals(1, statesManager.getCapacityClassRollup().getPoweredOnHostNum(0));
+            ResourceStateSnapshot.importStates(cloudSim, file);
+
+            assertEquals(Map.of(3, 1), statesManager.getDatacenterPowerOnRecord().getPowerOnHostInstanceNum());
+            assertEquals(1, statesManager.getDatacenterPowerOnRecord().getNowPowerOnHostNum());
+            assertEquals(1, statesManager.getPartitionRollup().getPoweredOnHostNum(0));
+            assertEquals(1, statesManager.getCapacityClassRollup().getPoweredOnHostNum(0));
+            assertEquals(HOST_NUM * 100L - 5, statesManager.getPartitionRollup().getAvailableSum(0, 0));
+
+            // The resources kept from the warm-up are never released, so the host stays powered on.
+            statesManager.allocate(3, new InstanceSimple(3, 1, 1, 1, 1));
+            statesManager.release(3, new InstanceSimple(3, 1, 1, 1, 1));
+            assertEquals(1, statesManager.getPartitionRollup().getPoweredOnHostNum(0));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testImportOtherDatacenters() throws IOException {
+        CloudSim warmUpCloudSim = new CloudSim();
+        createDatacenters(warmUpCloudSim, 2);
+        Path file = Files.createTempFile("snapshot", ".bin");
+        try {
+            ResourceStateSnapshot.write(warmUpCloudSim, file);
+
+            CloudSim cloudSim = new CloudSim();
+            createDatacenters(cloudSim, 1);
+            ResourceStateSnapshot.importStates(cloudSim, file);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private List<Datacenter> createDatacenters(CloudSim cloudSim, int datacenterNum) {
+        new CollaborationManagerSimple(cloudSim);
+        cloudSim.setNetworkTopology(new NetworkTopologySimple("src/test/resources/regionDelay.csv",
+                "src/test/resources/areaDelay.csv", "src/test/resources/DatacenterBwConfig.csv"));
+        List<Datacenter> datacenters = new ArrayList<>();
+        for (int id = 1; id <= datacenterNum; id++) {
+            Datacenter datacenter = new DatacenterSimple(cloudSim, id);
+            PartitionRangesManager partitionRangesManager = new PartitionRangesManager(Map.of(0, new int[]{0, HOST_NUM - 1}));
+            datacenter.setStatesManager(new StatesManagerSimple(HOST_NUM, partitionRangesManager, 0));
+            datacenter.getStatesManager().initHostStates(100, 100, 100, 100, 0, HOST_NUM);
+            cloudSim.getCollaborationManager().addDatacenter(datacenter, 0);
+            datacenters.add(datacenter);
+        }
+        return datacenters;
+    }
+}
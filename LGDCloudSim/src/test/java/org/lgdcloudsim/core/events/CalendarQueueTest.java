@@ -0,0 +1,101 @@
+package org.lgdcloudsim.core.events;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import lombok.Getter;
+
+public class CalendarQueueTest extends EventQueueTestBase<CalendarQueue> {
+    public CalendarQueue createEventQueue() {
+        return new CalendarQueue();
+    }
+
+    @Test
+    public void testSameOrderAsTreeSet() {
+        FutureQueue treeSetQueue = new FutureQueue();
+        FutureQueue calendarQueue = new FutureQueue(new CalendarQueue());
+        Random random = new Random(1);
+        double clock = 0;
+        for (int round = 0; round < 200; round++) {
+            int addNum = random.nextInt(200);
+            for (int i = 0; i < addNum; i++) {
+                double time = clock + (random.nextInt(10) == 0 ? random.nextInt(100000) : random.nextInt(50)) / 10.0;
+                int tag = random.nextInt(8) - 4;
+                boolean isFirst = random.nextInt(5) == 0;
+                SerialSimEvent treeSetEvent = new SerialSimEvent(time, tag);
+                SerialSimEvent calendarEvent = new SerialSimEvent(time, tag);
+                if (isFirst) {
+                    treeSetQueue.addEventFirst(treeSetEvent);
+                    calendarQueue.addEventFirst(calendarEvent);
+                } else {
+                    treeSetQueue.addEvent(treeSetEvent);
+                    calendarQueue.addEvent(calendarEvent);
+                }
+            }
+            int pollNum = random.nextInt(200);
+            for (int i = 0; i < pollNum && !treeSetQueue.isEmpty(); i++) {
+                SimEvent expected = treeSetQueue.first();
+                SimEvent actual = calendarQueue.first();
+                assertEquals(0, expected.compareTo(actual));
+                treeSetQueue.remove(expected);
+                calendarQueue.remove(actual);
+                clock = expected.getTime();
+            }
+            assertEquals(treeSetQueue.size(), calendarQueue.size());
+        }
+    }
+
+    @Test
+    public void testRemoveIf() {
+        CalendarQueue queue = new CalendarQueue();
+        for (int i = 0; i < 1000; i++) {
+            SerialSimEvent event = new SerialSimEvent(i % 100, i % 2);
+            event.setSerial(i);
+            queue.addEvent(event);
+        }
+        queue.removeIf(event -> event.getTag() == 0);
+        assertEquals(500, queue.size());
+        SimEvent first = queue.first();
+        assertEquals(1, first.getTag());
+        assertSame(first, queue.stream().findFirst().orElseThrow());
+    }
+}
+
+class SerialSimEvent extends SimEventNull {
+    @Getter
+    private final double time;
+
+    @Getter
+    private final int tag;
+
+    @Getter
+    private long serial;
+
+    SerialSimEvent(double time, int tag) {
+        this.time = time;
+        this.tag = tag;
+    }
+
+    @Override
+    public SimEvent setSerial(long serial) {
+        this.serial = serial;
+        return this;
+    }
+
+    @Override
+    public int compareTo(final SimEvent that) {
+        int res = Double.compare(time, that.getTime());
+        if (res != 0) {
+            return res;
+        }
+        res = Integer.compare(tag, that.getTag());
+        if (res != 0) {
+            return res;
+        }
+        return Long.compare(serial, that.getSerial());
+    }
+}
@@ -0,0 +1,64 @@
+package org.lgdcloudsim.core.events;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import org.junit.Test;
+import org.lgdcloudsim.core.CloudSim;
+import org.lgdcloudsim.core.CloudSimEntity;
+import org.lgdcloudsim.core.CloudSimTag;
+
+public class CloudSimEventPoolTest {
+    private final CloudSim cloudSim = new CloudSim();
+    private final CloudSimEntity entity = new CloudSimEntity(cloudSim) {
+        @Override
+        protected void startInternal() {
+        }
+
+        @Override
+        public void processEvent(SimEvent evt) {
+        }
+    };
+
+    @Test
+    public void testDisabledPool() {
+        CloudSimEventPool pool = new CloudSimEventPool();
+        CloudSimEvent event = pool.acquire(1, entity, entity, CloudSimTag.END_INSTANCE_RUN, "data");
+        pool.release(event);
+        assertEquals("data", event.getData());
+        assertNotSame(event, pool.acquire(1, entity, entity, CloudSimTag.END_INSTANCE_RUN, "data"));
+        assertEquals(2, pool.getCreatedEventNum());
+    }
+
+    @Test
+    public void testReuseReleasedEvent() {
+        CloudSimEventPool pool = new CloudSimEventPool();
+        pool.setEnabled(true);
+        CloudSimEvent event = pool.acquire(1, entity, entity, CloudSimTag.END_INSTANCE_RUN, "data");
+        event.setSerial(5);
+        pool.release(event);
+        assertThrows(IllegalStateException.class, event::getData);
+
+        CloudSimEvent reused = pool.acquire(2, entity, entity, CloudSimTag.SYN_STATE_IN_DC, null);
+        assertSame(event, reused);
+        assertEquals(2.0, reused.getTime(), 0);
+        assertEquals(CloudSimTag.SYN_STATE_IN_DC, reused.getTag());
+        assertEquals(-1, reused.getSerial());
+        assertEquals(1, pool.getReusedEventNum());
+    }
+
+    @Test
+    public void testSafetyCheck() {
+        CloudSimEventPool pool = new CloudSimEventPool();
+        pool.setEnabled(true);
+        pool.setSafetyCheck(true);
+        CloudSimEvent first = pool.acquire(1, entity, entity, CloudSimTag.END_INSTANCE_RUN, null);
+        CloudSimEvent second = pool.acquire(1, entity, entity, CloudSimTag.END_INSTANCE_RUN, null);
+        pool.release(first);
+        pool.release(second);
+        assertThrows(IllegalStateException.class, () -> pool.release(first));
+        assertSame(first, pool.acquire(1, entity, entity, CloudSimTag.END_INSTANCE_RUN, null));
+    }
+}
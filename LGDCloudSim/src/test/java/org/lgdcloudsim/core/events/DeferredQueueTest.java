@@ -1,7 +1,108 @@
 package org.lgdcloudsim.core.events;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.lgdcloudsim.core.CloudSimTag;
+import org.lgdcloudsim.core.SimEntity;
+import org.lgdcloudsim.core.SimEntityNull;
+
+import lombok.Getter;
+
 public class DeferredQueueTest extends EventQueueTestBase<DeferredQueue> {
     public DeferredQueue createEventQueue() {
         return new DeferredQueue();
     }
+
+    @Test
+    public void testSelectByDestination() {
+        DeferredQueue queue = new DeferredQueue();
+        SimEntity dc1 = new SimEntityNull();
+        SimEntity dc2 = new SimEntityNull();
+        SimEvent dc1Late = new DestinationSimEvent(2.0, dc1, CloudSimTag.INTRA_SCHEDULE_BEGIN, null);
+        SimEvent dc2Event = new DestinationSimEvent(1.0, dc2, CloudSimTag.INTRA_SCHEDULE_BEGIN, null);
+        SimEvent dc1Early = new DestinationSimEvent(1.0, dc1, CloudSimTag.INTRA_SCHEDULE_END, null);
+        queue.addEvent(dc1Late);
+        queue.addEvent(dc2Event);
+        queue.addEvent(dc1Early);
+
+        assertSame(dc1Early, queue.findFirst(dc1, event -> true));
+        assertSame(dc1Early, queue.select(dc1, event -> true));
+        assertSame(SimEvent.NULL, queue.select(dc1, event -> event.getTime() < 2.0));
+        assertSame(dc1Late, queue.select(dc1, event -> true));
+        assertEquals(1, queue.size());
+        assertSame(dc2Event, queue.first());
+    }
+
+    @Test
+    public void testIsExistSameEvent() {
+        DeferredQueue queue = new DeferredQueue();
+        SimEntity dc = new SimEntityNull();
+        SimEvent intra = new DestinationSimEvent(1.0, dc, CloudSimTag.LOAD_BALANCE_SEND, "intra");
+        queue.addEvent(intra);
+        queue.addEvent(new DestinationSimEvent(1.0, dc, CloudSimTag.PRE_ALLOCATE_RESOURCE, null));
+
+        assertTrue(queue.isExistSameEvent(dc, CloudSimTag.LOAD_BALANCE_SEND, "intra"));
+        assertFalse(queue.isExistSameEvent(dc, CloudSimTag.LOAD_BALANCE_SEND, "inter"));
+        assertFalse(queue.isExistSameEvent(new SimEntityNull(), CloudSimTag.LOAD_BALANCE_SEND, "intra"));
+        assertTrue(queue.isExistSameEvent(dc, CloudSimTag.PRE_ALLOCATE_RESOURCE, null));
+
+        queue.remove(intra);
+        assertFalse(queue.isExistSameEvent(dc, CloudSimTag.LOAD_BALANCE_SEND, "intra"));
+        queue.removeIf(event -> event.getTag() == CloudSimTag.PRE_ALLOCATE_RESOURCE);
+        assertFalse(queue.isExistSameEvent(dc, CloudSimTag.PRE_ALLOCATE_RESOURCE, null));
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testSameTimeEventsOrderedBySerial() {
+        DeferredQueue queue = new DeferredQueue();
+        List<SimEvent> events = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            events.add(new DestinationSimEvent(1.0, new SimEntityNull(), CloudSimTag.INTRA_SCHEDULE_BEGIN, null, i));
+        }
+        List<SimEvent> shuffledEvents = new ArrayList<>(events);
+        Collections.shuffle(shuffledEvents, new Random(1));
+        shuffledEvents.forEach(queue::addEvent);
+
+        assertSame(events.get(0), queue.first());
+        assertEquals(events, queue.stream().toList());
+    }
+}
+
+class DestinationSimEvent extends SimEventNull {
+    @Getter
+    private final double time;
+
+    @Getter
+    private final SimEntity destination;
+
+    @Getter
+    private final int tag;
+
+    @Getter
+    private final Object data;
+
+    @Getter
+    private final long serial;
+
+    DestinationSimEvent(double time, SimEntity destination, int tag, Object data) {
+        this(time, destination, tag, data, 0);
+    }
+
+    DestinationSimEvent(double time, SimEntity destination, int tag, Object data, long serial) {
+        this.time = time;
+        this.destination = destination;
+        this.tag = tag;
+        this.data = data;
+        this.serial = serial;
+    }
 }
@@ -0,0 +1,61 @@
+package org.lgdcloudsim.core.events;
+
+import org.lgdcloudsim.core.CloudSimTag;
+
+import java.util.Random;
+
+/**
+ * Measures the per-tick cost of checking whether only looping events are left in the {@link FutureQueue},
+ * comparing the stream over the whole queue with the counters kept by the queue.
+ * It is not a unit test, run its main method to get the results.
+ */
+public class FutureQueueBenchmark {
+    private static final int EVENT_NUM = 100_000;
+    private static final int TICK_NUM = 200;
+    private static final int WARM_UP_NUM = 3;
+
+    public static void main(String[] args) {
+        FutureQueue queue = new FutureQueue();
+        Random random = new Random(1);
+        for (int i = 0; i < EVENT_NUM - 1; i++) {
+            queue.addEvent(new SerialSimEvent(random.nextInt(1_000_000) / 10.0, CloudSimTag.SYN_STATE_IN_DC));
+        }
+        // The only non-loop event is the last one, so the stream has to go through the whole queue.
+        queue.addEvent(new SerialSimEvent(1_000_000, CloudSimTag.END_INSTANCE_RUN));
+
+        for (int i = 0; i < WARM_UP_NUM; i++) {
+            measure(queue, true);
+            measure(queue, false);
+        }
+        System.out.printf("Future queue with %d events:%n", queue.size());
+        System.out.printf("\tstream check:  %.1f us per tick%n", measure(queue, true) / 1000.0);
+        System.out.printf("\tcounter check: %.3f us per tick%n", measure(queue, false) / 1000.0);
+    }
+
+    private static double measure(FutureQueue queue, boolean isStream) {
+        int onlySynTicks = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < TICK_NUM; i++) {
+            if (isStream ? isOnlySynByStream(queue) : queue.isOnlyLoopTagEvents()) {
+                onlySynTicks++;
+            }
+        }
+        long end = System.nanoTime();
+        if (onlySynTicks != 0) {
+            throw new IllegalStateException("The queue should contain a non-loop event.");
+        }
+        return (double) (end - start) / TICK_NUM;
+    }
+
+    /**
+     * The check used by CloudSim before the queue counted the loop-tag events.
+     */
+    private static boolean isOnlySynByStream(FutureQueue queue) {
+        for (SimEvent simEvent : queue.stream().toList()) {
+            if (!CloudSimTag.LOOP_TAG.contains(simEvent.getTag())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,7 +1,295 @@
 package org.lgdcloudsim.core.events;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.lgdcloudsim.core.CloudSim;
+import org.lgdcloudsim.core.CloudSimEntity;
+import org.lgdcloudsim.core.CloudSimTag;
+import org.lgdcloudsim.datacenter.CollaborationManagerSimple;
+
 public class FutureQueueTest extends EventQueueTestBase<FutureQueue> {
     public FutureQueue createEventQueue() {
         return new FutureQueue();
     }
+
+    @Test
+    public void testLoopTagEventNum() {
+        FutureQueue queue = new FutureQueue();
+        SimEvent syn = new SerialSimEvent(1.0, CloudSimTag.SYN_STATE_IN_DC);
+        SimEvent end = new SerialSimEvent(2.0, CloudSimTag.END_INSTANCE_RUN);
+        SimEvent send = new SerialSimEvent(3.0, CloudSimTag.USER_REQUEST_SEND);
+        queue.addEvent(syn);
+        queue.addEventFirst(end);
+        queue.addEvent(send);
+        assertEquals(1, queue.getLoopTagEventNum());
+        assertEquals(2, queue.getNonLoopTagEventNum());
+        assertFalse(queue.isOnlyLoopTagEvents());
+
+        queue.remove(end);
+        queue.remove(end);
+        assertEquals(1, queue.getNonLoopTagEventNum());
+        queue.removeIf(event -> event.getTag() == CloudSimTag.USER_REQUEST_SEND);
+        assertEquals(0, queue.getNonLoopTagEventNum());
+        assertEquals(1, queue.getLoopTagEventNum());
+        assertTrue(queue.isOnlyLoopTagEvents());
+
+        queue.clear();
+        assertEquals(0, queue.getLoopTagEventNum());
+    }
+
+    @Test
+    public void testAddEventKeepingSerial() {
+        CloudSim cloudSim = new CloudSim();
+        CloudSimEntity entity = new NullEntity(cloudSim);
+        FutureQueue queue = new FutureQueue();
+        SimEvent first = new CloudSimEvent(1, entity, entity, CloudSimTag.INTRA_SCHEDULE_BEGIN, null);
+        SimEvent second = new CloudSimEvent(1, entity, entity, CloudSimTag.INTRA_SCHEDULE_BEGIN, null);
+        queue.addEvent(first);
+        queue.addEvent(second);
+        long firstSerial = first.getSerial();
+
+        queue.remove(first);
+        queue.addEventKeepingSerial(first);
+
+        assertEquals(firstSerial, first.getSerial());
+        assertEquals(first, queue.first());
+        assertEquals(2, queue.size());
+    }
+
+    @Test
+    public void testMergeEvents() {
+        CloudSim cloudSim = new CloudSim();
+        CloudSimEntity entity = new NullEntity(cloudSim);
+        CloudSimEntity otherEntity = new NullEntity(cloudSim);
+        FutureQueue queue = new FutureQueue();
+        List<String> firstData = List.of("a", "b");
+        SimEvent first = new CloudSimEvent(1, entity, entity, CloudSimTag.END_INSTANCE_RUN, firstData);
+        queue.addEvent(first);
+
+        assertTrue(queue.merge(new CloudSimEvent(1, entity, entity, CloudSimTag.END_INSTANCE_RUN, List.of("c"))));
+        assertTrue(queue.merge(new CloudSimEvent(1, entity, entity, CloudSimTag.END_INSTANCE_RUN, List.of("d"))));
+        assertEquals(List.of("a", "b", "c", "d"), first.getData());
+        assertEquals(List.of("a", "b"), firstData);
+        assertEquals(2, queue.getMergedEventNum());
+
+        assertFalse(queue.merge(new CloudSimEvent(2, entity, entity, CloudSimTag.END_INSTANCE_RUN, List.of("e"))));
+        assertFalse(queue.merge(new CloudSimEvent(1, otherEntity, entity, CloudSimTag.END_INSTANCE_RUN, List.of("e"))));
+        assertFalse(queue.merge(new CloudSimEvent(1, entity, entity, CloudSimTag.USER_REQUEST_SEND, List.of("e"))));
+        assertFalse(queue.merge(new CloudSimEvent(1, entity, entity, CloudSimTag.END_INSTANCE_RUN, null)));
+
+        queue.remove(first);
+        assertFalse(queue.merge(new CloudSimEvent(1, entity, entity, CloudSimTag.END_INSTANCE_RUN, List.of("e"))));
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testMergeInSimulation() {
+        CloudSim cloudSim = new CloudSim();
+        new CollaborationManagerSimple(cloudSim);
+        List<Object> processedData = new ArrayList<>();
+        CloudSimEntity entity = new NullEntity(cloudSim) {
+            @Override
+            protected void startInternal() {
+                schedule(this, 5, CloudSimTag.END_INSTANCE_RUN, List.of(1, 2));
+                schedule(this, 2, CloudSimTag.END_INSTANCE_RUN, List.of(0));
+                schedule(this, 5, CloudSimTag.END_INSTANCE_RUN, List.of(3));
+            }
+
+            @Override
+            public void processEvent(SimEvent evt) {
+                processedData.add(evt.getData());
+            }
+        };
+        cloudSim.start();
+        // END_INSTANCE_RUN is added first, so the later event of the same time is processed first.
+        assertEquals(List.of(List.of(0), List.of(3, 1, 2)), processedData);
+    }
+
+    @Test
+    public void testMergeInSameOrderAsUnmerged() {
+        CloudSim cloudSim = new CloudSim();
+        CloudSimEntity entity = new NullEntity(cloudSim);
+        FutureQueue mergingQueue = new FutureQueue();
+        FutureQueue unmergingQueue = new FutureQueue(new TreeSetEventQueue(), Set.of());
+        for (FutureQueue queue : List.of(mergingQueue, unmergingQueue)) {
+            send(queue, new CloudSimEvent(1, entity, entity, CloudSimTag.END_INSTANCE_RUN, List.of(1, 2)));
+            send(queue, new CloudSimEvent(1, entity, entity, CloudSimTag.END_INSTANCE_RUN, List.of(3)));
+            send(queue, new CloudSimEvent(1, entity, entity, CloudSimTag.END_INSTANCE_RUN, List.of(4, 5)));
+        }
+
+        assertEquals(2, mergingQueue.getMergedEventNum());
+        assertEquals(List.of(4, 5, 3, 1, 2), getProcessedItems(unmergingQueue));
+        assertEquals(getProcessedItems(unmergingQueue), getProcessedItems(mergingQueue));
+    }
+
+    /**
+     * Sends an event to a queue as {@link CloudSim#send(SimEvent)} does.
+     */
+    private static void send(FutureQueue queue, SimEvent evt) {
+        boolean first = evt.getTag() < 0;
+        if (queue.merge(evt, first)) {
+            return;
+        }
+        if (first) {
+            queue.addEventFirst(evt);
+        } else {
+            queue.addEvent(evt);
+        }
+    }
+
+    private static List<Object> getProcessedItems(FutureQueue queue) {
+        List<Object> items = new ArrayList<>();
+        queue.stream().forEach(evt -> items.addAll((List<?>) evt.getData()));
+        return items;
+    }
+
+    @Test
+    public void testPrimitiveEventStore() {
+        CloudSim cloudSim = new CloudSim();
+        CloudSimEntity entity = new NullEntity(cloudSim);
+        CloudSimEntity otherEntity = new NullEntity(cloudSim);
+        FutureQueue queue = new FutureQueue();
+        PrimitiveEventStore store = new PrimitiveEventStore(CloudSimTag.PRIMITIVE_TAG, cloudSim.getEventPool());
+        queue.setPrimitiveEventStore(store);
+        assertTrue(queue.addEvent(entity, otherEntity, 2, CloudSimTag.LOAD_BALANCE_SEND, "intra", false));
+        assertFalse(queue.addEvent(entity, entity, 1, CloudSimTag.USER_REQUEST_SEND, List.of(), false));
+        queue.addEvent(new CloudSimEvent(1, entity, entity, CloudSimTag.USER_REQUEST_SEND, List.of()));
+        assertTrue(queue.addEvent(otherEntity, entity, 2, CloudSimTag.SYN_STATE_IN_DC, null, true));
+        assertTrue(queue.addEvent(otherEntity, otherEntity, 1, CloudSimTag.LOAD_BALANCE_SEND, 7, false));
+        assertTrue(queue.addEvent(entity, entity, 2, CloudSimTag.LOAD_BALANCE_SEND, "inter", false));
+        assertEquals(4, store.size());
+        assertEquals(5, queue.size());
+        assertEquals(5, queue.getMaxEventsNumber());
+        assertEquals(1, queue.getLoopTagEventNum());
+
+        List<SimEvent> iterated = new ArrayList<>();
+        queue.iterator().forEachRemaining(iterated::add);
+        assertEquals(5, queue.size());
+        assertEquals(iterated, queue.stream().toList());
+        assertTrue(queue.first() == queue.first());
+
+        List<Object> polled = new ArrayList<>();
+        while (!queue.isEmpty()) {
+            SimEvent first = queue.first();
+            assertEquals(iterated.get(polled.size()), first);
+            polled.add(List.of(first.getTime(), first.getTag(), first.getSource(), first.getDestination(), String.valueOf(first.getData())));
+            assertTrue(queue.remove(first));
+            assertFalse(queue.remove(first));
+        }
+        assertEquals(List.of(
+                List.of(1.0, CloudSimTag.USER_REQUEST_SEND, entity, entity, "[]"),
+                List.of(1.0, CloudSimTag.LOAD_BALANCE_SEND, otherEntity, otherEntity, "7"),
+                List.of(2.0, CloudSimTag.SYN_STATE_IN_DC, otherEntity, entity, "null"),
+                List.of(2.0, CloudSimTag.LOAD_BALANCE_SEND, entity, otherEntity, "intra"),
+                List.of(2.0, CloudSimTag.LOAD_BALANCE_SEND, entity, entity, "inter")), polled);
+        assertEquals(4, store.getStoredEventNum());
+        assertEquals(0, queue.getLoopTagEventNum());
+        assertEquals(0, queue.getNonLoopTagEventNum());
+
+        queue.addEvent(entity, entity, 3, CloudSimTag.LOAD_BALANCE_SEND, 1, false);
+        queue.addEvent(entity, entity, 4, CloudSimTag.LOAD_BALANCE_SEND, 2, false);
+        queue.addEvent(new CloudSimEvent(4, entity, entity, CloudSimTag.USER_REQUEST_SEND, null));
+        assertTrue(queue.removeIf(event -> Integer.valueOf(2).equals(event.getData())));
+        assertEquals(2, queue.size());
+        List<SimEvent> events = new ArrayList<>();
+        queue.iterator().forEachRemaining(events::add);
+        assertEquals(1, events.get(0).getData());
+        assertEquals(CloudSimTag.USER_REQUEST_SEND, events.get(1).getTag());
+        queue.removeAll(events);
+        assertTrue(queue.isEmpty());
+        assertTrue(store.isEmpty());
+    }
+
+    @Test
+    public void testMergeIntoPrimitiveEventStore() {
+        CloudSim cloudSim = new CloudSim();
+        CloudSimEntity entity = new NullEntity(cloudSim);
+        FutureQueue queue = new FutureQueue();
+        queue.setPrimitiveEventStore(new PrimitiveEventStore(CloudSimTag.PRIMITIVE_TAG, cloudSim.getEventPool()));
+        List<Integer> firstData = List.of(1, 2);
+        queue.addEvent(entity, entity, 1, CloudSimTag.END_INSTANCE_RUN, firstData, true);
+        SimEvent first = queue.first();
+        queue.addEvent(entity, entity, 1, CloudSimTag.END_INSTANCE_RUN, List.of(3), true);
+        assertTrue(queue.merge(new CloudSimEvent(1, entity, entity, CloudSimTag.END_INSTANCE_RUN, List.of(4)), false));
+        assertEquals(1, queue.size());
+        assertEquals(2, queue.getMergedEventNum());
+        assertTrue(first == queue.first());
+        assertEquals(List.of(3, 1, 2, 4), first.getData());
+        assertEquals(List.of(1, 2), firstData);
+
+        queue.remove(first);
+        assertTrue(queue.addEvent(entity, entity, 1, CloudSimTag.END_INSTANCE_RUN, List.of(5), true));
+        assertEquals(List.of(5), queue.first().getData());
+        assertEquals(2, queue.getMergedEventNum());
+    }
+
+    @Test
+    public void testPrimitiveEventStoreInSimulation() {
+        assertEquals(runWithPrimitiveEventStore(false), runWithPrimitiveEventStore(true));
+    }
+
+    /**
+     * Runs a simulation whose entities send events of primitive and other tags to each other
+     * and gets the events processed.
+     */
+    private static List<Object> runWithPrimitiveEventStore(boolean enabled) {
+        CloudSim cloudSim = new CloudSim();
+        cloudSim.setPrimitiveEventStoreEnabled(enabled);
+        new CollaborationManagerSimple(cloudSim);
+        List<Object> processed = new ArrayList<>();
+        List<CloudSimEntity> entities = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            entities.add(new NullEntity(cloudSim) {
+                @Override
+                protected void startInternal() {
+                    CloudSimEntity other = entities.get(entities.get(0) == this ? 1 : 0);
+                    schedule(other, 1, CloudSimTag.LOAD_BALANCE_SEND, "intra");
+                    schedule(this, 1, CloudSimTag.USER_REQUEST_SEND, List.of(getId()));
+                    schedule(other, 2, CloudSimTag.END_INSTANCE_RUN, List.of(getId()));
+                    schedule(other, 2, CloudSimTag.END_INSTANCE_RUN, List.of(getId() + 10));
+                }
+
+                @Override
+                public void processEvent(SimEvent evt) {
+                    processed.add(List.of(evt.getTime(), evt.getTag(), evt.getSource().getId(), getId(), String.valueOf(evt.getData())));
+                    if (evt.getTag() == CloudSimTag.LOAD_BALANCE_SEND && evt.getTime() < 4) {
+                        schedule(this, 1, CloudSimTag.LOAD_BALANCE_SEND, "inter");
+                        schedule(evt.getSource(), 1, CloudSimTag.END_INSTANCE_RUN, List.of(getId() + 20));
+                        schedule(this, 0, CloudSimTag.USER_REQUEST_SEND, List.of(getId() + 30));
+                    }
+                }
+            });
+        }
+        cloudSim.start();
+        return processed;
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testSetPrimitiveEventStoreOnNonEmptyQueue() {
+        CloudSim cloudSim = new CloudSim();
+        FutureQueue queue = new FutureQueue();
+        queue.addEvent(new SerialSimEvent(1.0, CloudSimTag.USER_REQUEST_SEND));
+        queue.setPrimitiveEventStore(new PrimitiveEventStore(CloudSimTag.PRIMITIVE_TAG, cloudSim.getEventPool()));
+    }
+
+    private static class NullEntity extends CloudSimEntity {
+        NullEntity(CloudSim cloudSim) {
+            super(cloudSim);
+        }
+
+        @Override
+        protected void startInternal() {
+        }
+
+        @Override
+        public void processEvent(SimEvent evt) {
+        }
+    }
 }
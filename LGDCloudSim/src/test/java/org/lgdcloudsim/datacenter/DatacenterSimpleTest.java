@@ -0,0 +1,133 @@
+package org.lgdcloudsim.datacenter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.lgdcloudsim.core.CloudSim;
+import org.lgdcloudsim.core.CloudSimEntity;
+import org.lgdcloudsim.core.CloudSimTag;
+import org.lgdcloudsim.core.FactorySimple;
+import org.lgdcloudsim.core.events.SimEvent;
+import org.lgdcloudsim.request.Instance;
+import org.lgdcloudsim.request.InstanceGroup;
+import org.lgdcloudsim.request.InstanceGroupGraphSimple;
+import org.lgdcloudsim.request.InstanceGroupSimple;
+import org.lgdcloudsim.request.InstanceSimple;
+import org.lgdcloudsim.request.UserRequest;
+import org.lgdcloudsim.request.UserRequestSimple;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DatacenterSimpleTest {
+    private static final int USER_REQUEST_NUM = 6;
+
+    private static final int INSTANCE_NUM_PER_GROUP = 3;
+
+    @Test
+    void testParallelIntraScheduling(@TempDir Path tempDir) throws IOException {
+        SimulationResult serialResult = simulate(tempDir, false);
+        SimulationResult parallelResult = simulate(tempDir, true);
+
+        assertEquals(USER_REQUEST_NUM * INSTANCE_NUM_PER_GROUP, serialResult.instanceResults().size());
+        assertTrue(serialResult.instanceResults().stream().noneMatch(result -> result.startsWith("-1 ")));
+        assertEquals(serialResult.instanceResults(), parallelResult.instanceResults());
+        // Both intra-schedulers start scheduling in one INTRA_SCHEDULE_BEGIN event instead of one event each.
+        assertTrue(parallelResult.processedEventNum() < serialResult.processedEventNum());
+    }
+
+    /**
+     * Runs a datacenter with two intra-schedulers, one per partition, under the counted schedule cost model.
+     *
+     * @param tempDir                 the directory to write the config to
+     * @param parallelIntraScheduling whether the intra-schedulers starting at the same time schedule in parallel
+     * @return the host, start time and finish time of each instance and the number of processed events
+     */
+    private static SimulationResult simulate(Path tempDir, boolean parallelIntraScheduling) throws IOException {
+        String config = """
+                {
+                  "scheduleCostModel": "counted",
+                  "seed": 3,
+                  "id": 1,
+                  "hostNum": 8,
+                  "parallelIntraScheduling": %b,
+                  "partitions": [{"length": 4}, {"length": 4}],
+                  "hostStates": [{"cpu": 4, "ram": 4, "storage": 4, "bw": 4, "startId": 0, "length": 8}],
+                  "synchronizationGap": 0,
+                  "intraSchedulers": [{"firstPartitionId": 0, "type": "simple"}, {"firstPartitionId": 1, "type": "simple"}],
+                  "intraLoadBalancer": {"type": "round"},
+                  "resourceAllocateSelector": {"type": "simple"}
+                }
+                """.formatted(parallelIntraScheduling);
+        Path configFile = tempDir.resolve("DatacentersConfig.json");
+        Files.writeString(configFile, config);
+        CloudSim cloudSim = new CloudSim();
+        cloudSim.setIsSqlRecord(false);
+        InitDatacenter.initDatacenters(cloudSim, new FactorySimple(), configFile.toString());
+        Datacenter datacenter = cloudSim.getCollaborationManager().getDatacenters(0).get(0);
+
+        List<UserRequest> userRequests = createUserRequests();
+        new UserRequestSender(cloudSim, datacenter, userRequests);
+        cloudSim.start();
+
+        List<String> instanceResults = new ArrayList<>();
+        for (UserRequest userRequest : userRequests) {
+            for (InstanceGroup instanceGroup : userRequest.getInstanceGroups()) {
+                for (Instance instance : instanceGroup.getInstances()) {
+                    instanceResults.add("%d %.3f %.3f".formatted(instance.getHost(), instance.getStartTime(), instance.getFinishTime()));
+                }
+            }
+        }
+        return new SimulationResult(instanceResults, cloudSim.getProcessedEventNum());
+    }
+
+    private static List<UserRequest> createUserRequests() {
+        List<UserRequest> userRequests = new ArrayList<>();
+        int instanceId = 0;
+        for (int i = 0; i < USER_REQUEST_NUM; i++) {
+            List<Instance> instances = new ArrayList<>();
+            for (int j = 0; j < INSTANCE_NUM_PER_GROUP; j++) {
+                instances.add(new InstanceSimple(instanceId++, 1, 1, 1, 1, 10 + i));
+            }
+            UserRequest userRequest = new UserRequestSimple(i, List.of(new InstanceGroupSimple(i, instances)), new InstanceGroupGraphSimple(false));
+            userRequest.setBelongDatacenterId(1).setScheduleDelayLimit(-1);
+            userRequests.add(userRequest);
+        }
+        return userRequests;
+    }
+
+    /**
+     * The host, start time and finish time of each instance and the number of processed events of a simulation.
+     */
+    private record SimulationResult(List<String> instanceResults, long processedEventNum) {
+    }
+
+    /**
+     * An entity which sends the user requests to the datacenter when the simulation starts.
+     */
+    private static class UserRequestSender extends CloudSimEntity {
+        private final Datacenter datacenter;
+
+        private final List<UserRequest> userRequests;
+
+        UserRequestSender(CloudSim cloudSim, Datacenter datacenter, List<UserRequest> userRequests) {
+            super(cloudSim);
+            this.datacenter = datacenter;
+            this.userRequests = userRequests;
+        }
+
+        @Override
+        protected void startInternal() {
+            sendWithoutNetwork(datacenter, 0, CloudSimTag.USER_REQUEST_SEND, userRequests);
+        }
+
+        @Override
+        public void processEvent(SimEvent evt) {
+        }
+    }
+}
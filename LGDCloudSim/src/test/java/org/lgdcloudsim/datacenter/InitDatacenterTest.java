@@ -1,10 +1,29 @@
 package org.lgdcloudsim.datacenter;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.lgdcloudsim.core.CloudSim;
+import org.lgdcloudsim.core.FactorySimple;
+import org.lgdcloudsim.core.events.CalendarQueue;
+import org.lgdcloudsim.core.events.TreeSetEventQueue;
+import org.lgdcloudsim.intrascheduler.IntraScheduler;
+import org.lgdcloudsim.intrascheduler.IntraSchedulerPowerOfChoices;
+import org.lgdcloudsim.intrascheduler.IntraSchedulerSimple;
+import org.lgdcloudsim.util.ScheduleCostModelCounted;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 
 public class InitDatacenterTest {
+    private static final String SIMPLE_INTRA_SCHEDULER = "{\"firstPartitionIndex\": 0, \"type\": \"simple\"}";
+
     @Test
     void testInitDatacenter() {
 //        Simulation simulation = new CloudSim();
@@ -25,4 +44,115 @@ public class InitDatacenterTest {
 //        assertEquals(1, innerScheduler1.getFirstPartitionId());
 //        assertEquals(false, datacenter.getStatesManager().getPredictable());
     }
+
+    @Test
+    void testGetFutureEventQueue(@TempDir Path tempDir) throws IOException {
+        assertTrue(InitDatacenter.getFutureEventQueue(new FactorySimple(), "src/test/resources/DatacentersConfig.json") instanceof TreeSetEventQueue);
+
+        Path configFile = tempDir.resolve("DatacentersConfig.json");
+        Files.writeString(configFile, "{\"futureEventQueue\": \"calendar\"}");
+        assertTrue(InitDatacenter.getFutureEventQueue(new FactorySimple(), configFile.toString()) instanceof CalendarQueue);
+    }
+
+    @Test
+    void testRejectParallelIntraSchedulingWithMeasuredCost(@TempDir Path tempDir) throws IOException {
+        String config = Files.readString(Path.of("src/test/resources/DatacentersConfig.json"))
+                .replace("\"hostNum\": 2,", "\"hostNum\": 2,\n          \"parallelIntraScheduling\": true,");
+        Path configFile = tempDir.resolve("DatacentersConfig.json");
+        Files.writeString(configFile, config);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> InitDatacenter.initDatacenters(new CloudSim(), new FactorySimple(), configFile.toString()));
+        assertTrue(exception.getMessage().contains("parallel intra-scheduling"));
+    }
+
+    @Test
+    void testPowerOfChoicesIntraScheduler(@TempDir Path tempDir) throws IOException {
+        assertTrue(new FactorySimple().getIntraScheduler("powerOfChoices", 0, 0, 1) instanceof IntraSchedulerPowerOfChoices);
+
+        Path configFile = writeSingleDatacenterConfig(tempDir, "", "{\"firstPartitionIndex\": 0, \"type\": \"powerOfChoices\", \"choiceNum\": 3}");
+        CloudSim cloudSim = new CloudSim();
+        InitDatacenter.initDatacenters(cloudSim, new FactorySimple(), configFile.toString());
+
+        List<IntraScheduler> intraSchedulers = cloudSim.getCollaborationManager().getDatacenters(0).get(0).getIntraSchedulers();
+        assertEquals(1, intraSchedulers.size());
+        assertEquals(3, ((IntraSchedulerPowerOfChoices) intraSchedulers.get(0)).getChoiceNum());
+    }
+
+    @Test
+    void testEventPool(@TempDir Path tempDir) throws IOException {
+        CloudSim cloudSim = new CloudSim();
+        InitDatacenter.initDatacenters(cloudSim, new FactorySimple(), writeSingleDatacenterConfig(tempDir, "", SIMPLE_INTRA_SCHEDULER).toString());
+        assertFalse(cloudSim.getEventPool().isEnabled());
+
+        cloudSim = new CloudSim();
+        InitDatacenter.initDatacenters(cloudSim, new FactorySimple(),
+                writeSingleDatacenterConfig(tempDir, "\"eventPool\": true,", SIMPLE_INTRA_SCHEDULER).toString());
+        assertTrue(cloudSim.getEventPool().isEnabled());
+    }
+
+    @Test
+    void testPrimitiveEventStore(@TempDir Path tempDir) throws IOException {
+        CloudSim cloudSim = new CloudSim();
+        InitDatacenter.initDatacenters(cloudSim, new FactorySimple(), writeSingleDatacenterConfig(tempDir, "", SIMPLE_INTRA_SCHEDULER).toString());
+        assertFalse(cloudSim.isPrimitiveEventStoreEnabled());
+
+        cloudSim = new CloudSim();
+        InitDatacenter.initDatacenters(cloudSim, new FactorySimple(),
+                writeSingleDatacenterConfig(tempDir, "\"primitiveEventStore\": true,", SIMPLE_INTRA_SCHEDULER).toString());
+        assertTrue(cloudSim.isPrimitiveEventStoreEnabled());
+    }
+
+    @Test
+    void testScheduleCostModelAndSeed(@TempDir Path tempDir) throws IOException {
+        CloudSim cloudSim = new CloudSim();
+        InitDatacenter.initDatacenters(cloudSim, new FactorySimple(),
+                writeSingleDatacenterConfig(tempDir, "\"scheduleCostModel\": \"counted\", \"seed\": 7,", SIMPLE_INTRA_SCHEDULER).toString());
+        assertTrue(cloudSim.getScheduleCostModel() instanceof ScheduleCostModelCounted);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> InitDatacenter.initDatacenters(new CloudSim(), new FactorySimple(),
+                        writeSingleDatacenterConfig(tempDir, "\"scheduleCostModel\": \"unknown\",", SIMPLE_INTRA_SCHEDULER).toString()));
+        assertTrue(exception.getMessage().contains("schedule cost model"));
+    }
+
+    @Test
+    void testRejectPartitionShardedOwnScheduling(@TempDir Path tempDir) throws IOException {
+        CloudSim cloudSim = new CloudSim();
+        InitDatacenter.initDatacenters(cloudSim, new FactorySimple(), writeSingleDatacenterConfig(tempDir, "",
+                "{\"firstPartitionIndex\": 0, \"type\": \"simple\", \"partitionSharded\": true}").toString());
+        assertTrue(((IntraSchedulerSimple) cloudSim.getCollaborationManager().getDatacenters(0).get(0).getIntraSchedulers().get(0)).isPartitionSharded());
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> InitDatacenter.initDatacenters(new CloudSim(), new FactorySimple(), writeSingleDatacenterConfig(tempDir, "",
+                        "{\"firstPartitionIndex\": 0, \"type\": \"random\", \"partitionSharded\": true}").toString()));
+        assertTrue(exception.getMessage().contains("partition sharded"));
+    }
+
+    /**
+     * Writes the config of a single datacenter with two hosts in one partition.
+     *
+     * @param tempDir        the directory to write the config to
+     * @param simulationKeys the keys of the simulation options followed by a comma, or an empty string
+     * @param intraScheduler the json object of the intra-scheduler
+     * @return the path of the config
+     */
+    private static Path writeSingleDatacenterConfig(Path tempDir, String simulationKeys, String intraScheduler) throws IOException {
+        String config = """
+                {
+                  %s
+                  "id": 1,
+                  "hostNum": 2,
+                  "partitions": [{"length": 2}],
+                  "hostStates": [{"cpu": 10, "ram": 10, "storage": 10, "bw": 10, "startId": 0, "length": 2}],
+                  "synchronizationGap": 0,
+                  "intraSchedulers": [%s],
+                  "intraLoadBalancer": {"type": "round"},
+                  "resourceAllocateSelector": {"type": "simple"}
+                }
+                """.formatted(simulationKeys, intraScheduler);
+        Path configFile = tempDir.resolve("DatacentersConfig.json");
+        Files.writeString(configFile, config);
+        return configFile;
+    }
 }
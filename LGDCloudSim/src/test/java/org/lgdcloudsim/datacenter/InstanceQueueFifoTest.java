@@ -2,12 +2,18 @@ package org.lgdcloudsim.datacenter;
 
 import org.lgdcloudsim.queue.InstanceQueueFifo;
 import org.lgdcloudsim.request.Instance;
+import org.lgdcloudsim.request.InstanceGroup;
+import org.lgdcloudsim.request.InstanceGroupGraphSimple;
+import org.lgdcloudsim.request.InstanceGroupSimple;
 import org.lgdcloudsim.request.InstanceSimple;
 import org.lgdcloudsim.request.UserRequest;
 import org.lgdcloudsim.request.UserRequestSimple;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class InstanceQueueFifoTest {
     @Test
@@ -37,4 +43,23 @@ public class InstanceQueueFifoTest {
         assertEquals(2, instanceQueueFifoTest.getBatchItem(-1).getWaitScheduledItems().size());
         assertEquals(3, instanceQueueFifoTest.getAllItem().size());
     }
+
+    @Test
+    void testKeepInstanceGroupsTogether() {
+        InstanceGroup instanceGroup0 = new InstanceGroupSimple(0, List.of(new InstanceSimple(0, 1, 1, 1, 1), new InstanceSimple(1, 1, 1, 1, 1), new InstanceSimple(2, 1, 1, 1, 1)));
+        InstanceGroup instanceGroup1 = new InstanceGroupSimple(1, List.of(new InstanceSimple(3, 1, 1, 1, 1), new InstanceSimple(4, 1, 1, 1, 1)));
+        UserRequest userRequest = new UserRequestSimple(0, List.of(instanceGroup0, instanceGroup1), new InstanceGroupGraphSimple(false));
+
+        InstanceQueueFifo instanceQueueFifo = new InstanceQueueFifo(2, Datacenter.NULL);
+        instanceQueueFifo.add(userRequest);
+        assertEquals(instanceGroup0.getInstances().subList(0, 2), instanceQueueFifo.getBatchItem(-1).getWaitScheduledItems());
+
+        instanceQueueFifo = new InstanceQueueFifo(2, Datacenter.NULL);
+        instanceQueueFifo.setKeepInstanceGroupsTogether(true);
+        instanceQueueFifo.add(userRequest);
+        // The batch is not cut in the middle of instance group 0.
+        assertEquals(instanceGroup0.getInstances(), instanceQueueFifo.getBatchItem(-1).getWaitScheduledItems());
+        assertEquals(instanceGroup1.getInstances(), instanceQueueFifo.getItems(1, -1).getWaitScheduledItems());
+        assertTrue(instanceQueueFifo.isEmpty());
+    }
 }
@@ -0,0 +1,71 @@
+package org.lgdcloudsim.datacenter;
+
+import org.junit.jupiter.api.Test;
+import org.lgdcloudsim.loadbalancer.LoadBalancer;
+import org.lgdcloudsim.loadbalancer.LoadBalancerBatch;
+import org.lgdcloudsim.loadbalancer.LoadBalancerRound;
+import org.lgdcloudsim.request.Instance;
+import org.lgdcloudsim.request.InstanceGroup;
+import org.lgdcloudsim.request.InstanceGroupSimple;
+import org.lgdcloudsim.request.InstanceSimple;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class LoadBalanceGroupTest {
+    @Test
+    void testLoadBalanceRoundKeepsGroups() {
+        List<Instance> instances = createInstances(List.of(3, 3, 3, 3));
+        List<String> schedulers = List.of("s0", "s1", "s2");
+
+        LoadBalancer<Instance, String> loadBalancer = new LoadBalancerRound<>();
+        Map<String, List<Instance>> result = loadBalancer.loadBalance(instances, schedulers);
+        assertEquals(List.of(4, 4, 4), getSizes(result, schedulers));
+
+        loadBalancer = new LoadBalancerRound<Instance, String>().setRequestGroupKey(Instance::getInstanceGroup);
+        result = loadBalancer.loadBalance(instances, schedulers);
+        // Each fraction is extended to the end of the group of its last instance.
+        assertEquals(List.of(6, 3, 3), getSizes(result, schedulers));
+        assertEquals(instances.subList(0, 6), result.get("s0"));
+    }
+
+    @Test
+    void testLoadBalanceBatchKeepsGroups() {
+        List<Instance> instances = createInstances(List.of(60, 60, 60));
+        List<String> schedulers = List.of("s0", "s1");
+
+        LoadBalancer<Instance, String> loadBalancer = new LoadBalancerBatch<>();
+        Map<String, List<Instance>> result = loadBalancer.loadBalance(instances, schedulers);
+        assertEquals(List.of(100, 80), getSizes(result, schedulers));
+
+        loadBalancer = new LoadBalancerBatch<Instance, String>().setRequestGroupKey(Instance::getInstanceGroup);
+        result = loadBalancer.loadBalance(instances, schedulers);
+        assertEquals(List.of(120, 60), getSizes(result, schedulers));
+        for (String scheduler : schedulers) {
+            for (Instance instance : result.get(scheduler)) {
+                assertEquals(instance.getInstanceGroup().getInstances().size(),
+                        result.get(scheduler).stream().filter(other -> other.getInstanceGroup() == instance.getInstanceGroup()).count());
+            }
+        }
+    }
+
+    private static List<Instance> createInstances(List<Integer> groupSizes) {
+        List<Instance> instances = new ArrayList<>();
+        for (int i = 0; i < groupSizes.size(); i++) {
+            List<Instance> groupInstances = new ArrayList<>();
+            for (int j = 0; j < groupSizes.get(i); j++) {
+                groupInstances.add(new InstanceSimple(instances.size() + j, 1, 1, 1, 1));
+            }
+            InstanceGroup instanceGroup = new InstanceGroupSimple(i, groupInstances);
+            instances.addAll(instanceGroup.getInstances());
+        }
+        return instances;
+    }
+
+    private static List<Integer> getSizes(Map<String, List<Instance>> result, List<String> schedulers) {
+        return schedulers.stream().map(scheduler -> result.getOrDefault(scheduler, List.of()).size()).toList();
+    }
+}
@@ -0,0 +1,103 @@
+package org.lgdcloudsim.intrascheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.lgdcloudsim.core.CloudSim;
+import org.lgdcloudsim.record.SqlRecordNull;
+import org.lgdcloudsim.request.Instance;
+import org.lgdcloudsim.request.InstanceSimple;
+import org.lgdcloudsim.statemanager.StatesManager;
+
+public class IntraSchedulerBestFitTest extends IntraSchedulerTestBase<IntraSchedulerBestFit> {
+    @Override
+    public IntraSchedulerBestFit createInnerScheduler(int id, int firstPartitionId, int partitionNum) {
+        return new IntraSchedulerBestFit(id, firstPartitionId, partitionNum);
+    }
+
+    @Test
+    public void testTightestHost() {
+        StatesManager statesManager = createStatesManager(Map.of(0, new int[]{0, 9}));
+        // Host 3 has 4 of each resource left, host 5 has 5 and host 7 has 2.
+        statesManager.allocate(3, new InstanceSimple(0, 6, 6, 6, 6));
+        statesManager.allocate(5, new InstanceSimple(1, 5, 5, 5, 5));
+        statesManager.allocate(7, new InstanceSimple(2, 8, 8, 8, 8));
+        IntraSchedulerBestFit scheduler = createInnerScheduler(0, 0, 1);
+        statesManager.getDatacenter().setIntraSchedulers(List.of(scheduler));
+        statesManager.adjustScheduleView();
+
+        Instance small = new InstanceSimple(3, 2, 2, 2, 2);
+        Instance large = new InstanceSimple(4, 4, 4, 4, 4);
+        Instance medium = new InstanceSimple(5, 3, 1, 1, 1);
+        IntraSchedulerResult result = scheduler.scheduleInstances(List.of(small, medium, large), statesManager.getSynState(scheduler));
+
+        // The instances are scheduled from the largest dominant share, each to the host it leaves the least on.
+        assertEquals(List.of(large, medium, small), result.getScheduledInstances());
+        assertTrue(result.getFailedInstances().isEmpty());
+        assertEquals(3, large.getExpectedScheduleHostId());
+        assertEquals(5, medium.getExpectedScheduleHostId());
+        assertEquals(7, small.getExpectedScheduleHostId());
+    }
+
+    @Test
+    public void testFragmentationRecord() {
+        CloudSim cloudSim = new CloudSim();
+        FragmentationSqlRecord sqlRecord = new FragmentationSqlRecord();
+        cloudSim.setSqlRecord(sqlRecord);
+        StatesManager statesManager = createStatesManager(Map.of(0, new int[]{0, 9}), cloudSim);
+        // Hosts 0 to 4 are too small for the instances, hosts 5 to 9 are not.
+        statesManager.initHostStates(2, 10, 10, 10, 0, 5);
+        statesManager.initHostStates(10, 10, 10, 10, 5, 5);
+        statesManager.allocate(5, new InstanceSimple(0, 8, 1, 1, 1));
+        IntraSchedulerBestFit scheduler = createInnerScheduler(0, 0, 1);
+        statesManager.getDatacenter().setIntraSchedulers(List.of(scheduler));
+        statesManager.adjustScheduleView();
+
+        scheduler.scheduleInstances(List.of(new InstanceSimple(1, 4, 1, 1, 1)), statesManager.getSynState(scheduler));
+
+        // Only host 5 has less available cpu than the instance although its capacity class could take it.
+        assertEquals(1, sqlRecord.fragmentedHostNum);
+        assertEquals(1, sqlRecord.poweredOnHostNum);
+        assertEquals(5 * 2 + 2 + 4 * 10, sqlRecord.availableCpu);
+    }
+
+    @Test
+    public void testFragmentationRecordInsideBucket() {
+        CloudSim cloudSim = new CloudSim();
+        FragmentationSqlRecord sqlRecord = new FragmentationSqlRecord();
+        cloudSim.setSqlRecord(sqlRecord);
+        StatesManager statesManager = createStatesManager(Map.of(0, new int[]{0, 9}), cloudSim);
+        statesManager.initHostStates(10, 10, 10, 10, 0, 10);
+        // Host 0 has 5 available cpu and host 1 has 7, both in the bucket of 4 to 7 available cpu.
+        statesManager.allocate(0, new InstanceSimple(0, 5, 1, 1, 1));
+        statesManager.allocate(1, new InstanceSimple(1, 3, 1, 1, 1));
+        IntraSchedulerBestFit scheduler = createInnerScheduler(0, 0, 1);
+        statesManager.getDatacenter().setIntraSchedulers(List.of(scheduler));
+        statesManager.adjustScheduleView();
+
+        scheduler.scheduleInstances(List.of(new InstanceSimple(2, 6, 1, 1, 1)), statesManager.getSynState(scheduler));
+
+        // Only host 0 has less available cpu than the instance.
+        assertEquals(1, sqlRecord.fragmentedHostNum);
+    }
+
+    private static class FragmentationSqlRecord extends SqlRecordNull {
+        private int poweredOnHostNum;
+
+        private long availableCpu;
+
+        private int fragmentedHostNum;
+
+        @Override
+        public void recordFragmentation(double time, int datacenterId, int intraSchedulerId, int poweredOnHostNum,
+                                        long availableCpu, long availableRam, int fragmentedHostNum) {
+            this.poweredOnHostNum = poweredOnHostNum;
+            this.availableCpu = availableCpu;
+            this.fragmentedHostNum = fragmentedHostNum;
+        }
+    }
+}
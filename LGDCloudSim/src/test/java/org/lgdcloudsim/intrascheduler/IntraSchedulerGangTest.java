@@ -0,0 +1,81 @@
+package org.lgdcloudsim.intrascheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+import org.lgdcloudsim.request.Instance;
+import org.lgdcloudsim.request.InstanceGroupSimple;
+import org.lgdcloudsim.request.InstanceSimple;
+import org.lgdcloudsim.statemanager.HostState;
+import org.lgdcloudsim.statemanager.StatesManager;
+import org.lgdcloudsim.statemanager.SynState;
+
+public class IntraSchedulerGangTest extends IntraSchedulerTestBase<IntraSchedulerGang> {
+    @Override
+    public IntraSchedulerGang createInnerScheduler(int id, int firstPartitionId, int partitionNum) {
+        return new IntraSchedulerGang(id, firstPartitionId, partitionNum);
+    }
+
+    @Test
+    public void testAllOrNothing() {
+        StatesManager statesManager = createStatesManager(Map.of(0, new int[]{0, 3}));
+        IntraSchedulerGang scheduler = createInnerScheduler(0, 0, 1);
+        statesManager.getDatacenter().setIntraSchedulers(List.of(scheduler));
+        statesManager.adjustScheduleView();
+
+        // The 4 hosts can take 2 instances each, so the first group of 6 fits but the second group of 3 does not.
+        List<Instance> fittedGroup = createInstances(0, 6);
+        List<Instance> unfittedGroup = createInstances(6, 3);
+        new InstanceGroupSimple(0, fittedGroup);
+        new InstanceGroupSimple(1, unfittedGroup);
+        SynState synState = statesManager.getSynState(scheduler);
+        IntraSchedulerResult result = scheduler.scheduleInstances(List.of(fittedGroup, unfittedGroup).stream().flatMap(List::stream).toList(), synState);
+
+        assertEquals(fittedGroup, result.getScheduledInstances());
+        assertEquals(unfittedGroup, result.getFailedInstances());
+        int freeCpu = 0;
+        for (int hostId = 0; hostId < 4; hostId++) {
+            freeCpu += synState.getHostState(hostId).getCpu();
+        }
+        assertEquals(40 - 6 * 5, freeCpu);
+        for (Instance instance : unfittedGroup) {
+            assertEquals(-1, instance.getExpectedScheduleHostId());
+        }
+    }
+
+    @Test
+    public void testHostAntiAffinity() {
+        StatesManager statesManager = createStatesManager(Map.of(0, new int[]{0, 3}));
+        IntraSchedulerGang scheduler = createInnerScheduler(0, 0, 1);
+        scheduler.setAntiAffinity(IntraSchedulerGang.AntiAffinity.HOST);
+        statesManager.getDatacenter().setIntraSchedulers(List.of(scheduler));
+        statesManager.adjustScheduleView();
+
+        List<Instance> group = createInstances(0, 4);
+        new InstanceGroupSimple(0, group);
+        List<Instance> tooLargeGroup = createInstances(4, 5);
+        new InstanceGroupSimple(1, tooLargeGroup);
+        SynState synState = statesManager.getSynState(scheduler);
+        IntraSchedulerResult result = scheduler.scheduleInstances(List.of(group, tooLargeGroup).stream().flatMap(List::stream).toList(), synState);
+
+        assertEquals(group, result.getScheduledInstances());
+        assertEquals(tooLargeGroup, result.getFailedInstances());
+        for (int i = 0; i < group.size(); i++) {
+            for (int j = i + 1; j < group.size(); j++) {
+                assertNotEquals(group.get(i).getExpectedScheduleHostId(), group.get(j).getExpectedScheduleHostId());
+            }
+        }
+        assertEquals(new HostState(5, 5, 5, 5), synState.getHostState(0));
+    }
+
+    private List<Instance> createInstances(int firstId, int num) {
+        return IntStream.range(firstId, firstId + num)
+                .<Instance>mapToObj(id -> new InstanceSimple(id, 5, 5, 5, 5))
+                .toList();
+    }
+}
@@ -0,0 +1,71 @@
+package org.lgdcloudsim.intrascheduler;
+
+import org.junit.Test;
+import org.lgdcloudsim.request.Instance;
+import org.lgdcloudsim.request.InstanceSimple;
+import org.lgdcloudsim.statemanager.StatesManager;
+import org.lgdcloudsim.util.ScheduleOperation;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class IntraSchedulerLeastRequestedTest extends IntraSchedulerTestBase<IntraSchedulerLeastRequested> {
+    @Override
+    public IntraSchedulerLeastRequested createInnerScheduler(int id, int firstPartitionId, int partitionNum) {
+        return new IntraSchedulerLeastRequested(id, firstPartitionId, partitionNum);
+    }
+
+    @Test
+    public void testHostsScoredOncePerBatch() {
+        StatesManager statesManager = createStatesManager(Map.of(0, new int[]{0, 199}));
+        IntraSchedulerLeastRequested scheduler = createInnerScheduler(0, 0, 1);
+        statesManager.getDatacenter().setIntraSchedulers(List.of(scheduler));
+        statesManager.adjustScheduleView();
+
+        // Each instance is a group of same instances by itself.
+        List<Instance> instances = new ArrayList<>(IntStream.range(0, 50)
+                .mapToObj(id -> (Instance) new InstanceSimple(id, 1 + id % 5, 1 + id / 5, 1, 1))
+                .toList());
+        IntraSchedulerResult result = scheduler.scheduleInstances(instances, statesManager.getSynState(scheduler));
+
+        assertEquals(50, result.getScheduledInstances().size());
+        // Each instance goes to a host without any instance yet, since those have the highest scores.
+        Set<Integer> hostIds = new HashSet<>();
+        for (Instance instance : result.getScheduledInstances()) {
+            hostIds.add(instance.getExpectedScheduleHostId());
+        }
+        assertEquals(50, hostIds.size());
+        // The first group scores 100 hosts, then each instance only checks the best host and scores it again.
+        long probedHostNum = scheduler.scheduleCostCounter.getOperationNum(ScheduleOperation.HOST_PROBE);
+        assertTrue(probedHostNum + " hosts probed", probedHostNum <= 100 + 50 * 2);
+    }
+
+    @Test
+    public void testUnsuitableHostsKeptForLaterInstances() {
+        StatesManager statesManager = createStatesManager(Map.of(0, new int[]{0, 9}));
+        // Host 0 has the most cpu left but little ram, the other hosts have 5 of each resource left.
+        statesManager.allocate(0, new InstanceSimple(0, 0, 9, 0, 0));
+        for (int hostId = 1; hostId < 10; hostId++) {
+            statesManager.allocate(hostId, new InstanceSimple(hostId, 5, 5, 5, 5));
+        }
+        IntraSchedulerLeastRequested scheduler = createInnerScheduler(0, 0, 1);
+        statesManager.getDatacenter().setIntraSchedulers(List.of(scheduler));
+        statesManager.adjustScheduleView();
+
+        Instance large = new InstanceSimple(10, 5, 5, 1, 1);
+        Instance small = new InstanceSimple(11, 1, 1, 1, 1);
+        IntraSchedulerResult result = scheduler.scheduleInstances(new ArrayList<>(List.of(small, large)), statesManager.getSynState(scheduler));
+
+        assertEquals(2, result.getScheduledInstances().size());
+        assertTrue(large.getExpectedScheduleHostId() != 0);
+        // Host 0 is set aside for the large instance and is the best host for the small one.
+        assertEquals(0, small.getExpectedScheduleHostId());
+    }
+}
@@ -0,0 +1,102 @@
+package org.lgdcloudsim.intrascheduler;
+
+import org.junit.Test;
+import org.lgdcloudsim.request.Instance;
+import org.lgdcloudsim.request.InstanceSimple;
+import org.lgdcloudsim.statemanager.StatesManager;
+import org.lgdcloudsim.statemanager.SynState;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class IntraSchedulerPowerOfChoicesTest extends IntraSchedulerTestBase<IntraSchedulerPowerOfChoices> {
+    @Override
+    public IntraSchedulerPowerOfChoices createInnerScheduler(int id, int firstPartitionId, int partitionNum) {
+        return new IntraSchedulerPowerOfChoices(id, firstPartitionId, partitionNum);
+    }
+
+    @Test
+    public void testSetChoiceNum() {
+        IntraSchedulerPowerOfChoices scheduler = createInnerScheduler(0, 0, 2);
+        assertEquals(2, scheduler.getChoiceNum());
+        assertEquals(4, scheduler.setChoiceNum(4).getChoiceNum());
+        assertThrows(IllegalArgumentException.class, () -> scheduler.setChoiceNum(0));
+    }
+
+    @Test
+    public void testBestSample() {
+        StatesManager statesManager = createStatesManager(Map.of(0, new int[]{0, 3}));
+        // Host 0 and host 3 are full, host 1 has 5 of each resource left and host 2 has 10.
+        statesManager.allocate(0, new InstanceSimple(0, 10, 10, 10, 10));
+        statesManager.allocate(1, new InstanceSimple(1, 5, 5, 5, 5));
+        statesManager.allocate(3, new InstanceSimple(2, 10, 10, 10, 10));
+        // With so many choices every host is sampled.
+        IntraSchedulerPowerOfChoices scheduler = createInnerScheduler(0, 0, 1).setChoiceNum(64);
+        statesManager.getDatacenter().setIntraSchedulers(List.of(scheduler));
+        statesManager.adjustScheduleView();
+
+        Instance instance = new InstanceSimple(3, 1, 1, 1, 1);
+        IntraSchedulerResult result = scheduler.scheduleInstances(List.of(instance), statesManager.getSynState(scheduler));
+
+        assertEquals(List.of(instance), result.getScheduledInstances());
+        assertEquals(2, instance.getExpectedScheduleHostId());
+    }
+
+    @Test
+    public void testFallbackSkipsRetriedHosts() {
+        StatesManager statesManager = createStatesManager(Map.of(0, new int[]{0, 3}));
+        // Only host 2 and host 3 fit the instances, and they have been retried on host 3.
+        statesManager.allocate(0, new InstanceSimple(0, 10, 10, 10, 10));
+        statesManager.allocate(1, new InstanceSimple(1, 10, 10, 10, 10));
+        IntraSchedulerPowerOfChoices scheduler = createInnerScheduler(0, 0, 1).setChoiceNum(1);
+        statesManager.getDatacenter().setIntraSchedulers(List.of(scheduler));
+        statesManager.adjustScheduleView();
+
+        List<Instance> instances = IntStream.range(2, 12)
+                .mapToObj(id -> new InstanceSimple(id, 1, 1, 1, 1).addRetryHostId(3))
+                .toList();
+        SynState synState = statesManager.getSynState(scheduler);
+        IntraSchedulerResult result = scheduler.scheduleInstances(instances, synState);
+
+        assertEquals(instances, result.getScheduledInstances());
+        for (Instance instance : instances) {
+            assertEquals(2, instance.getExpectedScheduleHostId());
+        }
+        assertEquals(0, synState.getHostState(2).getCpu());
+
+        // Once host 2 is full, the instance can only be retried on host 3 and fails.
+        Instance instance = new InstanceSimple(12, 1, 1, 1, 1).addRetryHostId(3);
+        result = scheduler.scheduleInstances(List.of(instance), synState);
+        assertTrue(result.getScheduledInstances().isEmpty());
+        assertEquals(List.of(instance), result.getFailedInstances());
+    }
+
+    @Test
+    public void testSeed() {
+        assertEquals(scheduleWithSeed(5), scheduleWithSeed(5));
+        assertNotEquals(scheduleWithSeed(5), scheduleWithSeed(6));
+    }
+
+    /**
+     * Schedules instances to one of 64 empty hosts each with a seeded scheduler.
+     *
+     * @return the ids of the hosts the instances are scheduled to
+     */
+    private List<Integer> scheduleWithSeed(long seed) {
+        StatesManager statesManager = createStatesManager(Map.of(0, new int[]{0, 63}));
+        IntraSchedulerPowerOfChoices scheduler = createInnerScheduler(0, 0, 1).setChoiceNum(1);
+        scheduler.setSeed(seed);
+        statesManager.getDatacenter().setIntraSchedulers(List.of(scheduler));
+        statesManager.adjustScheduleView();
+
+        List<Instance> instances = IntStream.range(0, 20).mapToObj(id -> (Instance) new InstanceSimple(id, 1, 1, 1, 1)).toList();
+        scheduler.scheduleInstances(instances, statesManager.getSynState(scheduler));
+        return instances.stream().map(Instance::getExpectedScheduleHostId).toList();
+    }
+}
@@ -1,8 +1,54 @@
 package org.lgdcloudsim.intrascheduler;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.lgdcloudsim.request.Instance;
+import org.lgdcloudsim.request.InstanceSimple;
+import org.lgdcloudsim.statemanager.StatesManager;
+
 public class IntraSchedulerSimpleTest extends IntraSchedulerTestBase<IntraSchedulerSimple> {
     @Override
     public IntraSchedulerSimple createInnerScheduler(int id, int firstPartitionId, int partitionNum) {
         return new IntraSchedulerSimple(id, firstPartitionId, partitionNum);
     }
+
+    @Test
+    public void testPartitionSharded() {
+        Map<Integer, int[]> ranges = new HashMap<>();
+        for (int partitionId = 0; partitionId < 4; partitionId++) {
+            ranges.put(partitionId, new int[]{partitionId * 10, partitionId * 10 + 9});
+        }
+        StatesManager statesManager = createStatesManager(ranges);
+        // Partition 0 is full, so the instances dealt to it have to be scheduled to the other partitions.
+        for (int hostId = 0; hostId < 10; hostId++) {
+            statesManager.allocate(hostId, new InstanceSimple(hostId, 10, 1, 1, 1));
+        }
+        IntraSchedulerSimple scheduler = createInnerScheduler(0, 0, 4).setPartitionSharded(true);
+        statesManager.getDatacenter().setIntraSchedulers(List.of(scheduler));
+
+        List<Instance> instances = new ArrayList<>();
+        for (int i = 0; i < 95; i++) {
+            instances.add(new InstanceSimple(100 + i, 3, 1, 1, 1));
+        }
+        IntraSchedulerResult result = scheduler.scheduleInstances(instances, statesManager.getSynState(scheduler));
+
+        // 30 hosts can take 3 instances each.
+        assertEquals(90, result.getScheduledInstances().size());
+        assertEquals(5, result.getFailedInstances().size());
+        int[] allocatedCpus = new int[40];
+        for (Instance instance : result.getScheduledInstances()) {
+            assertTrue(instance.getExpectedScheduleHostId() >= 10);
+            allocatedCpus[instance.getExpectedScheduleHostId()] += instance.getCpu();
+        }
+        for (int allocatedCpu : allocatedCpus) {
+            assertTrue(allocatedCpu <= 10);
+        }
+    }
 }
@@ -8,10 +8,12 @@ import java.util.Map;
 import java.util.Set;
 
 import org.apache.commons.lang3.tuple.Pair;
+import org.lgdcloudsim.core.CloudSim;
 import org.lgdcloudsim.core.Simulation;
 import org.lgdcloudsim.core.SimulationNull;
 import org.lgdcloudsim.datacenter.Datacenter;
 import org.lgdcloudsim.datacenter.DatacenterNull;
+import org.lgdcloudsim.datacenter.DatacenterSimple;
 import org.lgdcloudsim.request.Instance;
 import org.lgdcloudsim.statemanager.*;
 import org.junit.Before;
@@ -51,6 +53,35 @@ public abstract class IntraSchedulerTestBase<T extends IntraScheduler> {
         dc.setStatesManager(sm);
     }
 
+    /**
+     * Create a {@link StatesManagerSimple} without synchronization gap in a {@link DatacenterSimple},
+     * whose hosts all have 10 of each resource.
+     *
+     * @param ranges the host id ranges of the partitions, which cover the hosts from 0.
+     * @return the states manager.
+     */
+    public static StatesManager createStatesManager(Map<Integer, int[]> ranges) {
+        StatesManager statesManager = createStatesManager(ranges, new CloudSim());
+        statesManager.initHostStates(10, 10, 10, 10, 0, statesManager.getHostNum());
+        return statesManager;
+    }
+
+    /**
+     * Create a {@link StatesManagerSimple} without synchronization gap in a {@link DatacenterSimple} of the simulation,
+     * whose host states are left to be initialized by the caller.
+     *
+     * @param ranges     the host id ranges of the partitions, which cover the hosts from 0.
+     * @param simulation the simulation of the datacenter.
+     * @return the states manager.
+     */
+    public static StatesManager createStatesManager(Map<Integer, int[]> ranges, Simulation simulation) {
+        int hostNum = ranges.values().stream().mapToInt(range -> range[1] + 1).max().orElse(0);
+        StatesManager statesManager = new StatesManagerSimple(hostNum, new PartitionRangesManager(ranges), 0);
+        Datacenter datacenter = new DatacenterSimple(simulation);
+        datacenter.setStatesManager(statesManager);
+        return statesManager;
+    }
+
     @Test
     public void testNotSuitable() {
 //        // create a FakeSynState which declines every request
@@ -98,6 +129,7 @@ class FakeSynState implements SynState {
     /**
      * Whether a host is suitable for an instance depends on the controller's input.
      */
+    @Override
     public boolean isSuitable(int hostId, Instance instance) {
         checkSuitableHistory.add(Pair.of(hostId, instance));
         return passSet.contains(hostId);
@@ -106,9 +138,18 @@ class FakeSynState implements SynState {
     /**
      * Do nothing but record its input.
      */
+    @Override
     public void allocateTmpResource(int hostId, Instance instance) {
         tmpResourceAllocationHistory.add(Pair.of(hostId, instance));
     }
+
+    /**
+     * Do nothing but remove the input from the allocation history.
+     */
+    @Override
+    public void releaseTmpResource(int hostId, Instance instance) {
+        tmpResourceAllocationHistory.remove(Pair.of(hostId, instance));
+    }
 }
 
 /**
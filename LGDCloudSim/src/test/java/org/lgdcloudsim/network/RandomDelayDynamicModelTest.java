@@ -3,6 +3,7 @@ package org.lgdcloudsim.network;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class RandomDelayDynamicModelTest {
     @Test
@@ -10,4 +11,13 @@ public class RandomDelayDynamicModelTest {
         RandomDelayDynamicModel randomDelayDynamicModel = new RandomDelayDynamicModel();
         assertEquals(randomDelayDynamicModel.getDynamicDelay(1, 4, 100, 33), randomDelayDynamicModel.getDynamicDelay(1, 4, 100, 33));
     }
+
+    @Test
+    public void testMinDelay() {
+        RandomDelayDynamicModel randomDelayDynamicModel = new RandomDelayDynamicModel();
+        assertEquals(5, randomDelayDynamicModel.getMinDelay(10), 1e-9);
+        for (int time = 0; time < 1000; time++) {
+            assertTrue(randomDelayDynamicModel.getDynamicDelay(1, 4, 10, time) >= randomDelayDynamicModel.getMinDelay(10));
+        }
+    }
 }
@@ -0,0 +1,42 @@
+package org.lgdcloudsim.statemanager;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class HostCapacityIndexTest {
+    @Test
+    public void testFindFirst() {
+        HostCapacityIndex hostCapacityIndex = new HostCapacityIndex(5);
+        assertEquals(0, hostCapacityIndex.findFirst(0, 4, 0, 0));
+        assertEquals(-1, hostCapacityIndex.findFirst(0, 4, 1, 1));
+
+        hostCapacityIndex.update(1, 4, 8);
+        hostCapacityIndex.update(3, 8, 4);
+        hostCapacityIndex.update(4, 8, 8);
+        assertEquals(1, hostCapacityIndex.findFirst(0, 4, 4, 4));
+        assertEquals(3, hostCapacityIndex.findFirst(2, 4, 4, 4));
+        assertEquals(3, hostCapacityIndex.findFirst(0, 4, 8, 1));
+        assertEquals(4, hostCapacityIndex.findFirst(0, 4, 8, 8));
+        assertEquals(-1, hostCapacityIndex.findFirst(0, 3, 8, 8));
+        assertEquals(-1, hostCapacityIndex.findFirst(0, 4, 9, 1));
+        assertEquals(-1, hostCapacityIndex.findFirst(3, 2, 1, 1));
+
+        hostCapacityIndex.update(4, 2, 2);
+        assertEquals(-1, hostCapacityIndex.findFirst(0, 4, 8, 8));
+        assertEquals(4, hostCapacityIndex.findFirst(4, 4, 2, 2));
+    }
+
+    @Test
+    public void testOf() {
+        HostStateStore hostStates = new HostStateStoreHeap(3);
+        hostStates.setState(0, new int[]{1, 1, 1, 1}, 0);
+        hostStates.setState(1, new int[]{2, 3, 1, 1}, 0);
+        hostStates.setState(2, new int[]{3, 2, 1, 1}, 0);
+        HostCapacityIndex hostCapacityIndex = HostCapacityIndex.of(hostStates);
+        assertEquals(3, hostCapacityIndex.getHostNum());
+        assertEquals(1, hostCapacityIndex.findFirst(0, 2, 2, 2));
+        assertEquals(2, hostCapacityIndex.findFirst(0, 2, 3, 2));
+        assertEquals(-1, hostCapacityIndex.findFirst(0, 2, 3, 3));
+    }
+}
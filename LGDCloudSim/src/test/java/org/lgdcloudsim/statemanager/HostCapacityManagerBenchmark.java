@@ -0,0 +1,89 @@
+package org.lgdcloudsim.statemanager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures the throughput of the least-requested scoring of all the hosts of a data center,
+ * comparing the search of the capacity over the boxed start ids used before
+ * with the capacity class kept for each host by the {@link HostCapacityManager}.
+ * It is not a unit test, run its main method to get the results.
+ */
+public class HostCapacityManagerBenchmark {
+    private static final int HOST_NUM = 100_000;
+    private static final int CAPACITY_CLASS_NUM = 50;
+    private static final int ROUND_NUM = 20;
+    private static final int WARM_UP_NUM = 5;
+
+    public static void main(String[] args) {
+        HostCapacityManager hostCapacityManager = new HostCapacityManager();
+        List<Integer> sameCapacityHostStartIds = new ArrayList<>();
+        List<int[]> hostCapacity = new ArrayList<>();
+        Random random = new Random(1);
+        for (int i = 0; i < CAPACITY_CLASS_NUM; i++) {
+            int[] capacity = new int[]{64 + random.nextInt(64), 128 + random.nextInt(128), 1024, 1024};
+            sameCapacityHostStartIds.add(hostCapacityManager.hostNum);
+            hostCapacity.add(capacity);
+            hostCapacityManager.orderlyAddSameCapacityHost(HOST_NUM / CAPACITY_CLASS_NUM, capacity);
+        }
+        HostStateStore hostStates = new HostStateStoreHeap(HOST_NUM);
+        for (int hostId = 0; hostId < HOST_NUM; hostId++) {
+            int[] capacity = hostCapacityManager.getHostCapacity(hostId);
+            hostStates.setState(hostId, new int[]{random.nextInt(capacity[0]), random.nextInt(capacity[1]), 0, 0}, 0);
+        }
+
+        for (int i = 0; i < WARM_UP_NUM; i++) {
+            measure(hostStates, hostCapacityManager, sameCapacityHostStartIds, hostCapacity, true);
+            measure(hostStates, hostCapacityManager, sameCapacityHostStartIds, hostCapacity, false);
+        }
+        System.out.printf("Scoring %d hosts of %d capacity classes:%n", HOST_NUM, CAPACITY_CLASS_NUM);
+        System.out.printf("\tboxed start id search: %.2f M hosts/s%n",
+                HOST_NUM / measure(hostStates, hostCapacityManager, sameCapacityHostStartIds, hostCapacity, true) * 1000);
+        System.out.printf("\tcapacity class:        %.2f M hosts/s%n",
+                HOST_NUM / measure(hostStates, hostCapacityManager, sameCapacityHostStartIds, hostCapacity, false) * 1000);
+    }
+
+    /**
+     * Score all the hosts for some rounds.
+     *
+     * @return the time to score all the hosts once in ns
+     */
+    private static double measure(HostStateStore hostStates, HostCapacityManager hostCapacityManager,
+                                  List<Integer> sameCapacityHostStartIds, List<int[]> hostCapacity, boolean isBoxed) {
+        double scoreSum = 0;
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUND_NUM; round++) {
+            for (int hostId = 0; hostId < HOST_NUM; hostId++) {
+                int cpuCapacity;
+                int ramCapacity;
+                if (isBoxed) {
+                    cpuCapacity = getHostCapacityByBoxedSearch(sameCapacityHostStartIds, hostCapacity, hostId)[0];
+                    ramCapacity = getHostCapacityByBoxedSearch(sameCapacityHostStartIds, hostCapacity, hostId)[1];
+                } else {
+                    cpuCapacity = hostCapacityManager.getHostCapacity(hostId, 0);
+                    ramCapacity = hostCapacityManager.getHostCapacity(hostId, 1);
+                }
+                scoreSum += (hostStates.get(hostId, 0) * 10 / (double) cpuCapacity + hostStates.get(hostId, 1) * 10 / (double) ramCapacity) / 2;
+            }
+        }
+        long end = System.nanoTime();
+        if (scoreSum < 0) {
+            throw new IllegalStateException("The scores should not be negative.");
+        }
+        return (double) (end - start) / ROUND_NUM;
+    }
+
+    /**
+     * The lookup used by HostCapacityManager before it kept the capacity class of each host.
+     */
+    private static int[] getHostCapacityByBoxedSearch(List<Integer> sameCapacityHostStartIds, List<int[]> hostCapacity, int hostId) {
+        int index = Arrays.binarySearch(sameCapacityHostStartIds.toArray(), hostId);
+        if (index >= 0) {
+            return hostCapacity.get(index);
+        } else {
+            return hostCapacity.get(-index - 2);
+        }
+    }
+}
@@ -3,6 +3,8 @@ package org.lgdcloudsim.statemanager;
 import org.junit.Test;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class HostCapacityManagerTest {
     @Test
@@ -43,4 +45,23 @@ public class HostCapacityManagerTest {
 
 
     }
+
+    @Test
+    public void testCapacityClass() {
+        HostCapacityManager hostCapacityManager = new HostCapacityManager();
+        for (int i = 0; i < 20; i++) {
+            hostCapacityManager.orderlyAddSameCapacityHost(i + 1, new int[]{i, 2 * i, 3 * i, 4 * i});
+        }
+
+        assertEquals(20, hostCapacityManager.getCapacityClassNum());
+        int hostId = 0;
+        for (int i = 0; i < 20; i++) {
+            for (int j = 0; j <= i; j++, hostId++) {
+                assertEquals(i, hostCapacityManager.getCapacityClass(hostId));
+                assertEquals(2 * i, hostCapacityManager.getHostCapacity(hostId, 1));
+                assertEquals(4 * i, hostCapacityManager.getHostCapacity(hostId, 3));
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> hostCapacityManager.getHostCapacity(210, 0));
+    }
 }
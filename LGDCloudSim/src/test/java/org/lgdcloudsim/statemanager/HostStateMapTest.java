@@ -0,0 +1,119 @@
+package org.lgdcloudsim.statemanager;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class HostStateMapTest {
+    @Test
+    public void testHostStateMap() {
+        HostStateMap hostStateMap = new HostStateMap();
+        int[] hostStates = new int[1000 * HostState.STATE_NUM];
+        for (int i = 0; i < hostStates.length; i++) {
+            hostStates[i] = i;
+        }
+        for (int hostId = 999; hostId >= 0; hostId -= 3) {
+            hostStateMap.putIfAbsent(hostId, hostStates, hostId * HostState.STATE_NUM);
+        }
+        assertEquals(334, hostStateMap.size());
+        assertFalse(hostStateMap.containsKey(998));
+        int index = hostStateMap.indexOf(501);
+        assertArrayEquals(new int[]{2004, 2005, 2006, 2007}, hostStateMap.getState(index));
+
+        hostStateMap.putIfAbsent(501, new int[]{0, 0, 0, 0}, 0);
+        hostStateMap.add(index, -4, -5, -6, -7);
+        assertArrayEquals(new int[]{2000, 2000, 2000, 2000}, hostStateMap.getState(hostStateMap.indexOf(501)));
+        hostStateMap.put(501, new int[]{1, 2, 3, 4}, 0);
+        assertEquals(3, hostStateMap.get(hostStateMap.indexOf(501), 2));
+        assertEquals(334, hostStateMap.size());
+
+        hostStateMap.clear();
+        assertTrue(hostStateMap.isEmpty());
+        assertFalse(hostStateMap.containsKey(501));
+        hostStateMap.put(7, hostStates, 4);
+        assertEquals(1, hostStateMap.size());
+        assertArrayEquals(new int[]{4, 5, 6, 7}, hostStateMap.getState(hostStateMap.indexOf(7)));
+    }
+
+    @Test
+    public void testPartitionSynStateRing() {
+        PartitionSynStateRing ring = new PartitionSynStateRing();
+        HostStateMap first = ring.getLatest();
+        first.put(1, new int[]{1, 1, 1, 1}, 0);
+        for (int synCount = 1; synCount <= 3; synCount++) {
+            ring.addSynState(synCount, 4);
+            ring.getLatest().put(synCount, new int[]{synCount, synCount, synCount, synCount}, 0);
+        }
+        assertTrue(ring.get(0).containsKey(1));
+        ring.addSynState(4, 4);
+        assertEquals(null, ring.get(0));
+        assertTrue(ring.getLatest().isEmpty());
+        assertTrue(ring.get(1).containsKey(1));
+
+        ring.addSynState(5, 2);
+        assertEquals(null, ring.get(3));
+        assertTrue(ring.get(4).isEmpty());
+        assertTrue(ring.get(5).isEmpty());
+    }
+
+    @Test
+    public void testWindowSums() {
+        PartitionSynStateRing ring = new PartitionSynStateRing().enableWindowSums(2);
+        ring.putIfAbsentLatest(7, new int[]{10, 10, 10, 10}, 0);
+        ring.putIfAbsentLatest(7, new int[]{0, 0, 0, 0}, 0);
+        ring.addSynState(1, 4);
+        ring.putIfAbsentLatest(7, new int[]{5, 5, 5, 5}, 0);
+        ring.addSynState(2, 4);
+        ring.putIfAbsentLatest(7, new int[]{4, 4, 4, 4}, 0);
+
+        long[] stateSums = new long[HostState.STATE_NUM];
+        HostStateSumMap evenSums = ring.getWindowSums(2);
+        evenSums.copySums(evenSums.indexOf(7), stateSums);
+        assertEquals(2, evenSums.getCount(evenSums.indexOf(7)));
+        assertArrayEquals(new long[]{14, 14, 14, 14}, stateSums);
+        assertEquals(1, ring.getWindowSums(1).getCount(ring.getWindowSums(1).indexOf(7)));
+
+        ring.addSynState(3, 4);
+        ring.addSynState(4, 4);
+        evenSums.copySums(evenSums.indexOf(7), stateSums);
+        assertEquals(1, evenSums.getCount(evenSums.indexOf(7)));
+        assertArrayEquals(new long[]{4, 4, 4, 4}, stateSums);
+
+        ring.addSynState(5, 2);
+        assertEquals(0, evenSums.getCount(evenSums.indexOf(7)));
+        assertEquals(0, ring.getWindowSums(1).getCount(ring.getWindowSums(1).indexOf(7)));
+        assertEquals(null, new PartitionSynStateRing().getWindowSums(0));
+    }
+
+    @Test
+    public void testHostStateSumMap() {
+        HostStateSumMap hostStateSumMap = new HostStateSumMap();
+        for (int round = 0; round < 3; round++) {
+            for (int hostId = round * 100; hostId < round * 100 + 100; hostId++) {
+                hostStateSumMap.add(hostId, new int[]{hostId, 1, 2, 3}, 0);
+            }
+            for (int hostId = round * 100; hostId < round * 100 + 100; hostId += 2) {
+                hostStateSumMap.subtract(hostId, new int[]{hostId, 1, 2, 3}, 0);
+            }
+        }
+        hostStateSumMap.add(299, new int[]{1, 1, 1, 1}, 0);
+
+        long[] stateSums = new long[HostState.STATE_NUM];
+        for (int hostId = 0; hostId < 300; hostId++) {
+            int index = hostStateSumMap.indexOf(hostId);
+            if (hostId % 2 == 0) {
+                assertTrue(index == -1 || hostStateSumMap.getCount(index) == 0);
+            } else if (hostId != 299) {
+                assertEquals(1, hostStateSumMap.getCount(index));
+                hostStateSumMap.copySums(index, stateSums);
+                assertArrayEquals(new long[]{hostId, 1, 2, 3}, stateSums);
+            }
+        }
+        hostStateSumMap.copySums(hostStateSumMap.indexOf(299), stateSums);
+        assertEquals(2, hostStateSumMap.getCount(hostStateSumMap.indexOf(299)));
+        assertArrayEquals(new long[]{300, 2, 3, 4}, stateSums);
+    }
+}
@@ -0,0 +1,110 @@
+package org.lgdcloudsim.statemanager;
+
+import org.junit.Test;
+import org.lgdcloudsim.request.InstanceSimple;
+
+import java.nio.IntBuffer;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class HostStateStoreTest {
+    @Test
+    public void testHostStateStoreHeap() {
+        testHostStateStore(new HostStateStoreHeap(100));
+    }
+
+    @Test
+    public void testHostStateStoreOffHeap() {
+        testHostStateStore(new HostStateStoreOffHeap(100));
+    }
+
+    @Test
+    public void testHostStateStoreCopyOnWrite() {
+        testHostStateStore(new HostStateStoreCopyOnWrite(100));
+    }
+
+    @Test
+    public void testCopyOnWriteCopies() {
+        int hostNum = HostStateStoreCopyOnWrite.PAGE_HOST_NUM * 2 + 10;
+        HostStateStore hostStateStore = new HostStateStoreCopyOnWrite(hostNum);
+        for (int hostId = 0; hostId < hostNum; hostId++) {
+            hostStateStore.setState(hostId, new int[]{hostId, 1, 1, 1}, 0);
+        }
+        HostStateStore snapshot = hostStateStore.copy();
+        HostStateStore otherSnapshot = hostStateStore.copy();
+        hostStateStore.add(hostNum - 1, 1, 0, 0, 0);
+        snapshot.add(0, -1, 0, 0, 0);
+        otherSnapshot.add(HostStateStoreCopyOnWrite.PAGE_HOST_NUM, 5, 0, 0, 0);
+
+        assertEquals(hostNum, hostStateStore.get(hostNum - 1, 0));
+        assertEquals(hostNum - 1, snapshot.get(hostNum - 1, 0));
+        assertEquals(hostNum - 1, otherSnapshot.get(hostNum - 1, 0));
+        assertEquals(0, hostStateStore.get(0, 0));
+        assertEquals(-1, snapshot.get(0, 0));
+        assertEquals(0, otherSnapshot.get(0, 0));
+        assertEquals(HostStateStoreCopyOnWrite.PAGE_HOST_NUM, hostStateStore.get(HostStateStoreCopyOnWrite.PAGE_HOST_NUM, 0));
+        assertEquals(HostStateStoreCopyOnWrite.PAGE_HOST_NUM + 5, otherSnapshot.get(HostStateStoreCopyOnWrite.PAGE_HOST_NUM, 0));
+
+        IntBuffer buffer = IntBuffer.allocate(hostNum * HostState.STATE_NUM);
+        snapshot.copyTo(buffer);
+        assertEquals(hostNum - 1, buffer.get((hostNum - 1) * HostState.STATE_NUM));
+    }
+
+    @Test
+    public void testOffHeapReleasedCopies() {
+        HostStateStore hostStateStore = new HostStateStoreOffHeap(10);
+        hostStateStore.setState(0, new int[]{1, 1, 1, 1}, 0);
+        HostStateStore copy = hostStateStore.copy();
+        copy.add(0, 5, 5, 5, 5);
+        copy.release();
+
+        hostStateStore.add(0, 1, 0, 0, 0);
+        HostStateStore reusedCopy = hostStateStore.copy();
+        HostStateStore otherCopy = hostStateStore.copy();
+        reusedCopy.add(1, 1, 0, 0, 0);
+        assertEquals(new HostState(2, 1, 1, 1), reusedCopy.getHostState(0));
+        assertEquals(new HostState(1, 0, 0, 0), reusedCopy.getHostState(1));
+        assertEquals(new HostState(0, 0, 0, 0), otherCopy.getHostState(1));
+        assertEquals(new HostState(0, 0, 0, 0), hostStateStore.getHostState(1));
+    }
+
+    @Test
+    public void testStatesManagerOffHeap() {
+        PartitionRangesManager partitionRangesManager = new PartitionRangesManager(Map.of(0, new int[]{0, 9}));
+        StatesManager statesManager = new StatesManagerSimple(new HostStateStoreOffHeap(10), partitionRangesManager, 0, 10, 10);
+        statesManager.initHostStates(10, 10, 10, 10, 0, 10);
+        assertEquals(new HostState(10, 10, 10, 10), statesManager.getNowHostState(9));
+        DetailedDcStateSimple detailedDcState = (DetailedDcStateSimple) statesManager.getStateByType("detailed");
+        detailedDcState.allocate(new InstanceSimple(0, 1, 2, 3, 4), 9);
+        assertEquals(new HostState(9, 8, 7, 6), detailedDcState.getHostState(9));
+        assertEquals(new HostState(10, 10, 10, 10), statesManager.getNowHostState(9));
+    }
+
+    private void testHostStateStore(HostStateStore hostStateStore) {
+        assertEquals(100, hostStateStore.getHostNum());
+        hostStateStore.setState(3, new int[]{0, 10, 20, 30, 40}, 1);
+        hostStateStore.add(3, -1, -2, -3, -4);
+        assertEquals(new HostState(9, 18, 27, 36), hostStateStore.getHostState(3));
+        assertEquals(27, hostStateStore.get(3, 2));
+        assertEquals(new HostState(0, 0, 0, 0), hostStateStore.getHostState(99));
+        assertTrue(hostStateStore.isSuitable(3, new InstanceSimple(0, 9, 18, 27, 36)));
+        assertFalse(hostStateStore.isSuitable(3, new InstanceSimple(0, 9, 18, 27, 37)));
+
+        int[] state = new int[6];
+        hostStateStore.copyState(3, state, 2);
+        assertArrayEquals(new int[]{0, 0, 9, 18, 27, 36}, state);
+
+        HostStateStore copy = hostStateStore.copy();
+        hostStateStore.add(3, 1, 1, 1, 1);
+        assertEquals(new HostState(9, 18, 27, 36), copy.getHostState(3));
+
+        IntBuffer buffer = IntBuffer.allocate(100 * HostState.STATE_NUM);
+        hostStateStore.copyTo(buffer);
+        assertEquals(0, buffer.remaining());
+        assertEquals(37, buffer.get(3 * HostState.STATE_NUM + 3));
+    }
+}
@@ -4,14 +4,24 @@ import org.lgdcloudsim.core.CloudSim;
 import org.lgdcloudsim.core.Simulation;
 import org.lgdcloudsim.datacenter.Datacenter;
 import org.lgdcloudsim.datacenter.DatacenterSimple;
+import org.lgdcloudsim.intrascheduler.IntraScheduler;
+import org.lgdcloudsim.intrascheduler.IntraSchedulerFirstFit;
+import org.lgdcloudsim.intrascheduler.IntraSchedulerTestBase;
 import org.lgdcloudsim.request.Instance;
 import org.lgdcloudsim.request.InstanceSimple;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.function.IntUnaryOperator;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class StateManagerSimpleTest {
     @Test
@@ -40,4 +50,259 @@ public class StateManagerSimpleTest {
         HostState exceptedHostState2 = new HostState(10, 10, 10, 10);
         assertEquals(exceptedHostState2, nowHostState2);
     }
+
+    @Test
+    void testSynState() {
+        Map<Integer, int[]> ranges = new HashMap<>();
+        ranges.put(0, new int[]{0, 9});
+        ranges.put(1, new int[]{10, 19});
+        PartitionRangesManager partitionRangesManager = new PartitionRangesManager(ranges);
+        Simulation simulation = new CloudSim();
+        Datacenter datacenter = new DatacenterSimple(simulation);
+        StatesManager statesManager = new StatesManagerSimple(20, partitionRangesManager, 10);
+        statesManager.setDatacenter(datacenter);
+        statesManager.initHostStates(10, 10, 10, 10, 0, 20);
+        IntraScheduler intraScheduler = new IntraSchedulerFirstFit(0, 0, 2);
+
+        statesManager.allocate(0, new InstanceSimple(0, 2, 2, 2, 2));
+        statesManager.allocate(0, new InstanceSimple(1, 2, 2, 2, 2));
+        assertEquals(new HostState(10, 10, 10, 10), statesManager.getSynState(intraScheduler).getHostState(0));
+        assertEquals(new HostState(10, 10, 10, 10), statesManager.getSynState(intraScheduler).getHostState(1));
+
+        SynState synState = statesManager.getSynState(intraScheduler);
+        synState.allocateTmpResource(0, new InstanceSimple(2, 1, 1, 1, 1));
+        assertEquals(new HostState(9, 9, 9, 9), synState.getHostState(0));
+        assertEquals(new HostState(9, 9, 9, 9), statesManager.getSynState(intraScheduler).getHostState(0));
+        int[] state = new int[HostState.STATE_NUM];
+        synState.copyHostState(0, state);
+        assertArrayEquals(new int[]{9, 9, 9, 9}, state);
+        assertEquals(9, synState.getResource(0, 1));
+        assertEquals(10, synState.getResource(1, 3));
+        assertTrue(synState.fits(0, 9, 9, 9, 9));
+        assertFalse(synState.fits(0, 9, 9, 10, 9));
+
+        statesManager.synAllState();
+        assertEquals(new HostState(9, 9, 9, 9), statesManager.getSynState(intraScheduler).getHostState(0));
+        statesManager.synAllState();
+        assertEquals(new HostState(6, 6, 6, 6), statesManager.getSynState(intraScheduler).getHostState(0));
+        assertEquals(new HostState(6, 6, 6, 6), statesManager.getNowHostState(0));
+    }
+
+    @Test
+    void testFindSuitableHost() {
+        Map<Integer, int[]> ranges = new HashMap<>();
+        ranges.put(0, new int[]{0, 9});
+        ranges.put(1, new int[]{10, 19});
+        PartitionRangesManager partitionRangesManager = new PartitionRangesManager(ranges);
+        Simulation simulation = new CloudSim();
+        Datacenter datacenter = new DatacenterSimple(simulation);
+        StatesManager statesManager = new StatesManagerSimple(20, partitionRangesManager, 10);
+        statesManager.setDatacenter(datacenter);
+        statesManager.initHostStates(10, 10, 10, 10, 0, 20);
+        IntraScheduler intraScheduler = new IntraSchedulerFirstFit(0, 0, 2);
+
+        for (int hostId = 0; hostId < 20; hostId += 3) {
+            statesManager.allocate(hostId, new InstanceSimple(hostId, 4, 4, 4, 4));
+        }
+        statesManager.synAllState();
+        statesManager.allocate(13, new InstanceSimple(20, 8, 8, 8, 8));
+        SynState synState = statesManager.getSynState(intraScheduler);
+        synState.allocateTmpResource(5, new InstanceSimple(21, 7, 7, 7, 7));
+        synState.allocateTmpResource(14, new InstanceSimple(22, 3, 3, 3, 3));
+
+        for (int cpu : new int[]{1, 3, 6, 7, 8, 10, 11}) {
+            Instance instance = new InstanceSimple(23, cpu, 1, 1, 1);
+            for (int startHostId = 0; startHostId < 20; startHostId++) {
+                for (int endHostId = startHostId; endHostId < 20; endHostId++) {
+                    int expectedHostId = -1;
+                    for (int hostId = startHostId; hostId <= endHostId; hostId++) {
+                        if (synState.isSuitable(hostId, instance)) {
+                            expectedHostId = hostId;
+                            break;
+                        }
+                    }
+                    assertEquals(expectedHostId, synState.findSuitableHost(startHostId, endHostId, instance));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testIncrementalPrediction() {
+        StatesManager incrementalStatesManager = createPredictableStatesManager(new PredictionManagerSimple());
+        StatesManager historyStatesManager = createPredictableStatesManager(hostStateHistories -> new PredictionManagerSimple().predictHostState(hostStateHistories));
+        IntraScheduler[] intraSchedulers = new IntraScheduler[3];
+        for (int i = 0; i < intraSchedulers.length; i++) {
+            intraSchedulers[i] = new IntraSchedulerFirstFit(i, i, 3);
+        }
+
+        Random random = new Random(1);
+        List<Instance> allocatedInstances = new ArrayList<>();
+        for (int step = 0; step < 40; step++) {
+            for (int i = 0; i < 5; i++) {
+                if (random.nextBoolean() && !allocatedInstances.isEmpty()) {
+                    Instance instance = allocatedInstances.remove(random.nextInt(allocatedInstances.size()));
+                    incrementalStatesManager.release(instance.getExpectedScheduleHostId(), instance);
+                    historyStatesManager.release(instance.getExpectedScheduleHostId(), instance);
+                } else {
+                    int hostId = random.nextInt(30);
+                    Instance instance = new InstanceSimple(step * 5 + i, 1 + random.nextInt(3), 1 + random.nextInt(3), 1, 1);
+                    instance.setExpectedScheduleHostId(hostId);
+                    if (incrementalStatesManager.allocate(hostId, instance)) {
+                        historyStatesManager.allocate(hostId, instance);
+                        allocatedInstances.add(instance);
+                    }
+                }
+            }
+            if (step % 2 == 0) {
+                incrementalStatesManager.synAllState();
+                historyStatesManager.synAllState();
+            }
+            for (IntraScheduler intraScheduler : intraSchedulers) {
+                SynState incrementalSynState = incrementalStatesManager.getSynState(intraScheduler);
+                SynState historySynState = historyStatesManager.getSynState(intraScheduler);
+                for (int hostId = 0; hostId < 30; hostId++) {
+                    assertEquals(historySynState.getHostState(hostId), incrementalSynState.getHostState(hostId));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testHostStateRollup() {
+        Map<Integer, int[]> ranges = new HashMap<>();
+        for (int partitionId = 0; partitionId < 3; partitionId++) {
+            ranges.put(partitionId, new int[]{partitionId * 10, partitionId * 10 + 9});
+        }
+        StatesManagerSimple statesManager = new StatesManagerSimple(30, new PartitionRangesManager(ranges), 10);
+        Datacenter datacenter = new DatacenterSimple(new CloudSim());
+        datacenter.setArchitecture("two-level");
+        List<IntraScheduler> intraSchedulers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            intraSchedulers.add(new IntraSchedulerFirstFit(i, i, 3));
+        }
+        datacenter.setIntraSchedulers(intraSchedulers);
+        statesManager.setDatacenter(datacenter);
+        statesManager.initHostStates(10, 10, 10, 10, 0, 15);
+        statesManager.initHostStates(20, 20, 20, 20, 15, 15);
+
+        Random random = new Random(2);
+        List<Instance> allocatedInstances = new ArrayList<>();
+        for (int step = 0; step < 200; step++) {
+            if (step == 100) {
+                assertEquals(2, statesManager.getCapacityClassRollup().getGroupNum());
+            }
+            if (random.nextInt(3) == 0 && !allocatedInstances.isEmpty()) {
+                Instance instance = allocatedInstances.remove(random.nextInt(allocatedInstances.size()));
+                statesManager.release(instance.getExpectedScheduleHostId(), instance);
+            } else {
+                int hostId = random.nextInt(30);
+                Instance instance = new InstanceSimple(step, 1 + random.nextInt(6), 1, 1, 1);
+                instance.setExpectedScheduleHostId(hostId);
+                if (statesManager.allocate(hostId, instance)) {
+                    allocatedInstances.add(instance);
+                }
+            }
+        }
+        assertHostStateRollup(statesManager, statesManager.getPartitionRollup(), allocatedInstances, hostId -> hostId / 10);
+        assertHostStateRollup(statesManager, statesManager.getCapacityClassRollup(), allocatedInstances, hostId -> hostId < 15 ? 0 : 1);
+
+        statesManager.adjustScheduleView();
+        long averageCpuAvailable = statesManager.getSimpleState().getCpuAvailableSum() / intraSchedulers.size();
+        int startIndex = 0;
+        int intraSchedulerId = 0;
+        long tmpCpuAvailableSum = 0;
+        for (int hostId = 0; hostId < 30 && intraSchedulerId < intraSchedulers.size() - 1; hostId++) {
+            tmpCpuAvailableSum += statesManager.getNowHostState(hostId).getCpu();
+            if (tmpCpuAvailableSum >= averageCpuAvailable) {
+                assertEquals(List.of(startIndex, hostId), statesManager.getIntraSchedulerView(intraSchedulers.get(intraSchedulerId)));
+                startIndex = hostId + 1;
+                intraSchedulerId++;
+                tmpCpuAvailableSum = 0;
+            }
+        }
+        assertEquals(List.of(startIndex, 29), statesManager.getIntraSchedulerView(intraSchedulers.get(intraSchedulerId)));
+    }
+
+    @Test
+    void testParallelSynState() {
+        Map<Integer, int[]> ranges = new HashMap<>();
+        ranges.put(0, new int[]{0, 9});
+        ranges.put(1, new int[]{10, 19});
+        StatesManager statesManager = IntraSchedulerTestBase.createStatesManager(ranges);
+        for (int hostId = 0; hostId < 20; hostId += 2) {
+            statesManager.allocate(hostId, new InstanceSimple(hostId, 3, 3, 3, 3));
+        }
+        List<IntraScheduler> intraSchedulers = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            intraSchedulers.add(new IntraSchedulerFirstFit(i, i % 2, 2));
+        }
+
+        for (int round = 0; round < 3; round++) {
+            List<List<Integer>> parallelHostIds = intraSchedulers.parallelStream()
+                    .map(intraScheduler -> scheduleOnSynState(statesManager.getSynState(intraScheduler), intraScheduler.getId()))
+                    .toList();
+            for (int i = 0; i < intraSchedulers.size(); i++) {
+                assertEquals(scheduleOnSynState(statesManager.getSynState(intraSchedulers.get(i)), intraSchedulers.get(i).getId()), parallelHostIds.get(i));
+            }
+        }
+    }
+
+    private List<Integer> scheduleOnSynState(SynState synState, int intraSchedulerId) {
+        List<Integer> hostIds = new ArrayList<>();
+        for (Instance instance : createInstances(intraSchedulerId)) {
+            int hostId = synState.findSuitableHost(0, 19, instance);
+            if (hostId != -1) {
+                synState.allocateTmpResource(hostId, instance);
+            }
+            hostIds.add(hostId);
+        }
+        return hostIds;
+    }
+
+    private List<Instance> createInstances(int intraSchedulerId) {
+        List<Instance> instances = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            instances.add(new InstanceSimple(intraSchedulerId * 8 + i, 1 + (intraSchedulerId + i) % 5, 2, 1, 1));
+        }
+        return instances;
+    }
+
+    private void assertHostStateRollup(StatesManager statesManager, HostStateRollup rollup, List<Instance> allocatedInstances, IntUnaryOperator groupOf) {
+        long[][] availableSums = new long[rollup.getGroupNum()][HostState.STATE_NUM];
+        int[][] freeCpuHostNums = new int[rollup.getGroupNum()][HostStateRollup.FREE_CPU_BUCKET_NUM];
+        for (int hostId = 0; hostId < 30; hostId++) {
+            int[] state = statesManager.getNowHostState(hostId).getStateArray();
+            for (int i = 0; i < HostState.STATE_NUM; i++) {
+                availableSums[groupOf.applyAsInt(hostId)][i] += state[i];
+            }
+            freeCpuHostNums[groupOf.applyAsInt(hostId)][HostStateRollup.getFreeCpuBucket(state[0])]++;
+        }
+        int[] poweredOnHostNums = new int[rollup.getGroupNum()];
+        allocatedInstances.stream().mapToInt(Instance::getExpectedScheduleHostId).distinct()
+                .forEach(hostId -> poweredOnHostNums[groupOf.applyAsInt(hostId)]++);
+        for (int group = 0; group < rollup.getGroupNum(); group++) {
+            for (int i = 0; i < HostState.STATE_NUM; i++) {
+                assertEquals(availableSums[group][i], rollup.getAvailableSum(group, i));
+            }
+            for (int bucket = 0; bucket < HostStateRollup.FREE_CPU_BUCKET_NUM; bucket++) {
+                assertEquals(freeCpuHostNums[group][bucket], rollup.getFreeCpuHostNum(group, bucket));
+            }
+            assertEquals(poweredOnHostNums[group], rollup.getPoweredOnHostNum(group));
+        }
+    }
+
+    private StatesManager createPredictableStatesManager(PredictionManager predictionManager) {
+        Map<Integer, int[]> ranges = new HashMap<>();
+        for (int partitionId = 0; partitionId < 3; partitionId++) {
+            ranges.put(partitionId, new int[]{partitionId * 10, partitionId * 10 + 9});
+        }
+        StatesManager statesManager = new StatesManagerSimple(30, new PartitionRangesManager(ranges), 10);
+        statesManager.setDatacenter(new DatacenterSimple(new CloudSim()));
+        statesManager.initHostStates(10, 10, 10, 10, 0, 30);
+        statesManager.setPredictionManager(predictionManager);
+        statesManager.setPredictRecordNum(3);
+        statesManager.setPredictable(true);
+        return statesManager;
+    }
 }
@@ -0,0 +1,31 @@
+package org.lgdcloudsim.statemanager;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class SynGapManagerTest {
+    @Test
+    public void testGetLatestSynCountBefore() {
+        SynGapManager synGapManager = new SynGapManager(10, 3);
+        for (int synCount = 0; synCount < 20; synCount++) {
+            for (double time = -1; time <= 80; time += 0.5) {
+                int expectedSynCount = synGapManager.getPartitionSynCount();
+                while (expectedSynCount >= 0 && synGapManager.getSynTime(expectedSynCount) >= time) {
+                    expectedSynCount--;
+                }
+                assertEquals(expectedSynCount, synGapManager.getLatestSynCountBefore(time));
+            }
+            assertEquals(synCount - 1, synGapManager.getLatestSynCountBefore(synGapManager.getSynTime(synCount)));
+            synGapManager.partitionSynGapCountAddOne();
+        }
+    }
+
+    @Test
+    public void testGetLatestSynCountBeforeWithoutSynGap() {
+        SynGapManager synGapManager = new SynGapManager(0, 2);
+        synGapManager.partitionSynGapCountAddOne();
+        assertEquals(-1, synGapManager.getLatestSynCountBefore(0));
+        assertEquals(1, synGapManager.getLatestSynCountBefore(5));
+    }
+}
@@ -0,0 +1,96 @@
+package org.lgdcloudsim.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.lgdcloudsim.request.Instance;
+import org.lgdcloudsim.request.InstanceSimple;
+import org.lgdcloudsim.statemanager.HostCapacityManager;
+import org.lgdcloudsim.statemanager.HostState;
+import org.lgdcloudsim.statemanager.SynState;
+
+public class HostResidualIndexTest {
+    @Test
+    public void testSameHostAsScan() {
+        Random random = new Random(3);
+        HostCapacityManager hostCapacityManager = new HostCapacityManager();
+        // The capacities are powers of two, so that the shares are exact and the hosts with the same residual are compared by id.
+        hostCapacityManager.orderlyAddSameCapacityHost(100, new int[]{16, 16, 16, 16});
+        hostCapacityManager.orderlyAddSameCapacityHost(100, new int[]{32, 8, 16, 32});
+        int[][] hostStates = new int[200][];
+        for (int hostId = 0; hostId < hostStates.length; hostId++) {
+            int[] capacity = hostCapacityManager.getHostCapacity(hostId);
+            hostStates[hostId] = new int[]{random.nextInt(capacity[0] + 1), random.nextInt(capacity[1] + 1),
+                    random.nextInt(capacity[2] + 1), random.nextInt(capacity[3] + 1)};
+        }
+        HostResidualIndex residualIndex = new HostResidualIndex(hostCapacityManager);
+        ScheduleCostCounter costCounter = new ScheduleCostCounter();
+        residualIndex.build(new ArraySynState(hostStates), 20, 179, costCounter);
+        assertEquals(160, costCounter.getOperationNum(ScheduleOperation.HOST_PROBE));
+
+        for (int i = 0; i < 300; i++) {
+            Instance instance = new InstanceSimple(i, 1 + random.nextInt(8), 1 + random.nextInt(4), 1 + random.nextInt(8), 1 + random.nextInt(8));
+            if (random.nextInt(4) == 0) {
+                instance.addRetryHostId(20 + random.nextInt(160));
+            }
+            int hostId = scanTightestHost(hostCapacityManager, hostStates, 20, 179, instance);
+            assertEquals(hostId, residualIndex.findTightestHost(instance, costCounter));
+            if (hostId != -1) {
+                for (int resourceIndex = 0; resourceIndex < HostState.STATE_NUM; resourceIndex++) {
+                    hostStates[hostId][resourceIndex] -= List.of(instance.getCpu(), instance.getRam(), instance.getStorage(), instance.getBw()).get(resourceIndex);
+                }
+                residualIndex.allocate(hostId, instance);
+                if (random.nextInt(3) == 0) {
+                    for (int resourceIndex = 0; resourceIndex < HostState.STATE_NUM; resourceIndex++) {
+                        hostStates[hostId][resourceIndex] += List.of(instance.getCpu(), instance.getRam(), instance.getStorage(), instance.getBw()).get(resourceIndex);
+                    }
+                    residualIndex.release(hostId, instance);
+                }
+            }
+        }
+    }
+
+    private static int scanTightestHost(HostCapacityManager hostCapacityManager, int[][] hostStates, int firstHostId, int lastHostId, Instance instance) {
+        int bestHostId = -1;
+        double bestResidual = Double.MAX_VALUE;
+        for (int hostId = firstHostId; hostId <= lastHostId; hostId++) {
+            if (!HostState.isSuitable(hostStates[hostId], instance) || (instance.getRetryHostIds() != null && instance.getRetryHostIds().contains(hostId))) {
+                continue;
+            }
+            int[] capacity = hostCapacityManager.getHostCapacity(hostId);
+            double residual = (double) (hostStates[hostId][0] - instance.getCpu()) / capacity[0]
+                    + (double) (hostStates[hostId][1] - instance.getRam()) / capacity[1]
+                    + (double) (hostStates[hostId][2] - instance.getStorage()) / capacity[2]
+                    + (double) (hostStates[hostId][3] - instance.getBw()) / capacity[3];
+            if (residual < bestResidual) {
+                bestHostId = hostId;
+                bestResidual = residual;
+            }
+        }
+        return bestHostId;
+    }
+
+    private record ArraySynState(int[][] hostStates) implements SynState {
+        @Override
+        public HostState getHostState(int hostId) {
+            int[] state = hostStates[hostId];
+            return new HostState(state[0], state[1], state[2], state[3]);
+        }
+
+        @Override
+        public boolean isSuitable(int hostId, Instance instance) {
+            return HostState.isSuitable(hostStates[hostId], instance);
+        }
+
+        @Override
+        public void allocateTmpResource(int hostId, Instance instance) {
+        }
+
+        @Override
+        public void releaseTmpResource(int hostId, Instance instance) {
+        }
+    }
+}
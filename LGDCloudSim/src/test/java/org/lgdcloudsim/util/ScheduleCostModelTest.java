@@ -0,0 +1,116 @@
+package org.lgdcloudsim.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class ScheduleCostModelTest {
+    @Test
+    public void testCountedCostTime() {
+        ScheduleCostModelCounted model = new ScheduleCostModelCounted()
+                .setOperationCost(ScheduleOperation.HOST_PROBE, 200)
+                .setOperationCost(ScheduleOperation.DC_FILTER, 3000)
+                .setOperationCost(ScheduleOperation.COMPARISON, 10);
+        ScheduleCostCounter counter = new ScheduleCostCounter();
+
+        counter.start(model);
+        counter.count(ScheduleOperation.HOST_PROBE, 10_000);
+        counter.count(ScheduleOperation.DC_FILTER, 100);
+        counter.count(ScheduleOperation.COMPARISON);
+        counter.startExclude();
+        counter.endExclude();
+        assertFalse(model.isMeasured());
+        assertEquals(2.30001, counter.stop(), 1e-9);
+
+        counter.start(model);
+        counter.count(ScheduleOperation.HOST_PROBE, 10_000);
+        assertEquals(2, counter.stop(), 1e-9);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeCost() {
+        new ScheduleCostModelCounted().setOperationCost(ScheduleOperation.HOST_PROBE, -1);
+    }
+
+    @Test
+    public void testMeasuredCostTime() {
+        ScheduleCostCounter counter = new ScheduleCostCounter();
+        counter.start(new ScheduleCostModelMeasured());
+        counter.count(ScheduleOperation.HOST_PROBE, 1_000_000_000);
+        double costTime = counter.stop();
+        assertTrue(costTime >= 0 && costTime < 1000);
+    }
+
+    @Test
+    public void testMeasuredUnmeasuredCostTime() {
+        ScheduleCostModelMeasured model = new ScheduleCostModelMeasured(new ScheduleCostModelCounted()
+                .setOperationCost(ScheduleOperation.HOST_PROBE, 200));
+        ScheduleCostCounter counter = new ScheduleCostCounter();
+        counter.start(model);
+        counter.count(ScheduleOperation.HOST_PROBE, 1_000_000_000);
+        counter.countUnmeasured(ScheduleOperation.HOST_PROBE, 1_000_000);
+        double costTime = counter.stop();
+        assertEquals(1_001_000_000, counter.getOperationNum(ScheduleOperation.HOST_PROBE));
+        assertEquals(1_000_000, counter.getUnmeasuredOperationNum(ScheduleOperation.HOST_PROBE));
+        assertTrue(costTime >= 200 && costTime < 1200);
+    }
+
+    @Test
+    public void testMeasuredConcurrentPartCostTime() throws InterruptedException {
+        ScheduleCostModelMeasured model = new ScheduleCostModelMeasured();
+        ScheduleCostCounter counter = new ScheduleCostCounter();
+        counter.start(model);
+        counter.startExclude();
+        ScheduleCostCounter partCounter = new ScheduleCostCounter();
+        partCounter.start(model);
+        partCounter.count(ScheduleOperation.HOST_PROBE, 10);
+        Thread.sleep(20);
+        partCounter.stopPart();
+        counter.endExclude();
+        counter.count(partCounter);
+
+        // The part is excluded from the step counter, but its own measured time is added back.
+        assertEquals(10, counter.getOperationNum(ScheduleOperation.HOST_PROBE));
+        double costTime = counter.stop();
+        assertTrue(costTime >= 20 && costTime < 1000);
+    }
+
+    @Test
+    public void testCalibration() {
+        ScheduleCostModelCalibration calibration = new ScheduleCostModelCalibration();
+        ScheduleCostCounter counter = new ScheduleCostCounter();
+        for (int i = 1; i <= 50; i++) {
+            counter.start(new ScheduleCostModelCounted());
+            counter.count(ScheduleOperation.HOST_PROBE, i * 1000L);
+            counter.count(ScheduleOperation.DC_FILTER, (i % 7) * 100L);
+            counter.countUnmeasured(ScheduleOperation.COMPARISON, i);
+            double measuredTime = (i * 1000L * 150 + (i % 7) * 100L * 2000) / 1_000_000.0;
+            double unmeasuredTime = i * ScheduleCostModelCounted.DEFAULT_COMPARISON_COST / 1_000_000;
+            assertEquals(measuredTime + unmeasuredTime, calibration.getCostTime(measuredTime, counter), 1e-12);
+        }
+
+        ScheduleCostModelCounted calibratedModel = calibration.getCalibratedModel();
+        assertEquals(50, calibration.getSampleNum());
+        assertEquals(150, calibratedModel.getOperationCost(ScheduleOperation.HOST_PROBE), 1e-6);
+        assertEquals(2000, calibratedModel.getOperationCost(ScheduleOperation.DC_FILTER), 1e-6);
+        assertEquals(0, calibratedModel.getOperationCost(ScheduleOperation.COMPARISON), 0);
+    }
+
+    @Test
+    public void testCalibrationWithoutNegativeCost() {
+        ScheduleCostModelCalibration calibration = new ScheduleCostModelCalibration();
+        ScheduleCostCounter counter = new ScheduleCostCounter();
+        for (int i = 1; i <= 20; i++) {
+            counter.start(new ScheduleCostModelCounted());
+            counter.count(ScheduleOperation.HOST_PROBE, i * 1000L);
+            counter.count(ScheduleOperation.COMPARISON, i * 100L + (i % 3) * 10);
+            calibration.getCostTime(i * 0.1 - (i % 3) * 0.01, counter);
+        }
+
+        ScheduleCostModelCounted calibratedModel = calibration.getCalibratedModel();
+        assertEquals(0, calibratedModel.getOperationCost(ScheduleOperation.COMPARISON), 0);
+        assertTrue(calibratedModel.getOperationCost(ScheduleOperation.HOST_PROBE) > 0);
+    }
+}
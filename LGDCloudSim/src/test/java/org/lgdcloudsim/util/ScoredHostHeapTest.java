@@ -0,0 +1,41 @@
+package org.lgdcloudsim.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.lgdcloudsim.datacenter.DatacenterNull;
+
+public class ScoredHostHeapTest {
+    @Test
+    public void testSameOrderAsScoredHostsManager() {
+        Random random = new Random(3);
+        ScoredHostHeap scoredHostHeap = new ScoredHostHeap();
+        DatacenterNull datacenter = new DatacenterNull();
+        for (int round = 0; round < 5; round++) {
+            scoredHostHeap.clear();
+            ScoredHostsManager scoredHostsManager = new ScoredHostsManager(null);
+            for (int i = 0; i < 500; i++) {
+                if (random.nextInt(3) == 0) {
+                    ScoredHost scoredHost = scoredHostsManager.pollBestScoreHost();
+                    assertEquals(scoredHost == null ? -1 : scoredHost.getHostId(), scoredHostHeap.pollBestHostId());
+                } else {
+                    int hostId = random.nextInt(1000);
+                    // Few distinct scores, so that the order of the hosts with the same score is checked too.
+                    double score = random.nextInt(5) * 2.5;
+                    scoredHostsManager.addScoredHost(hostId, datacenter, score);
+                    scoredHostHeap.add(hostId, score);
+                }
+                assertEquals(scoredHostsManager.getScoredHostNum(), scoredHostHeap.size());
+            }
+            while (scoredHostsManager.getScoredHostNum() > 0) {
+                assertEquals(scoredHostsManager.pollBestScoreHost().getHostId(), scoredHostHeap.peekBestHostId());
+                scoredHostHeap.pollBestHostId();
+            }
+            assertTrue(scoredHostHeap.isEmpty());
+            assertEquals(-1, scoredHostHeap.pollBestHostId());
+        }
+    }
+}